@@ -0,0 +1,49 @@
+package com.example.demo.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Point d'entrée du jar de benchmarks.
+ *
+ * <p>Accepte les options JMH habituelles ({@code -p rows=1000}, filtre par nom, {@code -f}, ...).
+ * Sans option {@code -rf}, les résultats sont exportés en JSON dans {@value #DEFAULT_RESULT_FILE}
+ * pour pouvoir comparer deux exécutions et suivre les régressions.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public final class BenchmarkMain {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions ligneDeCommande = new CommandLineOptions(args);
+        if (ligneDeCommande.shouldHelp()) {
+            ligneDeCommande.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(ligneDeCommande);
+        if (!ligneDeCommande.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON)
+                   .result(ligneDeCommande.getResult().orElse(DEFAULT_RESULT_FILE));
+        }
+        Runner runner = new Runner(options.build());
+        if (ligneDeCommande.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.bench;
+
+import com.example.demo.models.Adherent;
+import com.example.demo.services.CalendrierService;
+import com.example.demo.services.CalendrierService.MoisExpirations;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du rendu d'un mois du calendrier : index des dates de fin du mois
+ * ({@link MoisExpirations}, comme {@link CalendrierService#getMois}), puis statut de chaque
+ * jour et liste des adhérents concernés, sur {@code rows} adhérents.
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CalendrierBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    // Adhérents dont la date de fin tombe dans le mois ou les 7 jours suivants
+    // (résultat de la lecture par plage du dépôt des adhérents)
+    private List<Adherent> fenetre;
+    private LocalDate debutMois;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LocalDate aujourdhui = LocalDate.now();
+        debutMois = aujourdhui.withDayOfMonth(1);
+        LocalDate finFenetre = debutMois.plusMonths(1).plusDays(CalendrierService.JOURS_EXPIRATION_PROCHE);
+        fenetre = SyntheticData.adherents(rows, aujourdhui).stream()
+            .filter(a -> a.getDateFin() != null && !a.getDateFin().isBefore(debutMois) && a.getDateFin().isBefore(finFenetre))
+            .toList();
+    }
+
+    /** Index du mois puis statut des jours, comme pour les cellules du calendrier */
+    @Benchmark
+    public void statutsDuMois(Blackhole bh) {
+        MoisExpirations mois = new MoisExpirations(fenetre);
+        for (LocalDate jour = debutMois; jour.getMonth() == debutMois.getMonth(); jour = jour.plusDays(1)) {
+            bh.consume(mois.getDateStatus(jour));
+        }
+    }
+
+    /** Index du mois puis adhérents concernés par chaque jour */
+    @Benchmark
+    public void adherentsDuMois(Blackhole bh) {
+        MoisExpirations mois = new MoisExpirations(fenetre);
+        for (LocalDate jour = debutMois; jour.getMonth() == debutMois.getMonth(); jour = jour.plusDays(1)) {
+            bh.consume(mois.getAdherentsForDate(jour));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.bench;
+
+import com.example.demo.dao.AdherentDAO;
+import com.example.demo.dao.DashboardSnapshotDAO;
+import com.example.demo.dao.PaiementDAO;
+import com.example.demo.models.Adherent;
+import com.example.demo.models.DashboardSnapshot;
+import com.example.demo.utils.DatabaseBackend;
+import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.SchemaMigrator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du calcul des KPI du dashboard ({@link DashboardSnapshotDAO#load()}) sur une base
+ * SQLite embarquée contenant {@code rows} adhérents et autant de paiements.
+ *
+ * <p>La base est générée au premier lancement dans {@code target/bench-db/} puis réutilisée :
+ * son nom contient la date de génération, les données étant réparties autour du jour courant.
+ * Le backend et le chemin sont fixés par propriétés système avant le premier accès à
+ * {@link DatabaseManager} ; chaque valeur de {@code rows} a donc besoin de son propre JVM
+ * (le mode {@code -f 0} n'est pas supporté).</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardKpiBenchmark {
+
+    /** Nombre d'adhérents insérés par transaction lors de la génération */
+    private static final int TAILLE_GENERATION = 50_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private final DashboardSnapshotDAO dashboardDAO = new DashboardSnapshotDAO();
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        LocalDate aujourdhui = LocalDate.now();
+        System.setProperty("gym.db.backend", "sqlite");
+        System.setProperty("gym.db.path", "target/bench-db/dashboard-" + rows + "-" + aujourdhui + ".db");
+
+        DatabaseManager manager = DatabaseManager.getInstance();
+        if (manager.getBackend() != DatabaseBackend.SQLITE) {
+            throw new IllegalStateException("DatabaseManager déjà initialisé sur " + manager.getBackend()
+                    + " : lancer ce benchmark dans un JVM dédié");
+        }
+        new SchemaMigrator(manager.getDataSource(), DatabaseBackend.SQLITE.getMigrationsLocation()).migrate();
+
+        int existants = compterAdherents();
+        if (existants == 0) {
+            generer(aujourdhui);
+        } else if (existants != rows) {
+            throw new IllegalStateException("Base de benchmark incomplète (" + existants + "/" + rows
+                    + " adhérents) : supprimer " + System.getProperty("gym.db.path"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseManager.getInstance().closeConnection();
+    }
+
+    @Benchmark
+    public DashboardSnapshot chargerKpi() throws SQLException {
+        return dashboardDAO.load();
+    }
+
+    private void generer(LocalDate aujourdhui) throws SQLException {
+        AdherentDAO adherentDAO = new AdherentDAO();
+        PaiementDAO paiementDAO = new PaiementDAO();
+        List<Adherent> adherents = SyntheticData.adherents(rows, aujourdhui);
+        for (int debut = 0; debut < adherents.size(); debut += TAILLE_GENERATION) {
+            List<Adherent> lot = adherents.subList(debut, Math.min(debut + TAILLE_GENERATION, adherents.size()));
+            // createAll renseigne les ID générés, repris par les paiements du lot
+            adherentDAO.createAll(lot);
+            paiementDAO.createAll(SyntheticData.paiements(lot));
+        }
+    }
+
+    private int compterAdherents() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM adherents")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
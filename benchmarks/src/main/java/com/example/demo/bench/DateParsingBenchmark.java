@@ -0,0 +1,50 @@
+package com.example.demo.bench;
+
+import com.example.demo.utils.DateUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link DateUtils#parseDate(String)} et {@link DateUtils#parseDateTime(String)}
+ * sur {@code rows} valeurs au format renvoyé par la base.
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParsingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private String[] dates;
+    private String[] dateTimes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dates = SyntheticData.dateStrings(LocalDate.now());
+        dateTimes = SyntheticData.dateTimeStrings(LocalDate.now());
+    }
+
+    @Benchmark
+    public void parseDate(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            bh.consume(DateUtils.parseDate(dates[i % dates.length]));
+        }
+    }
+
+    @Benchmark
+    public void parseDateTime(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            bh.consume(DateUtils.parseDateTime(dateTimes[i % dateTimes.length]));
+        }
+    }
+}
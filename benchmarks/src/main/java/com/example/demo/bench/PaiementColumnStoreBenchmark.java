@@ -0,0 +1,74 @@
+package com.example.demo.bench;
+
+import com.example.demo.models.Paiement;
+import com.example.demo.utils.PaiementColumnStore;
+import com.example.demo.utils.PaiementColumnStore.Colonnes;
+import com.example.demo.utils.PaiementColumnStore.Filtre;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût des analyses de revenus sur les colonnes de {@link PaiementColumnStore}, pour
+ * {@code rows} paiements : série des 12 derniers mois, revenus du mois, répartition par
+ * pack et par méthode, percentiles des montants.
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaiementColumnStoreBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Colonnes colonnes;
+    private Filtre valides;
+    private Filtre moisCourant;
+    private YearMonth premierMois;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LocalDate aujourdhui = LocalDate.now();
+        colonnes = Colonnes.of(SyntheticData.paiements(SyntheticData.adherents(rows, aujourdhui)));
+        valides = Filtre.tous().statut(Paiement.StatutPaiement.VALIDE);
+        moisCourant = Filtre.entre(aujourdhui.withDayOfMonth(1), aujourdhui.withDayOfMonth(1).plusMonths(1))
+            .statut(Paiement.StatutPaiement.VALIDE);
+        premierMois = YearMonth.from(aujourdhui).minusMonths(11);
+    }
+
+    /** Série des revenus des 12 derniers mois (écran Statistiques) */
+    @Benchmark
+    public long[] revenus12Mois() {
+        return colonnes.sumCentsByMonth(valides, premierMois, 12);
+    }
+
+    /** Revenus du mois en cours (KPI du dashboard) */
+    @Benchmark
+    public long revenusMois() {
+        return colonnes.sumCents(moisCourant);
+    }
+
+    @Benchmark
+    public long[] revenusParPack() {
+        return colonnes.sumCentsByPack(valides);
+    }
+
+    @Benchmark
+    public long[] revenusParMethode() {
+        return colonnes.sumCentsByMethode(valides);
+    }
+
+    /** Médiane et 90e percentile des montants validés */
+    @Benchmark
+    public long[] percentiles() {
+        return colonnes.percentilesCents(valides, 50, 90);
+    }
+}
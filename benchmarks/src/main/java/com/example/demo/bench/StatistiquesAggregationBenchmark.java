@@ -0,0 +1,53 @@
+package com.example.demo.bench;
+
+import com.example.demo.models.Adherent;
+import com.example.demo.models.Pack;
+import com.example.demo.services.StatisticsEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du calcul de l'écran Statistiques sur {@code rows} adhérents : inscriptions par mois,
+ * répartition par pack et série de rétention sur 12 mois, en un seul parcours
+ * ({@link StatisticsEngine#calculer}).
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StatistiquesAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Adherent> adherents;
+    private List<Pack> packs;
+    private LocalDate aujourdhui;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        aujourdhui = LocalDate.now();
+        adherents = SyntheticData.adherents(rows, aujourdhui);
+        packs = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Pack pack = new Pack("Pack " + i, 100.0 * i);
+            pack.setId(i);
+            packs.add(pack);
+        }
+    }
+
+    /** Toutes les séries des quatre onglets sur 12 mois */
+    @Benchmark
+    public Object statistiques12Mois() {
+        return StatisticsEngine.calculer(adherents, packs, List.of(), aujourdhui, 12);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demo.bench;
+
+import com.example.demo.models.Adherent;
+import com.example.demo.models.Paiement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Jeux de données synthétiques reproductibles (graine fixe) pour les benchmarks.
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public final class SyntheticData {
+
+    /** Graine commune : deux exécutions mesurent exactement les mêmes données */
+    public static final long SEED = 42L;
+
+    /** Nombre de lignes modèles recyclées par {@link SyntheticResultSet} */
+    public static final int TEMPLATE_ROWS = 4096;
+
+    public static final String[] ADHERENT_COLUMNS = {
+        "id", "cin", "nom", "prenom", "date_naissance", "telephone", "email", "adresse", "photo",
+        "poids", "taille", "objectifs", "problemes_sante", "pack_id", "date_debut", "date_fin",
+        "actif", "date_inscription"
+    };
+
+    public static final String[] PAIEMENT_COLUMNS = {
+        "id", "adherent_id", "pack_id", "montant", "date_paiement", "methode_paiement", "statut",
+        "reference", "date_debut_abonnement", "date_fin_abonnement", "notes"
+    };
+
+    private static final String[] NOMS = {
+        "Alaoui", "Benali", "Chraibi", "Dahbi", "El Amrani", "Fassi", "Ghazi", "Haddad", "Idrissi",
+        "Jazouli", "Kadiri", "Lamrani", "Mansouri", "Naciri", "Ouali", "Rahmani", "Saadi", "Tazi"
+    };
+    private static final String[] PRENOMS = {
+        "Ahmed", "Fatima", "Mohamed", "Aicha", "Hassan", "Khadija", "Omar", "Sanae", "Youssef",
+        "Laila", "Ali", "Nadia", "Karim", "Souad", "Mehdi", "Salma", "Amine", "Imane"
+    };
+    private static final String[] OBJECTIFS = {"Prise de masse", "Perte de poids", "Musculation", "Cardio"};
+    private static final int[] DUREES_MOIS = {1, 1, 1, 3, 12};
+    private static final int PACKS = 6;
+    private static final DateTimeFormatter FORMAT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Adhérents répartis sur les trois dernières années, avec des abonnements
+     * de 1, 3 ou 12 mois (une partie expirés, une partie expirant bientôt)
+     */
+    public static List<Adherent> adherents(int count, LocalDate aujourdhui) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Adherent> adherents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate inscription = aujourdhui.minusDays(random.nextInt(3 * 365));
+            LocalDate debut = inscription.plusDays(random.nextInt(30));
+            LocalDate fin = debut.plusMonths(DUREES_MOIS[random.nextInt(DUREES_MOIS.length)]);
+
+            Adherent adherent = new Adherent();
+            adherent.setId(i + 1);
+            adherent.setCin(String.format("BK%07d", i));
+            adherent.setNom(NOMS[random.nextInt(NOMS.length)]);
+            adherent.setPrenom(PRENOMS[random.nextInt(PRENOMS.length)]);
+            adherent.setDateNaissance(aujourdhui.minusYears(18 + random.nextInt(45)).minusDays(random.nextInt(365)));
+            adherent.setTelephone(String.format("06%08d", random.nextInt(100_000_000)));
+            adherent.setEmail("adherent" + i + "@email.com");
+            adherent.setPoids(50 + random.nextInt(500) / 10.0);
+            adherent.setTaille(150 + random.nextInt(450) / 10.0);
+            adherent.setObjectifs(OBJECTIFS[random.nextInt(OBJECTIFS.length)]);
+            adherent.setPackId(1 + random.nextInt(PACKS));
+            adherent.setDateDebut(debut);
+            adherent.setDateFin(fin);
+            adherent.setActif(random.nextInt(10) != 0);
+            adherent.setDateInscription(inscription);
+            adherents.add(adherent);
+        }
+        return adherents;
+    }
+
+    /**
+     * Un paiement par adhérent, à sa date de début d'abonnement
+     */
+    public static List<Paiement> paiements(List<Adherent> adherents) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        Paiement.MethodePaiement[] methodes = Paiement.MethodePaiement.values();
+        List<Paiement> paiements = new ArrayList<>(adherents.size());
+        for (Adherent adherent : adherents) {
+            Paiement paiement = new Paiement();
+            paiement.setAdherentId(adherent.getId());
+            paiement.setPackId(adherent.getPackId());
+            paiement.setMontant(BigDecimal.valueOf(10_000 + 5_000 * random.nextInt(20), 2));
+            paiement.setDatePaiement(adherent.getDateDebut().atTime(8 + random.nextInt(12), random.nextInt(60), random.nextInt(60)));
+            paiement.setMethodePaiement(methodes[random.nextInt(methodes.length)]);
+            paiement.setStatut(random.nextInt(20) == 0 ? Paiement.StatutPaiement.ANNULE : Paiement.StatutPaiement.VALIDE);
+            paiement.setDateDebutAbonnement(adherent.getDateDebut());
+            paiement.setDateFinAbonnement(adherent.getDateFin());
+            paiements.add(paiement);
+        }
+        return paiements;
+    }
+
+    /**
+     * Lignes modèles de la table adherents, avec les types renvoyés par le driver MySQL
+     * (DATE en LocalDate, DECIMAL en BigDecimal, TIMESTAMP en LocalDateTime)
+     */
+    public static Object[][] adherentRows(LocalDate aujourdhui) {
+        List<Adherent> adherents = adherents(TEMPLATE_ROWS, aujourdhui);
+        Object[][] rows = new Object[adherents.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            Adherent a = adherents.get(i);
+            rows[i] = new Object[]{
+                a.getId(), a.getCin(), a.getNom(), a.getPrenom(), a.getDateNaissance(), a.getTelephone(),
+                a.getEmail(), null, null, BigDecimal.valueOf(a.getPoids()), BigDecimal.valueOf(a.getTaille()),
+                a.getObjectifs(), null, a.getPackId(), a.getDateDebut(), a.getDateFin(),
+                a.getActif() ? 1 : 0, a.getDateInscription().atTime(10, 30)
+            };
+        }
+        return rows;
+    }
+
+    /**
+     * Lignes modèles de la table paiements
+     */
+    public static Object[][] paiementRows(LocalDate aujourdhui) {
+        List<Paiement> paiements = paiements(adherents(TEMPLATE_ROWS, aujourdhui));
+        Object[][] rows = new Object[paiements.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            Paiement p = paiements.get(i);
+            rows[i] = new Object[]{
+                i + 1, p.getAdherentId(), p.getPackId(), p.getMontant(),
+                p.getDatePaiement(), p.getMethodePaiement().name(), p.getStatut().name(), null,
+                p.getDateDebutAbonnement(), p.getDateFinAbonnement(), null
+            };
+        }
+        return rows;
+    }
+
+    /**
+     * Dates au format renvoyé par la base : "yyyy-MM-dd"
+     */
+    public static String[] dateStrings(LocalDate aujourdhui) {
+        String[] dates = new String[TEMPLATE_ROWS];
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = aujourdhui.minusDays(random.nextInt(3 * 365)).toString();
+        }
+        return dates;
+    }
+
+    /**
+     * Horodatages au format renvoyé par la base : "yyyy-MM-dd HH:mm:ss"
+     */
+    public static String[] dateTimeStrings(LocalDate aujourdhui) {
+        String[] dates = new String[TEMPLATE_ROWS];
+        SplittableRandom random = new SplittableRandom(SEED + 3);
+        for (int i = 0; i < dates.length; i++) {
+            LocalDateTime dateTime = aujourdhui.minusDays(random.nextInt(3 * 365))
+                    .atTime(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            dates[i] = dateTime.format(FORMAT_TIMESTAMP);
+        }
+        return dates;
+    }
+}
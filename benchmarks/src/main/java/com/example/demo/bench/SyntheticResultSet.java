@@ -0,0 +1,197 @@
+package com.example.demo.bench;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ResultSet en mémoire qui parcourt {@code rowCount} lignes en recyclant un petit
+ * jeu de lignes modèles.
+ *
+ * <p>Isole le coût du mapping (lectures par nom de colonne, conversions, allocation
+ * des objets du modèle) du coût réseau et disque d'une vraie base. Chaque cellule garde
+ * sa valeur typée (comme un driver JDBC après décodage) et sa forme texte précalculée,
+ * si bien que {@code getString()} et {@code getObject(..., Class)} ne coûtent qu'une
+ * recherche de colonne.</p>
+ *
+ * <p>Méthodes supportées : next, getString, getInt, getLong, getDouble, getBoolean,
+ * getObject (avec ou sans type), findColumn, wasNull, getMetaData, close.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public final class SyntheticResultSet implements InvocationHandler {
+
+    private static final DateTimeFormatter FORMAT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String[] columns;
+    private final Map<String, Integer> indexParNom = new HashMap<>();
+    private final Object[][] valeurs;
+    private final String[][] textes;
+    private final int rowCount;
+
+    private int ligne = -1;
+    private boolean dernierNull;
+    private boolean ferme;
+
+    private SyntheticResultSet(String[] columns, Object[][] modeles, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        for (int i = 0; i < columns.length; i++) {
+            indexParNom.put(columns[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+        this.valeurs = modeles;
+        this.textes = new String[modeles.length][columns.length];
+        for (int r = 0; r < modeles.length; r++) {
+            for (int c = 0; c < columns.length; c++) {
+                textes[r][c] = texte(modeles[r][c]);
+            }
+        }
+    }
+
+    /**
+     * @param columns Noms des colonnes
+     * @param modeles Lignes modèles (une valeur par colonne, null autorisé)
+     * @param rowCount Nombre total de lignes retournées par next()
+     */
+    public static ResultSet of(String[] columns, Object[][] modeles, int rowCount) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new SyntheticResultSet(columns, modeles, rowCount));
+    }
+
+    /** Forme texte d'une valeur, telle que la renvoie le driver MySQL */
+    private static String texte(Object valeur) {
+        if (valeur == null) {
+            return null;
+        } else if (valeur instanceof LocalDateTime dateTime) {
+            return dateTime.format(FORMAT_TIMESTAMP);
+        } else if (valeur instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        return valeur.toString();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                return ++ligne < rowCount;
+            case "close":
+                ferme = true;
+                return null;
+            case "isClosed":
+                return ferme;
+            case "wasNull":
+                return dernierNull;
+            case "findColumn":
+                return colonne(args[0]);
+            case "getMetaData":
+                return metaData();
+            case "getString":
+                return lireTexte(colonne(args[0]));
+            case "getInt":
+                return nombre(colonne(args[0])).intValue();
+            case "getLong":
+                return nombre(colonne(args[0])).longValue();
+            case "getDouble":
+                return nombre(colonne(args[0])).doubleValue();
+            case "getBoolean": {
+                Object valeur = lire(colonne(args[0]));
+                return valeur instanceof Boolean bool ? bool : valeur != null && ((Number) valeur).intValue() != 0;
+            }
+            case "getObject":
+                if (args.length == 2 && args[1] instanceof Class<?> type) {
+                    return convertir(colonne(args[0]), type);
+                }
+                return lire(colonne(args[0]));
+            case "unwrap":
+            case "isWrapperFor":
+                throw new SQLException("Non supporté par le ResultSet synthétique");
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "SyntheticResultSet[" + rowCount + " lignes]";
+            default:
+                throw new UnsupportedOperationException("ResultSet synthétique: " + method.getName());
+        }
+    }
+
+    private int colonne(Object cle) throws SQLException {
+        if (cle instanceof Integer index) {
+            return index;
+        }
+        Integer index = indexParNom.get(((String) cle).toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Colonne inconnue: " + cle);
+        }
+        return index;
+    }
+
+    private Object lire(int colonne) {
+        Object valeur = valeurs[ligne % valeurs.length][colonne - 1];
+        dernierNull = valeur == null;
+        return valeur;
+    }
+
+    private String lireTexte(int colonne) {
+        String texte = textes[ligne % valeurs.length][colonne - 1];
+        dernierNull = texte == null;
+        return texte;
+    }
+
+    private Number nombre(int colonne) {
+        Object valeur = lire(colonne);
+        if (valeur == null) {
+            return 0;
+        } else if (valeur instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        return (Number) valeur;
+    }
+
+    private Object convertir(int colonne, Class<?> type) throws SQLException {
+        Object valeur = lire(colonne);
+        if (valeur == null || type.isInstance(valeur)) {
+            return valeur;
+        }
+        if (type == String.class) {
+            return lireTexte(colonne);
+        }
+        if (valeur instanceof Number nombre) {
+            if (type == Integer.class) {
+                return nombre.intValue();
+            } else if (type == Long.class) {
+                return nombre.longValue();
+            } else if (type == Double.class) {
+                return nombre.doubleValue();
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(nombre.toString());
+            }
+        }
+        if (type == LocalDate.class && valeur instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        throw new SQLException("Conversion non supportée: " + valeur.getClass().getSimpleName() + " -> " + type.getSimpleName());
+    }
+
+    private ResultSetMetaData metaData() {
+        return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> columns.length;
+                    case "getColumnName", "getColumnLabel" -> columns[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException("Métadonnées synthétiques: " + method.getName());
+                });
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.dao;
+
+import com.example.demo.bench.SyntheticData;
+import com.example.demo.bench.SyntheticResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du mapping ResultSet -> modèle des DAO, hors base de données.
+ *
+ * <p>Mesure {@link AdherentDAO.AdherentMapper} et {@link PaiementDAO.PaiementMapper}
+ * sur un findAll simulé de {@code rows} lignes, avec les types renvoyés par le driver MySQL. Ajouter {@code -prof gc} pour mesurer l'allocation par ligne.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RowMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Object[][] adherentRows;
+    private Object[][] paiementRows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LocalDate aujourdhui = LocalDate.now();
+        adherentRows = SyntheticData.adherentRows(aujourdhui);
+        paiementRows = SyntheticData.paiementRows(aujourdhui);
+    }
+
+    @Benchmark
+    public void mapAdherents(Blackhole bh) throws SQLException {
+        try (ResultSet rs = SyntheticResultSet.of(SyntheticData.ADHERENT_COLUMNS, adherentRows, rows)) {
+            AdherentDAO.AdherentMapper mapper = new AdherentDAO.AdherentMapper(rs);
+            while (rs.next()) {
+                bh.consume(mapper.map(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapPaiements(Blackhole bh) throws SQLException {
+        try (ResultSet rs = SyntheticResultSet.of(SyntheticData.PAIEMENT_COLUMNS, paiementRows, rows)) {
+            PaiementDAO.PaiementMapper mapper = new PaiementDAO.PaiementMapper(rs);
+            while (rs.next()) {
+                bh.consume(mapper.map(rs));
+            }
+        }
+    }
+}
@@ -1,31 +1,41 @@
 package com.example.demo;
 
 import com.example.demo.controllers.LoginController;
+import com.example.demo.services.ActivityService;
+import com.example.demo.services.DataLoadService;
+import com.example.demo.services.NotificationService;
+import com.example.demo.services.SubscriptionExpiryJob;
+import com.example.demo.utils.AdherentSearchIndex;
 import com.example.demo.utils.DatabaseManager;
-import com.example.demo.utils.InsertAdherents;
+import com.example.demo.utils.PackCache;
+import com.example.demo.utils.PaiementColumnStore;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.logging.Logger;
+
 /**
  * Application principale de gestion de salle de sport
  * Point d'entrée pour IntelliJ IDEA
  * @author Demo Team
  */
 public class HelloApplication extends Application {
+    private static final Logger logger = Logger.getLogger(HelloApplication.class.getName());
     
     @Override
     public void start(Stage primaryStage) {
         try {
-            // Initialisation de la base de données
+            // Initialisation de la base de données (migrations en attente + données de test à la première installation)
             System.out.println("=== Initialisation de la base de données ===");
             DatabaseManager.getInstance().initializeDatabase();
             System.out.println("=== Base de données initialisée ===");
-            
-            // Insertion automatique de 50 adhérents pour les statistiques (si aucun n'existe)
-            System.out.println("=== Démarrage de l'insertion automatique ===");
-            InsertAdherents.insert50();
-            System.out.println("=== Fin de l'insertion automatique ===");
+
+            // Dépôt des adhérents, index de recherche et magasin des paiements, chargés pendant la connexion
+            AdherentSearchIndex.getInstance().buildAsync();
+            PaiementColumnStore.getInstance().loadAsync();
+            // Suivi des expirations : premier passage maintenant, puis chaque jour à minuit
+            SubscriptionExpiryJob.getInstance().start();
             
             // Chargement de la vue de connexion
             LoginController loginController = new LoginController();
@@ -42,6 +52,11 @@ public class HelloApplication extends Application {
             
             // Fermeture propre de la base de données à la fermeture de l'application
             primaryStage.setOnCloseRequest(e -> {
+                DataLoadService.getInstance().shutdown();
+                ActivityService.getInstance().shutdown();
+                SubscriptionExpiryJob.getInstance().shutdown();
+                NotificationService.getInstance().shutdown();
+                logger.info("Cache des packs: " + PackCache.getInstance().getStats());
                 DatabaseManager.getInstance().closeConnection();
                 System.exit(0);
             });
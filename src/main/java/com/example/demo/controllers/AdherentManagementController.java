@@ -1,11 +1,15 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dao.AdherentDAO;
-import com.example.demo.dao.PackDAO;
 import com.example.demo.models.Adherent;
 import com.example.demo.models.Pack;
 import com.example.demo.services.NotificationService;
 import com.example.demo.services.ActivityService;
+import com.example.demo.utils.AdherentSearchIndex;
+import com.example.demo.utils.DebouncedSearch;
+import com.example.demo.utils.LazyTableLoader;
+import com.example.demo.utils.MemberRepository;
+import com.example.demo.utils.PackCache;
 import com.example.demo.utils.SvgIcons;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -34,10 +38,19 @@ import java.util.List;
  */
 public class AdherentManagementController {
     private AdherentDAO adherentDAO = new AdherentDAO();
-    private PackDAO packDAO = new PackDAO();
+    private PackCache packCache = PackCache.getInstance();
+    private MemberRepository memberRepository = MemberRepository.getInstance();
     private NotificationService notificationService = NotificationService.getInstance();
     private ActivityService activityService = ActivityService.getInstance();
     private ObservableList<Adherent> adherentsList = FXCollections.observableArrayList();
+    private LazyTableLoader<Adherent> adherentsLoader;
+    private DebouncedSearch<Adherent> adherentsSearch;
+
+    // Pagination de la table : lignes lues par requête et marge de préchargement
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 30;
+    // Résultats affichés pour une recherche dans l'index (les plus pertinents)
+    private static final int SEARCH_LIMIT = 500;
 
     @FXML
     private TableView<Adherent> adherentsTable;
@@ -149,13 +162,15 @@ public class AdherentManagementController {
         
         // Configurer la recherche
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-                if (newVal == null || newVal.trim().isEmpty()) {
-                    loadAdherents();
-                } else {
-                    searchAdherents(newVal);
-                }
-            });
+            adherentsSearch = new DebouncedSearch<Adherent>(
+                this::searchAdherents,
+                this::loadAdherents,
+                // Avec l'index, chaque terme est recherché (classement et repliement propres à l'index)
+                () -> adherentsLoader != null && !AdherentSearchIndex.getInstance().isReady()
+                    ? adherentsLoader.getAllIfLoaded() : null,
+                AdherentManagementController::correspondRecherche,
+                adherents -> adherentsLoader.show(adherents)
+            ).bind(searchField.textProperty());
         }
 
         // Configurer les boutons
@@ -289,7 +304,7 @@ public class AdherentManagementController {
                 Adherent adherent = cellData.getValue();
                 if (adherent.getPackId() != null) {
                     try {
-                        Pack pack = packDAO.findById(adherent.getPackId());
+                        Pack pack = packCache.findById(adherent.getPackId());
                         return new javafx.beans.property.SimpleStringProperty(
                             pack != null ? pack.getNom() : "N/A"
                         );
@@ -385,8 +400,13 @@ public class AdherentManagementController {
             });
         }
 
-        // Configurer les données et comportements
+        // Configurer les données et comportements (chargement page par page au défilement)
         adherentsTable.setItems(adherentsList);
+        adherentsLoader = new LazyTableLoader<>(adherentsTable, adherentsList, PAGE_SIZE, PREFETCH_ROWS);
+        adherentsLoader.setOnError(e -> {
+            e.printStackTrace();
+            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des adhérents: " + e.getMessage());
+        });
         
         // Ajuster dynamiquement la colonne Pack pour qu'elle prenne l'espace restant
         Platform.runLater(() -> {
@@ -545,33 +565,54 @@ public class AdherentManagementController {
     }
 
     /**
-     * Charge tous les adhérents
+     * Charge les adhérents : depuis le dépôt en mémoire s'il est chargé (aucune requête),
+     * sinon par pages (première page, les suivantes au défilement)
      */
     private void loadAdherents() {
-        try {
-            List<Adherent> adherents = adherentDAO.findAll();
-            adherentsList.clear();
-            adherentsList.addAll(adherents);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des adhérents: " + e.getMessage());
+        if (adherentsSearch != null) {
+            adherentsSearch.reset();
+        }
+        if (adherentsLoader == null) {
+            return;
         }
+        if (memberRepository.isLoaded()) {
+            try {
+                adherentsLoader.show(memberRepository.findAll());
+                return;
+            } catch (SQLException e) {
+                e.printStackTrace(); // Repli sur la lecture paginée
+            }
+        }
+        adherentsLoader.load(adherentDAO::findPage);
     }
 
     /**
-     * Recherche des adhérents
+     * Recherche des adhérents : dans l'index en mémoire s'il est construit (résultats classés
+     * par pertinence), sinon en base (résultats paginés comme la liste complète)
      */
     private void searchAdherents(String searchTerm) {
-        try {
-            List<Adherent> adherents = adherentDAO.search(searchTerm);
-            adherentsList.clear();
-            adherentsList.addAll(adherents);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors de la recherche: " + e.getMessage());
+        if (adherentsLoader == null) {
+            return;
+        }
+        AdherentSearchIndex index = AdherentSearchIndex.getInstance();
+        if (index.isReady()) {
+            adherentsLoader.show(index.search(searchTerm, SEARCH_LIMIT));
+        } else {
+            adherentsLoader.load((apres, taille) -> adherentDAO.findPage(searchTerm, apres, taille));
         }
     }
 
+    /**
+     * Critère de {@link AdherentDAO#findPage(String, Adherent, int)} appliqué en mémoire
+     */
+    private static boolean correspondRecherche(Adherent adherent, String terme) {
+        return DebouncedSearch.contient(adherent.getNom(), terme)
+            || DebouncedSearch.contient(adherent.getPrenom(), terme)
+            || DebouncedSearch.contient(adherent.getCin(), terme)
+            || DebouncedSearch.contient(adherent.getTelephone(), terme)
+            || DebouncedSearch.contient(adherent.getEmail(), terme);
+    }
+
     /**
      * Affiche le dialogue pour créer/modifier un adhérent
      */
@@ -625,7 +666,7 @@ public class AdherentManagementController {
         // Combo box pour les packs
         ComboBox<Pack> packCombo = new ComboBox<>();
         try {
-            List<Pack> packs = packDAO.findAll();
+            List<Pack> packs = packCache.findAll();
             packCombo.getItems().addAll(packs);
         } catch (SQLException e) {
             e.printStackTrace();
@@ -657,7 +698,7 @@ public class AdherentManagementController {
             problemesArea.setText(adherent.getProblemesSante());
             if (adherent.getPackId() != null) {
                 try {
-                    Pack pack = packDAO.findById(adherent.getPackId());
+                    Pack pack = packCache.findById(adherent.getPackId());
                     if (pack != null) {
                         packCombo.setValue(pack);
                     }
@@ -879,7 +920,9 @@ public class AdherentManagementController {
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == saveButtonType) {
                 try {
-                    Adherent newAdherent = adherent != null ? adherent : new Adherent();
+                    // Modifier une copie : l'instance affichée est partagée (MemberRepository) et
+                    // n'est remplacée par la copie qu'une fois la modification validée en base
+                    Adherent newAdherent = adherent != null ? new Adherent(adherent) : new Adherent();
                     newAdherent.setCin(cinField.getText());
                     newAdherent.setNom(nomField.getText());
                     newAdherent.setPrenom(prenomField.getText());
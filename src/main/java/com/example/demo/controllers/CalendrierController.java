@@ -1,7 +1,11 @@
 package com.example.demo.controllers;
 
-import com.example.demo.dao.AdherentDAO;
 import com.example.demo.models.Adherent;
+import com.example.demo.services.CalendrierService;
+import com.example.demo.services.CalendrierService.MoisExpirations;
+import com.example.demo.services.DataLoadService;
+import com.example.demo.utils.MemberRepository;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
@@ -12,7 +16,6 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
@@ -22,8 +25,11 @@ import java.util.List;
  * Contrôleur pour le calendrier dynamique avec expirations d'abonnements
  */
 public class CalendrierController {
-    private AdherentDAO adherentDAO = new AdherentDAO();
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+    private CalendrierService calendrierService = CalendrierService.getInstance();
     private YearMonth currentMonth = YearMonth.now();
+    // Mois actuellement dessiné dans la grille (null avant le premier affichage)
+    private YearMonth displayedMonth;
 
     @FXML
     private GridPane calendarGrid;
@@ -40,6 +46,15 @@ public class CalendrierController {
     @FXML
     private HBox legendBox;
 
+    public CalendrierController() {
+        // Redessiner le calendrier affiché quand un adhérent est créé, modifié ou désactivé
+        memberRepository.addListener(change -> Platform.runLater(() -> {
+            if (calendarGrid != null && calendarGrid.getScene() != null) {
+                updateCalendar();
+            }
+        }));
+    }
+
     /**
      * Charge la vue du calendrier depuis le FXML
      */
@@ -120,25 +135,49 @@ public class CalendrierController {
      * Met à jour le calendrier avec les données des adhérents
      */
     private void updateCalendar() {
-        // Nettoyer le calendrier (garder les en-têtes)
-        if (calendarGrid != null) {
-            calendarGrid.getChildren().removeIf(node -> GridPane.getRowIndex(node) != null && GridPane.getRowIndex(node) > 0);
-        }
-
         // Mettre à jour le label du mois
         if (monthLabel != null) {
             monthLabel.setText(currentMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy", java.util.Locale.FRENCH)));
         }
 
-        // Charger les adhérents avec expirations
-        List<Adherent> adherents = null;
-        try {
-            adherents = adherentDAO.findAll();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (calendarGrid == null) return;
+
+        // Mois déjà indexé : affichage immédiat. Sinon, grille sans expirations (ou grille
+        // courante s'il s'agit du même mois) complétée quand l'index est publié
+        YearMonth mois = currentMonth;
+        MoisExpirations expirations = calendrierService.getMoisIfLoaded(mois);
+        if (expirations != null) {
+            fillCalendar(expirations);
+            prefetchAdjacentMonths(mois);
+            return;
+        }
+        if (!mois.equals(displayedMonth)) {
+            fillCalendar(null);
         }
+        DataLoadService.getInstance().load(this, "expirations", () -> calendrierService.getMois(mois), charge -> {
+            if (mois.equals(currentMonth)) {
+                fillCalendar(charge);
+            }
+            prefetchAdjacentMonths(mois);
+        }, Throwable::printStackTrace);
+    }
 
-        if (calendarGrid == null) return;
+    /**
+     * Indexe en arrière-plan les mois voisins pour que la navigation s'affiche sans attente
+     */
+    private void prefetchAdjacentMonths(YearMonth mois) {
+        DataLoadService.getInstance().load(this, "expirations-voisines", () -> {
+            calendrierService.prefetchAdjacentMonths(mois);
+            return null;
+        }, ignore -> { });
+    }
+
+    /**
+     * Remplit la grille du mois courant (expirations null : jours sans expirations)
+     */
+    private void fillCalendar(MoisExpirations expirations) {
+        displayedMonth = currentMonth;
+        calendarGrid.getChildren().removeIf(node -> GridPane.getRowIndex(node) != null && GridPane.getRowIndex(node) > 0);
 
         LocalDate firstDay = currentMonth.atDay(1);
         LocalDate lastDay = currentMonth.atEndOfMonth();
@@ -149,7 +188,7 @@ public class CalendrierController {
 
         // Remplir les jours du mois
         for (LocalDate date = firstDay; !date.isAfter(lastDay); date = date.plusDays(1)) {
-            VBox dayCell = createDayCell(date, adherents);
+            VBox dayCell = createDayCell(date, expirations);
             calendarGrid.add(dayCell, col, row);
 
             col++;
@@ -169,7 +208,7 @@ public class CalendrierController {
     /**
      * Crée une cellule de jour avec les informations d'expiration
      */
-    private VBox createDayCell(LocalDate date, List<Adherent> adherents) {
+    private VBox createDayCell(LocalDate date, MoisExpirations expirations) {
         VBox cell = new VBox();
         // Toutes les propriétés de taille, padding et spacing sont maintenant dans le CSS
         cell.getStyleClass().add("day-cell");
@@ -191,17 +230,9 @@ public class CalendrierController {
         long expired = 0;
         long expiringSoon = 0;
         
-        if (adherents != null) {
-            expired = adherents.stream()
-                .filter(a -> a.getDateFin() != null && a.getDateFin().equals(date))
-                .count();
-
-            expiringSoon = adherents.stream()
-                .filter(a -> a.getDateFin() != null && 
-                           a.getDateFin().isAfter(date) && 
-                           a.getDateFin().isBefore(date.plusDays(8)) &&
-                           !a.isAbonnementExpire())
-                .count();
+        if (expirations != null) {
+            expired = expirations.countExpiredOnDate(date);
+            expiringSoon = expirations.countExpiringSoon(date);
 
             if (expired > 0) {
                 cell.getStyleClass().add("day-cell-expired");
@@ -215,12 +246,8 @@ public class CalendrierController {
         }
 
         // Tooltip avec détails
-        if (adherents != null) {
-            List<Adherent> dayAdherents = adherents.stream()
-                .filter(a -> a.getDateFin() != null && 
-                           (a.getDateFin().equals(date) || 
-                            (a.getDateFin().isAfter(date) && a.getDateFin().isBefore(date.plusDays(8)))))
-                .toList();
+        if (expirations != null) {
+            List<Adherent> dayAdherents = expirations.getAdherentsForDate(date);
 
             if (!dayAdherents.isEmpty()) {
                 StringBuilder tooltipText = new StringBuilder("Abonnements :\n");
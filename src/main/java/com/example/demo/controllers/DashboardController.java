@@ -1,16 +1,20 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dao.AdherentDAO;
-import com.example.demo.dao.PaiementDAO;
 import com.example.demo.dao.PackDAO;
 import com.example.demo.models.Adherent;
-import com.example.demo.models.Paiement;
 import com.example.demo.models.Pack;
+import com.example.demo.services.DataLoadService;
+import com.example.demo.services.SubscriptionExpiryJob;
+import com.example.demo.utils.MemberRepository;
+import com.example.demo.utils.PackCache;
+import com.example.demo.utils.PaiementColumnStore;
 import com.example.demo.utils.SvgIcons;
 import javafx.animation.FadeTransition;
 import javafx.animation.Timeline;
 import javafx.animation.TranslateTransition;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.fxml.FXML;
@@ -59,9 +63,16 @@ import java.util.logging.Logger;
 public class DashboardController {
     private static final Logger logger = Logger.getLogger(DashboardController.class.getName());
     private AdherentDAO adherentDAO = new AdherentDAO();
-    private PaiementDAO paiementDAO = new PaiementDAO();
+    private PaiementColumnStore paiementStore = PaiementColumnStore.getInstance();
     private PackDAO packDAO = new PackDAO();
-    private com.example.demo.dao.NotificationDAO notificationDAO = new com.example.demo.dao.NotificationDAO();
+    private PackCache packCache = PackCache.getInstance();
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+    private SubscriptionExpiryJob expiryJob = SubscriptionExpiryJob.getInstance();
+    private com.example.demo.dao.DashboardSnapshotDAO dashboardSnapshotDAO = new com.example.demo.dao.DashboardSnapshotDAO();
+    // Instantané des KPI partagé par toutes les cartes d'un même rafraîchissement
+    private com.example.demo.models.DashboardSnapshot snapshot;
+    // Données du dernier chargement en arrière-plan (null tant que le premier n'est pas publié)
+    private DonneesDashboard donnees;
     private com.example.demo.services.NotificationService notificationService = 
         com.example.demo.services.NotificationService.getInstance();
     private com.example.demo.dao.ActivityDAO activityDAO = new com.example.demo.dao.ActivityDAO();
@@ -147,6 +158,21 @@ public class DashboardController {
     @FXML private VBox contentWrapper;
     @FXML private VBox rightSidebar;
     
+    public DashboardController() {
+        // Rafraîchir le dashboard affiché quand un adhérent est créé, modifié ou désactivé
+        memberRepository.addListener(change -> Platform.runLater(() -> {
+            if (content != null && content.getScene() != null) {
+                refreshDashboard();
+            }
+        }));
+        // Nombres d'expirations republiés par la tâche planifiée (passage quotidien ou recomptage)
+        expiryJob.addListener(resultat -> Platform.runLater(() -> {
+            if (content != null && content.getScene() != null) {
+                refreshDashboard();
+            }
+        }));
+    }
+
     public Parent getView() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/dashboard.fxml"));
@@ -599,8 +625,8 @@ public class DashboardController {
         
         try {
             // Card 1: Revenus du Mois
-            double revenusMois = paiementDAO.getRevenusMois(LocalDate.now());
-            double revenusMoisPrecedent = paiementDAO.getRevenusMois(LocalDate.now().minusMonths(1));
+            double revenusMois = paiementStore.getRevenusMois(LocalDate.now());
+            double revenusMoisPrecedent = paiementStore.getRevenusMois(LocalDate.now().minusMonths(1));
             double changeRevenus = revenusMoisPrecedent > 0 ? ((revenusMois - revenusMoisPrecedent) / revenusMoisPrecedent) * 100 : 0;
             
             VBox card1 = createKPICardExact(
@@ -612,7 +638,7 @@ public class DashboardController {
             HBox.setHgrow(card1, Priority.ALWAYS); // Faire grandir la carte
             
             // Card 2: Adhérents Actifs
-            int adherentsActifs = adherentDAO.findAll().size();
+            int adherentsActifs = memberRepository.findAll().size();
             double changeAdherents = adherentDAO.getMonthlyGrowth(LocalDate.now()); // Calculé depuis historique
             
             VBox card2 = createKPICardExact(
@@ -645,13 +671,13 @@ public class DashboardController {
             HBox.setHgrow(card3, Priority.ALWAYS); // Faire grandir la carte
             
             // Card 4: Nouveaux Abonnements
-            int nouveauxAbonnements = (int) adherentDAO.findAll().stream()
+            int nouveauxAbonnements = (int) memberRepository.findAll().stream()
                 .filter(a -> a.getDateInscription() != null && 
                     a.getDateInscription().isAfter(LocalDate.now().minusDays(30)))
                 .count();
             
             // Calculer les nouveaux abonnements de cette semaine pour le badge
-            int nouveauxCetteSemaine = (int) adherentDAO.findAll().stream()
+            int nouveauxCetteSemaine = (int) memberRepository.findAll().stream()
                 .filter(a -> a.getDateInscription() != null && 
                     a.getDateInscription().isAfter(LocalDate.now().minusDays(7)))
                 .count();
@@ -899,11 +925,10 @@ public class DashboardController {
         grid.setMaxHeight(Double.MAX_VALUE);
         
         try {
+            com.example.demo.models.DashboardSnapshot kpis = currentSnapshot();
+
             // Card 1: Nouveaux Adhérents
-            int nouveauxAdherents = (int) adherentDAO.findAll().stream()
-                .filter(a -> a.getDateInscription() != null && 
-                    a.getDateInscription().isAfter(LocalDate.now().minusDays(7)))
-                .count();
+            int nouveauxAdherents = kpis.getNouveaux7Jours();
             
             VBox card1 = createMiniCard("Nouveaux adhérents", String.valueOf(nouveauxAdherents), "Cette semaine", true, "icon-users");
             GridPane.setColumnIndex(card1, 0);
@@ -912,10 +937,7 @@ public class DashboardController {
             GridPane.setVgrow(card1, Priority.ALWAYS); // Prendre toute la hauteur de la ligne
             
             // Card 2: Revenus Totaux
-            double revenusSemaine = paiementDAO.findAll().stream()
-                .filter(p -> p.getDatePaiement().toLocalDate().isAfter(LocalDate.now().minusDays(7)))
-                .mapToDouble(Paiement::getMontant)
-                .sum();
+            double revenusSemaine = kpis.getRevenusSemaine();
             
             VBox card2 = createMiniCard("Total profit", String.format("%.1fk DH", revenusSemaine / 1000), "+42% Weekly Profit", true, "icon-dollar");
             GridPane.setColumnIndex(card2, 1);
@@ -924,7 +946,7 @@ public class DashboardController {
             GridPane.setVgrow(card2, Priority.ALWAYS); // Prendre toute la hauteur de la ligne
             
             // Card 3: Expirations à venir
-            int expirentBientot = adherentDAO.findExpiringSoon().size();
+            int expirentBientot = nombreExpirantBientot();
             
             VBox card3 = createMiniCard("Expirent dans 7 jours", String.valueOf(expirentBientot), "Action requise", false, "icon-alert");
             GridPane.setColumnIndex(card3, 0);
@@ -933,7 +955,7 @@ public class DashboardController {
             GridPane.setVgrow(card3, Priority.ALWAYS); // Prendre toute la hauteur de la ligne
             
             // Card 4: Taux moyen (montant moyen des paiements)
-            double tauxMoyen = paiementDAO.getTauxMoyen();
+            double tauxMoyen = kpis.getTauxMoyen();
             VBox card4 = createMiniCard("Taux moyen", String.format("%.0f DH", tauxMoyen), "Ce mois", true, "icon-bar-chart");
             GridPane.setColumnIndex(card4, 1);
             GridPane.setRowIndex(card4, 1);
@@ -1093,8 +1115,8 @@ public class DashboardController {
         legendList.setAlignment(Pos.TOP_LEFT);
         
         try {
-            List<Pack> packs = packDAO.findAll();
-            List<Adherent> adherents = adherentDAO.findAll();
+            List<Pack> packs = donnees.packs;
+            com.example.demo.models.DashboardSnapshot kpis = currentSnapshot();
             
             // Palette de couleurs vertes (variations de vert selon l'image)
             // Du vert clair/jaunâtre au vert foncé/saturé
@@ -1110,9 +1132,7 @@ public class DashboardController {
             java.util.List<java.util.Map.Entry<Pack, Long>> packCountsSorted = new java.util.ArrayList<>();
             
             for (Pack pack : packs) {
-                long count = adherents.stream()
-                    .filter(a -> a.getPackId() != null && a.getPackId().equals(pack.getId()))
-                    .count();
+                long count = kpis.getAdherentsPourPack(pack.getId());
                 if (count > 0) {
                     packCountsSorted.add(new java.util.AbstractMap.SimpleEntry<>(pack, count));
                 }
@@ -1123,7 +1143,7 @@ public class DashboardController {
             int maxCategories = Math.min(4, packCountsSorted.size());
             
             // Mettre à jour le total dans le cercle central
-            int totalAdherents = adherents.size();
+            int totalAdherents = kpis.getAdherentsActifs();
             centerValue.setText("TOTAL: " + totalAdherents);
             
             for (int i = 0; i < maxCategories; i++) {
@@ -1155,103 +1175,99 @@ public class DashboardController {
      * Dessine un donut chart style Sales Overview avec 4 couleurs spécifiques
      */
     private void drawSalesOverviewStyleDonutChart(GraphicsContext gc, double width, double height) {
-        try {
-            // Utiliser la méthode getDistributionByAdherents() pour obtenir la distribution réelle
-            java.util.Map<Pack, Integer> distribution = packDAO.getDistributionByAdherents();
-            
-            // Convertir la Map en liste triée par nombre d'adhérents décroissant
-            java.util.List<java.util.Map.Entry<Pack, Integer>> packData = new java.util.ArrayList<>(distribution.entrySet());
-            
-            // Trier par nombre décroissant et limiter à 4
-            packData.sort((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()));
-            int maxCategories = Math.min(4, packData.size());
-            
-            // Palette de couleurs vertes (variations de vert selon l'image)
-            // Du vert clair/jaunâtre au vert foncé/saturé
-            String[] colors = {
-                "#A8E063",  // Vert clair/jaunâtre (pale lime)
-                "#4ECDC4",  // Vert moyen/cyan (teal)
-                "#10B981",  // Vert vibrant (bright green)
-                "#059669"   // Vert foncé/saturé (dark green)
-            };
-            
-            if (maxCategories == 0) {
-                // Dessiner un cercle vide si pas de données
-                gc.setFill(Color.web("#e0e0e0"));
-                gc.fillOval(20, 20, width - 40, height - 40);
-                return;
+        // Distribution réelle (getDistributionByAdherents) lue par loadDashboardData()
+        java.util.Map<Pack, Integer> distribution = donnees.distribution;
+        
+        // Convertir la Map en liste triée par nombre d'adhérents décroissant
+        java.util.List<java.util.Map.Entry<Pack, Integer>> packData = new java.util.ArrayList<>(distribution.entrySet());
+        
+        // Trier par nombre décroissant et limiter à 4
+        packData.sort((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()));
+        int maxCategories = Math.min(4, packData.size());
+        
+        // Palette de couleurs vertes (variations de vert selon l'image)
+        // Du vert clair/jaunâtre au vert foncé/saturé
+        String[] colors = {
+            "#A8E063",  // Vert clair/jaunâtre (pale lime)
+            "#4ECDC4",  // Vert moyen/cyan (teal)
+            "#10B981",  // Vert vibrant (bright green)
+            "#059669"   // Vert foncé/saturé (dark green)
+        };
+        
+        if (maxCategories == 0) {
+            // Dessiner un cercle vide si pas de données
+            gc.setFill(Color.web("#e0e0e0"));
+            gc.fillOval(20, 20, width - 40, height - 40);
+            return;
+        }
+        
+        // Paramètres du donut (style Sales Overview - dimensions ajustées)
+        double centerX = width / 2;
+        double centerY = height / 2;
+        double outerRadius = 120; // Rayon extérieur (ajusté pour 300x300)
+        double innerRadius = 75; // Rayon intérieur (trou central pour le texte)
+        
+        // Calculer le total
+        int total = packData.stream()
+            .limit(maxCategories)
+            .mapToInt(java.util.Map.Entry::getValue)
+            .sum();
+        
+        // Dessiner les segments avec bordures blanches fines
+        double startAngle = -90; // Commencer en haut
+        
+        for (int i = 0; i < maxCategories; i++) {
+            java.util.Map.Entry<Pack, Integer> entry = packData.get(i);
+            int value = entry.getValue();
+            double angle = (value * 360.0) / total;
+            
+            if (angle <= 0) continue;
+            
+            // Couleur du segment (variations de vert)
+            Color segmentColor = Color.web(colors[i % colors.length]);
+            gc.setFill(segmentColor);
+            gc.setStroke(Color.WHITE); // Bordure blanche fine entre segments
+            gc.setLineWidth(1.5); // Bordure plus fine et discrète
+            
+            // Point de départ sur l'arc extérieur
+            double startRad = Math.toRadians(startAngle);
+            double endRad = Math.toRadians(startAngle + angle);
+            
+            double startXOuter = centerX + outerRadius * Math.cos(startRad);
+            double startYOuter = centerY + outerRadius * Math.sin(startRad);
+            
+            // Dessiner le segment donut
+            gc.beginPath();
+            gc.moveTo(startXOuter, startYOuter);
+            
+            // Arc extérieur
+            for (double a = startAngle; a <= startAngle + angle; a += 0.5) {
+                double rad = Math.toRadians(a);
+                double x = centerX + outerRadius * Math.cos(rad);
+                double y = centerY + outerRadius * Math.sin(rad);
+                gc.lineTo(x, y);
             }
             
-            // Paramètres du donut (style Sales Overview - dimensions ajustées)
-            double centerX = width / 2;
-            double centerY = height / 2;
-            double outerRadius = 120; // Rayon extérieur (ajusté pour 300x300)
-            double innerRadius = 75; // Rayon intérieur (trou central pour le texte)
-            
-            // Calculer le total
-            int total = packData.stream()
-                .limit(maxCategories)
-                .mapToInt(java.util.Map.Entry::getValue)
-                .sum();
-            
-            // Dessiner les segments avec bordures blanches fines
-            double startAngle = -90; // Commencer en haut
-            
-            for (int i = 0; i < maxCategories; i++) {
-                java.util.Map.Entry<Pack, Integer> entry = packData.get(i);
-                int value = entry.getValue();
-                double angle = (value * 360.0) / total;
-                
-                if (angle <= 0) continue;
-                
-                // Couleur du segment (variations de vert)
-                Color segmentColor = Color.web(colors[i % colors.length]);
-                gc.setFill(segmentColor);
-                gc.setStroke(Color.WHITE); // Bordure blanche fine entre segments
-                gc.setLineWidth(1.5); // Bordure plus fine et discrète
-                
-                // Point de départ sur l'arc extérieur
-                double startRad = Math.toRadians(startAngle);
-                double endRad = Math.toRadians(startAngle + angle);
-                
-                double startXOuter = centerX + outerRadius * Math.cos(startRad);
-                double startYOuter = centerY + outerRadius * Math.sin(startRad);
-                
-                // Dessiner le segment donut
-                gc.beginPath();
-                gc.moveTo(startXOuter, startYOuter);
-                
-                // Arc extérieur
-                for (double a = startAngle; a <= startAngle + angle; a += 0.5) {
-                    double rad = Math.toRadians(a);
-                    double x = centerX + outerRadius * Math.cos(rad);
-                    double y = centerY + outerRadius * Math.sin(rad);
-                    gc.lineTo(x, y);
-                }
-                
-                // Ligne vers l'intérieur
-                double endXInner = centerX + innerRadius * Math.cos(endRad);
-                double endYInner = centerY + innerRadius * Math.sin(endRad);
-                gc.lineTo(endXInner, endYInner);
-                
-                // Arc intérieur (sens inverse)
-                for (double a = startAngle + angle; a >= startAngle; a -= 0.5) {
-                    double rad = Math.toRadians(a);
-                    double x = centerX + innerRadius * Math.cos(rad);
-                    double y = centerY + innerRadius * Math.sin(rad);
-                    gc.lineTo(x, y);
-                }
-                
-                gc.closePath();
-                gc.fill();
-                gc.stroke();
-                
-                startAngle += angle;
+            // Ligne vers l'intérieur
+            double endXInner = centerX + innerRadius * Math.cos(endRad);
+            double endYInner = centerY + innerRadius * Math.sin(endRad);
+            gc.lineTo(endXInner, endYInner);
+            
+            // Arc intérieur (sens inverse)
+            for (double a = startAngle + angle; a >= startAngle; a -= 0.5) {
+                double rad = Math.toRadians(a);
+                double x = centerX + innerRadius * Math.cos(rad);
+                double y = centerY + innerRadius * Math.sin(rad);
+                gc.lineTo(x, y);
             }
             
-        } catch (SQLException e) {
-            e.printStackTrace();
+            gc.closePath();
+            gc.fill();
+            gc.stroke();
+            
+            startAngle += angle;
         }
+        
     }
     
     /**
@@ -1359,7 +1375,7 @@ public class DashboardController {
         titleLabel.getStyleClass().add("red-list-title");
         
         try {
-            int count = adherentDAO.findExpired().size();
+            int count = memberRepository.findExpired().size();
             Label countLabel = new Label(String.valueOf(count) + " adhérents");
             countLabel.getStyleClass().add("red-list-count");
             
@@ -1371,7 +1387,7 @@ public class DashboardController {
             VBox listContainer = new VBox(12);
             listContainer.setPadding(new Insets(8, 0, 8, 0));
             
-            List<Adherent> expired = adherentDAO.findExpired();
+            List<Adherent> expired = memberRepository.findExpired();
             int maxItems = Math.min(5, expired.size());
             
             for (int i = 0; i < maxItems; i++) {
@@ -1424,8 +1440,8 @@ public class DashboardController {
         
         try {
             // KPI 1: Revenus du mois
-            double revenusMois = paiementDAO.getRevenusMois(LocalDate.now());
-            double revenusMoisPrecedent = paiementDAO.getRevenusMois(LocalDate.now().minusMonths(1));
+            double revenusMois = paiementStore.getRevenusMois(LocalDate.now());
+            double revenusMoisPrecedent = paiementStore.getRevenusMois(LocalDate.now().minusMonths(1));
             double changeRevenus = revenusMoisPrecedent > 0 ? ((revenusMois - revenusMoisPrecedent) / revenusMoisPrecedent) * 100 : 0;
             
             StackPane kpi1 = createKPICard(
@@ -1437,7 +1453,7 @@ public class DashboardController {
             );
             
             // KPI 2: Adhérents actifs
-            int adherentsActifs = adherentDAO.findAll().size();
+            int adherentsActifs = memberRepository.findAll().size();
             int adherentsActifsPrecedent = adherentsActifs; // Simplified
             double changeAdherents = 5.2; // Example
             
@@ -1452,7 +1468,7 @@ public class DashboardController {
             // KPI 3: Nouveaux abonnements
             int nouveauxAbonnements = 0;
             try {
-                List<Adherent> allAdherents = adherentDAO.findAll();
+                List<Adherent> allAdherents = memberRepository.findAll();
                 nouveauxAbonnements = (int) allAdherents.stream()
                     .filter(a -> a.getDateInscription() != null && 
                         a.getDateInscription().isAfter(LocalDate.now().minusDays(30)))
@@ -1470,7 +1486,7 @@ public class DashboardController {
             );
             
             // KPI 4: Abonnements expirés
-            int abonnementsExpires = adherentDAO.findExpired().size();
+            int abonnementsExpires = nombreExpires();
             
             StackPane kpi4 = createKPICard(
                 null,
@@ -1731,12 +1747,10 @@ public class DashboardController {
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         
         try {
-            // Récupérer les revenus des 6 derniers mois
-            for (int i = 5; i >= 0; i--) {
-                LocalDate month = LocalDate.now().minusMonths(i);
-                double revenus = paiementDAO.getRevenusMois(month);
-                String monthName = month.format(DateTimeFormatter.ofPattern("MMM"));
-                series.getData().add(new XYChart.Data<>(monthName, revenus));
+            // Récupérer les revenus des 6 derniers mois (magasin des paiements en mémoire)
+            for (com.example.demo.models.MonthlyRevenue monthlyRevenue : paiementStore.getRevenusParMois(6)) {
+                String monthName = monthlyRevenue.getMois().format(DateTimeFormatter.ofPattern("MMM"));
+                series.getData().add(new XYChart.Data<>(monthName, monthlyRevenue.getMontant()));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1755,8 +1769,8 @@ public class DashboardController {
      */
     private void drawCustomDonutChart(GraphicsContext gc, double width, double height, Label centerValueLabel) {
         try {
-            List<Pack> packs = packDAO.findAll();
-            List<Adherent> adherents = adherentDAO.findAll();
+            List<Pack> packs = packCache.findAll();
+            List<Adherent> adherents = memberRepository.findAll();
             
             // Calculer les données
             java.util.List<java.util.Map.Entry<String, Long>> packData = new java.util.ArrayList<>();
@@ -1907,8 +1921,8 @@ public class DashboardController {
         pieChart.getStyleClass().add("chart");
         
         try {
-            List<com.example.demo.models.Pack> packs = packDAO.findAll();
-            List<Adherent> adherents = adherentDAO.findAll();
+            List<com.example.demo.models.Pack> packs = packCache.findAll();
+            List<Adherent> adherents = memberRepository.findAll();
             
             for (com.example.demo.models.Pack pack : packs) {
                 long count = adherents.stream()
@@ -2034,106 +2048,95 @@ public class DashboardController {
         tableBody.setPadding(new Insets(0, 0, 8, 0)); // Petit padding en bas pour voir le dernier élément
         tableBody.getStyleClass().add("table-body");
         
-        try {
-            List<Adherent> recentAdherents = adherentDAO.findAll().stream()
-                .sorted((a, b) -> {
-                    if (a.getDateInscription() == null) return 1;
-                    if (b.getDateInscription() == null) return -1;
-                    return b.getDateInscription().compareTo(a.getDateInscription());
-                })
-                .limit(50) // Augmenter la limite pour permettre le scroll
-                .toList();
-            
-            for (Adherent adherent : recentAdherents) {
-                HBox row = new HBox(24);
-                row.setAlignment(Pos.CENTER_LEFT);
-                row.setPadding(new Insets(16, 20, 16, 20));
-                // Tous les styles sont maintenant dans le CSS
-                row.getStyleClass().add("table-row");
-                
-                // Avatar + Nom + CIN (40% de largeur)
-                HBox adherentCell = new HBox(12);
-                adherentCell.setAlignment(Pos.CENTER_LEFT);
-                Circle avatar = new Circle(24);
-                avatar.setFill(Color.web("#3B82F6"));
-                VBox nameInfo = new VBox(4);
-                nameInfo.setMinWidth(0);
-                nameInfo.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                nameInfo.setMaxWidth(Double.MAX_VALUE);
-                Label nameLabel = new Label(adherent.getNomComplet());
-                nameLabel.getStyleClass().add("table-row-name");
-                nameLabel.setMinWidth(0);
-                nameLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                nameLabel.setMaxWidth(Double.MAX_VALUE);
-                Label cinLabel = new Label(adherent.getCin() != null ? adherent.getCin() : "");
-                cinLabel.getStyleClass().add("table-row-cin");
-                cinLabel.setMinWidth(0);
-                cinLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                cinLabel.setMaxWidth(Double.MAX_VALUE);
-                nameInfo.getChildren().addAll(nameLabel, cinLabel);
-                adherentCell.getChildren().addAll(avatar, nameInfo);
-                adherentCell.setMinWidth(0);
-                adherentCell.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                adherentCell.setMaxWidth(Double.MAX_VALUE);
-                HBox.setHgrow(adherentCell, Priority.ALWAYS);
-                adherentCell.setMinWidth(150); // Réduit de 200 à 150
-                
-                // Pack (20% de largeur)
-                Label packLabel = new Label(adherent.getPack() != null ? adherent.getPack().getNom() : "N/A");
-                packLabel.getStyleClass().add("table-row-pack");
-                packLabel.setMinWidth(0);
-                packLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                packLabel.setMaxWidth(Double.MAX_VALUE);
-                HBox.setHgrow(packLabel, Priority.SOMETIMES);
-                packLabel.setMinWidth(80); // Réduit de 120 à 80
-                
-                // Statut (20% de largeur)
-                String statutText = "";
-                String statutColor = "";
-                if (adherent.getDateFin() != null && adherent.getDateFin().isBefore(LocalDate.now())) {
-                    statutText = "Expiré";
-                    statutColor = "#EF4444";
-                } else if (adherent.getDateFin() != null && adherent.getDateFin().isBefore(LocalDate.now().plusDays(7))) {
-                    statutText = "Expire bientôt";
-                    statutColor = "#FFB020";
-                } else {
-                    statutText = "Actif";
-                    statutColor = "#00E676";
-                }
-                Label statutLabel = new Label(statutText);
-                statutLabel.getStyleClass().add("table-row-status");
-                // Ajouter la classe CSS selon le statut
-                if (statutColor.equals("#EF4444")) {
-                    statutLabel.getStyleClass().add("table-row-status-expired");
-                } else if (statutColor.equals("#FFB020")) {
-                    statutLabel.getStyleClass().add("table-row-status-expiring");
-                } else {
-                    statutLabel.getStyleClass().add("table-row-status-active");
-                }
-                statutLabel.setMinWidth(0);
-                statutLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                statutLabel.setMaxWidth(Double.MAX_VALUE);
-                HBox.setHgrow(statutLabel, Priority.SOMETIMES);
-                statutLabel.setMinWidth(100); // Réduit de 120 à 100
-                
-                // Expiration (20% de largeur)
-                Label expirationLabel = new Label(
-                    adherent.getDateFin() != null ? 
-                    adherent.getDateFin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) : 
-                    "N/A"
-                );
-                expirationLabel.getStyleClass().add("table-row-expiration");
-                expirationLabel.setMinWidth(0);
-                expirationLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
-                expirationLabel.setMaxWidth(Double.MAX_VALUE);
-                HBox.setHgrow(expirationLabel, Priority.SOMETIMES);
-                expirationLabel.setMinWidth(100); // Réduit de 120 à 100
-                
-                row.getChildren().addAll(adherentCell, packLabel, statutLabel, expirationLabel);
-                tableBody.getChildren().add(row);
+        List<Adherent> recentAdherents = donnees.recentAdherents;
+        
+        for (Adherent adherent : recentAdherents) {
+            HBox row = new HBox(24);
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(16, 20, 16, 20));
+            // Tous les styles sont maintenant dans le CSS
+            row.getStyleClass().add("table-row");
+            
+            // Avatar + Nom + CIN (40% de largeur)
+            HBox adherentCell = new HBox(12);
+            adherentCell.setAlignment(Pos.CENTER_LEFT);
+            Circle avatar = new Circle(24);
+            avatar.setFill(Color.web("#3B82F6"));
+            VBox nameInfo = new VBox(4);
+            nameInfo.setMinWidth(0);
+            nameInfo.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            nameInfo.setMaxWidth(Double.MAX_VALUE);
+            Label nameLabel = new Label(adherent.getNomComplet());
+            nameLabel.getStyleClass().add("table-row-name");
+            nameLabel.setMinWidth(0);
+            nameLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            nameLabel.setMaxWidth(Double.MAX_VALUE);
+            Label cinLabel = new Label(adherent.getCin() != null ? adherent.getCin() : "");
+            cinLabel.getStyleClass().add("table-row-cin");
+            cinLabel.setMinWidth(0);
+            cinLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            cinLabel.setMaxWidth(Double.MAX_VALUE);
+            nameInfo.getChildren().addAll(nameLabel, cinLabel);
+            adherentCell.getChildren().addAll(avatar, nameInfo);
+            adherentCell.setMinWidth(0);
+            adherentCell.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            adherentCell.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(adherentCell, Priority.ALWAYS);
+            adherentCell.setMinWidth(150); // Réduit de 200 à 150
+            
+            // Pack (20% de largeur)
+            Label packLabel = new Label(adherent.getPack() != null ? adherent.getPack().getNom() : "N/A");
+            packLabel.getStyleClass().add("table-row-pack");
+            packLabel.setMinWidth(0);
+            packLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            packLabel.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(packLabel, Priority.SOMETIMES);
+            packLabel.setMinWidth(80); // Réduit de 120 à 80
+            
+            // Statut (20% de largeur)
+            String statutText = "";
+            String statutColor = "";
+            if (adherent.getDateFin() != null && adherent.getDateFin().isBefore(LocalDate.now())) {
+                statutText = "Expiré";
+                statutColor = "#EF4444";
+            } else if (adherent.getDateFin() != null && adherent.getDateFin().isBefore(LocalDate.now().plusDays(7))) {
+                statutText = "Expire bientôt";
+                statutColor = "#FFB020";
+            } else {
+                statutText = "Actif";
+                statutColor = "#00E676";
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            Label statutLabel = new Label(statutText);
+            statutLabel.getStyleClass().add("table-row-status");
+            // Ajouter la classe CSS selon le statut
+            if (statutColor.equals("#EF4444")) {
+                statutLabel.getStyleClass().add("table-row-status-expired");
+            } else if (statutColor.equals("#FFB020")) {
+                statutLabel.getStyleClass().add("table-row-status-expiring");
+            } else {
+                statutLabel.getStyleClass().add("table-row-status-active");
+            }
+            statutLabel.setMinWidth(0);
+            statutLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            statutLabel.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(statutLabel, Priority.SOMETIMES);
+            statutLabel.setMinWidth(100); // Réduit de 120 à 100
+            
+            // Expiration (20% de largeur)
+            Label expirationLabel = new Label(
+                adherent.getDateFin() != null ? 
+                adherent.getDateFin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) : 
+                "N/A"
+            );
+            expirationLabel.getStyleClass().add("table-row-expiration");
+            expirationLabel.setMinWidth(0);
+            expirationLabel.setPrefWidth(Region.USE_COMPUTED_SIZE);
+            expirationLabel.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(expirationLabel, Priority.SOMETIMES);
+            expirationLabel.setMinWidth(100); // Réduit de 120 à 100
+            
+            row.getChildren().addAll(adherentCell, packLabel, statutLabel, expirationLabel);
+            tableBody.getChildren().add(row);
         }
         
         scrollPane.setContent(tableBody);
@@ -2527,70 +2530,40 @@ public class DashboardController {
      * - Table des adhérents
      * - Notifications et Activities panels</p>
      */
-    /**
-     * Vérifie et notifie les abonnements expirant bientôt (évite les doublons)
-     */
-    private void checkAndNotifyExpiringSubscriptions() {
-        try {
-            initializeNotificationService();
-            
-            List<com.example.demo.models.Adherent> expiringSoon = adherentDAO.findExpiringSoon();
-            int count = expiringSoon.size();
-            
-            if (count > 0) {
-                // Vérifier si une notification similaire existe déjà aujourd'hui
-                com.example.demo.models.Utilisateur currentUser = LoginController.getCurrentUser();
-                Integer userId = currentUser != null ? currentUser.getId() : 1;
-                
-                boolean alreadyNotified = notificationDAO.existsTodayByType(
-                    userId, 
-                    com.example.demo.utils.DashboardConstants.NOTIF_TYPE_EXPIRING_SOON
-                );
-                
-                if (!alreadyNotified) {
-                    notificationService.notifyExpiringSoon(count);
-                }
-            }
-        } catch (Exception e) {
-            logger.warning("Erreur lors de la vérification des abonnements expirant bientôt: " + e.getMessage());
+    private void refreshDashboard() {
+        // Premier affichage : placeholders dans les KPI ; un rafraîchissement garde les valeurs
+        // courantes jusqu'à la publication des nouvelles
+        if (donnees == null) {
+            showKPIPlaceholders();
         }
+        DataLoadService.getInstance().load(this, "dashboard", this::loadDashboardData, charges -> {
+            donnees = charges;
+            snapshot = charges.snapshot;
+            applyDashboardData();
+        }, e -> logger.warning("Erreur lors du chargement du dashboard: " + e.getMessage()));
     }
     
     /**
-     * Vérifie et notifie les abonnements expirés (évite les doublons)
+     * Lit en une fois toutes les données du dashboard (exécuté hors du thread JavaFX)
      */
-    private void checkAndNotifyExpiredSubscriptions() {
-        try {
-            initializeNotificationService();
-            
-            List<com.example.demo.models.Adherent> expired = adherentDAO.findExpired();
-            int count = expired.size();
-            
-            if (count > 0) {
-                // Vérifier si une notification similaire existe déjà aujourd'hui
-                com.example.demo.models.Utilisateur currentUser = LoginController.getCurrentUser();
-                Integer userId = currentUser != null ? currentUser.getId() : 1;
-                
-                boolean alreadyNotified = notificationDAO.existsTodayByType(
-                    userId, 
-                    com.example.demo.utils.DashboardConstants.NOTIF_TYPE_EXPIRED
-                );
-                
-                if (!alreadyNotified) {
-                    notificationService.notifyExpired(count);
-                }
-            }
-        } catch (Exception e) {
-            logger.warning("Erreur lors de la vérification des abonnements expirés: " + e.getMessage());
-        }
+    private DonneesDashboard loadDashboardData() throws SQLException {
+        // Les KPI sont calculés une seule fois pour tout le rafraîchissement
+        com.example.demo.models.DashboardSnapshot kpis = dashboardSnapshotDAO.load();
+        
+        return new DonneesDashboard(
+            kpis,
+            packCache.findAll(),
+            packDAO.getDistributionByAdherents(),
+            memberRepository.findRecent(50), // Limite suffisante pour permettre le scroll
+            paiementStore.getRevenusParMois(com.example.demo.utils.DashboardConstants.MONTHS_REVENUE_CHART)
+        );
     }
-
-    private void refreshDashboard() {
+    
+    /**
+     * Reconstruit le dashboard à partir des données publiées par le chargement
+     */
+    private void applyDashboardData() {
         try {
-            // Vérifications périodiques des abonnements
-            checkAndNotifyExpiringSubscriptions();
-            checkAndNotifyExpiredSubscriptions();
-            
             // Mettre à jour les valeurs KPI dans les labels existants
             updateKPIValues();
             
@@ -2631,15 +2604,55 @@ public class DashboardController {
         }
     }
     
+    /**
+     * Retourne l'instantané des KPI du rafraîchissement en cours (calculé au premier appel)
+     */
+    private com.example.demo.models.DashboardSnapshot currentSnapshot() throws SQLException {
+        if (snapshot == null) {
+            snapshot = dashboardSnapshotDAO.load();
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Nombre d'abonnements expirés publié par la tâche planifiée
+     * (celui de l'instantané des KPI tant qu'aucun passage n'a abouti)
+     */
+    private int nombreExpires() throws SQLException {
+        SubscriptionExpiryJob.Resultat resultat = expiryJob.getDernierResultat();
+        return resultat != null ? resultat.expires() : currentSnapshot().getExpires();
+    }
+    
+    /**
+     * Nombre d'abonnements expirant dans les 7 jours publié par la tâche planifiée
+     * (celui de l'instantané des KPI tant qu'aucun passage n'a abouti)
+     */
+    private int nombreExpirantBientot() throws SQLException {
+        SubscriptionExpiryJob.Resultat resultat = expiryJob.getDernierResultat();
+        return resultat != null ? resultat.expirantBientot() : currentSnapshot().getExpirantBientot();
+    }
+    
+    /**
+     * Affiche des valeurs d'attente dans les KPI pendant le premier chargement
+     */
+    private void showKPIPlaceholders() {
+        for (Label label : new Label[] {kpiRevenuValue, kpiAdherentsValue, kpiTauxValue, kpiNouveauxValue}) {
+            if (label != null) {
+                label.setText("...");
+            }
+        }
+    }
+    
     /**
      * Met à jour les valeurs KPI dans les labels existants
      */
     private void updateKPIValues() {
         try {
+            com.example.demo.models.DashboardSnapshot kpis = currentSnapshot();
+            
             // Card 1: Revenus du Mois
-            double revenusMois = paiementDAO.getRevenusMois(LocalDate.now());
-            double revenusMoisPrecedent = paiementDAO.getRevenusMois(LocalDate.now().minusMonths(1));
-            double changeRevenus = revenusMoisPrecedent > 0 ? ((revenusMois - revenusMoisPrecedent) / revenusMoisPrecedent) * 100 : 0;
+            double revenusMois = kpis.getRevenusMois();
+            double changeRevenus = kpis.getChangeRevenus();
             
             if (kpiRevenuValue != null) {
                 kpiRevenuValue.setText(String.format("%.0f DH", revenusMois));
@@ -2649,8 +2662,8 @@ public class DashboardController {
             }
             
             // Card 2: Adhérents Actifs
-            int adherentsActifs = adherentDAO.findAll().size();
-            double changeAdherents = adherentDAO.getMonthlyGrowth(LocalDate.now());
+            int adherentsActifs = kpis.getAdherentsActifs();
+            double changeAdherents = kpis.getCroissanceMensuelle();
             
             if (kpiAdherentsValue != null) {
                 kpiAdherentsValue.setText(String.valueOf(adherentsActifs));
@@ -2660,14 +2673,8 @@ public class DashboardController {
             }
             
             // Card 3: Taux d'Occupation
-            double tauxOccupation = adherentDAO.getTauxOccupation();
-            com.example.demo.dao.ObjectifDAO objectifDAO = new com.example.demo.dao.ObjectifDAO();
-            com.example.demo.models.Objectif objectif = objectifDAO.findActiveByType(
-                com.example.demo.utils.DashboardConstants.OBJECTIF_TYPE_TAUX_OCCUPATION
-            );
-            int objectifAdherents = objectif != null 
-                ? objectif.getValeur().intValue() 
-                : com.example.demo.utils.DashboardConstants.OBJECTIF_ADHERENTS_DEFAULT;
+            double tauxOccupation = kpis.getTauxOccupation();
+            int objectifAdherents = (int) kpis.getObjectifAdherents();
             
             if (kpiTauxValue != null) {
                 kpiTauxValue.setText(String.format("%.0f%%", tauxOccupation));
@@ -2685,33 +2692,7 @@ public class DashboardController {
             
             // Card 4: Nouveaux Abonnements
             // Compter les nouveaux abonnements du mois (adhérents inscrits ce mois)
-            int nouveauxAbonnements = 0;
-            try {
-                LocalDate debutMois = LocalDate.now().withDayOfMonth(1);
-                LocalDate finMois = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
-                
-                String sql = """
-                    SELECT COUNT(*) as count FROM adherents 
-                    WHERE actif = 1 
-                    AND date_inscription >= ? 
-                    AND date_inscription <= ?
-                """;
-                
-                try (Connection conn = com.example.demo.utils.DatabaseManager.getInstance().getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    
-                    stmt.setString(1, debutMois.toString());
-                    stmt.setString(2, finMois.toString());
-                    ResultSet rs = stmt.executeQuery();
-                    
-                    if (rs.next()) {
-                        nouveauxAbonnements = rs.getInt("count");
-                    }
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-                nouveauxAbonnements = 0;
-            }
+            int nouveauxAbonnements = kpis.getNouveauxMois();
             
             if (kpiNouveauxValue != null) {
                 kpiNouveauxValue.setText(String.valueOf(nouveauxAbonnements));
@@ -2724,6 +2705,27 @@ public class DashboardController {
         }
     }
     
+    /**
+     * Données du dashboard lues en une fois hors du thread JavaFX
+     */
+    private static final class DonneesDashboard {
+        final com.example.demo.models.DashboardSnapshot snapshot;
+        final List<Pack> packs;
+        final java.util.Map<Pack, Integer> distribution;
+        final List<Adherent> recentAdherents;
+        final List<com.example.demo.models.MonthlyRevenue> revenusMensuels;
+        
+        DonneesDashboard(com.example.demo.models.DashboardSnapshot snapshot, List<Pack> packs,
+                         java.util.Map<Pack, Integer> distribution, List<Adherent> recentAdherents,
+                         List<com.example.demo.models.MonthlyRevenue> revenusMensuels) {
+            this.snapshot = snapshot;
+            this.packs = packs;
+            this.distribution = distribution;
+            this.recentAdherents = recentAdherents;
+            this.revenusMensuels = revenusMensuels;
+        }
+    }
+    
     /**
      * Classe interne pour représenter un item combiné (Notification ou Activity)
      */
@@ -3210,12 +3212,12 @@ public class DashboardController {
         pieChart.setPrefSize(150, 150);
         
         try {
-            List<Adherent> allAdherents = adherentDAO.findAll();
+            List<Adherent> allAdherents = memberRepository.findAll();
             int actifs = (int) allAdherents.stream()
                 .filter(a -> a.getDateFin() != null && a.getDateFin().isAfter(LocalDate.now()))
                 .count();
-            int expires = adherentDAO.findExpired().size();
-            int expirentBientot = adherentDAO.findExpiringSoon().size();
+            int expires = nombreExpires();
+            int expirentBientot = nombreExpirantBientot();
             
             if (actifs > 0) {
                 PieChart.Data actifsData = new PieChart.Data("Actifs", actifs);
@@ -3238,12 +3240,12 @@ public class DashboardController {
         categoriesList.setAlignment(Pos.TOP_LEFT);
         
         try {
-            List<Adherent> allAdherents = adherentDAO.findAll();
+            List<Adherent> allAdherents = memberRepository.findAll();
             int actifs = (int) allAdherents.stream()
                 .filter(a -> a.getDateFin() != null && a.getDateFin().isAfter(LocalDate.now()))
                 .count();
-            int expires = adherentDAO.findExpired().size();
-            int expirentBientot = adherentDAO.findExpiringSoon().size();
+            int expires = nombreExpires();
+            int expirentBientot = nombreExpirantBientot();
             
             categoriesList.getChildren().add(createCategoryItem("Actifs", actifs, "#9EFF00"));
             categoriesList.getChildren().add(createCategoryItem("Expirés", expires, "#EF4444"));
@@ -3291,6 +3293,12 @@ public class DashboardController {
         // Vider le conteneur s'il contient déjà un graphique
         areaChartContainer.getChildren().clear();
         
+        // Données pas encore chargées : placeholder jusqu'à la publication du chargement
+        if (donnees == null) {
+            areaChartContainer.getChildren().add(DataLoadService.createPlaceholder("Chargement des revenus..."));
+            return;
+        }
+        
         CategoryAxis xAxis = new CategoryAxis();
         NumberAxis yAxis = new NumberAxis();
         yAxis.setLabel("");
@@ -3336,36 +3344,24 @@ public class DashboardController {
         
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         
-        try {
-            // Utiliser getRevenusParMois() pour récupérer les revenus des 6 derniers mois en une seule requête
-            int nombreMois = com.example.demo.utils.DashboardConstants.MONTHS_REVENUE_CHART;
-            List<com.example.demo.models.MonthlyRevenue> revenusMensuels = paiementDAO.getRevenusParMois(nombreMois);
-            
-            double totalRevenus = 0;
-            for (com.example.demo.models.MonthlyRevenue monthlyRevenue : revenusMensuels) {
-                double montant = monthlyRevenue.getMontant() != null ? monthlyRevenue.getMontant() : 0.0;
-                totalRevenus += montant;
-                String monthName = monthlyRevenue.getMoisFormatted();
-                series.getData().add(new XYChart.Data<>(monthName, montant));
-            }
-            
-            // Si toutes les données sont à zéro, ajouter des données de test pour visualiser le design
-            if (totalRevenus == 0) {
-                series.getData().clear();
-                // Données de test avec une tendance ascendante pour visualiser le design
-                String[] mois = {"juil.", "août", "sept.", "oct.", "nov.", "déc."};
-                double[] donneesTest = {15000, 22000, 18000, 28000, 35000, 42000}; // Données de test
-                
-                for (int i = 0; i < mois.length; i++) {
-                    series.getData().add(new XYChart.Data<>(mois[i], donneesTest[i]));
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            // En cas d'erreur, utiliser des données de test
+        // Revenus des derniers mois lus par loadDashboardData() en une seule requête
+        List<com.example.demo.models.MonthlyRevenue> revenusMensuels = donnees.revenusMensuels;
+        
+        double totalRevenus = 0;
+        for (com.example.demo.models.MonthlyRevenue monthlyRevenue : revenusMensuels) {
+            double montant = monthlyRevenue.getMontant() != null ? monthlyRevenue.getMontant() : 0.0;
+            totalRevenus += montant;
+            String monthName = monthlyRevenue.getMoisFormatted();
+            series.getData().add(new XYChart.Data<>(monthName, montant));
+        }
+        
+        // Si toutes les données sont à zéro, ajouter des données de test pour visualiser le design
+        if (totalRevenus == 0) {
             series.getData().clear();
+            // Données de test avec une tendance ascendante pour visualiser le design
             String[] mois = {"juil.", "août", "sept.", "oct.", "nov.", "déc."};
-            double[] donneesTest = {15000, 22000, 18000, 28000, 35000, 42000};
+            double[] donneesTest = {15000, 22000, 18000, 28000, 35000, 42000}; // Données de test
+            
             for (int i = 0; i < mois.length; i++) {
                 series.getData().add(new XYChart.Data<>(mois[i], donneesTest[i]));
             }
@@ -3421,9 +3417,9 @@ public class DashboardController {
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         
         try {
-            // Utiliser getRevenusParMois() pour récupérer les revenus des 6 derniers mois en une seule requête
+            // Utiliser getRevenusParMois() pour récupérer les revenus des 6 derniers mois (magasin des paiements en mémoire)
             int nombreMois = com.example.demo.utils.DashboardConstants.MONTHS_REVENUE_CHART;
-            List<com.example.demo.models.MonthlyRevenue> revenusMensuels = paiementDAO.getRevenusParMois(nombreMois);
+            List<com.example.demo.models.MonthlyRevenue> revenusMensuels = paiementStore.getRevenusParMois(nombreMois);
             
             double totalRevenus = 0;
             for (com.example.demo.models.MonthlyRevenue monthlyRevenue : revenusMensuels) {
@@ -1,5 +1,6 @@
 package com.example.demo.controllers;
 
+import com.example.demo.services.DataLoadService;
 import com.example.demo.utils.AnimationUtils;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -40,6 +41,8 @@ public class MainController {
     private DashboardController dashboardController;
     private CalendrierController calendrierController;
     private StatistiquesController statistiquesController;
+    // Contrôleur de la vue affichée (ses chargements sont annulés quand on la quitte)
+    private Object currentViewController;
     
     private Button activeButton;
     private Map<String, Button> menuButtons = new HashMap<>();
@@ -652,11 +655,20 @@ public class MainController {
         AnimationUtils.slideInLeft(sidebar);
     }
 
+    /**
+     * Annule les chargements encore en cours de la vue quittée
+     */
+    private void switchViewController(Object controller) {
+        DataLoadService.getInstance().cancelAll(currentViewController);
+        currentViewController = controller;
+    }
+
     private void showDashboard() {
         if (dashboardController == null) {
             dashboardController = new DashboardController();
         }
         if (mainContainer != null) {
+            switchViewController(dashboardController);
             mainContainer.setCenter(dashboardController.getView());
             dashboardController.updateBreadcrumb("dashboard");
         }
@@ -667,6 +679,7 @@ public class MainController {
             packController = new PackManagementController();
         }
         if (mainContainer != null) {
+            switchViewController(packController);
             mainContainer.setCenter(packController.getView());
         }
     }
@@ -676,6 +689,7 @@ public class MainController {
             adherentController = new AdherentManagementController();
         }
         if (mainContainer != null) {
+            switchViewController(adherentController);
             mainContainer.setCenter(adherentController.getView());
         }
     }
@@ -685,6 +699,7 @@ public class MainController {
             paiementController = new PaiementManagementController();
         }
         if (mainContainer != null) {
+            switchViewController(paiementController);
             mainContainer.setCenter(paiementController.getView());
         }
     }
@@ -694,6 +709,7 @@ public class MainController {
             calendrierController = new CalendrierController();
         }
         if (mainContainer != null) {
+            switchViewController(calendrierController);
             mainContainer.setCenter(calendrierController.getView());
         }
     }
@@ -703,6 +719,7 @@ public class MainController {
             statistiquesController = new StatistiquesController();
         }
         if (mainContainer != null) {
+            switchViewController(statistiquesController);
             mainContainer.setCenter(statistiquesController.getView());
             if (dashboardController != null) {
                 dashboardController.updateBreadcrumb("statistiques");
@@ -4,6 +4,9 @@ import com.example.demo.dao.PackDAO;
 import com.example.demo.models.Pack;
 import com.example.demo.services.NotificationService;
 import com.example.demo.services.ActivityService;
+import com.example.demo.services.DataLoadService;
+import com.example.demo.utils.DebouncedSearch;
+import com.example.demo.utils.PackCache;
 import com.example.demo.utils.SvgIcons;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -30,9 +33,11 @@ import java.util.List;
  */
 public class PackManagementController {
     private PackDAO packDAO = new PackDAO();
+    private PackCache packCache = PackCache.getInstance();
     private NotificationService notificationService = NotificationService.getInstance();
     private ActivityService activityService = ActivityService.getInstance();
     private ObservableList<Pack> packsList = FXCollections.observableArrayList();
+    private DebouncedSearch<Pack> packsSearch;
 
     // Références aux composants UI (chargés depuis FXML)
     @FXML
@@ -163,7 +168,13 @@ public class PackManagementController {
     private void setupEventHandlers() {
         // Champ de recherche
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> searchPacks(newVal));
+            packsSearch = new DebouncedSearch<Pack>(
+                this::searchPacks,
+                this::loadPacks,
+                () -> DataLoadService.getInstance().isLoading(this, "packs") ? null : List.copyOf(packsList),
+                (pack, terme) -> DebouncedSearch.contient(pack.getNom(), terme),
+                packsList::setAll
+            ).bind(searchField.textProperty());
         }
         
         // Boutons d'action
@@ -370,14 +381,13 @@ public class PackManagementController {
      * Charge tous les packs
      */
     private void loadPacks() {
-        try {
-            List<Pack> packs = packDAO.findAll();
-            packsList.clear();
-            packsList.addAll(packs);
-        } catch (SQLException e) {
+        if (packsSearch != null) {
+            packsSearch.reset();
+        }
+        DataLoadService.getInstance().load(this, "packs", packCache::findAll, packsList::setAll, e -> {
             e.printStackTrace();
             showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des packs: " + e.getMessage());
-        }
+        });
     }
 
     /**
@@ -389,13 +399,9 @@ public class PackManagementController {
             return;
         }
 
-        try {
-            List<Pack> packs = packDAO.searchByNom(searchTerm);
-            packsList.clear();
-            packsList.addAll(packs);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Même clé que loadPacks : seule la dernière saisie est publiée
+        DataLoadService.getInstance().load(this, "packs", () -> packCache.searchByNom(searchTerm),
+            packsList::setAll, Throwable::printStackTrace);
     }
 
     /**
@@ -1,13 +1,16 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dao.AdherentDAO;
-import com.example.demo.dao.PackDAO;
 import com.example.demo.dao.PaiementDAO;
 import com.example.demo.models.Adherent;
 import com.example.demo.models.Paiement;
 import com.example.demo.models.Pack;
 import com.example.demo.services.NotificationService;
 import com.example.demo.services.ActivityService;
+import com.example.demo.utils.DebouncedSearch;
+import com.example.demo.utils.LazyTableLoader;
+import com.example.demo.utils.MemberRepository;
+import com.example.demo.utils.PackCache;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.application.Platform;
@@ -22,11 +25,11 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.layout.*;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Contrôleur pour la gestion des paiements avec liste rouge
@@ -34,12 +37,19 @@ import java.util.stream.Collectors;
 public class PaiementManagementController {
     private PaiementDAO paiementDAO = new PaiementDAO();
     private AdherentDAO adherentDAO = new AdherentDAO();
-    private PackDAO packDAO = new PackDAO();
+    private PackCache packCache = PackCache.getInstance();
+    private MemberRepository memberRepository = MemberRepository.getInstance();
     private NotificationService notificationService = NotificationService.getInstance();
     private ActivityService activityService = ActivityService.getInstance();
     private ObservableList<Paiement> paiementsList = FXCollections.observableArrayList();
+    private LazyTableLoader<Paiement> paiementsLoader;
+    private DebouncedSearch<Paiement> paiementsSearch;
     private ObservableList<Adherent> redList = FXCollections.observableArrayList();
 
+    // Pagination de la table : lignes lues par requête et marge de préchargement
+    private static final int PAGE_SIZE = 100;
+    private static final int PREFETCH_ROWS = 30;
+
     // Références aux composants UI (chargés depuis FXML)
     @FXML private HBox header;
     @FXML private Button menuBtn;
@@ -59,7 +69,7 @@ public class PaiementManagementController {
     @FXML private TextField searchPaymentsField;
     @FXML private Button addPaymentButton;
     @FXML private TableColumn<Paiement, String> adherentColumn;
-    @FXML private TableColumn<Paiement, Double> montantColumn;
+    @FXML private TableColumn<Paiement, BigDecimal> montantColumn;
     @FXML private TableColumn<Paiement, String> dateColumn;
     @FXML private TableColumn<Paiement, String> methodeColumn;
     @FXML private TableColumn<Paiement, String> dateFinColumn;
@@ -148,13 +158,13 @@ public class PaiementManagementController {
         // Configurer le champ de recherche (logique métier)
         if (searchPaymentsField != null) {
             searchPaymentsField.getStyleClass().add("paiements-search-field");
-            searchPaymentsField.textProperty().addListener((obs, oldVal, newVal) -> {
-                if (newVal == null || newVal.trim().isEmpty()) {
-                    loadPayments();
-                } else {
-                    searchPayments(newVal);
-                }
-            });
+            paiementsSearch = new DebouncedSearch<Paiement>(
+                this::searchPayments,
+                this::loadPayments,
+                () -> paiementsLoader != null ? paiementsLoader.getAllIfLoaded() : null,
+                PaiementManagementController::correspondRecherche,
+                paiements -> paiementsLoader.show(paiements)
+            ).bind(searchPaymentsField.textProperty());
         }
         
         // Configurer le bouton Ajouter Paiement
@@ -296,14 +306,11 @@ public class PaiementManagementController {
         
         // Configurer les cellValueFactory et cellFactory (logique métier)
         if (adherentColumn != null) {
+            // L'adhérent est déjà joint par PaiementDAO.findPage : aucune requête par ligne
             adherentColumn.setCellValueFactory(cellData -> {
-                try {
-                    Adherent adherent = adherentDAO.findById(cellData.getValue().getAdherentId());
-                    return new javafx.beans.property.SimpleStringProperty(
-                        adherent != null ? adherent.getNomComplet() : "N/A");
-                } catch (SQLException e) {
-                    return new javafx.beans.property.SimpleStringProperty("N/A");
-                }
+                Adherent adherent = cellData.getValue().getAdherent();
+                return new javafx.beans.property.SimpleStringProperty(
+                    adherent != null ? adherent.getNomComplet() : "N/A");
             });
             adherentColumn.setCellFactory(column -> new TableCell<Paiement, String>() {
                 @Override
@@ -317,9 +324,9 @@ public class PaiementManagementController {
         
         if (montantColumn != null) {
             montantColumn.setCellValueFactory(new PropertyValueFactory<>("montant"));
-            montantColumn.setCellFactory(column -> new TableCell<Paiement, Double>() {
+            montantColumn.setCellFactory(column -> new TableCell<Paiement, BigDecimal>() {
                 @Override
-                protected void updateItem(Double montant, boolean empty) {
+                protected void updateItem(BigDecimal montant, boolean empty) {
                     super.updateItem(montant, empty);
                     getStyleClass().clear();
                     if (empty || montant == null) {
@@ -377,8 +384,13 @@ public class PaiementManagementController {
             });
         }
         
-        // Configurer les données et comportements
+        // Configurer les données et comportements (chargement page par page au défilement)
         paiementsTable.setItems(paiementsList);
+        paiementsLoader = new LazyTableLoader<>(paiementsTable, paiementsList, PAGE_SIZE, PREFETCH_ROWS);
+        paiementsLoader.setOnError(e -> {
+            e.printStackTrace();
+            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des paiements");
+        });
         
         // Configurer la politique de redimensionnement des colonnes
         paiementsTable.setColumnResizePolicy(TableView.UNCONSTRAINED_RESIZE_POLICY);
@@ -417,7 +429,7 @@ public class PaiementManagementController {
      */
     private void loadRedList() {
         try {
-            List<Adherent> expired = adherentDAO.findExpired();
+            List<Adherent> expired = memberRepository.findExpired();
             Platform.runLater(() -> {
                 redList.clear();
                 redList.addAll(expired);
@@ -430,27 +442,19 @@ public class PaiementManagementController {
     }
 
     /**
-     * Charge tous les paiements
+     * Charge les paiements (première page, les suivantes au défilement)
      */
     private void loadPayments() {
-        try {
-            List<Paiement> paiements = paiementDAO.findAll();
-            Platform.runLater(() -> {
-                paiementsList.clear();
-                paiementsList.addAll(paiements);
-                // Forcer le rafraîchissement de la table
-                if (paiementsTable != null) {
-                    paiementsTable.refresh();
-                }
-            });
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Erreur", "Erreur lors du chargement des paiements");
+        if (paiementsSearch != null) {
+            paiementsSearch.reset();
+        }
+        if (paiementsLoader != null) {
+            paiementsLoader.load(paiementDAO::findPage);
         }
     }
 
     /**
-     * Recherche dans les paiements
+     * Recherche dans les paiements (nom de l'adhérent ou montant), résultats paginés
      */
     private void searchPayments(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
@@ -458,38 +462,28 @@ public class PaiementManagementController {
             return;
         }
         
-        String lowerSearch = searchTerm.toLowerCase().trim();
-        Platform.runLater(() -> {
-            paiementsList.clear();
-            try {
-                List<Paiement> allPayments = paiementDAO.findAll();
-                List<Paiement> filtered = allPayments.stream()
-                    .filter(p -> {
-                        try {
-                            Adherent adherent = adherentDAO.findById(p.getAdherentId());
-                            if (adherent != null) {
-                                String fullName = adherent.getNomComplet().toLowerCase();
-                                if (fullName.contains(lowerSearch)) {
-                                    return true;
-                                }
-                            }
-                            if (String.format("%.2f", p.getMontant()).contains(lowerSearch)) {
-                                return true;
-                            }
-                            return false;
-                        } catch (SQLException e) {
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
-                paiementsList.addAll(filtered);
-                if (paiementsTable != null) {
-                    paiementsTable.refresh();
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        });
+        if (paiementsLoader != null) {
+            paiementsLoader.load((apres, taille) -> paiementDAO.findPage(searchTerm, apres, taille));
+        }
+    }
+
+    /**
+     * Critère de {@link PaiementDAO#findPage(String, Paiement, int)} appliqué en mémoire
+     * (le montant est comparé sous ses deux écritures : DECIMAL MySQL et nombre SQLite)
+     */
+    private static boolean correspondRecherche(Paiement paiement, String terme) {
+        Adherent adherent = paiement.getAdherent();
+        if (adherent != null && adherent.getPrenom() != null && adherent.getNom() != null
+                && DebouncedSearch.contient(adherent.getPrenom() + " " + adherent.getNom(), terme)) {
+            return true;
+        }
+        if (paiement.getPack() != null && DebouncedSearch.contient(paiement.getPack().getNom(), terme)) {
+            return true;
+        }
+        BigDecimal montant = paiement.getMontant();
+        return montant != null
+            && (DebouncedSearch.contient(String.format(java.util.Locale.ROOT, "%.2f", montant), terme)
+                || DebouncedSearch.contient(montant.stripTrailingZeros().toPlainString(), terme));
     }
 
     /**
@@ -529,7 +523,7 @@ public class PaiementManagementController {
         ComboBox<Adherent> adherentCombo = new ComboBox<>();
         adherentCombo.getStyleClass().add("paiements-dialog-combobox");
         try {
-            List<Adherent> adherents = adherentDAO.findAll();
+            List<Adherent> adherents = memberRepository.findAll();
             adherentCombo.getItems().addAll(adherents);
             if (preselectedAdherent != null) {
                 adherentCombo.setValue(preselectedAdherent);
@@ -601,7 +595,7 @@ public class PaiementManagementController {
             }
         });
         try {
-            List<Pack> packs = packDAO.findAll();
+            List<Pack> packs = packCache.findAll();
             packCombo.getItems().addAll(packs);
         } catch (SQLException e) {
             e.printStackTrace();
@@ -612,7 +606,7 @@ public class PaiementManagementController {
             Adherent selected = adherentCombo.getValue();
             if (selected != null && selected.getPackId() != null) {
                 try {
-                    Pack pack = packDAO.findById(selected.getPackId());
+                    Pack pack = packCache.findById(selected.getPackId());
                     if (pack != null) {
                         packCombo.setValue(pack);
                     }
@@ -783,7 +777,7 @@ public class PaiementManagementController {
                     Paiement paiement = new Paiement();
                     paiement.setAdherent(adherentCombo.getValue());
                     paiement.setPack(packCombo.getValue());
-                    paiement.setMontant(Double.parseDouble(montantField.getText()));
+                    paiement.setMontant(new BigDecimal(montantField.getText().trim()));
                     paiement.setDatePaiement(datePaiementPicker.getValue().atStartOfDay());
                     paiement.setMethodePaiement(methodeCombo.getValue());
                     paiement.setDateDebutAbonnement(dateDebutPicker.getValue());
@@ -805,7 +799,7 @@ public class PaiementManagementController {
                 
                 // Charger l'adhérent et le pack pour les notifications
                 Adherent adherent = adherentDAO.findById(paiement.getAdherentId());
-                Pack pack = packDAO.findById(paiement.getPackId());
+                Pack pack = packCache.findById(paiement.getPackId());
                 
                 if (adherent != null) {
                     paiement.setAdherent(adherent);
@@ -1,11 +1,11 @@
 package com.example.demo.controllers;
 
-import com.example.demo.dao.AdherentDAO;
-import com.example.demo.dao.PackDAO;
-import com.example.demo.dao.PaiementDAO;
-import com.example.demo.models.Adherent;
-import com.example.demo.models.Pack;
+import com.example.demo.models.MonthlyRevenue;
+import com.example.demo.services.DataLoadService;
+import com.example.demo.services.StatisticsEngine;
+import com.example.demo.services.StatisticsEngine.Statistiques;
 import com.example.demo.utils.AnimationUtils;
+import com.example.demo.utils.MemberRepository;
 import com.example.demo.utils.SvgIcons;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -32,24 +32,30 @@ import javafx.util.Duration;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.Map;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Contrôleur pour les statistiques et graphiques avancés avec design moderne
  */
 public class StatistiquesController {
     private static final Logger logger = Logger.getLogger(StatistiquesController.class.getName());
-    private AdherentDAO adherentDAO = new AdherentDAO();
-    private PackDAO packDAO = new PackDAO();
-    private PaiementDAO paiementDAO = new PaiementDAO();
+    private MemberRepository memberRepository = MemberRepository.getInstance();
+    private StatisticsEngine statisticsEngine = StatisticsEngine.getInstance();
+
+    /** Nombre de mois affichés par les graphiques */
+    private static final int NOMBRE_MOIS = 12;
     
     // État de navigation
     private String currentView = "Évolution"; // Vue actuellement affichée
 
+    // Séries des quatre vues, calculées en arrière-plan (null pendant le calcul) :
+    // le changement d'onglet ne fait qu'afficher les séries déjà calculées
+    private Statistiques donnees;
+
     // Références aux composants UI (chargés depuis FXML)
     @FXML private HBox header;
     @FXML private Button menuBtn;
@@ -77,6 +83,15 @@ public class StatistiquesController {
     @FXML private VBox retentionContainer;
     @FXML private HBox headerBox;
 
+    public StatistiquesController() {
+        // Recalculer les statistiques affichées quand un adhérent est créé, modifié ou désactivé
+        memberRepository.addListener(change -> Platform.runLater(() -> {
+            if (contentContainer != null && contentContainer.getScene() != null) {
+                refreshContent();
+            }
+        }));
+    }
+
     public Parent getView() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/statistiques.fxml"));
@@ -119,15 +134,8 @@ public class StatistiquesController {
         // Configurer les boutons de navigation
         setupNavigationTabs();
         
-        // Afficher la vue par défaut
-        if (contentContainer != null) {
-            contentContainer.getChildren().addAll(createViewContent(currentView));
-        }
-        
-        // Charger les données
-        Platform.runLater(() -> {
-            refreshContent();
-        });
+        // Afficher la vue par défaut (placeholder jusqu'à la fin du chargement)
+        refreshContent();
     }
     
     /**
@@ -146,7 +154,10 @@ public class StatistiquesController {
         if (refreshBtn != null) {
             Node icon = loadSVGIcon("icon-refresh", 20, "#9AA4B2");
             if (icon != null) refreshBtn.setGraphic(icon);
-            refreshBtn.setOnAction(e -> refreshContent());
+            refreshBtn.setOnAction(e -> {
+                statisticsEngine.invalidate();
+                refreshContent();
+            });
         }
         if (bellBtn != null) {
             Node icon = loadSVGIcon("icon-bell", 20, "#9AA4B2");
@@ -237,12 +248,8 @@ public class StatistiquesController {
         
         currentView = viewName;
         
-        // Mettre à jour le contenu
-        if (contentContainer != null) {
-            contentContainer.getChildren().clear();
-            VBox newContent = createViewContent(currentView);
-            contentContainer.getChildren().add(newContent);
-        }
+        // Mettre à jour le contenu (à partir des données déjà chargées)
+        showCurrentView();
         
         // Mettre à jour les styles des boutons de navigation
         if (navigationTabsContainer != null) {
@@ -282,6 +289,12 @@ public class StatistiquesController {
      * Crée le contenu pour une vue donnée
      */
     private VBox createViewContent(String viewName) {
+        if (donnees == null) {
+            VBox view = new VBox(20);
+            view.getStyleClass().add("statistiques-content-container");
+            view.getChildren().add(DataLoadService.createPlaceholder("Chargement des statistiques..."));
+            return view;
+        }
         switch (viewName) {
             case "Évolution":
                 return createEvolutionView();
@@ -297,15 +310,39 @@ public class StatistiquesController {
     }
     
     /**
-     * Rafraîchit le contenu
+     * Rafraîchit le contenu : calcule les séries hors du thread JavaFX puis reconstruit la vue
      */
     private void refreshContent() {
+        donnees = null;
+        showCurrentView();
+        DataLoadService.getInstance().load(this, "statistiques", this::loadDonnees, charges -> {
+            donnees = charges;
+            showCurrentView();
+        }, e -> {
+            logger.warning("Erreur lors du chargement des statistiques: " + e.getMessage());
+            if (contentContainer != null) {
+                contentContainer.getChildren().setAll(createErrorLabel("Impossible de charger les statistiques"));
+            }
+        });
+    }
+
+    /**
+     * Remplace le contenu par la vue courante
+     */
+    private void showCurrentView() {
         if (contentContainer != null) {
             contentContainer.getChildren().clear();
             VBox newContent = createViewContent(currentView);
             contentContainer.getChildren().add(newContent);
         }
     }
+
+    /**
+     * Calcule (ou reprend du cache) les séries des statistiques (exécuté hors du thread JavaFX)
+     */
+    private Statistiques loadDonnees() throws SQLException {
+        return statisticsEngine.compute(LocalDate.now(), NOMBRE_MOIS);
+    }
     
     /**
      * Crée un bouton d'icône pour le header
@@ -442,29 +479,16 @@ public class StatistiquesController {
         HBox container = new HBox(16);
         container.getStyleClass().add("statistiques-content-container");
         
-        try {
-            List<Adherent> adherents = adherentDAO.findAll();
-            Map<String, Long> inscriptionsParMois = adherents.stream()
-                .filter(a -> a.getDateInscription() != null)
-                .collect(Collectors.groupingBy(
-                    a -> a.getDateInscription().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                    Collectors.counting()
-                ));
-            
-            long totalInscriptions = adherents.size();
-            long ceMois = inscriptionsParMois.getOrDefault(
-                LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM")), 0L);
-            
-            VBox card1 = createKPICard("Total Inscriptions", String.valueOf(totalInscriptions), "", true);
-            VBox card2 = createKPICard("Ce Mois", String.valueOf(ceMois), "", true);
-            
-            HBox.setHgrow(card1, Priority.ALWAYS);
-            HBox.setHgrow(card2, Priority.ALWAYS);
-            
-            container.getChildren().addAll(card1, card2);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        long totalInscriptions = donnees.getTotalAdherents();
+        long ceMois = donnees.getInscriptionsDernierMois();
+        
+        VBox card1 = createKPICard("Total Inscriptions", String.valueOf(totalInscriptions), "", true);
+        VBox card2 = createKPICard("Ce Mois", String.valueOf(ceMois), "", true);
+        
+        HBox.setHgrow(card1, Priority.ALWAYS);
+        HBox.setHgrow(card2, Priority.ALWAYS);
+        
+        container.getChildren().addAll(card1, card2);
         
         return container;
     }
@@ -545,48 +569,33 @@ public class StatistiquesController {
         lineChart.setAnimated(true);
         lineChart.getStyleClass().add("statistiques-linechart");
         
-        try {
-            List<Adherent> adherents = adherentDAO.findAll();
-            Map<String, Long> inscriptionsParMois = adherents.stream()
-                .filter(a -> a.getDateInscription() != null)
-                .collect(Collectors.groupingBy(
-                    a -> a.getDateInscription().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                    Collectors.counting()
-                ));
-            
-            XYChart.Series<String, Number> dataSeries = new XYChart.Series<>();
-            dataSeries.setName("Nouveaux Inscrits");
-            
-            LocalDate now = LocalDate.now();
-            for (int i = 11; i >= 0; i--) {
-                LocalDate month = now.minusMonths(i);
-                String monthKey = month.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-                String monthLabel = month.format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
-                long count = inscriptionsParMois.getOrDefault(monthKey, 0L);
-                dataSeries.getData().add(new XYChart.Data<>(monthLabel, count));
-            }
-            
-            lineChart.getData().add(dataSeries);
-            
-            // Appliquer les styles après que le graphique soit rendu
-            Platform.runLater(() -> {
-                try {
-                    Node chartNode = lineChart.lookup(".chart-plot-background");
-                    if (chartNode != null) {
-                        chartNode.setStyle("-fx-background-color: transparent;");
-                    }
-                    Node legend = lineChart.lookup(".chart-legend");
-                    if (legend != null) {
-                        legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
-                    }
-                } catch (Exception e) {
-                    // Ignorer les erreurs de style
-                }
-            });
-        } catch (SQLException e) {
-            e.printStackTrace();
+        XYChart.Series<String, Number> dataSeries = new XYChart.Series<>();
+        dataSeries.setName("Nouveaux Inscrits");
+        
+        List<YearMonth> mois = donnees.getMois();
+        for (int i = 0; i < mois.size(); i++) {
+            String monthLabel = mois.get(i).format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
+            dataSeries.getData().add(new XYChart.Data<>(monthLabel, donnees.getInscriptions(i)));
         }
         
+        lineChart.getData().add(dataSeries);
+        
+        // Appliquer les styles après que le graphique soit rendu
+        Platform.runLater(() -> {
+            try {
+                Node chartNode = lineChart.lookup(".chart-plot-background");
+                if (chartNode != null) {
+                    chartNode.setStyle("-fx-background-color: transparent;");
+                }
+                Node legend = lineChart.lookup(".chart-legend");
+                if (legend != null) {
+                    legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
+                }
+            } catch (Exception e) {
+                // Ignorer les erreurs de style
+            }
+        });
+        
         return lineChart;
     }
     
@@ -659,37 +668,11 @@ public class StatistiquesController {
     private PieChart createPacksPieChart() {
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
         
-        try {
-            List<Pack> packs = packDAO.findAll();
-            List<Adherent> adherents = adherentDAO.findAll();
-            
-            Map<String, Long> adherentsParPack = adherents.stream()
-                .filter(a -> a.getPackId() != null)
-                .collect(Collectors.groupingBy(
-                    a -> {
-                        try {
-                            Pack pack = packDAO.findById(a.getPackId());
-                            return pack != null ? pack.getNom() : "Aucun";
-                        } catch (SQLException e) {
-                            return "Aucun";
-                        }
-                    },
-                    Collectors.counting()
-                ));
-            
-            Color[] colors = {
-                Color.web("#FF6B35"), Color.web("#4ECDC4"), Color.web("#6A0572"),
-                Color.web("#45B7D1"), Color.web("#82E0AA"), Color.web("#00E676")
-            };
-            
-            int colorIndex = 0;
-            for (Map.Entry<String, Long> entry : adherentsParPack.entrySet()) {
-                PieChart.Data data = new PieChart.Data(entry.getKey() + " (" + entry.getValue() + ")", entry.getValue());
-                pieChartData.add(data);
-                colorIndex++;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        Map<String, Long> adherentsParPack = donnees.getAdherentsParPack();
+        
+        for (Map.Entry<String, Long> entry : adherentsParPack.entrySet()) {
+            PieChart.Data data = new PieChart.Data(entry.getKey() + " (" + entry.getValue() + ")", entry.getValue());
+            pieChartData.add(data);
         }
         
         PieChart pieChart = new PieChart(pieChartData);
@@ -758,26 +741,16 @@ public class StatistiquesController {
         HBox container = new HBox(16);
         container.getStyleClass().add("statistiques-content-container");
         
-        try {
-            double totalRevenus = 0.0;
-            LocalDate now = LocalDate.now();
-            for (int i = 11; i >= 0; i--) {
-                LocalDate month = now.minusMonths(i);
-                totalRevenus += paiementDAO.getRevenusMois(month);
-            }
-            
-            double moyenneMois = totalRevenus / 12;
-            
-            VBox card1 = createKPICard("Total 12 Mois", String.format("%.2f DH", totalRevenus), "", true);
-            VBox card2 = createKPICard("Moyenne/Mois", String.format("%.2f DH", moyenneMois), "", true);
-            
-            HBox.setHgrow(card1, Priority.ALWAYS);
-            HBox.setHgrow(card2, Priority.ALWAYS);
-            
-            container.getChildren().addAll(card1, card2);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        double totalRevenus = donnees.getTotalRevenus();
+        double moyenneMois = donnees.getMoyenneRevenus();
+        
+        VBox card1 = createKPICard("Total 12 Mois", String.format("%.2f DH", totalRevenus), "", true);
+        VBox card2 = createKPICard("Moyenne/Mois", String.format("%.2f DH", moyenneMois), "", true);
+        
+        HBox.setHgrow(card1, Priority.ALWAYS);
+        HBox.setHgrow(card2, Priority.ALWAYS);
+        
+        container.getChildren().addAll(card1, card2);
         
         return container;
     }
@@ -818,79 +791,72 @@ public class StatistiquesController {
         barChart.setAnimated(true);
         barChart.getStyleClass().add("statistiques-barchart");
         
-        try {
-            XYChart.Series<String, Number> dataSeries = new XYChart.Series<>();
-            dataSeries.setName("Revenus (DH)");
-            
-            LocalDate now = LocalDate.now();
-            for (int i = 11; i >= 0; i--) {
-                LocalDate month = now.minusMonths(i);
-                Double revenus = paiementDAO.getRevenusMois(month);
-                String monthLabel = month.format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
-                dataSeries.getData().add(new XYChart.Data<>(monthLabel, revenus));
-            }
-            
-            barChart.getData().add(dataSeries);
-            
-            // Appliquer les styles après que le graphique soit rendu (avec délai pour laisser les barres se créer)
-            PauseTransition pause = new PauseTransition(Duration.millis(100));
-            pause.setOnFinished(event -> {
-                Platform.runLater(() -> {
-                    try {
-                        // Style du fond du graphique
-                        Node chartNode = barChart.lookup(".chart-plot-background");
-                        if (chartNode != null) {
-                            chartNode.setStyle("-fx-background-color: transparent;");
-                        }
-                        
-                        // Style de la légende
-                        Node legend = barChart.lookup(".chart-legend");
-                        if (legend != null) {
-                            legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
-                        }
-                        
-                        // Style des barres - couleur verte visible sur fond sombre
-                        // Méthode 1: Via les séries de données (plus fiable)
-                        for (XYChart.Series<String, Number> series : barChart.getData()) {
-                            for (XYChart.Data<String, Number> data : series.getData()) {
-                                Node node = data.getNode();
-                                if (node != null) {
-                                    node.setStyle("-fx-bar-fill: #10b981;");
-                                }
+        XYChart.Series<String, Number> dataSeries = new XYChart.Series<>();
+        dataSeries.setName("Revenus (DH)");
+        
+        for (MonthlyRevenue monthlyRevenue : donnees.getRevenusParMois()) {
+            String monthLabel = monthlyRevenue.getMois().format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
+            dataSeries.getData().add(new XYChart.Data<>(monthLabel, monthlyRevenue.getMontant()));
+        }
+        
+        barChart.getData().add(dataSeries);
+        
+        // Appliquer les styles après que le graphique soit rendu (avec délai pour laisser les barres se créer)
+        PauseTransition pause = new PauseTransition(Duration.millis(100));
+        pause.setOnFinished(event -> {
+            Platform.runLater(() -> {
+                try {
+                    // Style du fond du graphique
+                    Node chartNode = barChart.lookup(".chart-plot-background");
+                    if (chartNode != null) {
+                        chartNode.setStyle("-fx-background-color: transparent;");
+                    }
+                    
+                    // Style de la légende
+                    Node legend = barChart.lookup(".chart-legend");
+                    if (legend != null) {
+                        legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
+                    }
+                    
+                    // Style des barres - couleur verte visible sur fond sombre
+                    // Méthode 1: Via les séries de données (plus fiable)
+                    for (XYChart.Series<String, Number> series : barChart.getData()) {
+                        for (XYChart.Data<String, Number> data : series.getData()) {
+                            Node node = data.getNode();
+                            if (node != null) {
+                                node.setStyle("-fx-bar-fill: #10b981;");
                             }
                         }
-                        
-                        // Méthode 2: Via lookupAll (backup)
-                        java.util.Set<Node> bars = barChart.lookupAll(".chart-bar");
-                        for (Node bar : bars) {
-                            bar.setStyle("-fx-bar-fill: #10b981;");
-                        }
-                        
-                        // Méthode 3: Via default-color0 (classe CSS par défaut)
-                        java.util.Set<Node> defaultBars = barChart.lookupAll(".default-color0.chart-bar");
-                        for (Node bar : defaultBars) {
-                            bar.setStyle("-fx-bar-fill: #10b981;");
-                        }
-                        
-                        // Style des grilles
-                        Node verticalGrid = barChart.lookup(".chart-vertical-grid-lines");
-                        if (verticalGrid != null) {
-                            verticalGrid.setStyle("-fx-stroke: rgba(255, 255, 255, 0.1);");
-                        }
-                        Node horizontalGrid = barChart.lookup(".chart-horizontal-grid-lines");
-                        if (horizontalGrid != null) {
-                            horizontalGrid.setStyle("-fx-stroke: rgba(255, 255, 255, 0.1);");
-                        }
-                    } catch (Exception e) {
-                        // Ignorer les erreurs de style
-                        e.printStackTrace();
                     }
-                });
+                    
+                    // Méthode 2: Via lookupAll (backup)
+                    java.util.Set<Node> bars = barChart.lookupAll(".chart-bar");
+                    for (Node bar : bars) {
+                        bar.setStyle("-fx-bar-fill: #10b981;");
+                    }
+                    
+                    // Méthode 3: Via default-color0 (classe CSS par défaut)
+                    java.util.Set<Node> defaultBars = barChart.lookupAll(".default-color0.chart-bar");
+                    for (Node bar : defaultBars) {
+                        bar.setStyle("-fx-bar-fill: #10b981;");
+                    }
+                    
+                    // Style des grilles
+                    Node verticalGrid = barChart.lookup(".chart-vertical-grid-lines");
+                    if (verticalGrid != null) {
+                        verticalGrid.setStyle("-fx-stroke: rgba(255, 255, 255, 0.1);");
+                    }
+                    Node horizontalGrid = barChart.lookup(".chart-horizontal-grid-lines");
+                    if (horizontalGrid != null) {
+                        horizontalGrid.setStyle("-fx-stroke: rgba(255, 255, 255, 0.1);");
+                    }
+                } catch (Exception e) {
+                    // Ignorer les erreurs de style
+                    e.printStackTrace();
+                }
             });
-            pause.play();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
+        pause.play();
         
         return barChart;
     }
@@ -931,49 +897,36 @@ public class StatistiquesController {
         lineChart.setAnimated(true);
         lineChart.getStyleClass().add("statistiques-linechart");
         
-        try {
-            List<Adherent> adherents = adherentDAO.findAll();
-            XYChart.Series<String, Number> retentionSeries = new XYChart.Series<>();
-            retentionSeries.setName("Taux de Rétention (%)");
-            
-            LocalDate now = LocalDate.now();
-            for (int i = 11; i >= 0; i--) {
-                LocalDate month = now.minusMonths(i);
-                String monthLabel = month.format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
-                
-                long actifs = adherents.stream()
-                    .filter(a -> a.getDateFin() == null || !a.getDateFin().isBefore(month))
-                    .count();
-                
-                double taux = adherents.isEmpty() ? 0 : (actifs * 100.0 / adherents.size());
-                retentionSeries.getData().add(new XYChart.Data<>(monthLabel, taux));
-            }
-            
-            lineChart.getData().add(retentionSeries);
-            
-            // Appliquer les styles après que le graphique soit rendu
-            Platform.runLater(() -> {
-                try {
-                    Node chartNode = lineChart.lookup(".chart-plot-background");
-                    if (chartNode != null) {
-                        chartNode.setStyle("-fx-background-color: transparent;");
-                    }
-                    Node legend = lineChart.lookup(".chart-legend");
-                    if (legend != null) {
-                        legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
-                    }
-                } catch (Exception e) {
-                    // Ignorer les erreurs de style
-                }
-            });
-        } catch (SQLException e) {
-            e.printStackTrace();
+        XYChart.Series<String, Number> retentionSeries = new XYChart.Series<>();
+        retentionSeries.setName("Taux de Rétention (%)");
+        
+        List<YearMonth> mois = donnees.getMois();
+        for (int i = 0; i < mois.size(); i++) {
+            String monthLabel = mois.get(i).format(DateTimeFormatter.ofPattern("MMM yyyy", java.util.Locale.FRENCH));
+            retentionSeries.getData().add(new XYChart.Data<>(monthLabel, donnees.getRetention(i)));
         }
         
+        lineChart.getData().add(retentionSeries);
+        
+        // Appliquer les styles après que le graphique soit rendu
+        Platform.runLater(() -> {
+            try {
+                Node chartNode = lineChart.lookup(".chart-plot-background");
+                if (chartNode != null) {
+                    chartNode.setStyle("-fx-background-color: transparent;");
+                }
+                Node legend = lineChart.lookup(".chart-legend");
+                if (legend != null) {
+                    legend.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 12px;");
+                }
+            } catch (Exception e) {
+                // Ignorer les erreurs de style
+            }
+        });
+        
         return lineChart;
     }
 
-
     /**
      * Stylise récursivement tous les Text nodes dans un Node avec une couleur donnée
      */
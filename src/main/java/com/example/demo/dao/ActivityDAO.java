@@ -21,6 +21,11 @@ import java.util.logging.Logger;
 public class ActivityDAO {
     private static final Logger logger = Logger.getLogger(ActivityDAO.class.getName());
 
+    private static final String INSERT_SQL = """
+        INSERT INTO activities (user_id, type, description, entity_type, entity_id, created_at)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
     /**
      * Crée une nouvelle activité dans la base de données.
      * 
@@ -29,50 +34,83 @@ public class ActivityDAO {
      * @throws SQLException Si une erreur survient lors de l'insertion
      */
     public Activity create(Activity activity) throws SQLException {
-        String sql = """
-            INSERT INTO activities (user_id, type, description, entity_type, entity_id, created_at)
-            VALUES (?, ?, ?, ?, ?, ?)
-        """;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setObject(1, activity.getUserId());
-            stmt.setString(2, activity.getType());
-            stmt.setString(3, activity.getDescription());
-            stmt.setObject(4, activity.getEntityType());
-            stmt.setObject(5, activity.getEntityId());
-            stmt.setString(6, activity.getCreatedAt() != null 
-                ? activity.getCreatedAt().toString() 
-                : LocalDateTime.now().toString());
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion de l'activité");
-            }
+                setActivityParameters(stmt, activity);
 
-            // Récupérer l'ID généré
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    activity.setId(generatedKeys.getInt(1));
-                } else {
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            activity.setId(rs.getInt("id"));
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion de l'activité");
+                }
+
+                // Récupérer l'ID généré
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        activity.setId(generatedKeys.getInt(1));
+                    } else {
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                activity.setId(rs.getInt("id"));
+                            }
                         }
                     }
                 }
+
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Activité créée: " + activity.getType());
+                return activity;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création de l'activité: " + e.getMessage());
+                throw e;
             }
+        }
+    }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Activité créée: " + activity.getType());
-            return activity;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création de l'activité: " + e.getMessage());
-            throw e;
+    /**
+     * Insère un lot d'activités en une seule transaction (un seul aller-retour par lot).
+     *
+     * <p>Utilisé par l'écriture différée du journal ({@code ActivityAppender}) : les IDs
+     * générés ne sont pas relus, personne n'attend ces activités en retour.</p>
+     *
+     * @param activities Activités à insérer
+     * @throws SQLException Si une insertion échoue (la transaction est annulée)
+     */
+    public void createAll(List<Activity> activities) throws SQLException {
+        if (activities.isEmpty()) {
+            return;
         }
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+
+                for (Activity activity : activities) {
+                    setActivityParameters(stmt, activity);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                conn.commit(); // ✅ Une seule transaction pour le lot
+                logger.fine(activities.size() + " activités créées");
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création groupée des activités: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    private static void setActivityParameters(PreparedStatement stmt, Activity activity) throws SQLException {
+        stmt.setObject(1, activity.getUserId());
+        stmt.setString(2, activity.getType());
+        stmt.setString(3, activity.getDescription());
+        stmt.setObject(4, activity.getEntityType());
+        stmt.setObject(5, activity.getEntityId());
+        stmt.setString(6, activity.getCreatedAt() != null
+            ? activity.getCreatedAt().toString()
+            : LocalDateTime.now().toString());
     }
 
     /**
@@ -88,24 +126,25 @@ public class ActivityDAO {
             WHERE id=?
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setObject(1, activity.getUserId());
-            stmt.setString(2, activity.getType());
-            stmt.setString(3, activity.getDescription());
-            stmt.setObject(4, activity.getEntityType());
-            stmt.setObject(5, activity.getEntityId());
-            stmt.setInt(6, activity.getId());
-
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Activité mise à jour: " + activity.getId());
-            return activity;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la mise à jour de l'activité: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setObject(1, activity.getUserId());
+                stmt.setString(2, activity.getType());
+                stmt.setString(3, activity.getDescription());
+                stmt.setObject(4, activity.getEntityType());
+                stmt.setObject(5, activity.getEntityId());
+                stmt.setInt(6, activity.getId());
+
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Activité mise à jour: " + activity.getId());
+                return activity;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour de l'activité: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -118,17 +157,18 @@ public class ActivityDAO {
     public void delete(Integer id) throws SQLException {
         String sql = "DELETE FROM activities WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Activité supprimée: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la suppression de l'activité: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Activité supprimée: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la suppression de l'activité: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -149,7 +189,7 @@ public class ActivityDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToActivity(rs);
+                return new ActivityMapper(rs).map(rs);
             }
             return null;
         }
@@ -172,8 +212,9 @@ public class ActivityDAO {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
+            ActivityMapper mapper = new ActivityMapper(rs);
             while (rs.next()) {
-                activities.add(mapResultSetToActivity(rs));
+                activities.add(mapper.map(rs));
             }
         }
 
@@ -197,8 +238,9 @@ public class ActivityDAO {
             stmt.setInt(1, limit);
             ResultSet rs = stmt.executeQuery();
 
+            ActivityMapper mapper = new ActivityMapper(rs);
             while (rs.next()) {
-                activities.add(mapResultSetToActivity(rs));
+                activities.add(mapper.map(rs));
             }
         }
 
@@ -222,8 +264,9 @@ public class ActivityDAO {
             stmt.setString(1, type);
             ResultSet rs = stmt.executeQuery();
 
+            ActivityMapper mapper = new ActivityMapper(rs);
             while (rs.next()) {
-                activities.add(mapResultSetToActivity(rs));
+                activities.add(mapper.map(rs));
             }
         }
 
@@ -231,27 +274,33 @@ public class ActivityDAO {
     }
 
     /**
-     * Mappe un ResultSet vers un objet Activity.
-     * 
-     * @param rs Le ResultSet à mapper
-     * @return L'objet Activity mappé
-     * @throws SQLException Si une erreur survient lors du mapping
+     * Mappeur des lignes de la table activities
      */
-    private Activity mapResultSetToActivity(ResultSet rs) throws SQLException {
-        Activity activity = new Activity();
-        activity.setId(rs.getInt("id"));
-        activity.setUserId(rs.getObject("user_id", Integer.class));
-        activity.setType(rs.getString("type"));
-        activity.setDescription(rs.getString("description"));
-        activity.setEntityType(rs.getString("entity_type"));
-        activity.setEntityId(rs.getObject("entity_id", Integer.class));
-
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            activity.setCreatedAt(com.example.demo.utils.DateUtils.parseDateTime(createdAtStr));
+    private static final class ActivityMapper extends RowMapper<Activity> {
+        private final int id, userId, type, description, entityType, entityId, createdAt;
+
+        ActivityMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            userId = column(rs, "user_id");
+            type = column(rs, "type");
+            description = column(rs, "description");
+            entityType = column(rs, "entity_type");
+            entityId = column(rs, "entity_id");
+            createdAt = column(rs, "created_at");
         }
 
-        return activity;
+        @Override
+        Activity map(ResultSet rs) throws SQLException {
+            Activity activity = new Activity();
+            activity.setId(rs.getInt(id));
+            activity.setUserId(getInteger(rs, userId));
+            activity.setType(rs.getString(type));
+            activity.setDescription(rs.getString(description));
+            activity.setEntityType(rs.getString(entityType));
+            activity.setEntityId(getInteger(rs, entityId));
+            activity.setCreatedAt(getDateTime(rs, createdAt));
+            return activity;
+        }
     }
 }
 
@@ -1,7 +1,10 @@
 package com.example.demo.dao;
 
 import com.example.demo.models.Adherent;
+import com.example.demo.models.Page;
 import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.MemberRepository;
+import com.example.demo.utils.SqlDialect;
 
 import java.sql.*;
 import java.time.LocalDate;
@@ -19,6 +22,7 @@ import java.util.logging.Logger;
  * <p>Méthodes principales :
  * <ul>
  *   <li>{@link #create(Adherent)} - Créer un nouvel adhérent</li>
+ *   <li>{@link #createAll(List, int)} - Créer des adhérents par lots</li>
  *   <li>{@link #update(Adherent)} - Mettre à jour un adhérent existant</li>
  *   <li>{@link #delete(Integer)} - Désactiver un adhérent (soft delete)</li>
  *   <li>{@link #findById(Integer)} - Récupérer un adhérent par ID</li>
@@ -26,7 +30,9 @@ import java.util.logging.Logger;
  *   <li>{@link #findAllActive()} - Récupérer tous les adhérents actifs</li>
  *   <li>{@link #search(String)} - Rechercher des adhérents par critères</li>
  *   <li>{@link #findExpiringSoon()} - Trouver les adhérents dont l'abonnement expire bientôt</li>
- *   <li>{@link #findWithPagination(int, int)} - Récupérer avec pagination</li>
+ *   <li>{@link #countExpired(LocalDate)} / {@link #countExpiringSoon(LocalDate, int)} - Compter les expirations (index)</li>
+ *   <li>{@link #markExpirations(LocalDate)} - Enregistrer l'état d'expiration en une requête</li>
+ *   <li>{@link #findPage(Adherent, int)} - Récupérer une page (pagination par clé)</li>
  *   <li>{@link #findWithSort(String, String)} - Récupérer avec tri personnalisé</li>
  *   <li>{@link #getTauxOccupation()} - Calculer le taux d'occupation</li>
  *   <li>{@link #getMonthlyGrowth(LocalDate)} - Calculer la croissance mensuelle</li>
@@ -41,49 +47,122 @@ import java.util.logging.Logger;
 public class AdherentDAO {
     private static final Logger logger = Logger.getLogger(AdherentDAO.class.getName());
 
+    private static final String INSERT_SQL = """
+        INSERT INTO adherents (cin, nom, prenom, date_naissance, telephone, email, adresse, 
+                              photo, poids, taille, objectifs, problemes_sante, pack_id, 
+                              date_debut, date_fin, actif, date_inscription)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
     /**
      * Insère un nouvel adhérent
      */
     public Adherent create(Adherent adherent) throws SQLException {
-        String sql = """
-            INSERT INTO adherents (cin, nom, prenom, date_naissance, telephone, email, adresse, 
-                                  photo, poids, taille, objectifs, problemes_sante, pack_id, 
-                                  date_debut, date_fin, actif, date_inscription)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-        """;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                setAdherentParameters(stmt, adherent);
 
-            setAdherentParameters(stmt, adherent);
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion de l'adhérent");
+                }
+
+                // Récupérer l'ID généré (RETURN_GENERATED_KEYS, sinon dernier ID selon le dialecte)
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        adherent.setId(generatedKeys.getInt(1));
+                    } else {
+                        // Fallback: dernier ID généré (selon le dialecte) si RETURN_GENERATED_KEYS ne fonctionne pas
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                adherent.setId(rs.getInt("id"));
+                            }
+                        }
+                    }
+                }
 
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion de l'adhérent");
+                conn.commit(); // ✅ Commiter la transaction
+                MemberRepository.getInstance().notifyCreated(List.of(adherent));
+                logger.info("Adhérent créé: " + adherent.getNomComplet());
+                return adherent;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création de l'adhérent: " + e.getMessage());
+                throw e;
             }
+        }
+    }
+
+    /**
+     * Insère une liste d'adhérents par lots de {@link DatabaseManager#DEFAULT_BATCH_SIZE}
+     *
+     * @see #createAll(List, int)
+     */
+    public List<Adherent> createAll(List<Adherent> adherents) throws SQLException {
+        return createAll(adherents, DatabaseManager.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insère une liste d'adhérents en une seule transaction.
+     *
+     * <p>Les lignes sont envoyées par lots (addBatch) de {@code tailleLot} ; le driver les
+     * réécrit en INSERT multi-lignes. Les IDs générés sont affectés aux adhérents dans
+     * l'ordre de la liste. En cas d'erreur, aucun adhérent n'est inséré.</p>
+     *
+     * @param adherents Adhérents à insérer (leurs IDs sont renseignés au retour)
+     * @param tailleLot Nombre de lignes par lot envoyé au serveur
+     * @return La liste des adhérents insérés
+     * @throws SQLException Si une insertion échoue (la transaction est annulée)
+     */
+    public List<Adherent> createAll(List<Adherent> adherents, int tailleLot) throws SQLException {
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille de lot doit être positive: " + tailleLot);
+        }
+        if (adherents.isEmpty()) {
+            return adherents;
+        }
+
+        SqlDialect dialect = DatabaseManager.getInstance().getDialect();
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            // Récupérer l'ID généré - MySQL supporte RETURN_GENERATED_KEYS et LAST_INSERT_ID()
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    adherent.setId(generatedKeys.getInt(1));
-                } else {
-                    // Fallback: utiliser LAST_INSERT_ID() si RETURN_GENERATED_KEYS ne fonctionne pas
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            adherent.setId(rs.getInt("id"));
+                for (int debut = 0; debut < adherents.size(); debut += tailleLot) {
+                    List<Adherent> lot = adherents.subList(debut, Math.min(debut + tailleLot, adherents.size()));
+                    for (Adherent adherent : lot) {
+                        setAdherentParameters(stmt, adherent);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    if (dialect.supportsBatchGeneratedKeys()) {
+                        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                            for (Adherent adherent : lot) {
+                                if (!generatedKeys.next()) {
+                                    throw new SQLException("IDs générés manquants pour le lot d'adhérents");
+                                }
+                                adherent.setId(generatedKeys.getInt(1));
+                            }
+                        }
+                    } else {
+                        // IDs consécutifs dans la transaction, le dernier est celui de la dernière ligne du lot
+                        int premierId = dialect.lastInsertId(conn) - lot.size() + 1;
+                        for (int i = 0; i < lot.size(); i++) {
+                            lot.get(i).setId(premierId + i);
                         }
                     }
                 }
-            }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Adhérent créé: " + adherent.getNomComplet());
-            return adherent;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création de l'adhérent: " + e.getMessage());
-            throw e;
+                conn.commit(); // ✅ Une seule transaction pour tous les lots
+                MemberRepository.getInstance().notifyCreated(adherents);
+                logger.info(adherents.size() + " adhérents créés (lots de " + tailleLot + ")");
+                return adherents;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création groupée des adhérents: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -98,20 +177,22 @@ public class AdherentDAO {
             WHERE id=?
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            setAdherentParametersForUpdate(stmt, adherent);
-            stmt.setInt(17, adherent.getId());
-
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Adhérent mis à jour: " + adherent.getNomComplet());
-            return adherent;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la mise à jour de l'adhérent: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                setAdherentParametersForUpdate(stmt, adherent);
+                stmt.setInt(17, adherent.getId());
+
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                MemberRepository.getInstance().notifyUpdated(adherent);
+                logger.info("Adhérent mis à jour: " + adherent.getNomComplet());
+                return adherent;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour de l'adhérent: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -121,17 +202,19 @@ public class AdherentDAO {
     public void delete(Integer id) throws SQLException {
         String sql = "UPDATE adherents SET actif=0 WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Adhérent désactivé: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la désactivation de l'adhérent: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                MemberRepository.getInstance().notifyDeleted(id);
+                logger.info("Adhérent désactivé: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la désactivation de l'adhérent: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -148,7 +231,7 @@ public class AdherentDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToAdherent(rs);
+                return new AdherentMapper(rs).map(rs);
             }
             return null;
         }
@@ -177,8 +260,9 @@ public class AdherentDAO {
             }
 
             ResultSet rs = stmt.executeQuery();
+            AdherentMapper mapper = new AdherentMapper(rs);
             while (rs.next()) {
-                adherents.add(mapResultSetToAdherent(rs));
+                adherents.add(mapper.map(rs));
             }
         }
 
@@ -196,27 +280,95 @@ public class AdherentDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            AdherentMapper mapper = new AdherentMapper(rs);
             while (rs.next()) {
-                adherents.add(mapResultSetToAdherent(rs));
+                adherents.add(mapper.map(rs));
             }
         }
 
         return adherents;
     }
 
+    /**
+     * Récupère une page d'adhérents actifs triés par (nom, prenom, id).
+     *
+     * <p>Pagination par clé : la page reprend après le curseur (dernier adhérent de la
+     * page précédente) au lieu d'utiliser un OFFSET, ce qui exploite l'index
+     * idx_adherents_actif_nom quelle que soit la position dans la liste.</p>
+     *
+     * @param apres Dernier adhérent de la page précédente, ou null pour la première page
+     * @param taille Nombre maximum d'adhérents dans la page
+     */
+    public Page<Adherent> findPage(Adherent apres, int taille) throws SQLException {
+        return findPage(null, apres, taille);
+    }
+
+    /**
+     * Recherche paginée des adhérents (mêmes critères que {@link #search(String)}),
+     * triée par (nom, prenom, id)
+     *
+     * @param searchTerm Terme recherché, ou null/vide pour tous les adhérents actifs
+     * @param apres Dernier adhérent de la page précédente, ou null pour la première page
+     * @param taille Nombre maximum d'adhérents dans la page
+     */
+    public Page<Adherent> findPage(String searchTerm, Adherent apres, int taille) throws SQLException {
+        boolean recherche = searchTerm != null && !searchTerm.trim().isEmpty();
+        StringBuilder sql = new StringBuilder("SELECT * FROM adherents WHERE actif=1");
+        if (recherche) {
+            sql.append(" AND (nom LIKE ? OR prenom LIKE ? OR cin LIKE ? OR telephone LIKE ? OR email LIKE ?)");
+        }
+        if (apres != null) {
+            sql.append(" AND (nom > ? OR (nom = ? AND (prenom > ? OR (prenom = ? AND id > ?))))");
+        }
+        sql.append(" ORDER BY nom, prenom, id LIMIT ?");
+
+        List<Adherent> adherents = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            if (recherche) {
+                String searchPattern = "%" + searchTerm.trim() + "%";
+                for (int i = 0; i < 5; i++) {
+                    stmt.setString(index++, searchPattern);
+                }
+            }
+            if (apres != null) {
+                stmt.setString(index++, apres.getNom());
+                stmt.setString(index++, apres.getNom());
+                stmt.setString(index++, apres.getPrenom());
+                stmt.setString(index++, apres.getPrenom());
+                stmt.setInt(index++, apres.getId());
+            }
+            // Une ligne de plus pour savoir si une page suivante existe
+            stmt.setInt(index, taille + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            AdherentMapper mapper = new AdherentMapper(rs);
+            while (rs.next()) {
+                adherents.add(mapper.map(rs));
+            }
+        }
+
+        return Page.of(adherents, taille);
+    }
+
     /**
      * Récupère les adhérents avec abonnement expiré
      */
     public List<Adherent> findExpired() throws SQLException {
-        String sql = "SELECT * FROM adherents WHERE actif=1 AND date_fin < CURDATE() ORDER BY date_fin";
+        SqlDialect dialect = DatabaseManager.getInstance().getDialect();
+        String sql = "SELECT * FROM adherents WHERE actif=1 AND date_fin < " + dialect.currentDate() + " ORDER BY date_fin";
         List<Adherent> adherents = new ArrayList<>();
 
         try (Connection conn = DatabaseManager.getInstance().getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            AdherentMapper mapper = new AdherentMapper(rs);
             while (rs.next()) {
-                adherents.add(mapResultSetToAdherent(rs));
+                adherents.add(mapper.map(rs));
             }
         }
 
@@ -227,19 +379,117 @@ public class AdherentDAO {
      * Récupère les adhérents dont l'abonnement expire bientôt (7 jours)
      */
     public List<Adherent> findExpiringSoon() throws SQLException {
+        SqlDialect dialect = DatabaseManager.getInstance().getDialect();
         String sql = """
             SELECT * FROM adherents 
-            WHERE actif=1 AND date_fin BETWEEN CURDATE() AND DATE_ADD(CURDATE(), INTERVAL 7 DAY)
+            WHERE actif=1 AND date_fin BETWEEN %s AND %s
             ORDER BY date_fin
-        """;
+        """.formatted(dialect.currentDate(), dialect.addDays(dialect.currentDate(), 7));
         List<Adherent> adherents = new ArrayList<>();
 
         try (Connection conn = DatabaseManager.getInstance().getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            AdherentMapper mapper = new AdherentMapper(rs);
             while (rs.next()) {
-                adherents.add(mapResultSetToAdherent(rs));
+                adherents.add(mapper.map(rs));
+            }
+        }
+
+        return adherents;
+    }
+
+    /**
+     * Compte les adhérents actifs dont l'abonnement est expiré à une date
+     * (plage de l'index idx_adherents_actif_date_fin, sans lire les lignes)
+     *
+     * @param aujourdhui Date de référence : expiré si la date de fin est antérieure
+     * @return Nombre d'abonnements expirés
+     * @throws SQLException Si une erreur survient
+     */
+    public int countExpired(LocalDate aujourdhui) throws SQLException {
+        String sql = "SELECT COUNT(*) AS count FROM adherents WHERE actif = 1 AND date_fin < ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, aujourdhui.toString());
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt("count") : 0;
+        }
+    }
+
+    /**
+     * Compte les adhérents actifs dont l'abonnement se termine dans les {@code jours}
+     * jours suivant une date (incluse), par l'index idx_adherents_actif_date_fin
+     *
+     * @param aujourdhui Premier jour de la période
+     * @param jours Nombre de jours après {@code aujourdhui}
+     * @return Nombre d'abonnements expirant bientôt
+     * @throws SQLException Si une erreur survient
+     */
+    public int countExpiringSoon(LocalDate aujourdhui, int jours) throws SQLException {
+        String sql = "SELECT COUNT(*) AS count FROM adherents WHERE actif = 1 AND date_fin BETWEEN ? AND ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, aujourdhui.toString());
+            stmt.setString(2, aujourdhui.plusDays(jours).toString());
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt("count") : 0;
+        }
+    }
+
+    /**
+     * Enregistre l'état d'expiration (colonne abonnement_expire) des adhérents actifs à une
+     * date, en une seule requête : marque les abonnements expirés et démarque ceux qui ont
+     * été renouvelés. Seules les lignes dont l'état change sont écrites.
+     *
+     * @param aujourdhui Date de référence
+     * @return Nombre d'adhérents dont l'état a changé
+     * @throws SQLException Si la mise à jour échoue
+     */
+    public int markExpirations(LocalDate aujourdhui) throws SQLException {
+        String expire = "CASE WHEN date_fin < ? THEN 1 ELSE 0 END";
+        String sql = "UPDATE adherents SET abonnement_expire = " + expire
+            + " WHERE actif = 1 AND abonnement_expire <> " + expire;
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, aujourdhui.toString());
+                stmt.setString(2, aujourdhui.toString());
+                int modifies = stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("État d'expiration mis à jour: " + modifies + " adhérents");
+                return modifies;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour des expirations: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Récupère les derniers adhérents actifs inscrits (les plus récents en premier)
+     *
+     * @param limit Nombre maximum d'adhérents à retourner
+     */
+    public List<Adherent> findRecent(int limit) throws SQLException {
+        String sql = "SELECT * FROM adherents WHERE actif=1 ORDER BY date_inscription DESC LIMIT ?";
+        List<Adherent> adherents = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit);
+            ResultSet rs = stmt.executeQuery();
+            AdherentMapper mapper = new AdherentMapper(rs);
+            while (rs.next()) {
+                adherents.add(mapper.map(rs));
             }
         }
 
@@ -393,53 +643,60 @@ public class AdherentDAO {
     }
     
     /**
-     * Mappe un ResultSet vers un objet Adherent
+     * Mappeur des lignes de la table adherents (visible du package pour les benchmarks)
      */
-    private Adherent mapResultSetToAdherent(ResultSet rs) throws SQLException {
-        Adherent adherent = new Adherent();
-        adherent.setId(rs.getInt("id"));
-        adherent.setCin(rs.getString("cin"));
-        adherent.setNom(rs.getString("nom"));
-        adherent.setPrenom(rs.getString("prenom"));
-        
-        String dateNaissanceStr = rs.getString("date_naissance");
-        if (dateNaissanceStr != null) {
-            adherent.setDateNaissance(com.example.demo.utils.DateUtils.parseDate(dateNaissanceStr));
-        }
-        
-        adherent.setTelephone(rs.getString("telephone"));
-        adherent.setEmail(rs.getString("email"));
-        adherent.setAdresse(rs.getString("adresse"));
-        adherent.setPhoto(rs.getString("photo"));
-        
-        Double poids = rs.getObject("poids", Double.class);
-        if (poids != null) adherent.setPoids(poids);
-        
-        Double taille = rs.getObject("taille", Double.class);
-        if (taille != null) adherent.setTaille(taille);
-        
-        adherent.setObjectifs(rs.getString("objectifs"));
-        adherent.setProblemesSante(rs.getString("problemes_sante"));
-        adherent.setPackId(rs.getObject("pack_id", Integer.class));
-        
-        String dateDebutStr = rs.getString("date_debut");
-        if (dateDebutStr != null) {
-            adherent.setDateDebut(com.example.demo.utils.DateUtils.parseDate(dateDebutStr));
-        }
-        
-        String dateFinStr = rs.getString("date_fin");
-        if (dateFinStr != null) {
-            adherent.setDateFin(com.example.demo.utils.DateUtils.parseDate(dateFinStr));
-        }
-        
-        adherent.setActif(rs.getInt("actif") == 1);
-        
-        String dateInscriptionStr = rs.getString("date_inscription");
-        if (dateInscriptionStr != null) {
-            adherent.setDateInscription(com.example.demo.utils.DateUtils.parseDate(dateInscriptionStr));
+    static final class AdherentMapper extends RowMapper<Adherent> {
+        private final int id, cin, nom, prenom, dateNaissance, telephone, email, adresse, photo;
+        private final int poids, taille, objectifs, problemesSante, packId, dateDebut, dateFin, actif, dateInscription;
+
+        AdherentMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            cin = column(rs, "cin");
+            nom = column(rs, "nom");
+            prenom = column(rs, "prenom");
+            dateNaissance = column(rs, "date_naissance");
+            telephone = column(rs, "telephone");
+            email = column(rs, "email");
+            adresse = column(rs, "adresse");
+            photo = column(rs, "photo");
+            poids = column(rs, "poids");
+            taille = column(rs, "taille");
+            objectifs = column(rs, "objectifs");
+            problemesSante = column(rs, "problemes_sante");
+            packId = column(rs, "pack_id");
+            dateDebut = column(rs, "date_debut");
+            dateFin = column(rs, "date_fin");
+            actif = column(rs, "actif");
+            dateInscription = column(rs, "date_inscription");
         }
 
-        return adherent;
+        @Override
+        Adherent map(ResultSet rs) throws SQLException {
+            Adherent adherent = new Adherent();
+            adherent.setId(rs.getInt(id));
+            adherent.setCin(rs.getString(cin));
+            adherent.setNom(rs.getString(nom));
+            adherent.setPrenom(rs.getString(prenom));
+            adherent.setDateNaissance(getDate(rs, dateNaissance));
+            adherent.setTelephone(rs.getString(telephone));
+            adherent.setEmail(rs.getString(email));
+            adherent.setAdresse(rs.getString(adresse));
+            adherent.setPhoto(rs.getString(photo));
+            adherent.setPoids(getDoubleOrNull(rs, poids));
+            adherent.setTaille(getDoubleOrNull(rs, taille));
+            adherent.setObjectifs(rs.getString(objectifs));
+            adherent.setProblemesSante(rs.getString(problemesSante));
+            adherent.setPackId(getInteger(rs, packId));
+            adherent.setDateDebut(getDate(rs, dateDebut));
+            adherent.setDateFin(getDate(rs, dateFin));
+            adherent.setActif(rs.getInt(actif) == 1);
+
+            LocalDate inscription = getDate(rs, dateInscription);
+            if (inscription != null) {
+                adherent.setDateInscription(inscription);
+            }
+            return adherent;
+        }
     }
 }
 
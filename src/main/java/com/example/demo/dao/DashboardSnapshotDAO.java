@@ -0,0 +1,138 @@
+package com.example.demo.dao;
+
+import com.example.demo.models.DashboardSnapshot;
+import com.example.demo.utils.DashboardConstants;
+import com.example.demo.utils.DatabaseManager;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * DAO de calcul des indicateurs du dashboard.
+ *
+ * <p>Calcule tous les KPI du dashboard en deux requêtes agrégées (une sur les
+ * adhérents groupée par pack, une sur les paiements récents) au lieu de charger
+ * la table complète des adhérents pour chaque carte. Le montant moyen des paiements
+ * est lu dans l'agrégat mensuel des revenus ({@link RevenueMonthlyDAO}).</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see DashboardSnapshot
+ */
+public class DashboardSnapshotDAO {
+    private static final Logger logger = Logger.getLogger(DashboardSnapshotDAO.class.getName());
+
+    /**
+     * Calcule l'instantané des KPI à la date du jour.
+     *
+     * @return L'instantané immuable des indicateurs
+     * @throws SQLException Si une erreur survient lors des requêtes
+     */
+    public DashboardSnapshot load() throws SQLException {
+        LocalDate aujourdhui = LocalDate.now();
+        LocalDate debutMois = aujourdhui.withDayOfMonth(1);
+        LocalDate debutMoisPrecedent = debutMois.minusMonths(1);
+        LocalDate debutMoisSuivant = debutMois.plusMonths(1);
+        // "Dans les N derniers jours" = date postérieure à aujourd'hui - N (comme les filtres isAfter d'origine)
+        LocalDate debut7Jours = aujourdhui.minusDays(6);
+        LocalDate debut30Jours = aujourdhui.minusDays(29);
+
+        String sqlAdherents = """
+            SELECT pack_id,
+                   COUNT(*) AS actifs,
+                   SUM(CASE WHEN date_inscription >= ? THEN 1 ELSE 0 END) AS nouveaux_7j,
+                   SUM(CASE WHEN date_inscription >= ? THEN 1 ELSE 0 END) AS nouveaux_30j,
+                   SUM(CASE WHEN date_inscription >= ? AND date_inscription < ? THEN 1 ELSE 0 END) AS nouveaux_mois,
+                   SUM(CASE WHEN date_inscription >= ? AND date_inscription < ? THEN 1 ELSE 0 END) AS nouveaux_mois_precedent,
+                   SUM(CASE WHEN date_fin > ? THEN 1 ELSE 0 END) AS en_cours,
+                   SUM(CASE WHEN date_fin BETWEEN ? AND ? THEN 1 ELSE 0 END) AS expirant_bientot,
+                   SUM(CASE WHEN date_fin < ? THEN 1 ELSE 0 END) AS expires
+            FROM adherents
+            WHERE actif = 1
+            GROUP BY pack_id
+        """;
+
+        String sqlRevenus = """
+            SELECT SUM(CASE WHEN date_paiement >= ? THEN montant ELSE 0 END) AS revenus_semaine,
+                   SUM(CASE WHEN date_paiement >= ? AND date_paiement < ? THEN montant ELSE 0 END) AS revenus_mois,
+                   SUM(CASE WHEN date_paiement >= ? AND date_paiement < ? THEN montant ELSE 0 END) AS revenus_mois_precedent,
+                   (SELECT SUM(total) / SUM(nombre) FROM revenue_monthly WHERE statut = 'VALIDE') AS taux_moyen,
+                   (SELECT valeur FROM objectifs WHERE type = ? AND actif = 1 ORDER BY date_debut DESC LIMIT 1) AS objectif
+            FROM paiements
+            WHERE statut = 'VALIDE' AND date_paiement >= ?
+        """;
+
+        int actifs = 0, nouveaux7 = 0, nouveaux30 = 0, nouveauxMois = 0, nouveauxMoisPrecedent = 0;
+        int enCours = 0, expirantBientot = 0, expires = 0;
+        Map<Integer, Integer> parPack = new HashMap<>();
+        double revenusSemaine = 0, revenusMois = 0, revenusMoisPrecedent = 0, tauxMoyen = 0;
+        double objectif = DashboardConstants.OBJECTIF_ADHERENTS_DEFAULT;
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            // Bornes passées en 'yyyy-MM-dd' : comparables aux colonnes DATE et TIMESTAMP
+            // en MySQL comme aux dates stockées en texte en SQLite
+            try (PreparedStatement stmt = conn.prepareStatement(sqlAdherents)) {
+                stmt.setString(1, debut7Jours.toString());
+                stmt.setString(2, debut30Jours.toString());
+                stmt.setString(3, debutMois.toString());
+                stmt.setString(4, debutMoisSuivant.toString());
+                stmt.setString(5, debutMoisPrecedent.toString());
+                stmt.setString(6, debutMois.toString());
+                stmt.setString(7, aujourdhui.toString());
+                stmt.setString(8, aujourdhui.toString());
+                stmt.setString(9, aujourdhui.plusDays(DashboardConstants.DAYS_EXPIRING_SOON).toString());
+                stmt.setString(10, aujourdhui.toString());
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    int count = rs.getInt("actifs");
+                    Integer packId = rs.getObject("pack_id", Integer.class);
+                    if (packId != null) {
+                        parPack.put(packId, count);
+                    }
+                    actifs += count;
+                    nouveaux7 += rs.getInt("nouveaux_7j");
+                    nouveaux30 += rs.getInt("nouveaux_30j");
+                    nouveauxMois += rs.getInt("nouveaux_mois");
+                    nouveauxMoisPrecedent += rs.getInt("nouveaux_mois_precedent");
+                    enCours += rs.getInt("en_cours");
+                    expirantBientot += rs.getInt("expirant_bientot");
+                    expires += rs.getInt("expires");
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sqlRevenus)) {
+                stmt.setString(1, debut7Jours.toString());
+                stmt.setString(2, debutMois.toString());
+                stmt.setString(3, debutMoisSuivant.toString());
+                stmt.setString(4, debutMoisPrecedent.toString());
+                stmt.setString(5, debutMois.toString());
+                stmt.setString(6, DashboardConstants.OBJECTIF_TYPE_TAUX_OCCUPATION);
+                // Fenêtre bornée : seuls les paiements depuis le début du mois précédent sont lus
+                LocalDate debutFenetre = debut7Jours.isBefore(debutMoisPrecedent) ? debut7Jours : debutMoisPrecedent;
+                stmt.setString(7, debutFenetre.toString());
+
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) {
+                    revenusSemaine = rs.getDouble("revenus_semaine");
+                    revenusMois = rs.getDouble("revenus_mois");
+                    revenusMoisPrecedent = rs.getDouble("revenus_mois_precedent");
+                    tauxMoyen = rs.getDouble("taux_moyen");
+                    double valeur = rs.getDouble("objectif");
+                    if (!rs.wasNull()) {
+                        objectif = valeur;
+                    }
+                }
+            }
+        }
+
+        DashboardSnapshot snapshot = new DashboardSnapshot(aujourdhui, actifs, nouveaux7, nouveaux30,
+            nouveauxMois, nouveauxMoisPrecedent, enCours, expirantBientot, expires, parPack,
+            revenusSemaine, revenusMois, revenusMoisPrecedent, tauxMoyen, objectif);
+        logger.fine("Instantané du dashboard calculé: " + snapshot);
+        return snapshot;
+    }
+}
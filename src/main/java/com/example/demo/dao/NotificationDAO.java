@@ -35,44 +35,92 @@ public class NotificationDAO {
             VALUES (?, ?, ?, ?, ?, ?)
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setObject(1, notification.getUserId());
-            stmt.setString(2, notification.getType());
-            stmt.setString(3, notification.getTitle());
-            stmt.setString(4, notification.getMessage());
-            stmt.setInt(5, notification.isRead() ? 1 : 0);
-            stmt.setString(6, notification.getCreatedAt() != null 
-                ? notification.getCreatedAt().toString() 
-                : LocalDateTime.now().toString());
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion de la notification");
-            }
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setObject(1, notification.getUserId());
+                stmt.setString(2, notification.getType());
+                stmt.setString(3, notification.getTitle());
+                stmt.setString(4, notification.getMessage());
+                stmt.setInt(5, notification.isRead() ? 1 : 0);
+                stmt.setString(6, notification.getCreatedAt() != null 
+                    ? notification.getCreatedAt().toString() 
+                    : LocalDateTime.now().toString());
+
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion de la notification");
+                }
 
-            // Récupérer l'ID généré
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    notification.setId(generatedKeys.getInt(1));
-                } else {
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            notification.setId(rs.getInt("id"));
+                // Récupérer l'ID généré
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        notification.setId(generatedKeys.getInt(1));
+                    } else {
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                notification.setId(rs.getInt("id"));
+                            }
                         }
                     }
                 }
+
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Notification créée: " + notification.getTitle());
+                return notification;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création de la notification: " + e.getMessage());
+                throw e;
             }
+        }
+    }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Notification créée: " + notification.getTitle());
-            return notification;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création de la notification: " + e.getMessage());
-            throw e;
+    /**
+     * Insère un lot de notifications en une seule transaction (un seul aller-retour par lot).
+     *
+     * <p>Les notifications dont le jour de dédoublonnage est renseigné sont ignorées si une
+     * notification du même type a déjà été créée ce jour-là pour l'utilisateur (index unique
+     * {@code uq_notifications_dedup}). Les IDs générés ne sont pas relus.</p>
+     *
+     * @param notifications Notifications à insérer
+     * @throws SQLException Si une insertion échoue (la transaction est annulée)
+     */
+    public void createAll(List<Notification> notifications) throws SQLException {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        String sql = DatabaseManager.getInstance().getDialect().insertIgnore()
+            + " INTO notifications (user_id, type, title, message, `read`, created_at, dedup_day)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                for (Notification notification : notifications) {
+                    stmt.setObject(1, notification.getUserId());
+                    stmt.setString(2, notification.getType());
+                    stmt.setString(3, notification.getTitle());
+                    stmt.setString(4, notification.getMessage());
+                    stmt.setInt(5, notification.isRead() ? 1 : 0);
+                    stmt.setString(6, notification.getCreatedAt() != null
+                        ? notification.getCreatedAt().toString()
+                        : LocalDateTime.now().toString());
+                    stmt.setString(7, notification.getDedupDay() != null
+                        ? notification.getDedupDay().toString()
+                        : null);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                conn.commit(); // ✅ Une seule transaction pour le lot
+                logger.fine(notifications.size() + " notifications écrites");
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création groupée des notifications: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -89,24 +137,25 @@ public class NotificationDAO {
             WHERE id=?
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setObject(1, notification.getUserId());
-            stmt.setString(2, notification.getType());
-            stmt.setString(3, notification.getTitle());
-            stmt.setString(4, notification.getMessage());
-            stmt.setInt(5, notification.isRead() ? 1 : 0);
-            stmt.setInt(6, notification.getId());
-
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Notification mise à jour: " + notification.getId());
-            return notification;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la mise à jour de la notification: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setObject(1, notification.getUserId());
+                stmt.setString(2, notification.getType());
+                stmt.setString(3, notification.getTitle());
+                stmt.setString(4, notification.getMessage());
+                stmt.setInt(5, notification.isRead() ? 1 : 0);
+                stmt.setInt(6, notification.getId());
+
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Notification mise à jour: " + notification.getId());
+                return notification;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour de la notification: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -119,17 +168,18 @@ public class NotificationDAO {
     public void markAsRead(Integer id) throws SQLException {
         String sql = "UPDATE notifications SET `read`=1 WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Notification marquée comme lue: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors du marquage de la notification: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Notification marquée comme lue: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors du marquage de la notification: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -142,17 +192,18 @@ public class NotificationDAO {
     public void markAllAsRead(Integer userId) throws SQLException {
         String sql = "UPDATE notifications SET `read`=1 WHERE user_id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Toutes les notifications marquées comme lues pour l'utilisateur: " + userId);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors du marquage des notifications: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, userId);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Toutes les notifications marquées comme lues pour l'utilisateur: " + userId);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors du marquage des notifications: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -165,17 +216,18 @@ public class NotificationDAO {
     public void delete(Integer id) throws SQLException {
         String sql = "DELETE FROM notifications WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Notification supprimée: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la suppression de la notification: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Notification supprimée: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la suppression de la notification: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -196,7 +248,7 @@ public class NotificationDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToNotification(rs);
+                return new NotificationMapper(rs).map(rs);
             }
             return null;
         }
@@ -219,8 +271,37 @@ public class NotificationDAO {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
+            NotificationMapper mapper = new NotificationMapper(rs);
+            while (rs.next()) {
+                notifications.add(mapper.map(rs));
+            }
+        }
+
+        return notifications;
+    }
+
+    /**
+     * Récupère les notifications les plus récentes d'un utilisateur.
+     * 
+     * @param userId ID de l'utilisateur
+     * @param limit Nombre maximum de notifications à récupérer
+     * @return Liste des notifications, triées par date décroissante
+     * @throws SQLException Si une erreur survient
+     */
+    public List<Notification> findRecentByUserId(Integer userId, int limit) throws SQLException {
+        String sql = "SELECT * FROM notifications WHERE user_id=? ORDER BY created_at DESC LIMIT ?";
+        List<Notification> notifications = new ArrayList<>();
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            NotificationMapper mapper = new NotificationMapper(rs);
             while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+                notifications.add(mapper.map(rs));
             }
         }
 
@@ -244,8 +325,9 @@ public class NotificationDAO {
             stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
+            NotificationMapper mapper = new NotificationMapper(rs);
             while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+                notifications.add(mapper.map(rs));
             }
         }
 
@@ -292,8 +374,9 @@ public class NotificationDAO {
             stmt.setInt(1, limit);
             ResultSet rs = stmt.executeQuery();
 
+            NotificationMapper mapper = new NotificationMapper(rs);
             while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+                notifications.add(mapper.map(rs));
             }
         }
 
@@ -302,7 +385,8 @@ public class NotificationDAO {
 
     /**
      * Vérifie si une notification similaire existe déjà aujourd'hui pour un utilisateur.
-     * Utilisé pour éviter les doublons lors des vérifications périodiques.
+     * Les vérifications périodiques passent désormais par le jour de dédoublonnage
+     * ({@link Notification#getDedupDay()}), garanti par l'index unique.
      * 
      * @param userId ID de l'utilisateur
      * @param type Type de notification
@@ -310,11 +394,12 @@ public class NotificationDAO {
      * @throws SQLException Si une erreur survient
      */
     public boolean existsTodayByType(Integer userId, String type) throws SQLException {
+        // Borne sur created_at (et non DATE(created_at)) : utilisable par l'index idx_created_at
         String sql = """
             SELECT COUNT(*) as count FROM notifications 
             WHERE user_id=? AND type=? 
-            AND DATE(created_at) = CURDATE()
-        """;
+            AND created_at >= %s
+        """.formatted(DatabaseManager.getInstance().getDialect().currentDate());
         
         try (Connection conn = DatabaseManager.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -332,27 +417,35 @@ public class NotificationDAO {
     }
 
     /**
-     * Mappe un ResultSet vers un objet Notification.
-     * 
-     * @param rs Le ResultSet à mapper
-     * @return L'objet Notification mappé
-     * @throws SQLException Si une erreur survient lors du mapping
+     * Mappeur des lignes de la table notifications
      */
-    private Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
-        Notification notification = new Notification();
-        notification.setId(rs.getInt("id"));
-        notification.setUserId(rs.getObject("user_id", Integer.class));
-        notification.setType(rs.getString("type"));
-        notification.setTitle(rs.getString("title"));
-        notification.setMessage(rs.getString("message"));
-        notification.setRead(rs.getInt("read") == 1);
-
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            notification.setCreatedAt(com.example.demo.utils.DateUtils.parseDateTime(createdAtStr));
+    private static final class NotificationMapper extends RowMapper<Notification> {
+        private final int id, userId, type, title, message, read, createdAt, dedupDay;
+
+        NotificationMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            userId = column(rs, "user_id");
+            type = column(rs, "type");
+            title = column(rs, "title");
+            message = column(rs, "message");
+            read = column(rs, "read");
+            createdAt = column(rs, "created_at");
+            dedupDay = column(rs, "dedup_day");
         }
 
-        return notification;
+        @Override
+        Notification map(ResultSet rs) throws SQLException {
+            Notification notification = new Notification();
+            notification.setId(rs.getInt(id));
+            notification.setUserId(getInteger(rs, userId));
+            notification.setType(rs.getString(type));
+            notification.setTitle(rs.getString(title));
+            notification.setMessage(rs.getString(message));
+            notification.setRead(rs.getInt(read) == 1);
+            notification.setCreatedAt(getDateTime(rs, createdAt));
+            notification.setDedupDay(getDate(rs, dedupDay));
+            return notification;
+        }
     }
 }
 
@@ -34,48 +34,49 @@ public class ObjectifDAO {
             VALUES (?, ?, ?, ?, ?, ?)
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, objectif.getType());
-            stmt.setDouble(2, objectif.getValeur());
-            stmt.setString(3, objectif.getDateDebut() != null 
-                ? objectif.getDateDebut().toString() 
-                : LocalDate.now().toString());
-            stmt.setString(4, objectif.getDateFin() != null 
-                ? objectif.getDateFin().toString() 
-                : null);
-            stmt.setInt(5, objectif.isActif() ? 1 : 0);
-            stmt.setString(6, objectif.getCreatedAt() != null 
-                ? objectif.getCreatedAt().toString() 
-                : LocalDate.now().toString());
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion de l'objectif");
-            }
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setString(1, objectif.getType());
+                stmt.setDouble(2, objectif.getValeur());
+                stmt.setString(3, objectif.getDateDebut() != null 
+                    ? objectif.getDateDebut().toString() 
+                    : LocalDate.now().toString());
+                stmt.setString(4, objectif.getDateFin() != null 
+                    ? objectif.getDateFin().toString() 
+                    : null);
+                stmt.setInt(5, objectif.isActif() ? 1 : 0);
+                stmt.setString(6, objectif.getCreatedAt() != null 
+                    ? objectif.getCreatedAt().toString() 
+                    : LocalDate.now().toString());
+
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion de l'objectif");
+                }
 
-            // Récupérer l'ID généré
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    objectif.setId(generatedKeys.getInt(1));
-                } else {
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            objectif.setId(rs.getInt("id"));
+                // Récupérer l'ID généré
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        objectif.setId(generatedKeys.getInt(1));
+                    } else {
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                objectif.setId(rs.getInt("id"));
+                            }
                         }
                     }
                 }
-            }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Objectif créé: " + objectif.getType());
-            return objectif;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création de l'objectif: " + e.getMessage());
-            throw e;
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Objectif créé: " + objectif.getType());
+                return objectif;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création de l'objectif: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -92,28 +93,29 @@ public class ObjectifDAO {
             WHERE id=?
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, objectif.getType());
-            stmt.setDouble(2, objectif.getValeur());
-            stmt.setString(3, objectif.getDateDebut() != null 
-                ? objectif.getDateDebut().toString() 
-                : null);
-            stmt.setString(4, objectif.getDateFin() != null 
-                ? objectif.getDateFin().toString() 
-                : null);
-            stmt.setInt(5, objectif.isActif() ? 1 : 0);
-            stmt.setInt(6, objectif.getId());
-
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Objectif mis à jour: " + objectif.getId());
-            return objectif;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la mise à jour de l'objectif: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, objectif.getType());
+                stmt.setDouble(2, objectif.getValeur());
+                stmt.setString(3, objectif.getDateDebut() != null 
+                    ? objectif.getDateDebut().toString() 
+                    : null);
+                stmt.setString(4, objectif.getDateFin() != null 
+                    ? objectif.getDateFin().toString() 
+                    : null);
+                stmt.setInt(5, objectif.isActif() ? 1 : 0);
+                stmt.setInt(6, objectif.getId());
+
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Objectif mis à jour: " + objectif.getId());
+                return objectif;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour de l'objectif: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -126,17 +128,18 @@ public class ObjectifDAO {
     public void delete(Integer id) throws SQLException {
         String sql = "UPDATE objectifs SET actif=0 WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Objectif désactivé: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la désactivation de l'objectif: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Objectif désactivé: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la désactivation de l'objectif: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -157,7 +160,7 @@ public class ObjectifDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToObjectif(rs);
+                return new ObjectifMapper(rs).map(rs);
             }
             return null;
         }
@@ -185,7 +188,7 @@ public class ObjectifDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToObjectif(rs);
+                return new ObjectifMapper(rs).map(rs);
             }
             return null;
         }
@@ -205,8 +208,9 @@ public class ObjectifDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            ObjectifMapper mapper = new ObjectifMapper(rs);
             while (rs.next()) {
-                objectifs.add(mapResultSetToObjectif(rs));
+                objectifs.add(mapper.map(rs));
             }
         }
 
@@ -227,8 +231,9 @@ public class ObjectifDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            ObjectifMapper mapper = new ObjectifMapper(rs);
             while (rs.next()) {
-                objectifs.add(mapResultSetToObjectif(rs));
+                objectifs.add(mapper.map(rs));
             }
         }
 
@@ -236,36 +241,33 @@ public class ObjectifDAO {
     }
 
     /**
-     * Mappe un ResultSet vers un objet Objectif.
-     * 
-     * @param rs Le ResultSet à mapper
-     * @return L'objet Objectif mappé
-     * @throws SQLException Si une erreur survient lors du mapping
+     * Mappeur des lignes de la table objectifs
      */
-    private Objectif mapResultSetToObjectif(ResultSet rs) throws SQLException {
-        Objectif objectif = new Objectif();
-        objectif.setId(rs.getInt("id"));
-        objectif.setType(rs.getString("type"));
-        objectif.setValeur(rs.getDouble("valeur"));
-
-        String dateDebutStr = rs.getString("date_debut");
-        if (dateDebutStr != null) {
-            objectif.setDateDebut(com.example.demo.utils.DateUtils.parseDate(dateDebutStr));
-        }
-
-        String dateFinStr = rs.getString("date_fin");
-        if (dateFinStr != null) {
-            objectif.setDateFin(com.example.demo.utils.DateUtils.parseDate(dateFinStr));
+    private static final class ObjectifMapper extends RowMapper<Objectif> {
+        private final int id, type, valeur, dateDebut, dateFin, actif, createdAt;
+
+        ObjectifMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            type = column(rs, "type");
+            valeur = column(rs, "valeur");
+            dateDebut = column(rs, "date_debut");
+            dateFin = column(rs, "date_fin");
+            actif = column(rs, "actif");
+            createdAt = column(rs, "created_at");
         }
 
-        objectif.setActif(rs.getInt("actif") == 1);
-
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            objectif.setCreatedAt(com.example.demo.utils.DateUtils.parseDate(createdAtStr));
+        @Override
+        Objectif map(ResultSet rs) throws SQLException {
+            Objectif objectif = new Objectif();
+            objectif.setId(rs.getInt(id));
+            objectif.setType(rs.getString(type));
+            objectif.setValeur(rs.getDouble(valeur));
+            objectif.setDateDebut(getDate(rs, dateDebut));
+            objectif.setDateFin(getDate(rs, dateFin));
+            objectif.setActif(rs.getInt(actif) == 1);
+            objectif.setCreatedAt(getDate(rs, createdAt));
+            return objectif;
         }
-
-        return objectif;
     }
 }
 
@@ -2,11 +2,14 @@ package com.example.demo.dao;
 
 import com.example.demo.models.Pack;
 import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.PackCache;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -47,49 +50,51 @@ public class PackDAO {
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, pack.getNom());
-            stmt.setDouble(2, pack.getPrix());
-            stmt.setString(3, pack.getActivitesAsString());
-            stmt.setString(4, pack.getJoursDisponibilite());
-            stmt.setString(5, pack.getHoraires());
-            stmt.setInt(6, pack.getDuree());
-            stmt.setString(7, pack.getUniteDuree());
-            stmt.setInt(8, pack.getSeancesSemaine() != null ? pack.getSeancesSemaine() : -1);
-            stmt.setInt(9, pack.getAccesCoach() != null && pack.getAccesCoach() ? 1 : 0);
-            stmt.setInt(10, pack.getActif() != null && pack.getActif() ? 1 : 0);
-            stmt.setString(11, pack.getDescription());
-            stmt.setString(12, LocalDate.now().toString());
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion du pack");
-            }
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setString(1, pack.getNom());
+                stmt.setDouble(2, pack.getPrix());
+                stmt.setString(3, pack.getActivitesAsString());
+                stmt.setString(4, pack.getJoursDisponibilite());
+                stmt.setString(5, pack.getHoraires());
+                stmt.setInt(6, pack.getDuree());
+                stmt.setString(7, pack.getUniteDuree());
+                stmt.setInt(8, pack.getSeancesSemaine() != null ? pack.getSeancesSemaine() : -1);
+                stmt.setInt(9, pack.getAccesCoach() != null && pack.getAccesCoach() ? 1 : 0);
+                stmt.setInt(10, pack.getActif() != null && pack.getActif() ? 1 : 0);
+                stmt.setString(11, pack.getDescription());
+                stmt.setString(12, LocalDate.now().toString());
+
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion du pack");
+                }
 
-            // Récupérer l'ID généré
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    pack.setId(generatedKeys.getInt(1));
-                } else {
-                    // Fallback: utiliser LAST_INSERT_ID() si RETURN_GENERATED_KEYS ne fonctionne pas
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            pack.setId(rs.getInt("id"));
+                // Récupérer l'ID généré
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        pack.setId(generatedKeys.getInt(1));
+                    } else {
+                        // Fallback: dernier ID généré (selon le dialecte) si RETURN_GENERATED_KEYS ne fonctionne pas
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                pack.setId(rs.getInt("id"));
+                            }
                         }
                     }
                 }
-            }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Pack créé avec succès: " + pack.getNom());
-            return pack;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création du pack: " + e.getMessage());
-            throw e;
+                conn.commit(); // ✅ Commiter la transaction
+                PackCache.getInstance().invalidate();
+                logger.info("Pack créé avec succès: " + pack.getNom());
+                return pack;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création du pack: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -103,30 +108,32 @@ public class PackDAO {
             WHERE id=?
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, pack.getNom());
-            stmt.setDouble(2, pack.getPrix());
-            stmt.setString(3, pack.getActivitesAsString());
-            stmt.setString(4, pack.getJoursDisponibilite());
-            stmt.setString(5, pack.getHoraires());
-            stmt.setInt(6, pack.getDuree());
-            stmt.setString(7, pack.getUniteDuree());
-            stmt.setInt(8, pack.getSeancesSemaine() != null ? pack.getSeancesSemaine() : -1);
-            stmt.setInt(9, pack.getAccesCoach() != null && pack.getAccesCoach() ? 1 : 0);
-            stmt.setInt(10, pack.getActif() != null && pack.getActif() ? 1 : 0);
-            stmt.setString(11, pack.getDescription());
-            stmt.setInt(12, pack.getId());
-
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Pack mis à jour avec succès: " + pack.getNom());
-            return pack;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la mise à jour du pack: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, pack.getNom());
+                stmt.setDouble(2, pack.getPrix());
+                stmt.setString(3, pack.getActivitesAsString());
+                stmt.setString(4, pack.getJoursDisponibilite());
+                stmt.setString(5, pack.getHoraires());
+                stmt.setInt(6, pack.getDuree());
+                stmt.setString(7, pack.getUniteDuree());
+                stmt.setInt(8, pack.getSeancesSemaine() != null ? pack.getSeancesSemaine() : -1);
+                stmt.setInt(9, pack.getAccesCoach() != null && pack.getAccesCoach() ? 1 : 0);
+                stmt.setInt(10, pack.getActif() != null && pack.getActif() ? 1 : 0);
+                stmt.setString(11, pack.getDescription());
+                stmt.setInt(12, pack.getId());
+
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                PackCache.getInstance().invalidate();
+                logger.info("Pack mis à jour avec succès: " + pack.getNom());
+                return pack;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la mise à jour du pack: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -136,17 +143,19 @@ public class PackDAO {
     public void delete(Integer id) throws SQLException {
         String sql = "UPDATE packs SET actif=0 WHERE id=?";
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Pack désactivé: " + id);
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la désactivation du pack: " + e.getMessage());
-            throw e;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                stmt.executeUpdate();
+                conn.commit(); // ✅ Commiter la transaction
+                PackCache.getInstance().invalidate();
+                logger.info("Pack désactivé: " + id);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la désactivation du pack: " + e.getMessage());
+                throw e;
+            }
         }
     }
 
@@ -163,7 +172,7 @@ public class PackDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return mapResultSetToPack(rs);
+                return new PackMapper(rs).map(rs);
             }
             return null;
         }
@@ -190,8 +199,9 @@ public class PackDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            PackMapper mapper = new PackMapper(rs);
             while (rs.next()) {
-                packs.add(mapResultSetToPack(rs));
+                packs.add(mapper.map(rs));
             }
         }
 
@@ -211,8 +221,9 @@ public class PackDAO {
             stmt.setString(1, "%" + searchTerm + "%");
             ResultSet rs = stmt.executeQuery();
 
+            PackMapper mapper = new PackMapper(rs);
             while (rs.next()) {
-                packs.add(mapResultSetToPack(rs));
+                packs.add(mapper.map(rs));
             }
         }
 
@@ -249,8 +260,9 @@ public class PackDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
+            PackMapper mapper = new PackMapper(rs);
             while (rs.next()) {
-                Pack pack = mapResultSetToPack(rs);
+                Pack pack = mapper.map(rs);
                 int nombreAdherents = rs.getInt("nombre_adherents");
                 distribution.put(pack, nombreAdherents);
             }
@@ -261,29 +273,55 @@ public class PackDAO {
     }
     
     /**
-     * Mappe un ResultSet vers un objet Pack
+     * Mappeur des lignes de la table packs.
+     * Les listes d'activités sont découpées une seule fois par texte distinct.
      */
-    private Pack mapResultSetToPack(ResultSet rs) throws SQLException {
-        Pack pack = new Pack();
-        pack.setId(rs.getInt("id"));
-        pack.setNom(rs.getString("nom"));
-        pack.setPrix(rs.getDouble("prix"));
-        pack.setActivitesFromString(rs.getString("activites"));
-        pack.setJoursDisponibilite(rs.getString("jours_disponibilite"));
-        pack.setHoraires(rs.getString("horaires"));
-        pack.setDuree(rs.getInt("duree"));
-        pack.setUniteDuree(rs.getString("unite_duree"));
-        pack.setSeancesSemaine(rs.getInt("seances_semaine"));
-        pack.setAccesCoach(rs.getInt("acces_coach") == 1);
-        pack.setActif(rs.getInt("actif") == 1);
-        pack.setDescription(rs.getString("description"));
-        
-        String dateCreationStr = rs.getString("date_creation");
-        if (dateCreationStr != null) {
-            pack.setDateCreation(com.example.demo.utils.DateUtils.parseDate(dateCreationStr));
+    private static final class PackMapper extends RowMapper<Pack> {
+        private final int id, nom, prix, activites, joursDisponibilite, horaires, duree, uniteDuree;
+        private final int seancesSemaine, accesCoach, actif, description, dateCreation;
+        private final Map<String, List<String>> activitesParTexte = new HashMap<>();
+
+        PackMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            nom = column(rs, "nom");
+            prix = column(rs, "prix");
+            activites = column(rs, "activites");
+            joursDisponibilite = column(rs, "jours_disponibilite");
+            horaires = column(rs, "horaires");
+            duree = column(rs, "duree");
+            uniteDuree = column(rs, "unite_duree");
+            seancesSemaine = column(rs, "seances_semaine");
+            accesCoach = column(rs, "acces_coach");
+            actif = column(rs, "actif");
+            description = column(rs, "description");
+            dateCreation = column(rs, "date_creation");
         }
 
-        return pack;
+        @Override
+        Pack map(ResultSet rs) throws SQLException {
+            Pack pack = new Pack();
+            pack.setId(rs.getInt(id));
+            pack.setNom(rs.getString(nom));
+            pack.setPrix(rs.getDouble(prix));
+
+            String texteActivites = rs.getString(activites);
+            if (texteActivites != null && !texteActivites.isEmpty()) {
+                List<String> liste = activitesParTexte.computeIfAbsent(texteActivites, t -> List.of(t.split(",")));
+                // Liste modifiable propre à chaque pack, comme setActivitesFromString
+                pack.setActivites(new ArrayList<>(liste));
+            }
+
+            pack.setJoursDisponibilite(rs.getString(joursDisponibilite));
+            pack.setHoraires(rs.getString(horaires));
+            pack.setDuree(rs.getInt(duree));
+            pack.setUniteDuree(rs.getString(uniteDuree));
+            pack.setSeancesSemaine(rs.getInt(seancesSemaine));
+            pack.setAccesCoach(rs.getInt(accesCoach) == 1);
+            pack.setActif(rs.getInt(actif) == 1);
+            pack.setDescription(rs.getString(description));
+            pack.setDateCreation(getDate(rs, dateCreation));
+            return pack;
+        }
     }
 }
 
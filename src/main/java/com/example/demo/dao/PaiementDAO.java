@@ -1,14 +1,28 @@
 package com.example.demo.dao;
 
+import com.example.demo.models.Adherent;
+import com.example.demo.models.MonthlyRevenue;
+import com.example.demo.models.Page;
+import com.example.demo.models.Pack;
 import com.example.demo.models.Paiement;
 import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.DateUtils;
+import com.example.demo.utils.PaiementColumnStore;
+import com.example.demo.utils.SqlDialect;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -21,72 +35,219 @@ import java.util.logging.Logger;
  * <p>Méthodes principales :
  * <ul>
  *   <li>{@link #create(Paiement)} - Créer un nouveau paiement</li>
+ *   <li>{@link #createAll(List, int)} - Créer des paiements par lots</li>
  *   <li>{@link #findByAdherentId(Integer)} - Récupérer les paiements d'un adhérent</li>
  *   <li>{@link #findAll()} - Récupérer tous les paiements</li>
+ *   <li>{@link #findPage(Paiement, int)} - Récupérer une page de paiements (pagination par clé)</li>
+ *   <li>{@link #updateStatut(Integer, Paiement.StatutPaiement)} - Changer le statut d'un paiement</li>
  *   <li>{@link #getRevenusMois(LocalDate)} - Récupérer les revenus d'un mois spécifique</li>
  *   <li>{@link #getRevenusParMois(int)} - Récupérer les revenus des N derniers mois</li>
+ *   <li>{@link #getRevenusParPeriode(LocalDate, LocalDate, ChronoUnit)} - Série de revenus par jour/semaine/mois</li>
  *   <li>{@link #getTauxMoyen()} - Calculer le montant moyen des paiements</li>
+ *   <li>{@link #forEachColumns(ColumnSink)} - Lire tous les paiements en colonnes (magasin en mémoire)</li>
  * </ul>
  * </p>
  * 
+ * <p>Les créations et changements de statut tiennent à jour, dans la même transaction,
+ * l'agrégat mensuel des revenus ({@link RevenueMonthlyDAO}) sur lequel reposent les
+ * revenus par mois et le montant moyen.</p>
+ * 
  * @author Dashboard Team
  * @version 1.0
  * @see Paiement
  * @see DatabaseManager
  * @see com.example.demo.models.MonthlyRevenue
+ * @see RevenueMonthlyDAO
  */
 public class PaiementDAO {
     private static final Logger logger = Logger.getLogger(PaiementDAO.class.getName());
 
-    public Paiement create(Paiement paiement) throws SQLException {
-        String sql = """
-            INSERT INTO paiements (adherent_id, pack_id, montant, date_paiement, methode_paiement, 
-                                 statut, reference, date_debut_abonnement, date_fin_abonnement, notes)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    private final RevenueMonthlyDAO revenueMonthlyDAO = new RevenueMonthlyDAO();
+
+    private static final String INSERT_SQL = """
+        INSERT INTO paiements (adherent_id, pack_id, montant, date_paiement, methode_paiement, 
+                             statut, reference, date_debut_abonnement, date_fin_abonnement, notes)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
-        Connection conn = DatabaseManager.getInstance().getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setInt(1, paiement.getAdherentId());
-            stmt.setObject(2, paiement.getPackId());
-            stmt.setDouble(3, paiement.getMontant());
-            stmt.setString(4, paiement.getDatePaiement().toString());
-            stmt.setString(5, paiement.getMethodePaiement().name());
-            stmt.setString(6, paiement.getStatut().name());
-            stmt.setString(7, paiement.getReference());
-            stmt.setString(8, paiement.getDateDebutAbonnement() != null ? paiement.getDateDebutAbonnement().toString() : null);
-            stmt.setString(9, paiement.getDateFinAbonnement() != null ? paiement.getDateFinAbonnement().toString() : null);
-            stmt.setString(10, paiement.getNotes());
-
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                throw new SQLException("Échec de l'insertion du paiement");
+    /**
+     * Paiements joints à leur adhérent et à leur pack (projection pour l'affichage)
+     */
+    private static final String SELECT_PAIEMENT_DETAILS = """
+        SELECT p.*, a.nom AS adherent_nom, a.prenom AS adherent_prenom, pk.nom AS pack_nom
+        FROM paiements p
+        JOIN adherents a ON a.id = p.adherent_id
+        LEFT JOIN packs pk ON pk.id = p.pack_id
+        """;
+
+    public Paiement create(Paiement paiement) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                setPaiementParameters(stmt, paiement);
+
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows == 0) {
+                    throw new SQLException("Échec de l'insertion du paiement");
+                }
+
+                // Récupérer l'ID généré
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        paiement.setId(generatedKeys.getInt(1));
+                    } else {
+                        // Fallback: dernier ID généré (selon le dialecte) si RETURN_GENERATED_KEYS ne fonctionne pas
+                        try (Statement idStmt = conn.createStatement();
+                             ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
+                            if (rs.next()) {
+                                paiement.setId(rs.getInt("id"));
+                            }
+                        }
+                    }
+                }
+
+                RevenueMonthlyDAO.apply(conn, List.of(paiement), 1);
+
+                conn.commit(); // ✅ Commiter la transaction
+                logger.info("Paiement créé: " + paiement.getId());
+                PaiementColumnStore.getInstance().notifyCreated(List.of(paiement));
+                return paiement;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création du paiement: " + e.getMessage());
+                throw e;
             }
+        }
+    }
 
-            // Récupérer l'ID généré
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    paiement.setId(generatedKeys.getInt(1));
-                } else {
-                    // Fallback: utiliser LAST_INSERT_ID() si RETURN_GENERATED_KEYS ne fonctionne pas
-                    try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                        if (rs.next()) {
-                            paiement.setId(rs.getInt("id"));
+    /**
+     * Insère une liste de paiements par lots de {@link DatabaseManager#DEFAULT_BATCH_SIZE}
+     *
+     * @see #createAll(List, int)
+     */
+    public List<Paiement> createAll(List<Paiement> paiements) throws SQLException {
+        return createAll(paiements, DatabaseManager.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Insère une liste de paiements en une seule transaction.
+     *
+     * <p>Les lignes sont envoyées par lots (addBatch) de {@code tailleLot} ; le driver les
+     * réécrit en INSERT multi-lignes. Les IDs générés sont affectés aux paiements dans
+     * l'ordre de la liste. En cas d'erreur, aucun paiement n'est inséré.</p>
+     *
+     * @param paiements Paiements à insérer (leurs IDs sont renseignés au retour)
+     * @param tailleLot Nombre de lignes par lot envoyé au serveur
+     * @return La liste des paiements insérés
+     * @throws SQLException Si une insertion échoue (la transaction est annulée)
+     */
+    public List<Paiement> createAll(List<Paiement> paiements, int tailleLot) throws SQLException {
+        if (tailleLot <= 0) {
+            throw new IllegalArgumentException("La taille de lot doit être positive: " + tailleLot);
+        }
+        if (paiements.isEmpty()) {
+            return paiements;
+        }
+
+        SqlDialect dialect = DatabaseManager.getInstance().getDialect();
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+                for (int debut = 0; debut < paiements.size(); debut += tailleLot) {
+                    List<Paiement> lot = paiements.subList(debut, Math.min(debut + tailleLot, paiements.size()));
+                    for (Paiement paiement : lot) {
+                        setPaiementParameters(stmt, paiement);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    if (dialect.supportsBatchGeneratedKeys()) {
+                        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                            for (Paiement paiement : lot) {
+                                if (!generatedKeys.next()) {
+                                    throw new SQLException("IDs générés manquants pour le lot de paiements");
+                                }
+                                paiement.setId(generatedKeys.getInt(1));
+                            }
+                        }
+                    } else {
+                        // IDs consécutifs dans la transaction, le dernier est celui de la dernière ligne du lot
+                        int premierId = dialect.lastInsertId(conn) - lot.size() + 1;
+                        for (int i = 0; i < lot.size(); i++) {
+                            lot.get(i).setId(premierId + i);
                         }
                     }
                 }
+
+                RevenueMonthlyDAO.apply(conn, paiements, 1);
+
+                conn.commit(); // ✅ Une seule transaction pour tous les lots
+                logger.info(paiements.size() + " paiements créés (lots de " + tailleLot + ")");
+                PaiementColumnStore.getInstance().notifyCreated(paiements);
+                return paiements;
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors de la création groupée des paiements: " + e.getMessage());
+                throw e;
             }
+        }
+    }
 
-            conn.commit(); // ✅ Commiter la transaction
-            logger.info("Paiement créé: " + paiement.getId());
-            return paiement;
-        } catch (SQLException e) {
-            conn.rollback(); // ✅ Rollback en cas d'erreur
-            logger.severe("Erreur lors de la création du paiement: " + e.getMessage());
-            throw e;
+    /**
+     * Change le statut d'un paiement (annulation, remboursement).
+     *
+     * <p>Le paiement est retiré de la ligne de l'agrégat mensuel de son ancien statut et
+     * ajouté à celle du nouveau, dans la transaction de la mise à jour. Le changement n'est
+     * appliqué que si le statut lu n'a pas été modifié entre-temps.</p>
+     *
+     * @param id ID du paiement
+     * @param statut Nouveau statut
+     * @throws SQLException Si le paiement est introuvable, a été modifié entre-temps, ou si
+     *                      une écriture échoue (la transaction est annulée)
+     */
+    public void updateStatut(Integer id, Paiement.StatutPaiement statut) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try {
+                Paiement paiement = null;
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM paiements WHERE id=?")) {
+                    stmt.setInt(1, id);
+                    ResultSet rs = stmt.executeQuery();
+                    if (rs.next()) {
+                        paiement = new PaiementMapper(rs).map(rs);
+                    }
+                }
+                if (paiement == null) {
+                    throw new SQLException("Paiement introuvable: " + id);
+                }
+                Paiement.StatutPaiement ancien = paiement.getStatut();
+                if (ancien == statut) {
+                    conn.commit();
+                    return;
+                }
+
+                String sql = "UPDATE paiements SET statut=? WHERE id=? AND COALESCE(statut, 'VALIDE')=?";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, statut.name());
+                    stmt.setInt(2, id);
+                    stmt.setString(3, ancien.name());
+                    if (stmt.executeUpdate() == 0) {
+                        throw new SQLException("Le paiement " + id + " a été modifié entre-temps");
+                    }
+                }
+
+                RevenueMonthlyDAO.apply(conn, List.of(paiement), -1);
+                paiement.setStatut(statut);
+                RevenueMonthlyDAO.apply(conn, List.of(paiement), 1);
+
+                conn.commit(); // ✅ Statut et agrégat validés ensemble
+                logger.info("Statut du paiement " + id + " modifié: " + ancien + " -> " + statut);
+            } catch (SQLException e) {
+                conn.rollback(); // ✅ Rollback en cas d'erreur
+                logger.severe("Erreur lors du changement de statut du paiement: " + e.getMessage());
+                throw e;
+            }
         }
+        PaiementColumnStore.getInstance().notifyStatutChanged(id, statut);
     }
 
     public List<Paiement> findByAdherentId(Integer adherentId) throws SQLException {
@@ -99,8 +260,9 @@ public class PaiementDAO {
             stmt.setInt(1, adherentId);
             ResultSet rs = stmt.executeQuery();
 
+            PaiementMapper mapper = new PaiementMapper(rs);
             while (rs.next()) {
-                paiements.add(mapResultSetToPaiement(rs));
+                paiements.add(mapper.map(rs));
             }
         }
 
@@ -115,8 +277,9 @@ public class PaiementDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            PaiementMapper mapper = new PaiementMapper(rs);
             while (rs.next()) {
-                paiements.add(mapResultSetToPaiement(rs));
+                paiements.add(mapper.map(rs));
             }
         }
 
@@ -124,130 +287,342 @@ public class PaiementDAO {
     }
 
     /**
-     * Récupère les revenus pour un mois spécifique.
-     * 
-     * @param mois Le mois pour lequel récupérer les revenus
-     * @return Le montant total des revenus pour ce mois
-     * @throws SQLException Si une erreur survient lors de la requête
+     * Récupère une page de paiements, du plus récent au plus ancien (tri par date_paiement, id).
+     *
+     * <p>Pagination par clé : la page reprend après le curseur (dernier paiement de la
+     * page précédente) via l'index idx_date_paiement, sans OFFSET. La table des paiements
+     * croît sans limite, les écrans ne doivent donc jamais la charger entièrement.</p>
+     *
+     * @param apres Dernier paiement de la page précédente, ou null pour la première page
+     * @param taille Nombre maximum de paiements dans la page
      */
-    public Double getRevenusMois(LocalDate mois) throws SQLException {
-        // MySQL utilise DATE_FORMAT pour formater les dates
-        String sql = """
-            SELECT SUM(montant) as total FROM paiements 
-            WHERE statut='VALIDE' 
-            AND DATE_FORMAT(date_paiement, '%Y-%m') = ?
-        """;
+    public Page<Paiement> findPage(Paiement apres, int taille) throws SQLException {
+        return findPage(null, apres, taille);
+    }
+
+    /**
+     * Recherche paginée des paiements par nom de l'adhérent, nom du pack ou montant,
+     * du plus récent au plus ancien.
+     *
+     * <p>Projection jointe : chaque paiement est retourné avec son adhérent (nom, prénom)
+     * et son pack (nom) renseignés, en une seule requête. L'affichage et la recherche
+     * n'ont ainsi besoin d'aucune requête supplémentaire par ligne.</p>
+     *
+     * @param searchTerm Terme recherché, ou null/vide pour tous les paiements
+     * @param apres Dernier paiement de la page précédente, ou null pour la première page
+     * @param taille Nombre maximum de paiements dans la page
+     */
+    public Page<Paiement> findPage(String searchTerm, Paiement apres, int taille) throws SQLException {
+        boolean recherche = searchTerm != null && !searchTerm.trim().isEmpty();
+        StringBuilder sql = new StringBuilder(SELECT_PAIEMENT_DETAILS);
+        if (recherche) {
+            String nomComplet = DatabaseManager.getInstance().getDialect().concat("a.prenom", "' '", "a.nom");
+            sql.append(" WHERE (").append(nomComplet).append(" LIKE ? OR pk.nom LIKE ? OR CAST(p.montant AS CHAR) LIKE ?)");
+        } else {
+            sql.append(" WHERE 1=1");
+        }
+        if (apres != null) {
+            sql.append(" AND (p.date_paiement < ? OR (p.date_paiement = ? AND p.id < ?))");
+        }
+        sql.append(" ORDER BY p.date_paiement DESC, p.id DESC LIMIT ?");
+
+        List<Paiement> paiements = new ArrayList<>();
 
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            String moisStr = mois.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-            stmt.setString(1, moisStr);
-            
-            ResultSet rs = stmt.executeQuery();
+            int index = 1;
+            if (recherche) {
+                String searchPattern = "%" + searchTerm.trim() + "%";
+                for (int i = 0; i < 3; i++) {
+                    stmt.setString(index++, searchPattern);
+                }
+            }
+            if (apres != null) {
+                Timestamp datePaiement = Timestamp.valueOf(apres.getDatePaiement());
+                stmt.setTimestamp(index++, datePaiement);
+                stmt.setTimestamp(index++, datePaiement);
+                stmt.setInt(index++, apres.getId());
+            }
+            // Une ligne de plus pour savoir si une page suivante existe
+            stmt.setInt(index, taille + 1);
 
-            if (rs.next()) {
-                Double total = rs.getDouble("total");
-                return rs.wasNull() ? 0.0 : total;
+            ResultSet rs = stmt.executeQuery();
+            PaiementDetailsMapper mapper = new PaiementDetailsMapper(rs);
+            while (rs.next()) {
+                paiements.add(mapper.map(rs));
             }
-            return 0.0;
         }
+
+        return Page.of(paiements, taille);
+    }
+
+    /**
+     * Récupère les revenus pour un mois spécifique.
+     * 
+     * <p>Lecture des lignes du mois dans l'agrégat mensuel des revenus.</p>
+     * 
+     * @param mois Le mois pour lequel récupérer les revenus
+     * @return Le montant total des revenus pour ce mois
+     * @throws SQLException Si une erreur survient lors de la requête
+     */
+    public Double getRevenusMois(LocalDate mois) throws SQLException {
+        return revenueMonthlyDAO.getRevenusParMois(YearMonth.from(mois), 1).get(0).getMontant();
     }
 
     /**
      * Récupère les revenus par mois pour les N derniers mois.
      * 
      * <p>Cette méthode retourne une liste de MonthlyRevenue triée chronologiquement,
-     * avec un objet pour chaque mois (même si le revenu est 0).</p>
+     * avec un objet pour chaque mois (même si le revenu est 0). Toute la série
+     * est lue dans l'agrégat mensuel des revenus (quelques lignes par mois).</p>
      * 
      * @param nombreMois Nombre de mois à récupérer (en remontant depuis aujourd'hui)
      * @return Liste des revenus mensuels, triée du plus ancien au plus récent
      * @throws SQLException Si une erreur survient lors de la requête
+     * @see RevenueMonthlyDAO#getRevenusParMois(YearMonth, int)
      */
-    public List<com.example.demo.models.MonthlyRevenue> getRevenusParMois(int nombreMois) throws SQLException {
-        List<com.example.demo.models.MonthlyRevenue> revenus = new ArrayList<>();
-        
-        // Calculer les dates de début et de fin
-        LocalDate aujourdhui = LocalDate.now();
-        LocalDate premierMois = aujourdhui.minusMonths(nombreMois - 1).withDayOfMonth(1);
-        
-        // Pour chaque mois, récupérer les revenus
-        for (int i = 0; i < nombreMois; i++) {
-            LocalDate mois = premierMois.plusMonths(i);
-            Double montant = getRevenusMois(mois);
-            
-            com.example.demo.models.MonthlyRevenue monthlyRevenue = 
-                new com.example.demo.models.MonthlyRevenue(mois, montant);
-            revenus.add(monthlyRevenue);
-        }
+    public List<MonthlyRevenue> getRevenusParMois(int nombreMois) throws SQLException {
+        List<MonthlyRevenue> revenus = revenueMonthlyDAO.getRevenusParMois(YearMonth.now().minusMonths(nombreMois - 1), nombreMois);
         
         logger.info("Revenus par mois récupérés: " + revenus.size() + " mois");
         return revenus;
     }
 
+    /**
+     * Récupère la série des revenus sur une plage de dates arbitraire.
+     * 
+     * <p>Une seule requête GROUP BY bornée par la plage (compatible avec l'index
+     * idx_date_paiement) renvoie les totaux journaliers, qui sont ensuite regroupés
+     * par période en Java. Les périodes sans paiement sont présentes avec un montant de 0.</p>
+     * 
+     * <p>Pour chaque élément retourné, {@link MonthlyRevenue#getMois()} contient la date de
+     * début de la période : le jour, le lundi de la semaine ou le 1er du mois.</p>
+     * 
+     * @param debut Date de début (incluse)
+     * @param fin Date de fin (exclue)
+     * @param granularite {@link ChronoUnit#DAYS}, {@link ChronoUnit#WEEKS} ou {@link ChronoUnit#MONTHS}
+     * @return Liste des revenus par période, triée chronologiquement
+     * @throws SQLException Si une erreur survient lors de la requête
+     */
+    public List<MonthlyRevenue> getRevenusParPeriode(LocalDate debut, LocalDate fin, ChronoUnit granularite) throws SQLException {
+        if (granularite != ChronoUnit.DAYS && granularite != ChronoUnit.WEEKS && granularite != ChronoUnit.MONTHS) {
+            throw new IllegalArgumentException("Granularité non supportée: " + granularite);
+        }
+
+        String sql = """
+            SELECT DATE(date_paiement) as jour, SUM(montant) as total FROM paiements 
+            WHERE statut='VALIDE' 
+            AND date_paiement >= ? AND date_paiement < ?
+            GROUP BY DATE(date_paiement)
+        """;
+
+        // Pré-remplir toutes les périodes à 0 (ordre chronologique conservé)
+        Map<LocalDate, Double> totaux = new LinkedHashMap<>();
+        for (LocalDate periode = debutPeriode(debut, granularite); periode.isBefore(fin); periode = periode.plus(1, granularite)) {
+            totaux.put(periode, 0.0);
+        }
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(debut.atStartOfDay()));
+            stmt.setTimestamp(2, Timestamp.valueOf(fin.atStartOfDay()));
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                LocalDate jour = com.example.demo.utils.DateUtils.parseDate(rs.getString("jour"));
+                if (jour != null) {
+                    totaux.merge(debutPeriode(jour, granularite), rs.getDouble("total"), Double::sum);
+                }
+            }
+        }
+
+        List<MonthlyRevenue> revenus = new ArrayList<>(totaux.size());
+        totaux.forEach((periode, montant) -> revenus.add(new MonthlyRevenue(periode, montant)));
+        return revenus;
+    }
+
+    /**
+     * Retourne le début de la période (jour, lundi de la semaine ou 1er du mois) contenant la date
+     */
+    private static LocalDate debutPeriode(LocalDate date, ChronoUnit granularite) {
+        return switch (granularite) {
+            case WEEKS -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHS -> date.withDayOfMonth(1);
+            default -> date;
+        };
+    }
+
     /**
      * Calcule le taux moyen des paiements.
      * 
      * <p>Le taux moyen est calculé comme la moyenne des montants
-     * de tous les paiements valides.</p>
+     * de tous les paiements valides, depuis l'agrégat mensuel des revenus.</p>
      * 
      * @return Le taux moyen des paiements, ou 0.0 si aucun paiement
      * @throws SQLException Si une erreur survient lors de la requête
      */
     public Double getTauxMoyen() throws SQLException {
-        String sql = "SELECT AVG(montant) as moyenne FROM paiements WHERE statut='VALIDE'";
+        return revenueMonthlyDAO.getMoyenne();
+    }
+    
+    /**
+     * Destinataire des lignes de {@link #forEachColumns(ColumnSink)}, en types primitifs
+     */
+    @FunctionalInterface
+    public interface ColumnSink {
+        /**
+         * @param jour Jour du paiement (depuis l'époque)
+         * @param montantCentimes Montant en centimes
+         * @param packId ID du pack, ou {@link PaiementColumnStore#SANS_PACK}
+         * @param methode Ordinal de {@link Paiement.MethodePaiement}
+         * @param statut Ordinal de {@link Paiement.StatutPaiement}
+         */
+        void accept(int id, int jour, long montantCentimes, int adherentId, int packId, byte methode, byte statut);
+    }
+
+    /**
+     * Lit tous les paiements, par date de paiement, sans créer d'objet {@link Paiement}.
+     *
+     * <p>Seules les colonnes utiles aux analyses de revenus sont lues ; chaque ligne est
+     * passée à {@code sink} en types primitifs (chargement de {@link PaiementColumnStore}).</p>
+     *
+     * @param sink Destinataire des lignes
+     * @throws SQLException Si une erreur survient lors de la requête
+     */
+    public void forEachColumns(ColumnSink sink) throws SQLException {
+        String sql = """
+            SELECT id, adherent_id, pack_id, montant, date_paiement, methode_paiement, statut
+            FROM paiements ORDER BY date_paiement, id
+        """;
 
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             Statement stmt = conn.createStatement()) {
 
-            if (rs.next()) {
-                Double moyenne = rs.getDouble("moyenne");
-                return rs.wasNull() ? 0.0 : moyenne;
+            stmt.setFetchSize(DatabaseManager.getInstance().getDialect().streamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                byte methodeParDefaut = (byte) Paiement.MethodePaiement.ESPECES.ordinal();
+                byte statutParDefaut = (byte) Paiement.StatutPaiement.VALIDE.ordinal();
+                while (rs.next()) {
+                    LocalDate jour = DateUtils.parseDate(rs.getString(5));
+                    if (jour == null) {
+                        continue;
+                    }
+                    int packId = rs.getInt(3);
+                    if (rs.wasNull()) {
+                        packId = PaiementColumnStore.SANS_PACK;
+                    }
+                    // Valeurs inconnues : mêmes valeurs par défaut que PaiementMapper
+                    Paiement.MethodePaiement methode = Paiement.MethodePaiement.fromName(rs.getString(6));
+                    Paiement.StatutPaiement statut = Paiement.StatutPaiement.fromName(rs.getString(7));
+                    sink.accept(rs.getInt(1), (int) jour.toEpochDay(), Math.round(rs.getDouble(4) * 100),
+                        rs.getInt(2), packId,
+                        methode != null ? (byte) methode.ordinal() : methodeParDefaut,
+                        statut != null ? (byte) statut.ordinal() : statutParDefaut);
+                }
             }
-            return 0.0;
         }
     }
-    
-    private Paiement mapResultSetToPaiement(ResultSet rs) throws SQLException {
-        Paiement paiement = new Paiement();
-        paiement.setId(rs.getInt("id"));
-        paiement.setAdherentId(rs.getInt("adherent_id"));
-        paiement.setPackId(rs.getObject("pack_id", Integer.class));
-        paiement.setMontant(rs.getDouble("montant"));
-        
-        String datePaiementStr = rs.getString("date_paiement");
-        if (datePaiementStr != null && !datePaiementStr.isEmpty()) {
-            LocalDateTime dateTime = com.example.demo.utils.DateUtils.parseDateTime(datePaiementStr);
-            paiement.setDatePaiement(dateTime != null ? dateTime : LocalDateTime.now());
-        }
-        
-        try {
-            paiement.setMethodePaiement(Paiement.MethodePaiement.valueOf(rs.getString("methode_paiement")));
-        } catch (Exception e) {
-            paiement.setMethodePaiement(Paiement.MethodePaiement.ESPECES);
+
+    /**
+     * Définit les paramètres d'un PreparedStatement pour un INSERT de paiement
+     */
+    private void setPaiementParameters(PreparedStatement stmt, Paiement paiement) throws SQLException {
+        stmt.setInt(1, paiement.getAdherentId());
+        stmt.setObject(2, paiement.getPackId());
+        stmt.setBigDecimal(3, paiement.getMontant());
+        stmt.setTimestamp(4, Timestamp.valueOf(paiement.getDatePaiement()));
+        stmt.setString(5, paiement.getMethodePaiement().name());
+        stmt.setString(6, paiement.getStatut().name());
+        stmt.setString(7, paiement.getReference());
+        stmt.setString(8, paiement.getDateDebutAbonnement() != null ? paiement.getDateDebutAbonnement().toString() : null);
+        stmt.setString(9, paiement.getDateFinAbonnement() != null ? paiement.getDateFinAbonnement().toString() : null);
+        stmt.setString(10, paiement.getNotes());
+    }
+
+    /**
+     * Mappeur des lignes de la table paiements (visible du package pour les benchmarks)
+     */
+    static class PaiementMapper extends RowMapper<Paiement> {
+        private final int id, adherentId, packId, montant, datePaiement, methodePaiement, statut;
+        private final int reference, dateDebutAbonnement, dateFinAbonnement, notes;
+
+        PaiementMapper(ResultSet rs) throws SQLException {
+            id = column(rs, "id");
+            adherentId = column(rs, "adherent_id");
+            packId = column(rs, "pack_id");
+            montant = column(rs, "montant");
+            datePaiement = column(rs, "date_paiement");
+            methodePaiement = column(rs, "methode_paiement");
+            statut = column(rs, "statut");
+            reference = column(rs, "reference");
+            dateDebutAbonnement = column(rs, "date_debut_abonnement");
+            dateFinAbonnement = column(rs, "date_fin_abonnement");
+            notes = column(rs, "notes");
         }
-        
-        try {
-            paiement.setStatut(Paiement.StatutPaiement.valueOf(rs.getString("statut")));
-        } catch (Exception e) {
-            paiement.setStatut(Paiement.StatutPaiement.VALIDE);
+
+        @Override
+        Paiement map(ResultSet rs) throws SQLException {
+            Paiement paiement = new Paiement();
+            paiement.setId(rs.getInt(id));
+            paiement.setAdherentId(rs.getInt(adherentId));
+            paiement.setPackId(getInteger(rs, packId));
+            // Montant exact (DECIMAL(10,2)) ; SQLite le stocke en REAL, ramené ici à 2 décimales
+            BigDecimal valeurMontant = rs.getBigDecimal(montant);
+            paiement.setMontant(valeurMontant != null ? valeurMontant.setScale(2, RoundingMode.HALF_UP) : null);
+
+            LocalDateTime date = getDateTime(rs, datePaiement);
+            if (date != null) {
+                paiement.setDatePaiement(date);
+            }
+
+            // Valeurs inconnues : mêmes valeurs par défaut que l'ancien valueOf dans un try/catch
+            Paiement.MethodePaiement methode = Paiement.MethodePaiement.fromName(rs.getString(methodePaiement));
+            paiement.setMethodePaiement(methode != null ? methode : Paiement.MethodePaiement.ESPECES);
+            Paiement.StatutPaiement valeurStatut = Paiement.StatutPaiement.fromName(rs.getString(statut));
+            paiement.setStatut(valeurStatut != null ? valeurStatut : Paiement.StatutPaiement.VALIDE);
+
+            paiement.setReference(rs.getString(reference));
+            paiement.setDateDebutAbonnement(getDate(rs, dateDebutAbonnement));
+            paiement.setDateFinAbonnement(getDate(rs, dateFinAbonnement));
+            paiement.setNotes(rs.getString(notes));
+            return paiement;
         }
-        
-        paiement.setReference(rs.getString("reference"));
-        
-        String dateDebutStr = rs.getString("date_debut_abonnement");
-        if (dateDebutStr != null) {
-            paiement.setDateDebutAbonnement(com.example.demo.utils.DateUtils.parseDate(dateDebutStr));
+    }
+
+    /**
+     * Mappeur des lignes de {@link #SELECT_PAIEMENT_DETAILS} : le paiement avec son
+     * adhérent (id, nom, prénom) et son pack (id, nom) partiellement renseignés
+     */
+    private static final class PaiementDetailsMapper extends PaiementMapper {
+        private final int adherentNom, adherentPrenom, packNom;
+
+        PaiementDetailsMapper(ResultSet rs) throws SQLException {
+            super(rs);
+            adherentNom = column(rs, "adherent_nom");
+            adherentPrenom = column(rs, "adherent_prenom");
+            packNom = column(rs, "pack_nom");
         }
-        
-        String dateFinStr = rs.getString("date_fin_abonnement");
-        if (dateFinStr != null) {
-            paiement.setDateFinAbonnement(com.example.demo.utils.DateUtils.parseDate(dateFinStr));
+
+        @Override
+        Paiement map(ResultSet rs) throws SQLException {
+            Paiement paiement = super.map(rs);
+
+            Adherent adherent = new Adherent();
+            adherent.setId(paiement.getAdherentId());
+            adherent.setNom(rs.getString(adherentNom));
+            adherent.setPrenom(rs.getString(adherentPrenom));
+            paiement.setAdherent(adherent);
+
+            if (paiement.getPackId() != null) {
+                Pack pack = new Pack();
+                pack.setId(paiement.getPackId());
+                pack.setNom(rs.getString(packNom));
+                paiement.setPack(pack);
+            }
+            return paiement;
         }
-        
-        paiement.setNotes(rs.getString("notes"));
-        return paiement;
     }
 }
 
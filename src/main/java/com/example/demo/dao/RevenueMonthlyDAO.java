@@ -0,0 +1,225 @@
+package com.example.demo.dao;
+
+import com.example.demo.models.MonthlyRevenue;
+import com.example.demo.models.Paiement;
+import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.DateUtils;
+import com.example.demo.utils.SqlDialect;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * DAO de l'agrégat mensuel des revenus (table {@code revenue_monthly}).
+ *
+ * <p>La table contient, par (mois, pack, méthode de paiement, statut), la somme des
+ * montants, le nombre de paiements et la somme des carrés des montants (pour la variance).
+ * {@link PaiementDAO} la tient à jour dans la transaction de chaque création et de chaque
+ * changement de statut ({@link #apply(Connection, List, int)}) : les revenus d'un mois ou
+ * d'une série de mois se lisent en quelques lignes, quelle que soit la taille de
+ * l'historique des paiements.</p>
+ *
+ * <p>Les écritures qui contournent {@link PaiementDAO} (import, génération de données de
+ * charge, migration) doivent être suivies d'un {@link #rebuild()}, qui recalcule la table
+ * depuis les paiements. La méthode {@link #main(String[])} l'exécute en ligne de commande.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see PaiementDAO
+ */
+public class RevenueMonthlyDAO {
+    private static final Logger logger = Logger.getLogger(RevenueMonthlyDAO.class.getName());
+
+    /** Valeur de la colonne pack_id pour les paiements sans pack (la clé primaire exclut NULL) */
+    public static final int SANS_PACK = 0;
+
+    private static final String[] COLONNES_CLE = {"mois", "pack_id", "methode_paiement", "statut"};
+    private static final String[] COLONNES_SOMMES = {"total", "nombre", "total_carres"};
+
+    /**
+     * Ajoute (signe 1) ou retire (signe -1) des paiements de l'agrégat, dans la transaction
+     * de la connexion (sans la valider). Les paiements d'une même ligne de l'agrégat sont
+     * regroupés : un lot de paiements coûte une écriture par (mois, pack, méthode, statut).
+     *
+     * @param conn Connexion de la transaction qui écrit les paiements
+     * @param paiements Paiements (montant, date, pack, méthode et statut renseignés)
+     * @param signe 1 pour ajouter, -1 pour retirer
+     * @throws SQLException Si une écriture échoue
+     */
+    static void apply(Connection conn, List<Paiement> paiements, int signe) throws SQLException {
+        // Sommes exactes (BigDecimal) : les montants s'ajoutent sans erreur d'arrondi binaire
+        BigDecimal facteur = BigDecimal.valueOf(signe);
+        Map<Cle, BigDecimal[]> sommes = new LinkedHashMap<>();
+        for (Paiement paiement : paiements) {
+            BigDecimal montant = paiement.getMontant().multiply(facteur);
+            BigDecimal[] ligne = sommes.computeIfAbsent(Cle.of(paiement),
+                cle -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+            ligne[0] = ligne[0].add(montant);
+            ligne[1] = ligne[1].add(facteur);
+            ligne[2] = ligne[2].add(montant.multiply(paiement.getMontant()));
+        }
+        if (sommes.isEmpty()) {
+            return;
+        }
+
+        String sql = DatabaseManager.getInstance().getDialect().insertOrAdd("revenue_monthly", COLONNES_CLE, COLONNES_SOMMES);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<Cle, BigDecimal[]> entree : sommes.entrySet()) {
+                Cle cle = entree.getKey();
+                BigDecimal[] ligne = entree.getValue();
+                stmt.setString(1, cle.mois.toString());
+                stmt.setInt(2, cle.packId);
+                stmt.setString(3, cle.methode);
+                stmt.setString(4, cle.statut);
+                stmt.setBigDecimal(5, ligne[0]);
+                stmt.setInt(6, ligne[1].intValue());
+                stmt.setBigDecimal(7, ligne[2]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Recalcule l'agrégat depuis la table des paiements, en une transaction
+     * (répare toute dérive due à des écritures hors de {@link PaiementDAO})
+     *
+     * @throws SQLException Si le recalcul échoue (l'agrégat précédent est conservé)
+     */
+    public void rebuild() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try {
+                int lignes = rebuild(conn, DatabaseManager.getInstance().getDialect());
+                conn.commit();
+                logger.info("Agrégat mensuel des revenus recalculé: " + lignes + " lignes");
+            } catch (SQLException e) {
+                conn.rollback();
+                logger.severe("Erreur lors du recalcul de l'agrégat des revenus: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recalcule l'agrégat sur une connexion donnée, sans valider la transaction
+     * (utilisé aussi par la migration SQLite vers MySQL)
+     *
+     * @return Nombre de lignes de l'agrégat
+     */
+    public static int rebuild(Connection conn, SqlDialect dialect) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM revenue_monthly");
+            return stmt.executeUpdate(rebuildSql(dialect));
+        }
+    }
+
+    /**
+     * Requête qui remplit l'agrégat depuis les paiements (table vide au préalable)
+     *
+     * @param dialect Dialecte de la base cible
+     * @return La requête INSERT ... SELECT
+     */
+    public static String rebuildSql(SqlDialect dialect) {
+        String mois = dialect.formatDate("date_paiement", "%Y-%m-01");
+        return "INSERT INTO revenue_monthly (mois, pack_id, methode_paiement, statut, total, nombre, total_carres)"
+            + " SELECT " + mois + ", COALESCE(pack_id, " + SANS_PACK + "), methode_paiement, COALESCE(statut, 'VALIDE'),"
+            + " SUM(montant), COUNT(*), SUM(montant * montant)"
+            + " FROM paiements"
+            + " GROUP BY " + mois + ", COALESCE(pack_id, " + SANS_PACK + "), methode_paiement, COALESCE(statut, 'VALIDE')";
+    }
+
+    /**
+     * Revenus validés des {@code nombreMois} mois à partir de {@code premierMois}
+     *
+     * @return Un revenu par mois, du plus ancien au plus récent (0 pour un mois sans paiement)
+     * @throws SQLException Si une erreur survient lors de la requête
+     */
+    public List<MonthlyRevenue> getRevenusParMois(YearMonth premierMois, int nombreMois) throws SQLException {
+        String sql = """
+            SELECT mois, SUM(total) AS total FROM revenue_monthly
+            WHERE statut = 'VALIDE' AND mois >= ? AND mois < ?
+            GROUP BY mois
+        """;
+
+        // Pré-remplir tous les mois à 0 (ordre chronologique conservé)
+        Map<LocalDate, Double> totaux = new LinkedHashMap<>();
+        for (int i = 0; i < nombreMois; i++) {
+            totaux.put(premierMois.plusMonths(i).atDay(1), 0.0);
+        }
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, premierMois.atDay(1).toString());
+            stmt.setString(2, premierMois.plusMonths(nombreMois).atDay(1).toString());
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                LocalDate mois = DateUtils.parseDate(rs.getString("mois"));
+                if (mois != null) {
+                    totaux.merge(mois.withDayOfMonth(1), rs.getDouble("total"), Double::sum);
+                }
+            }
+        }
+
+        List<MonthlyRevenue> revenus = new ArrayList<>(totaux.size());
+        totaux.forEach((mois, montant) -> revenus.add(new MonthlyRevenue(mois, montant)));
+        return revenus;
+    }
+
+    /**
+     * Montant moyen des paiements validés (somme des totaux / nombre de paiements)
+     *
+     * @return Le montant moyen, ou 0.0 si aucun paiement
+     * @throws SQLException Si une erreur survient lors de la requête
+     */
+    public double getMoyenne() throws SQLException {
+        String sql = "SELECT SUM(total) AS total, SUM(nombre) AS nombre FROM revenue_monthly WHERE statut = 'VALIDE'";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                long nombre = rs.getLong("nombre");
+                return nombre > 0 ? rs.getDouble("total") / nombre : 0.0;
+            }
+            return 0.0;
+        }
+    }
+
+    /**
+     * Clé d'une ligne de l'agrégat
+     */
+    private record Cle(LocalDate mois, int packId, String methode, String statut) {
+        static Cle of(Paiement paiement) {
+            return new Cle(paiement.getDatePaiement().toLocalDate().withDayOfMonth(1),
+                Objects.requireNonNullElse(paiement.getPackId(), SANS_PACK),
+                paiement.getMethodePaiement().name(),
+                paiement.getStatut().name());
+        }
+    }
+
+    /**
+     * Point d'entrée pour recalculer l'agrégat manuellement (réparation d'une dérive).
+     */
+    public static void main(String[] args) {
+        try {
+            new RevenueMonthlyDAO().rebuild();
+        } catch (SQLException e) {
+            logger.severe("Erreur lors du recalcul: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            DatabaseManager.getInstance().closeConnection();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.dao;
+
+import com.example.demo.utils.DatabaseManager;
+import com.example.demo.utils.DateUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Base des mappeurs ResultSet -> modèle des DAO.
+ *
+ * <p>Un mappeur est créé pour un ResultSet donné : les index des colonnes sont résolus
+ * une seule fois dans son constructeur ({@link #column(ResultSet, String)}), puis chaque
+ * ligne est lue par index avec des accesseurs typés. Les dates sont lues directement en
+ * {@link LocalDate} / {@link LocalDateTime} quand le driver le permet (MySQL), et par le
+ * chemin rapide de {@link DateUtils} quand elles sont stockées en texte (SQLite).</p>
+ *
+ * @param <T> Type du modèle produit
+ * @author Dashboard Team
+ * @version 1.0
+ */
+abstract class RowMapper<T> {
+    private final boolean datesNatives = DatabaseManager.getInstance().getDialect().hasNativeDateTypes();
+
+    /**
+     * Mappe la ligne courante du ResultSet
+     */
+    abstract T map(ResultSet rs) throws SQLException;
+
+    /**
+     * Index d'une colonne du ResultSet, à résoudre dans le constructeur du mappeur
+     */
+    static int column(ResultSet rs, String label) throws SQLException {
+        return rs.findColumn(label);
+    }
+
+    final LocalDate getDate(ResultSet rs, int column) throws SQLException {
+        if (datesNatives) {
+            return rs.getObject(column, LocalDate.class);
+        }
+        return DateUtils.parseDate(rs.getString(column));
+    }
+
+    final LocalDateTime getDateTime(ResultSet rs, int column) throws SQLException {
+        if (datesNatives) {
+            return rs.getObject(column, LocalDateTime.class);
+        }
+        return DateUtils.parseDateTime(rs.getString(column));
+    }
+
+    /**
+     * Entier nullable, lu sans la conversion générique de getObject
+     */
+    static Integer getInteger(ResultSet rs, int column) throws SQLException {
+        int valeur = rs.getInt(column);
+        return rs.wasNull() ? null : valeur;
+    }
+
+    static Double getDoubleOrNull(ResultSet rs, int column) throws SQLException {
+        double valeur = rs.getDouble(column);
+        return rs.wasNull() ? null : valeur;
+    }
+}
@@ -72,7 +72,7 @@ public class UserPreferencesDAO {
                     preferences.setId(generatedKeys.getInt(1));
                 } else {
                     try (Statement idStmt = conn.createStatement();
-                         ResultSet rs = idStmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
+                         ResultSet rs = idStmt.executeQuery(DatabaseManager.getInstance().getDialect().lastInsertIdQuery())) {
                         if (rs.next()) {
                             preferences.setId(rs.getInt("id"));
                         }
@@ -80,6 +80,7 @@ public class UserPreferencesDAO {
                 }
             }
 
+            conn.commit();
             logger.info("Préférences créées pour l'utilisateur: " + preferences.getUserId());
             return preferences;
         }
@@ -109,6 +110,7 @@ public class UserPreferencesDAO {
             stmt.setInt(5, preferences.getUserId());
 
             stmt.executeUpdate();
+            conn.commit();
             logger.info("Préférences mises à jour pour l'utilisateur: " + preferences.getUserId());
             return preferences;
         }
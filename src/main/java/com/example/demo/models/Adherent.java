@@ -31,6 +31,32 @@ public class Adherent {
         this.dateInscription = LocalDate.now();
     }
 
+    /**
+     * Copie d'un adhérent (le pack associé est partagé), pour le modifier sans toucher
+     * à l'instance partagée par le dépôt des adhérents avant l'enregistrement
+     */
+    public Adherent(Adherent autre) {
+        this.id = autre.id;
+        this.cin = autre.cin;
+        this.nom = autre.nom;
+        this.prenom = autre.prenom;
+        this.dateNaissance = autre.dateNaissance;
+        this.telephone = autre.telephone;
+        this.email = autre.email;
+        this.adresse = autre.adresse;
+        this.photo = autre.photo;
+        this.poids = autre.poids;
+        this.taille = autre.taille;
+        this.objectifs = autre.objectifs;
+        this.problemesSante = autre.problemesSante;
+        this.packId = autre.packId;
+        this.pack = autre.pack;
+        this.dateDebut = autre.dateDebut;
+        this.dateFin = autre.dateFin;
+        this.actif = autre.actif;
+        this.dateInscription = autre.dateInscription;
+    }
+
     // Getters et Setters
     public Integer getId() {
         return id;
@@ -0,0 +1,175 @@
+package com.example.demo.models;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantané immuable des indicateurs (KPI) du dashboard.
+ *
+ * <p>Calculé en deux requêtes agrégées par {@link com.example.demo.dao.DashboardSnapshotDAO},
+ * il sert de source unique à toutes les cartes d'un rendu du dashboard
+ * (KPI, mini cards, donut des packs, répartition des statuts, notifications).</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see com.example.demo.dao.DashboardSnapshotDAO
+ */
+public final class DashboardSnapshot {
+    private final LocalDate date;
+
+    // Adhérents (actifs)
+    private final int adherentsActifs;
+    private final int nouveaux7Jours;
+    private final int nouveaux30Jours;
+    private final int nouveauxMois;
+    private final int nouveauxMoisPrecedent;
+    private final int abonnementsEnCours;
+    private final int expirantBientot;
+    private final int expires;
+    private final Map<Integer, Integer> adherentsParPack;
+
+    // Revenus (paiements valides)
+    private final double revenusSemaine;
+    private final double revenusMois;
+    private final double revenusMoisPrecedent;
+    private final double tauxMoyen;
+
+    // Objectif d'adhérents (taux d'occupation)
+    private final double objectifAdherents;
+
+    public DashboardSnapshot(LocalDate date, int adherentsActifs, int nouveaux7Jours, int nouveaux30Jours,
+                             int nouveauxMois, int nouveauxMoisPrecedent, int abonnementsEnCours,
+                             int expirantBientot, int expires, Map<Integer, Integer> adherentsParPack,
+                             double revenusSemaine, double revenusMois, double revenusMoisPrecedent,
+                             double tauxMoyen, double objectifAdherents) {
+        this.date = date;
+        this.adherentsActifs = adherentsActifs;
+        this.nouveaux7Jours = nouveaux7Jours;
+        this.nouveaux30Jours = nouveaux30Jours;
+        this.nouveauxMois = nouveauxMois;
+        this.nouveauxMoisPrecedent = nouveauxMoisPrecedent;
+        this.abonnementsEnCours = abonnementsEnCours;
+        this.expirantBientot = expirantBientot;
+        this.expires = expires;
+        this.adherentsParPack = Collections.unmodifiableMap(new HashMap<>(adherentsParPack));
+        this.revenusSemaine = revenusSemaine;
+        this.revenusMois = revenusMois;
+        this.revenusMoisPrecedent = revenusMoisPrecedent;
+        this.tauxMoyen = tauxMoyen;
+        this.objectifAdherents = objectifAdherents;
+    }
+
+    /** Date de calcul de l'instantané */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getAdherentsActifs() {
+        return adherentsActifs;
+    }
+
+    /** Adhérents inscrits dans les 7 derniers jours (aujourd'hui inclus) */
+    public int getNouveaux7Jours() {
+        return nouveaux7Jours;
+    }
+
+    /** Adhérents inscrits dans les 30 derniers jours (aujourd'hui inclus) */
+    public int getNouveaux30Jours() {
+        return nouveaux30Jours;
+    }
+
+    /** Adhérents inscrits depuis le 1er du mois */
+    public int getNouveauxMois() {
+        return nouveauxMois;
+    }
+
+    public int getNouveauxMoisPrecedent() {
+        return nouveauxMoisPrecedent;
+    }
+
+    /** Adhérents dont l'abonnement se termine après aujourd'hui */
+    public int getAbonnementsEnCours() {
+        return abonnementsEnCours;
+    }
+
+    /** Adhérents dont l'abonnement expire dans les 7 prochains jours */
+    public int getExpirantBientot() {
+        return expirantBientot;
+    }
+
+    /** Adhérents dont l'abonnement est expiré */
+    public int getExpires() {
+        return expires;
+    }
+
+    /**
+     * Nombre d'adhérents actifs par ID de pack (les adhérents sans pack ne sont pas comptés)
+     */
+    public Map<Integer, Integer> getAdherentsParPack() {
+        return adherentsParPack;
+    }
+
+    public int getAdherentsPourPack(Integer packId) {
+        return adherentsParPack.getOrDefault(packId, 0);
+    }
+
+    public double getRevenusSemaine() {
+        return revenusSemaine;
+    }
+
+    public double getRevenusMois() {
+        return revenusMois;
+    }
+
+    public double getRevenusMoisPrecedent() {
+        return revenusMoisPrecedent;
+    }
+
+    /**
+     * Variation des revenus du mois par rapport au mois précédent (en %)
+     */
+    public double getChangeRevenus() {
+        return revenusMoisPrecedent > 0 ? ((revenusMois - revenusMoisPrecedent) / revenusMoisPrecedent) * 100 : 0;
+    }
+
+    /**
+     * Croissance des inscriptions du mois par rapport au mois précédent (en %),
+     * même calcul que {@link com.example.demo.dao.AdherentDAO#getMonthlyGrowth(LocalDate)}
+     */
+    public double getCroissanceMensuelle() {
+        if (nouveauxMoisPrecedent > 0) {
+            return ((nouveauxMois - nouveauxMoisPrecedent) / (double) nouveauxMoisPrecedent) * 100.0;
+        }
+        return nouveauxMois > 0 ? 100.0 : 0.0;
+    }
+
+    /** Montant moyen des paiements valides */
+    public double getTauxMoyen() {
+        return tauxMoyen;
+    }
+
+    public double getObjectifAdherents() {
+        return objectifAdherents;
+    }
+
+    /**
+     * Taux d'occupation (adhérents actifs / objectif) en pourcentage,
+     * même calcul que {@link com.example.demo.dao.AdherentDAO#getTauxOccupation()}
+     */
+    public double getTauxOccupation() {
+        return objectifAdherents > 0 ? (adherentsActifs / objectifAdherents) * 100.0 : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardSnapshot{" +
+                "date=" + date +
+                ", adherentsActifs=" + adherentsActifs +
+                ", expirantBientot=" + expirantBientot +
+                ", expires=" + expires +
+                ", revenusMois=" + revenusMois +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.models;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -19,6 +20,8 @@ public class Notification {
     private String message;
     private Boolean read;
     private LocalDateTime createdAt;
+    // Jour de dédoublonnage : une seule notification par (utilisateur, type, jour) si renseigné
+    private LocalDate dedupDay;
 
     /**
      * Constructeur par défaut
@@ -106,6 +109,14 @@ public class Notification {
         this.createdAt = createdAt;
     }
 
+    public LocalDate getDedupDay() {
+        return dedupDay;
+    }
+
+    public void setDedupDay(LocalDate dedupDay) {
+        this.dedupDay = dedupDay;
+    }
+
     @Override
     public String toString() {
         return "Notification{" +
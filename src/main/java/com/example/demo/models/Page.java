@@ -0,0 +1,55 @@
+package com.example.demo.models;
+
+import java.util.List;
+
+/**
+ * Page de résultats d'une requête paginée par clé (keyset pagination).
+ *
+ * <p>Au lieu d'un numéro de page (OFFSET), la page suivante est demandée en passant
+ * le dernier élément reçu comme curseur : la requête reprend directement après
+ * cette ligne grâce à l'index, quel que soit le nombre de lignes déjà parcourues.</p>
+ *
+ * @param <T> Type des éléments de la page
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final boolean hasMore;
+
+    public Page(List<T> items, boolean hasMore) {
+        this.items = List.copyOf(items);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Construit une page à partir d'un résultat lu avec {@code LIMIT taille + 1} :
+     * la ligne supplémentaire indique seulement qu'une page suivante existe.
+     */
+    public static <T> Page<T> of(List<T> rows, int taille) {
+        if (rows.size() > taille) {
+            return new Page<>(rows.subList(0, taille), true);
+        }
+        return new Page<>(rows, false);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** true si d'autres éléments suivent cette page */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Dernier élément de la page, à passer comme curseur pour obtenir la page suivante
+     */
+    public T getCursor() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
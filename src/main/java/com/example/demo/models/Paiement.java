@@ -1,7 +1,10 @@
 package com.example.demo.models;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Modèle représentant un paiement/cotisation
@@ -13,6 +16,14 @@ public class Paiement {
         VIREMENT("Virement"),
         CHEQUE("Chèque");
 
+        private static final Map<String, MethodePaiement> PAR_NOM = new HashMap<>();
+
+        static {
+            for (MethodePaiement methode : values()) {
+                PAR_NOM.put(methode.name(), methode);
+            }
+        }
+
         private final String libelle;
 
         MethodePaiement(String libelle) {
@@ -22,6 +33,14 @@ public class Paiement {
         public String getLibelle() {
             return libelle;
         }
+
+        /**
+         * Valeur correspondant au nom stocké en base, ou null si le nom est inconnu
+         * (table précalculée, sans exception contrairement à valueOf)
+         */
+        public static MethodePaiement fromName(String name) {
+            return name != null ? PAR_NOM.get(name) : null;
+        }
     }
 
     public enum StatutPaiement {
@@ -29,6 +48,14 @@ public class Paiement {
         ANNULE("Annulé"),
         REMBOURSE("Remboursé");
 
+        private static final Map<String, StatutPaiement> PAR_NOM = new HashMap<>();
+
+        static {
+            for (StatutPaiement statut : values()) {
+                PAR_NOM.put(statut.name(), statut);
+            }
+        }
+
         private final String libelle;
 
         StatutPaiement(String libelle) {
@@ -38,6 +65,14 @@ public class Paiement {
         public String getLibelle() {
             return libelle;
         }
+
+        /**
+         * Valeur correspondant au nom stocké en base, ou null si le nom est inconnu
+         * (table précalculée, sans exception contrairement à valueOf)
+         */
+        public static StatutPaiement fromName(String name) {
+            return name != null ? PAR_NOM.get(name) : null;
+        }
     }
 
     private Integer id;
@@ -45,7 +80,7 @@ public class Paiement {
     private Adherent adherent;
     private Integer packId;
     private Pack pack;
-    private Double montant;
+    private BigDecimal montant;
     private LocalDateTime datePaiement;
     private MethodePaiement methodePaiement;
     private StatutPaiement statut;
@@ -106,11 +141,11 @@ public class Paiement {
         }
     }
 
-    public Double getMontant() {
+    public BigDecimal getMontant() {
         return montant;
     }
 
-    public void setMontant(Double montant) {
+    public void setMontant(BigDecimal montant) {
         this.montant = montant;
     }
 
@@ -0,0 +1,37 @@
+package com.example.demo.services;
+
+import com.example.demo.dao.ActivityDAO;
+import com.example.demo.models.Activity;
+import com.example.demo.utils.AsyncBatchWriter;
+
+/**
+ * Écriture différée du journal des activités.
+ *
+ * <p>Les activités sont déposées dans une file bornée et écrites par un thread dédié, par
+ * lots insérés en une transaction ({@link ActivityDAO#createAll(java.util.List)}) : un lot
+ * part dès qu'il atteint {@link #TAILLE_LOT} activités, ou au plus tard
+ * {@link #INTERVALLE_MS} ms après sa première activité. Enregistrer un adhérent ou un
+ * paiement n'attend donc plus l'écriture de son activité.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see AsyncBatchWriter
+ */
+public class ActivityAppender extends AsyncBatchWriter<Activity> {
+
+    /** Nombre maximum d'activités en attente d'écriture */
+    public static final int CAPACITE = 10_000;
+    /** Nombre maximum d'activités par lot */
+    public static final int TAILLE_LOT = 200;
+    /** Délai maximum entre le dépôt d'une activité et l'écriture de son lot */
+    public static final long INTERVALLE_MS = 500;
+
+    /**
+     * Crée l'écriture différée et démarre son thread
+     *
+     * @param activityDAO DAO utilisé pour écrire les lots
+     */
+    public ActivityAppender(ActivityDAO activityDAO) {
+        super("activity-writer", CAPACITE, TAILLE_LOT, INTERVALLE_MS, activityDAO::createAll);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.demo.dao.ActivityDAO;
 import com.example.demo.models.Activity;
 import com.example.demo.utils.DashboardConstants;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,6 +17,11 @@ import java.util.logging.Logger;
  * importants (création de packs, archivage, modifications, etc.) et fournit
  * des méthodes pour récupérer et gérer les activités.</p>
  * 
+ * <p>Les méthodes {@code log*} ne font que déposer l'activité dans une file : elle est
+ * écrite en arrière-plan, par lots, par un {@link ActivityAppender}. Une activité
+ * apparaît donc dans les activités récentes avec un léger décalage (au plus
+ * {@link ActivityAppender#INTERVALLE_MS} ms).</p>
+ * 
  * @author Dashboard Team
  * @version 1.0
  */
@@ -23,6 +29,7 @@ public class ActivityService {
     private static final Logger logger = Logger.getLogger(ActivityService.class.getName());
     private static ActivityService instance;
     private ActivityDAO activityDAO;
+    private final ActivityAppender appender;
     
     // ID de l'utilisateur actuel (à récupérer depuis le système d'authentification)
     private Integer currentUserId = 1; // Par défaut, à adapter selon votre système d'auth
@@ -32,6 +39,7 @@ public class ActivityService {
      */
     private ActivityService() {
         this.activityDAO = new ActivityDAO();
+        this.appender = new ActivityAppender(activityDAO);
     }
 
     /**
@@ -50,16 +58,15 @@ public class ActivityService {
      * Enregistre une activité de changement de style.
      * 
      * @param description Description de l'activité
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logStyleChanged(String description) throws SQLException {
+    public void logStyleChanged(String description) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_STYLE_CHANGED,
             description
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Style changé - " + description);
     }
 
@@ -68,9 +75,8 @@ public class ActivityService {
      * 
      * @param packId ID du pack ajouté
      * @param packName Nom du pack
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logProductAdded(Integer packId, String packName) throws SQLException {
+    public void logProductAdded(Integer packId, String packName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PRODUCT_ADDED,
@@ -79,7 +85,7 @@ public class ActivityService {
             packId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Produit ajouté - " + packName);
     }
 
@@ -88,9 +94,8 @@ public class ActivityService {
      * 
      * @param packId ID du pack archivé
      * @param packName Nom du pack
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logProductArchived(Integer packId, String packName) throws SQLException {
+    public void logProductArchived(Integer packId, String packName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PRODUCT_ARCHIVED,
@@ -99,7 +104,7 @@ public class ActivityService {
             packId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Produit archivé - " + packName);
     }
 
@@ -107,9 +112,8 @@ public class ActivityService {
      * Enregistre une activité de suppression de page.
      * 
      * @param pageName Nom de la page supprimée
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logPageRemoved(String pageName) throws SQLException {
+    public void logPageRemoved(String pageName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PAGE_REMOVED,
@@ -118,7 +122,7 @@ public class ActivityService {
             null
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Page supprimée - " + pageName);
     }
 
@@ -127,9 +131,8 @@ public class ActivityService {
      * 
      * @param adherentId ID de l'adhérent créé
      * @param adherentName Nom de l'adhérent
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logAdherentCreated(Integer adherentId, String adherentName) throws SQLException {
+    public void logAdherentCreated(Integer adherentId, String adherentName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_ADHERENT_CREATED,
@@ -138,7 +141,7 @@ public class ActivityService {
             adherentId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Adhérent créé - " + adherentName);
     }
 
@@ -147,9 +150,8 @@ public class ActivityService {
      * 
      * @param adherentId ID de l'adhérent modifié
      * @param adherentName Nom de l'adhérent
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logAdherentUpdated(Integer adherentId, String adherentName) throws SQLException {
+    public void logAdherentUpdated(Integer adherentId, String adherentName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_ADHERENT_UPDATED,
@@ -158,7 +160,7 @@ public class ActivityService {
             adherentId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Adhérent modifié - " + adherentName);
     }
 
@@ -167,9 +169,8 @@ public class ActivityService {
      * 
      * @param paymentId ID du paiement
      * @param montant Montant du paiement
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logPaymentRecorded(Integer paymentId, Double montant) throws SQLException {
+    public void logPaymentRecorded(Integer paymentId, BigDecimal montant) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PAYMENT_RECORDED,
@@ -178,7 +179,7 @@ public class ActivityService {
             paymentId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Paiement enregistré - " + montant + " DH");
     }
 
@@ -187,9 +188,8 @@ public class ActivityService {
      * 
      * @param packId ID du pack créé
      * @param packName Nom du pack
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logPackCreated(Integer packId, String packName) throws SQLException {
+    public void logPackCreated(Integer packId, String packName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PACK_CREATED,
@@ -198,7 +198,7 @@ public class ActivityService {
             packId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Pack créé - " + packName);
     }
 
@@ -207,9 +207,8 @@ public class ActivityService {
      * 
      * @param packId ID du pack modifié
      * @param packName Nom du pack
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void logPackUpdated(Integer packId, String packName) throws SQLException {
+    public void logPackUpdated(Integer packId, String packName) {
         Activity activity = new Activity(
             currentUserId,
             DashboardConstants.ACTIVITY_TYPE_PACK_UPDATED,
@@ -218,7 +217,7 @@ public class ActivityService {
             packId
         );
         activity.setCreatedAt(LocalDateTime.now());
-        activityDAO.create(activity);
+        appender.append(activity);
         logger.info("Activité enregistrée: Pack modifié - " + packName);
     }
 
@@ -243,6 +242,14 @@ public class ActivityService {
         return activityDAO.findByUserId(currentUserId);
     }
 
+    /**
+     * Écrit les activités encore en attente puis arrête l'écriture différée
+     * (fermeture de l'application).
+     */
+    public void shutdown() {
+        appender.close();
+    }
+
     /**
      * Définit l'ID de l'utilisateur actuel.
      * 
@@ -252,9 +259,3 @@ public class ActivityService {
         this.currentUserId = userId;
     }
 }
-
-
-
-
-
-
@@ -1,80 +1,195 @@
 package com.example.demo.services;
 
 import com.example.demo.models.Adherent;
+import com.example.demo.utils.MemberRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 /**
  * Service pour la logique métier du calendrier
  * Gère les calculs de dates, filtrage et comptage des expirations
+ *
+ * <p>Chaque mois affiché est résolu une seule fois en un index trié des dates de fin
+ * ({@link MoisExpirations}) : les comptages d'un jour et des 7 jours suivants sont ensuite
+ * des recherches dichotomiques, au lieu de parcourir tous les adhérents pour chaque cellule.
+ * Les index des mois sont conservés jusqu'à la prochaine modification d'un adhérent.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
  */
 public class CalendrierService {
-    
+    private static final Logger logger = Logger.getLogger(CalendrierService.class.getName());
+    private static CalendrierService instance;
+
+    /** Jours suivant une date pris en compte pour les expirations proches */
+    public static final int JOURS_EXPIRATION_PROCHE = 7;
+
+    private final MemberRepository memberRepository;
+    // Index des mois déjà résolus (vidé à chaque modification d'un adhérent)
+    private final Map<YearMonth, MoisExpirations> moisCharges = new ConcurrentHashMap<>();
+
     /**
-     * Compte les adhérents dont l'abonnement expire exactement à la date donnée
+     * Constructeur privé pour le pattern Singleton
      */
-    public long countExpiredOnDate(LocalDate date, List<Adherent> adherents) {
-        if (adherents == null) {
-            return 0;
-        }
-        
-        return adherents.stream()
-            .filter(a -> a.getDateFin() != null && a.getDateFin().equals(date))
-            .count();
+    private CalendrierService() {
+        this.memberRepository = MemberRepository.getInstance();
+        this.memberRepository.addListener(change -> moisCharges.clear());
     }
-    
+
     /**
-     * Compte les adhérents dont l'abonnement expire bientôt (dans les 7 prochains jours)
+     * Retourne l'instance unique du CalendrierService (Singleton)
+     *
+     * @return L'instance unique du CalendrierService
      */
-    public long countExpiringSoon(LocalDate date, List<Adherent> adherents) {
-        if (adherents == null) {
-            return 0;
+    public static synchronized CalendrierService getInstance() {
+        if (instance == null) {
+            instance = new CalendrierService();
         }
-        
-        return adherents.stream()
-            .filter(a -> a.getDateFin() != null && 
-                       a.getDateFin().isAfter(date) && 
-                       a.getDateFin().isBefore(date.plusDays(8)) &&
-                       !a.isAbonnementExpire())
-            .count();
+        return instance;
     }
-    
+
     /**
-     * Récupère tous les adhérents concernés par une date (expirés ou expirant bientôt)
+     * Retourne les expirations d'un mois, en les lisant si elles ne sont pas encore connues
+     *
+     * @param mois Le mois affiché
+     * @return L'index des dates de fin du mois
+     * @throws SQLException Si le chargement des adhérents échoue
      */
-    public List<Adherent> getAdherentsForDate(LocalDate date, List<Adherent> adherents) {
-        if (adherents == null) {
-            return List.of();
+    public MoisExpirations getMois(YearMonth mois) throws SQLException {
+        MoisExpirations connu = moisCharges.get(mois);
+        if (connu != null) {
+            return connu;
+        }
+        // Les cellules du mois regardent jusqu'à 7 jours après leur date
+        LocalDate debut = mois.atDay(1);
+        LocalDate fin = mois.atEndOfMonth().plusDays(JOURS_EXPIRATION_PROCHE);
+        long version = memberRepository.getVersion();
+        MoisExpirations charge = new MoisExpirations(memberRepository.findByDateFin(debut, fin));
+        // Un adhérent modifié pendant la lecture : l'index sera relu au prochain affichage
+        if (memberRepository.getVersion() == version) {
+            moisCharges.put(mois, charge);
         }
-        
-        return adherents.stream()
-            .filter(a -> a.getDateFin() != null && 
-                       (a.getDateFin().equals(date) || 
-                        (a.getDateFin().isAfter(date) && a.getDateFin().isBefore(date.plusDays(8)))))
-            .collect(Collectors.toList());
+        logger.fine("Expirations de " + mois + " indexées: " + charge.adherents.size() + " adhérents");
+        return charge;
+    }
+
+    /**
+     * Retourne les expirations d'un mois si elles sont déjà connues, sinon null
+     */
+    public MoisExpirations getMoisIfLoaded(YearMonth mois) {
+        return moisCharges.get(mois);
+    }
+
+    /**
+     * Prépare les mois précédent et suivant (navigation sans attente)
+     *
+     * @throws SQLException Si le chargement des adhérents échoue
+     */
+    public void prefetchAdjacentMonths(YearMonth mois) throws SQLException {
+        getMois(mois.minusMonths(1));
+        getMois(mois.plusMonths(1));
     }
-    
+
     /**
-     * Détermine le statut d'une date basé sur les adhérents
-     * @return "expired", "expiring", ou null
+     * Index trié des dates de fin d'un mois (et des 7 jours qui le suivent).
+     *
+     * <p>Les adhérents sont rangés par date de fin ; {@code jours} contient les dates
+     * distinctes (en jours depuis l'époque) et {@code debuts[i]} la position du premier
+     * adhérent du jour {@code jours[i]}.</p>
      */
-    public String getDateStatus(LocalDate date, List<Adherent> adherents) {
-        long expired = countExpiredOnDate(date, adherents);
-        if (expired > 0) {
-            return "expired";
+    public static final class MoisExpirations {
+        private final List<Adherent> adherents;
+        private final long[] jours;
+        private final int[] debuts;
+
+        /**
+         * @param adherentsDuMois Adhérents dont la date de fin tombe dans la période indexée
+         */
+        public MoisExpirations(List<Adherent> adherentsDuMois) {
+            this.adherents = adherentsDuMois.stream()
+                .filter(a -> a.getDateFin() != null)
+                .sorted(Comparator.comparing(Adherent::getDateFin))
+                .toList();
+            long[] joursDistincts = new long[adherents.size()];
+            int[] positions = new int[adherents.size() + 1];
+            int nombre = 0;
+            for (int i = 0; i < adherents.size(); i++) {
+                long jour = adherents.get(i).getDateFin().toEpochDay();
+                if (nombre == 0 || joursDistincts[nombre - 1] != jour) {
+                    joursDistincts[nombre] = jour;
+                    positions[nombre] = i;
+                    nombre++;
+                }
+            }
+            positions[nombre] = adherents.size();
+            this.jours = Arrays.copyOf(joursDistincts, nombre);
+            this.debuts = Arrays.copyOf(positions, nombre + 1);
         }
-        
-        long expiringSoon = countExpiringSoon(date, adherents);
-        if (expiringSoon > 0) {
-            return "expiring";
+
+        /**
+         * Compte les adhérents dont l'abonnement expire exactement à la date donnée
+         */
+        public long countExpiredOnDate(LocalDate date) {
+            return compter(date, date);
+        }
+
+        /**
+         * Compte les adhérents dont l'abonnement expire bientôt (dans les 7 jours suivant la
+         * date) et n'est pas déjà expiré aujourd'hui
+         */
+        public long countExpiringSoon(LocalDate date) {
+            LocalDate lendemain = date.plusDays(1);
+            LocalDate aujourdhui = LocalDate.now();
+            LocalDate debut = lendemain.isBefore(aujourdhui) ? aujourdhui : lendemain;
+            return compter(debut, date.plusDays(JOURS_EXPIRATION_PROCHE));
         }
-        
-        return null;
-    }
-}
 
+        /**
+         * Récupère tous les adhérents concernés par une date (expirant ce jour-là ou dans les
+         * 7 jours suivants), par date de fin
+         */
+        public List<Adherent> getAdherentsForDate(LocalDate date) {
+            return adherents.subList(position(date), position(date.plusDays(JOURS_EXPIRATION_PROCHE + 1)));
+        }
 
+        /**
+         * Détermine le statut d'une date
+         * @return "expired", "expiring", ou null
+         */
+        public String getDateStatus(LocalDate date) {
+            if (countExpiredOnDate(date) > 0) {
+                return "expired";
+            }
+            if (countExpiringSoon(date) > 0) {
+                return "expiring";
+            }
+            return null;
+        }
 
+        /**
+         * Nombre d'adhérents dont la date de fin est entre deux dates incluses
+         */
+        private int compter(LocalDate debut, LocalDate fin) {
+            if (debut.isAfter(fin)) {
+                return 0;
+            }
+            return position(fin.plusDays(1)) - position(debut);
+        }
 
+        /**
+         * Position du premier adhérent dont la date de fin est au moins {@code date}
+         */
+        private int position(LocalDate date) {
+            int index = Arrays.binarySearch(jours, date.toEpochDay());
+            return debuts[index >= 0 ? index : -index - 1];
+        }
+    }
+}
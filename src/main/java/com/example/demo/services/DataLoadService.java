@@ -0,0 +1,196 @@
+package com.example.demo.services;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Service de chargement des données des vues hors du thread JavaFX.
+ *
+ * <p>Les requêtes DAO d'une vue sont regroupées dans un {@link Loader} exécuté sur un
+ * thread virtuel ; son résultat est publié en une seule fois sur le thread JavaFX, où la
+ * vue remplace ses placeholders. Chaque chargement est identifié par son propriétaire
+ * (le contrôleur) et une clé : relancer la même clé annule le chargement précédent, et
+ * {@link #cancelAll(Object)} annule tous les chargements d'un contrôleur lorsque
+ * l'utilisateur quitte sa vue.</p>
+ *
+ * <p>Les méthodes publiques doivent être appelées depuis le thread JavaFX.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class DataLoadService {
+    private static final Logger logger = Logger.getLogger(DataLoadService.class.getName());
+    private static DataLoadService instance;
+
+    /**
+     * Travail exécuté hors du thread JavaFX (typiquement une ou plusieurs requêtes DAO)
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    private final ExecutorService executor;
+    // Chargements en cours par propriétaire puis par clé (accédé uniquement depuis le thread JavaFX)
+    private final Map<Object, Map<String, Task<?>>> enCours = new IdentityHashMap<>();
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private DataLoadService() {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-load-", 0).factory());
+    }
+
+    /**
+     * Retourne l'instance unique du DataLoadService (Singleton)
+     *
+     * @return L'instance unique du DataLoadService
+     */
+    public static synchronized DataLoadService getInstance() {
+        if (instance == null) {
+            instance = new DataLoadService();
+        }
+        return instance;
+    }
+
+    /**
+     * Lance un chargement ; les erreurs sont seulement journalisées.
+     *
+     * @see #load(Object, String, Loader, Consumer, Consumer)
+     */
+    public <T> Task<T> load(Object owner, String key, Loader<T> loader, Consumer<? super T> onSuccess) {
+        return load(owner, key, loader, onSuccess,
+            e -> logger.log(Level.WARNING, "Erreur lors du chargement '" + key + "'", e));
+    }
+
+    /**
+     * Lance un chargement hors du thread JavaFX.
+     *
+     * <p>Un chargement précédent du même propriétaire et de la même clé est annulé : son
+     * résultat ne sera jamais publié. {@code onSuccess} et {@code onError} sont appelés
+     * sur le thread JavaFX, et uniquement si le chargement n'a pas été annulé.</p>
+     *
+     * @param owner Propriétaire du chargement (généralement le contrôleur de la vue)
+     * @param key Identifiant du chargement pour ce propriétaire
+     * @param loader Travail à exécuter en arrière-plan
+     * @param onSuccess Application du résultat à la vue
+     * @param onError Traitement d'une erreur du chargement
+     * @return La tâche lancée
+     */
+    public <T> Task<T> load(Object owner, String key, Loader<T> loader,
+                            Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+        cancel(owner, key);
+
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return loader.load();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            terminer(owner, key, task);
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            terminer(owner, key, task);
+            onError.accept(task.getException());
+        });
+
+        enCours.computeIfAbsent(owner, o -> new HashMap<>()).put(key, task);
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Annule le chargement en cours d'un propriétaire pour une clé
+     */
+    public void cancel(Object owner, String key) {
+        Map<String, Task<?>> taches = enCours.get(owner);
+        if (taches == null) {
+            return;
+        }
+        Task<?> task = taches.remove(key);
+        if (task != null) {
+            task.cancel(true);
+        }
+        if (taches.isEmpty()) {
+            enCours.remove(owner);
+        }
+    }
+
+    /**
+     * Annule tous les chargements en cours d'un propriétaire (changement de vue)
+     */
+    public void cancelAll(Object owner) {
+        if (owner == null) {
+            return;
+        }
+        Map<String, Task<?>> taches = enCours.remove(owner);
+        if (taches != null) {
+            taches.values().forEach(task -> task.cancel(true));
+            logger.fine("Chargements annulés pour " + owner.getClass().getSimpleName() + ": " + taches.keySet());
+        }
+    }
+
+    /**
+     * true si un chargement du propriétaire est encore en cours pour cette clé
+     */
+    public boolean isLoading(Object owner, String key) {
+        Map<String, Task<?>> taches = enCours.get(owner);
+        return taches != null && taches.containsKey(key);
+    }
+
+    /**
+     * Crée un placeholder affiché à la place d'un contenu en cours de chargement
+     *
+     * @param message Texte affiché sous l'indicateur de progression
+     * @return Le conteneur du placeholder
+     */
+    public static VBox createPlaceholder(String message) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(40, 40);
+
+        Label label = new Label(message);
+        label.getStyleClass().add("loading-placeholder-label");
+
+        VBox placeholder = new VBox(12, indicator, label);
+        placeholder.setAlignment(Pos.CENTER);
+        placeholder.setMinHeight(120);
+        placeholder.getStyleClass().add("loading-placeholder");
+        return placeholder;
+    }
+
+    /**
+     * Retire une tâche terminée du suivi (sauf si elle a déjà été remplacée)
+     */
+    private void terminer(Object owner, String key, Task<?> task) {
+        Map<String, Task<?>> taches = enCours.get(owner);
+        if (taches != null && taches.get(key) == task) {
+            taches.remove(key);
+            if (taches.isEmpty()) {
+                enCours.remove(owner);
+            }
+        }
+    }
+
+    /**
+     * Arrête le service (fermeture de l'application)
+     */
+    public void shutdown() {
+        enCours.values().forEach(taches -> taches.values().forEach(task -> task.cancel(true)));
+        enCours.clear();
+        executor.shutdownNow();
+    }
+}
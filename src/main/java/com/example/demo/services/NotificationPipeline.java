@@ -0,0 +1,135 @@
+package com.example.demo.services;
+
+import com.example.demo.dao.NotificationDAO;
+import com.example.demo.models.Notification;
+import com.example.demo.utils.AsyncBatchWriter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Écriture différée et regroupée des notifications.
+ *
+ * <p>Les notifications sont écrites par lots, hors du thread appelant
+ * ({@link NotificationDAO#createAll(List)}). Dans un lot, les notifications d'événements
+ * d'un même type pour un même utilisateur sont regroupées à partir de
+ * {@link #SEUIL_REGROUPEMENT} : une rafale de 30 paiements enregistrés produit une seule
+ * notification récapitulative au lieu de 30.</p>
+ *
+ * <p>Les notifications périodiques ({@link #appendDaily(Notification)}) portent un jour de
+ * dédoublonnage : une seule par (utilisateur, type, jour), garantie par l'index unique
+ * {@code uq_notifications_dedup}. Les clés déjà soumises dans la journée sont retenues en
+ * mémoire, si bien qu'une vérification répétée (rafraîchissement du dashboard) ne coûte ni
+ * requête ni écriture.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see AsyncBatchWriter
+ */
+public class NotificationPipeline extends AsyncBatchWriter<Notification> {
+
+    /** Nombre maximum de notifications en attente d'écriture */
+    public static final int CAPACITE = 1_000;
+    /** Nombre maximum de notifications par lot */
+    public static final int TAILLE_LOT = 100;
+    /** Délai maximum entre le dépôt d'une notification et son écriture (fenêtre de regroupement) */
+    public static final long INTERVALLE_MS = 1_000;
+    /** Nombre de notifications d'un même type à partir duquel elles sont regroupées */
+    public static final int SEUIL_REGROUPEMENT = 3;
+
+    /**
+     * Clé de dédoublonnage d'une notification périodique
+     */
+    private record CleJour(Integer userId, String type, LocalDate jour) {
+    }
+
+    // Clés des notifications périodiques déjà soumises (vidées au changement de jour)
+    private final Set<CleJour> soumisesDuJour = ConcurrentHashMap.newKeySet();
+    private volatile LocalDate jourCourant = LocalDate.now();
+
+    /**
+     * Crée le pipeline et démarre son thread d'écriture
+     *
+     * @param notificationDAO DAO utilisé pour écrire les lots
+     */
+    public NotificationPipeline(NotificationDAO notificationDAO) {
+        super("notification-writer", CAPACITE, TAILLE_LOT, INTERVALLE_MS,
+            lot -> notificationDAO.createAll(regrouper(lot)));
+    }
+
+    /**
+     * Dépose une notification périodique : au plus une par (utilisateur, type, jour)
+     *
+     * @param notification La notification (son jour de dédoublonnage est renseigné ici)
+     * @return true si la notification a été soumise, false si elle l'a déjà été aujourd'hui
+     */
+    public boolean appendDaily(Notification notification) {
+        LocalDate aujourdhui = LocalDate.now();
+        if (!aujourdhui.equals(jourCourant)) {
+            soumisesDuJour.clear();
+            jourCourant = aujourdhui;
+        }
+        notification.setDedupDay(aujourdhui);
+        CleJour cle = new CleJour(notification.getUserId(), notification.getType(), aujourdhui);
+        if (!soumisesDuJour.add(cle)) {
+            return false;
+        }
+        if (!append(notification)) {
+            // Abandonnée (file pleine) : la prochaine vérification pourra la soumettre
+            soumisesDuJour.remove(cle);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regroupe les notifications d'événements d'un même (utilisateur, type) d'un lot
+     *
+     * @param lot Notifications dans l'ordre de dépôt
+     * @return Les notifications à écrire, dans l'ordre de leur première occurrence
+     */
+    static List<Notification> regrouper(List<Notification> lot) {
+        Map<Object, List<Notification>> groupes = new LinkedHashMap<>();
+        for (Notification notification : lot) {
+            // Les notifications périodiques sont déjà uniques : elles ne sont pas regroupées
+            Object cle = notification.getDedupDay() != null
+                ? notification
+                : List.of(Objects.requireNonNullElse(notification.getUserId(), 0), notification.getType());
+            groupes.computeIfAbsent(cle, c -> new ArrayList<>()).add(notification);
+        }
+        if (groupes.size() == lot.size()) {
+            return lot;
+        }
+
+        List<Notification> resultat = new ArrayList<>(groupes.size());
+        for (List<Notification> groupe : groupes.values()) {
+            if (groupe.size() < SEUIL_REGROUPEMENT) {
+                resultat.addAll(groupe);
+            } else {
+                resultat.add(recapitulatif(groupe));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Notification récapitulative d'un groupe (titre et date de la plus récente)
+     */
+    private static Notification recapitulatif(List<Notification> groupe) {
+        Notification derniere = groupe.get(groupe.size() - 1);
+        Notification recap = new Notification(
+            derniere.getUserId(),
+            derniere.getType(),
+            derniere.getTitle() + " (" + groupe.size() + ")",
+            groupe.size() + " notifications regroupées. Dernière : " + derniere.getMessage()
+        );
+        recap.setCreatedAt(derniere.getCreatedAt());
+        return recap;
+    }
+}
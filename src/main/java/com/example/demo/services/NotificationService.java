@@ -7,6 +7,7 @@ import com.example.demo.models.Paiement;
 import com.example.demo.models.Pack;
 import com.example.demo.utils.DashboardConstants;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +20,11 @@ import java.util.logging.Logger;
  * importants (nouveaux adhérents, paiements, etc.) et fournit des méthodes
  * pour récupérer et gérer les notifications.</p>
  * 
+ * <p>Les méthodes {@code notify*} déposent la notification dans un
+ * {@link NotificationPipeline} : elle est écrite en arrière-plan, par lots, et les rafales
+ * d'un même type sont regroupées. Les notifications d'expiration sont limitées à une par
+ * jour et par utilisateur, sans requête de vérification.</p>
+ * 
  * @author Dashboard Team
  * @version 1.0
  */
@@ -26,6 +32,7 @@ public class NotificationService {
     private static final Logger logger = Logger.getLogger(NotificationService.class.getName());
     private static NotificationService instance;
     private NotificationDAO notificationDAO;
+    private final NotificationPipeline pipeline;
     
     // ID de l'utilisateur actuel (à récupérer depuis le système d'authentification)
     private Integer currentUserId = 1; // Par défaut, à adapter selon votre système d'auth
@@ -35,6 +42,7 @@ public class NotificationService {
      */
     private NotificationService() {
         this.notificationDAO = new NotificationDAO();
+        this.pipeline = new NotificationPipeline(notificationDAO);
     }
 
     /**
@@ -53,9 +61,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de l'inscription d'un nouvel adhérent.
      * 
      * @param adherent Le nouvel adhérent inscrit
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyNewAdherent(Adherent adherent) throws SQLException {
+    public void notifyNewAdherent(Adherent adherent) {
         String title = "Nouvel adhérent inscrit";
         String message = adherent.getNomComplet() + " s'est inscrit";
         
@@ -67,7 +74,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Nouvel adhérent - " + adherent.getNomComplet());
     }
 
@@ -75,9 +82,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors d'un nouveau paiement.
      * 
      * @param paiement Le nouveau paiement reçu
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyNewPayment(Paiement paiement) throws SQLException {
+    public void notifyNewPayment(Paiement paiement) {
         String adherentName = paiement.getAdherent() != null 
             ? paiement.getAdherent().getNomComplet() 
             : "Adhérent #" + paiement.getAdherentId();
@@ -97,11 +103,12 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Nouveau paiement - " + paiement.getMontant() + " DH");
         
         // Si le paiement est important, créer une notification supplémentaire
-        if (paiement.getMontant() != null && paiement.getMontant() >= DashboardConstants.NOTIFICATION_HIGH_PAYMENT_THRESHOLD) {
+        if (paiement.getMontant() != null
+                && paiement.getMontant().compareTo(BigDecimal.valueOf(DashboardConstants.NOTIFICATION_HIGH_PAYMENT_THRESHOLD)) >= 0) {
             notifyHighPayment(paiement);
         }
     }
@@ -110,9 +117,8 @@ public class NotificationService {
      * Génère automatiquement une notification pour un retrait de fonds.
      * 
      * @param montant Le montant retiré
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyWithdrawal(double montant) throws SQLException {
+    public void notifyWithdrawal(double montant) {
         String title = "Retrait de fonds";
         String message = String.format("Retrait de %.2f DH effectué", montant);
         
@@ -124,7 +130,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Retrait de fonds - " + montant + " DH");
     }
 
@@ -132,9 +138,8 @@ public class NotificationService {
      * Génère automatiquement une notification pour des messages non lus.
      * 
      * @param nombreMessages Nombre de messages non lus
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyUnreadMessages(int nombreMessages) throws SQLException {
+    public void notifyUnreadMessages(int nombreMessages) {
         String title = "Messages non lus";
         String message = nombreMessages + " message(s) non lu(s)";
         
@@ -146,7 +151,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Messages non lus - " + nombreMessages);
     }
 
@@ -154,9 +159,8 @@ public class NotificationService {
      * Génère automatiquement une notification pour des abonnements expirant bientôt.
      * 
      * @param nombreExpirant Nombre d'abonnements expirant bientôt
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyExpiringSoon(int nombreExpirant) throws SQLException {
+    public void notifyExpiringSoon(int nombreExpirant) {
         if (nombreExpirant <= 0) {
             return; // Pas de notification si aucun abonnement n'expire
         }
@@ -173,7 +177,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.appendDaily(notification);
         logger.info("Notification créée: Abonnements expirant bientôt - " + nombreExpirant);
     }
     
@@ -181,9 +185,8 @@ public class NotificationService {
      * Génère automatiquement une notification pour des abonnements expirés.
      * 
      * @param nombreExpires Nombre d'abonnements expirés
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyExpired(int nombreExpires) throws SQLException {
+    public void notifyExpired(int nombreExpires) {
         if (nombreExpires <= 0) {
             return; // Pas de notification si aucun abonnement n'est expiré
         }
@@ -199,7 +202,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.appendDaily(notification);
         logger.info("Notification créée: Abonnements expirés - " + nombreExpires);
     }
     
@@ -207,9 +210,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de la modification d'un adhérent.
      * 
      * @param adherent L'adhérent modifié
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyAdherentUpdated(Adherent adherent) throws SQLException {
+    public void notifyAdherentUpdated(Adherent adherent) {
         String title = "Adhérent modifié";
         String message = "Les informations de " + adherent.getNomComplet() + " ont été mises à jour";
         
@@ -221,7 +223,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Adhérent modifié - " + adherent.getNomComplet());
     }
     
@@ -229,9 +231,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de la suppression d'un adhérent.
      * 
      * @param adherent L'adhérent supprimé
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyAdherentDeleted(Adherent adherent) throws SQLException {
+    public void notifyAdherentDeleted(Adherent adherent) {
         String title = "Adhérent supprimé";
         String message = adherent.getNomComplet() + " a été supprimé du système";
         
@@ -243,7 +244,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Adhérent supprimé - " + adherent.getNomComplet());
     }
     
@@ -251,9 +252,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de la création d'un pack.
      * 
      * @param pack Le pack créé
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyPackCreated(Pack pack) throws SQLException {
+    public void notifyPackCreated(Pack pack) {
         String title = "Nouveau pack créé";
         String message = String.format("Le pack \"%s\" (%.2f DH) a été ajouté au catalogue", 
             pack.getNom(), pack.getPrix());
@@ -266,7 +266,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Pack créé - " + pack.getNom());
     }
     
@@ -274,9 +274,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de la modification d'un pack.
      * 
      * @param pack Le pack modifié
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyPackUpdated(Pack pack) throws SQLException {
+    public void notifyPackUpdated(Pack pack) {
         String title = "Pack modifié";
         String message = String.format("Le pack \"%s\" a été mis à jour", pack.getNom());
         
@@ -288,7 +287,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Pack modifié - " + pack.getNom());
     }
     
@@ -296,9 +295,8 @@ public class NotificationService {
      * Génère automatiquement une notification lors de la suppression d'un pack.
      * 
      * @param pack Le pack supprimé
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyPackDeleted(Pack pack) throws SQLException {
+    public void notifyPackDeleted(Pack pack) {
         String title = "Pack supprimé";
         String message = String.format("Le pack \"%s\" a été supprimé du catalogue", pack.getNom());
         
@@ -310,7 +308,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Pack supprimé - " + pack.getNom());
     }
     
@@ -318,9 +316,8 @@ public class NotificationService {
      * Génère automatiquement une notification pour un paiement important (montant élevé).
      * 
      * @param paiement Le paiement important
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyHighPayment(Paiement paiement) throws SQLException {
+    public void notifyHighPayment(Paiement paiement) {
         String adherentName = paiement.getAdherent() != null 
             ? paiement.getAdherent().getNomComplet() 
             : "Adhérent #" + paiement.getAdherentId();
@@ -337,7 +334,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Paiement important - " + paiement.getMontant() + " DH");
     }
     
@@ -346,9 +343,8 @@ public class NotificationService {
      * 
      * @param typeObjectif Type d'objectif (taux_occupation, revenus, adherents)
      * @param valeur Valeur atteinte
-     * @throws SQLException Si une erreur survient lors de la création
      */
-    public void notifyObjectiveReached(String typeObjectif, double valeur) throws SQLException {
+    public void notifyObjectiveReached(String typeObjectif, double valeur) {
         String title = "Objectif atteint !";
         String message;
         
@@ -374,7 +370,7 @@ public class NotificationService {
         );
         notification.setCreatedAt(LocalDateTime.now());
         
-        notificationDAO.create(notification);
+        pipeline.append(notification);
         logger.info("Notification créée: Objectif atteint - " + typeObjectif + " = " + valeur);
     }
 
@@ -386,13 +382,8 @@ public class NotificationService {
      * @throws SQLException Si une erreur survient
      */
     public List<Notification> getRecentNotifications(int limit) throws SQLException {
-        // ✅ CORRIGÉ : Filtrer par utilisateur et limiter le nombre
-        List<Notification> allNotifications = notificationDAO.findByUserId(currentUserId);
-        if (allNotifications.size() <= limit) {
-            return allNotifications;
-        }
-        // Retourner les N premières (déjà triées par date décroissante dans findByUserId)
-        return allNotifications.subList(0, limit);
+        // Filtrer par utilisateur et limiter le nombre dans la requête
+        return notificationDAO.findRecentByUserId(currentUserId, limit);
     }
 
     /**
@@ -434,6 +425,14 @@ public class NotificationService {
         notificationDAO.markAllAsRead(currentUserId);
     }
 
+    /**
+     * Écrit les notifications encore en attente puis arrête l'écriture différée
+     * (fermeture de l'application).
+     */
+    public void shutdown() {
+        pipeline.close();
+    }
+
     /**
      * Définit l'ID de l'utilisateur actuel.
      * 
@@ -443,5 +442,3 @@ public class NotificationService {
         this.currentUserId = userId;
     }
 }
-
-
@@ -0,0 +1,252 @@
+package com.example.demo.services;
+
+import com.example.demo.models.Adherent;
+import com.example.demo.models.MonthlyRevenue;
+import com.example.demo.models.Pack;
+import com.example.demo.utils.MemberRepository;
+import com.example.demo.utils.PackCache;
+import com.example.demo.utils.PaiementColumnStore;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Moteur de calcul des séries de l'écran Statistiques.
+ *
+ * <p>Les quatre onglets (évolution des inscriptions, répartition par pack, revenus et
+ * rétention) sont calculés ensemble, en un seul parcours des adhérents
+ * ({@link #calculer}) : chaque adhérent incrémente le compteur de son mois d'inscription
+ * et de son pack, et ajoute sa contribution à la rétention par une différence sur les
+ * mois de la période (la rétention coûte O(N) et non plus O(12·N)). Les onglets
+ * s'affichent ensuite à partir du résultat, sans aucun calcul.</p>
+ *
+ * <p>Les séries des adhérents sont conservées par période tant que les adhérents
+ * ({@link MemberRepository}) et les packs ({@link PackCache}) ne changent pas. Les revenus
+ * sont relus à chaque calcul depuis le magasin des paiements ({@link PaiementColumnStore}),
+ * en une somme par mois sur ses colonnes.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class StatisticsEngine {
+    private static final Logger logger = Logger.getLogger(StatisticsEngine.class.getName());
+    private static StatisticsEngine instance;
+
+    /** Libellé de la répartition pour un pack inconnu */
+    public static final String PACK_INCONNU = "Aucun";
+
+    private final MemberRepository memberRepository;
+    private final PackCache packCache;
+    private final PaiementColumnStore paiementStore;
+
+    // Séries des adhérents par période, avec les versions des données dont elles sont issues
+    private final Map<Periode, SeriesEnCache> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Période couverte : {@code nombreMois} mois se terminant au mois de {@code reference}
+     */
+    private record Periode(LocalDate reference, int nombreMois) {
+    }
+
+    private record SeriesEnCache(long versionAdherents, long versionPacks, Statistiques series) {
+    }
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private StatisticsEngine() {
+        this.memberRepository = MemberRepository.getInstance();
+        this.packCache = PackCache.getInstance();
+        this.paiementStore = PaiementColumnStore.getInstance();
+    }
+
+    /**
+     * Retourne l'instance unique du StatisticsEngine (Singleton)
+     *
+     * @return L'instance unique du StatisticsEngine
+     */
+    public static synchronized StatisticsEngine getInstance() {
+        if (instance == null) {
+            instance = new StatisticsEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Calcule (ou reprend du cache) les statistiques des {@code nombreMois} derniers mois
+     *
+     * @param reference Date du jour (fin de la période et jour des mesures de rétention)
+     * @param nombreMois Nombre de mois de la période
+     * @return Les séries des quatre onglets
+     * @throws SQLException Si la lecture des adhérents, des packs ou des revenus échoue
+     */
+    public Statistiques compute(LocalDate reference, int nombreMois) throws SQLException {
+        Periode periode = new Periode(reference, nombreMois);
+        long versionAdherents = memberRepository.getVersion();
+        long versionPacks = packCache.getStats().getInvalidationCount();
+
+        SeriesEnCache enCache = cache.get(periode);
+        Statistiques series;
+        if (enCache != null && enCache.versionAdherents() == versionAdherents && enCache.versionPacks() == versionPacks) {
+            series = enCache.series();
+        } else {
+            long debut = System.nanoTime();
+            List<Adherent> adherents = memberRepository.findAll();
+            series = calculer(adherents, packCache.findAll(), List.of(), reference, nombreMois);
+            // Les anciennes périodes (jour précédent, autre durée) ne seront plus demandées
+            cache.clear();
+            cache.put(periode, new SeriesEnCache(versionAdherents, versionPacks, series));
+            logger.fine("Statistiques calculées pour " + adherents.size() + " adhérents en "
+                + (System.nanoTime() - debut) / 1_000_000 + " ms");
+        }
+        return series.avecRevenus(paiementStore.getRevenusParMois(reference, nombreMois));
+    }
+
+    /**
+     * Vide le cache (rafraîchissement demandé par l'utilisateur)
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    /**
+     * Calcule toutes les séries en un seul parcours des adhérents
+     *
+     * @param adherents Adhérents actifs
+     * @param packs Packs (pour les noms de la répartition)
+     * @param revenus Revenus mensuels de la période
+     * @param reference Date du jour (fin de la période)
+     * @param nombreMois Nombre de mois de la période
+     * @return Les séries des quatre onglets
+     */
+    public static Statistiques calculer(List<Adherent> adherents, List<Pack> packs, List<MonthlyRevenue> revenus,
+                                        LocalDate reference, int nombreMois) {
+        // Mois de la période, du plus ancien au plus récent : la rétention est mesurée
+        // au même jour de chaque mois que la date de référence
+        LocalDate[] datesMesure = new LocalDate[nombreMois];
+        for (int i = 0; i < nombreMois; i++) {
+            datesMesure[i] = reference.minusMonths(nombreMois - 1 - i);
+        }
+        YearMonth premierMois = YearMonth.from(datesMesure[0]);
+
+        long[] inscriptions = new long[nombreMois];
+        // retention[i] - retention[i+1] : adhérents encore abonnés au mois i mais plus au mois i+1
+        long[] differences = new long[nombreMois + 1];
+        Map<Integer, long[]> parPack = new HashMap<>();
+
+        for (Adherent adherent : adherents) {
+            LocalDate inscription = adherent.getDateInscription();
+            if (inscription != null) {
+                long index = ChronoUnit.MONTHS.between(premierMois, YearMonth.from(inscription));
+                if (index >= 0 && index < nombreMois) {
+                    inscriptions[(int) index]++;
+                }
+            }
+
+            if (adherent.getPackId() != null) {
+                parPack.computeIfAbsent(adherent.getPackId(), id -> new long[1])[0]++;
+            }
+
+            // Encore abonné aux mois dont la date de mesure ne dépasse pas la date de fin
+            LocalDate fin = adherent.getDateFin();
+            int moisCouverts = fin == null ? nombreMois : moisJusqua(datesMesure, fin);
+            differences[0]++;
+            differences[moisCouverts]--;
+        }
+
+        double[] retention = new double[nombreMois];
+        long abonnes = 0;
+        for (int i = 0; i < nombreMois; i++) {
+            abonnes += differences[i];
+            retention[i] = adherents.isEmpty() ? 0 : abonnes * 100.0 / adherents.size();
+        }
+
+        Map<Integer, String> nomsPacks = new HashMap<>();
+        for (Pack pack : packs) {
+            nomsPacks.put(pack.getId(), pack.getNom());
+        }
+        Map<String, Long> adherentsParPack = new LinkedHashMap<>();
+        parPack.forEach((packId, compte) ->
+            adherentsParPack.merge(nomsPacks.getOrDefault(packId, PACK_INCONNU), compte[0], Long::sum));
+
+        List<YearMonth> mois = new ArrayList<>(nombreMois);
+        for (LocalDate date : datesMesure) {
+            mois.add(YearMonth.from(date));
+        }
+        return new Statistiques(mois, adherents.size(), inscriptions, adherentsParPack, retention, revenus);
+    }
+
+    /**
+     * Nombre de dates de mesure (triées) inférieures ou égales à {@code fin}
+     */
+    private static int moisJusqua(LocalDate[] datesMesure, LocalDate fin) {
+        int index = Arrays.binarySearch(datesMesure, fin);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Séries calculées pour une période (immuables)
+     */
+    public static final class Statistiques {
+        private final List<YearMonth> mois;
+        private final long totalAdherents;
+        private final long[] inscriptionsParMois;
+        private final Map<String, Long> adherentsParPack;
+        private final double[] retentionParMois;
+        private final List<MonthlyRevenue> revenusParMois;
+
+        private Statistiques(List<YearMonth> mois, long totalAdherents, long[] inscriptionsParMois,
+                             Map<String, Long> adherentsParPack, double[] retentionParMois,
+                             List<MonthlyRevenue> revenusParMois) {
+            this.mois = Collections.unmodifiableList(mois);
+            this.totalAdherents = totalAdherents;
+            this.inscriptionsParMois = inscriptionsParMois;
+            this.adherentsParPack = Collections.unmodifiableMap(adherentsParPack);
+            this.retentionParMois = retentionParMois;
+            this.revenusParMois = List.copyOf(revenusParMois);
+        }
+
+        private Statistiques avecRevenus(List<MonthlyRevenue> revenus) {
+            return new Statistiques(mois, totalAdherents, inscriptionsParMois, adherentsParPack, retentionParMois, revenus);
+        }
+
+        /** Mois de la période, du plus ancien au plus récent */
+        public List<YearMonth> getMois() { return mois; }
+        /** Nombre d'adhérents actifs */
+        public long getTotalAdherents() { return totalAdherents; }
+        /** Inscriptions du i-ème mois de la période */
+        public long getInscriptions(int i) { return inscriptionsParMois[i]; }
+        /** Inscriptions du dernier mois de la période (mois en cours) */
+        public long getInscriptionsDernierMois() { return inscriptionsParMois[inscriptionsParMois.length - 1]; }
+        /** Nombre d'adhérents par nom de pack */
+        public Map<String, Long> getAdherentsParPack() { return adherentsParPack; }
+        /** Part des adhérents (en %) encore abonnés au i-ème mois de la période */
+        public double getRetention(int i) { return retentionParMois[i]; }
+        public List<MonthlyRevenue> getRevenusParMois() { return revenusParMois; }
+
+        /** Total des revenus de la période */
+        public double getTotalRevenus() {
+            double total = 0;
+            for (MonthlyRevenue revenu : revenusParMois) {
+                total += revenu.getMontant();
+            }
+            return total;
+        }
+
+        /** Moyenne mensuelle des revenus sur la période */
+        public double getMoyenneRevenus() {
+            return mois.isEmpty() ? 0 : getTotalRevenus() / mois.size();
+        }
+    }
+}
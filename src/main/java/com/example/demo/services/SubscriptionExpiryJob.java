@@ -0,0 +1,214 @@
+package com.example.demo.services;
+
+import com.example.demo.dao.AdherentDAO;
+import com.example.demo.utils.MemberRepository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tâche planifiée de suivi des expirations d'abonnements.
+ *
+ * <p>Exécutée au démarrage puis chaque jour à minuit, hors du thread JavaFX : elle compte
+ * les abonnements expirés et expirant bientôt par deux COUNT sur l'index
+ * {@code (actif, date_fin)} ({@link AdherentDAO#countExpired(LocalDate)},
+ * {@link AdherentDAO#countExpiringSoon(LocalDate, int)}), enregistre l'état d'expiration
+ * des adhérents en une requête ({@link AdherentDAO#markExpirations(LocalDate)}) et émet
+ * les notifications du jour. Le rafraîchissement du dashboard lit simplement le dernier
+ * résultat publié ({@link #getDernierResultat()}) : son coût ne dépend plus du nombre
+ * d'adhérents concernés.</p>
+ *
+ * <p>Une modification d'adhérent (renouvellement, désactivation) relance les comptages
+ * quelques instants plus tard, les rafales étant regroupées en un seul passage. Les
+ * abonnés ({@link #addListener(Consumer)}) sont prévenus sur le thread de la tâche,
+ * uniquement lorsque les nombres changent.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class SubscriptionExpiryJob {
+    private static final Logger logger = Logger.getLogger(SubscriptionExpiryJob.class.getName());
+    private static SubscriptionExpiryJob instance;
+
+    /** Horizon des abonnements expirant bientôt, comme {@link MemberRepository#EXPIRING_SOON_DAYS} */
+    public static final int JOURS_EXPIRATION_PROCHE = MemberRepository.EXPIRING_SOON_DAYS;
+    /** Délai de regroupement des recomptages demandés par les modifications d'adhérents */
+    private static final long DELAI_RECALCUL_MS = 500;
+
+    /**
+     * Résultat d'un passage de la tâche
+     *
+     * @param date Date de référence des comptages
+     * @param expirantBientot Abonnements se terminant dans les 7 prochains jours (aujourd'hui inclus)
+     * @param expires Abonnements dont la date de fin est passée
+     * @param etatsModifies Adhérents dont l'état d'expiration enregistré a changé
+     */
+    public record Resultat(LocalDate date, int expirantBientot, int expires, int etatsModifies) {
+    }
+
+    private final AdherentDAO adherentDAO;
+    private final NotificationService notificationService;
+    private final ScheduledExecutorService scheduler;
+    private final List<Consumer<Resultat>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean recalculPrevu = new AtomicBoolean();
+    private volatile Resultat dernierResultat;
+    private boolean demarre;
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private SubscriptionExpiryJob() {
+        this.adherentDAO = new AdherentDAO();
+        this.notificationService = NotificationService.getInstance();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("subscription-expiry").daemon(true).factory());
+    }
+
+    /**
+     * Retourne l'instance unique du SubscriptionExpiryJob (Singleton)
+     *
+     * @return L'instance unique du SubscriptionExpiryJob
+     */
+    public static synchronized SubscriptionExpiryJob getInstance() {
+        if (instance == null) {
+            instance = new SubscriptionExpiryJob();
+        }
+        return instance;
+    }
+
+    /**
+     * Lance un premier passage immédiatement, puis un passage chaque jour à minuit
+     * (sans effet si la tâche est déjà démarrée)
+     */
+    public synchronized void start() {
+        if (demarre) {
+            return;
+        }
+        demarre = true;
+        MemberRepository.getInstance().addListener(change -> demanderRecalcul());
+        scheduler.execute(this::passageQuotidien);
+    }
+
+    /**
+     * Dernier résultat publié, ou null si aucun passage n'a encore abouti
+     */
+    public Resultat getDernierResultat() {
+        return dernierResultat;
+    }
+
+    /**
+     * Abonne un observateur aux nouveaux résultats (appelé sur le thread de la tâche)
+     */
+    public void addListener(Consumer<Resultat> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Resultat> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Arrête la tâche (fermeture de l'application)
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Exécute un passage complet sur le thread appelant : comptages, enregistrement de
+     * l'état d'expiration, notifications et publication du résultat
+     *
+     * @param aujourdhui Date de référence
+     * @return Le résultat publié
+     * @throws SQLException Si une requête échoue
+     */
+    public Resultat run(LocalDate aujourdhui) throws SQLException {
+        long debut = System.nanoTime();
+        int etatsModifies = adherentDAO.markExpirations(aujourdhui);
+        Resultat resultat = compter(aujourdhui, etatsModifies);
+        logger.info(String.format("Expirations du %s: %d expirés, %d expirant bientôt, %d états modifiés (%d ms)",
+            aujourdhui, resultat.expires(), resultat.expirantBientot(), etatsModifies,
+            (System.nanoTime() - debut) / 1_000_000));
+        return resultat;
+    }
+
+    /**
+     * Comptages seuls, notifications et publication (après une modification d'adhérent)
+     */
+    private Resultat compter(LocalDate aujourdhui, int etatsModifies) throws SQLException {
+        int expires = adherentDAO.countExpired(aujourdhui);
+        int expirantBientot = adherentDAO.countExpiringSoon(aujourdhui, JOURS_EXPIRATION_PROCHE);
+        Resultat resultat = new Resultat(aujourdhui, expirantBientot, expires, etatsModifies);
+
+        // Une notification de chaque type par jour au plus (dédoublonnée par le pipeline)
+        notificationService.notifyExpiringSoon(expirantBientot);
+        notificationService.notifyExpired(expires);
+
+        Resultat precedent = dernierResultat;
+        dernierResultat = resultat;
+        if (precedent == null || !precedent.date().equals(aujourdhui)
+                || precedent.expires() != expires || precedent.expirantBientot() != expirantBientot) {
+            for (Consumer<Resultat> listener : listeners) {
+                try {
+                    listener.accept(resultat);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Erreur d'un abonné aux expirations", e);
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Passage planifié : s'exécute puis se replanifie au prochain minuit
+     * (la replanification a lieu même si le passage échoue)
+     */
+    private void passageQuotidien() {
+        try {
+            run(LocalDate.now());
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.WARNING, "Erreur lors du suivi des expirations", e);
+        } finally {
+            if (!scheduler.isShutdown()) {
+                LocalDateTime maintenant = LocalDateTime.now();
+                LocalDateTime minuit = maintenant.toLocalDate().plusDays(1).atStartOfDay();
+                scheduler.schedule(this::passageQuotidien,
+                    Duration.between(maintenant, minuit).toMillis() + 1, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Planifie un recomptage, sauf s'il y en a déjà un en attente
+     */
+    private void demanderRecalcul() {
+        if (!recalculPrevu.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.schedule(() -> {
+                recalculPrevu.set(false);
+                try {
+                    Resultat precedent = dernierResultat;
+                    compter(LocalDate.now(), precedent != null ? precedent.etatsModifies() : 0);
+                } catch (SQLException | RuntimeException e) {
+                    logger.log(Level.WARNING, "Erreur lors du recomptage des expirations", e);
+                }
+            }, DELAI_RECALCUL_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Tâche arrêtée (fermeture de l'application) : plus de recomptage
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package com.example.demo.utils;
+
+import com.example.demo.dao.AdherentDAO;
+import com.example.demo.models.Adherent;
+
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Index de recherche en mémoire des adhérents actifs.
+ *
+ * <p>Remplace, pour la recherche au fil de la frappe, les {@code LIKE '%terme%'} sur cinq
+ * colonnes qui parcourent toute la table. Chaque adhérent est indexé par les trigrammes de
+ * ses champs normalisés (nom, prénom, nom complet dans les deux ordres, CIN, email,
+ * téléphone) : un terme d'au moins trois caractères est résolu par l'intersection des listes
+ * de ses trigrammes, puis vérifié. Un terme plus court est cherché en début de mot (et en fin
+ * de numéro de téléphone).</p>
+ *
+ * <p>Normalisation : sans casse ni accents, sans espaces ni ponctuation, avec un repliement
+ * des variantes usuelles de transcription des noms arabes (lettres doublées, « ou »/« o »/« u »,
+ * « dj »/« j », « ph »/« f »...) : « Mohammed Youssef » et « mohamed yousef » ont la même
+ * forme. Les numéros sont réduits à leurs chiffres, l'indicatif +212 ramené au 0 national.</p>
+ *
+ * <p>L'index est construit en arrière-plan au démarrage ({@link #buildAsync()}) depuis le
+ * {@link MemberRepository}, puis tenu à jour par ses modifications (créations, mises à jour
+ * et désactivations validées par {@link AdherentDAO}). Tant qu'il n'est pas prêt, les écrans
+ * utilisent la recherche SQL.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see MemberRepository
+ */
+public final class AdherentSearchIndex {
+    private static final Logger logger = Logger.getLogger(AdherentSearchIndex.class.getName());
+    private static AdherentSearchIndex instance;
+
+    // Scores de classement (le plus élevé d'abord)
+    private static final int SCORE_EGAL = 100;
+    private static final int SCORE_FIN_TELEPHONE = 80;
+    private static final int SCORE_DEBUT = 60;
+    private static final int SCORE_TELEPHONE = 30;
+    private static final int SCORE_CONTIENT = 20;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+    private Contenu contenu = new Contenu();
+    // Modifications reçues pendant une construction, rejouées sur le nouvel index (null hors construction)
+    private List<Consumer<Contenu>> journal;
+    private volatile boolean pret;
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private AdherentSearchIndex() {
+        MemberRepository.getInstance().addListener(this::appliquer);
+    }
+
+    /**
+     * Retourne l'instance unique de l'index (Singleton)
+     */
+    public static synchronized AdherentSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new AdherentSearchIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Construit (ou reconstruit) l'index sur un thread d'arrière-plan
+     */
+    public void buildAsync() {
+        Thread.ofVirtual().name("adherent-search-index").start(() -> {
+            try {
+                build();
+            } catch (SQLException e) {
+                logger.severe("Erreur lors de la construction de l'index de recherche: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Construit l'index depuis les adhérents actifs. Les modifications reçues pendant la
+     * lecture sont rejouées avant que le nouvel index ne remplace l'ancien.
+     *
+     * @throws SQLException Si la lecture des adhérents échoue (l'index courant est conservé)
+     */
+    public void build() throws SQLException {
+        verrou.writeLock().lock();
+        try {
+            if (journal != null) {
+                return; // Construction déjà en cours
+            }
+            journal = new ArrayList<>();
+        } finally {
+            verrou.writeLock().unlock();
+        }
+
+        long debut = System.nanoTime();
+        Contenu nouveau = new Contenu();
+        try {
+            for (Adherent adherent : MemberRepository.getInstance().findAll()) {
+                nouveau.ajouter(adherent);
+            }
+        } catch (SQLException e) {
+            verrou.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                verrou.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        verrou.writeLock().lock();
+        try {
+            journal.forEach(modification -> modification.accept(nouveau));
+            journal = null;
+            contenu = nouveau;
+            pret = true;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        logger.info("Index de recherche construit: " + nouveau.parId.size() + " adhérents, "
+            + nouveau.trigrammes.size() + " trigrammes en " + (System.nanoTime() - debut) / 1_000_000 + " ms");
+    }
+
+    /** true une fois la première construction terminée */
+    public boolean isReady() {
+        return pret;
+    }
+
+    /** Nombre d'adhérents indexés */
+    public int size() {
+        verrou.readLock().lock();
+        try {
+            return contenu.parId.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexe un adhérent créé ou modifié (un adhérent inactif est retiré de l'index)
+     */
+    public void put(Adherent adherent) {
+        if (adherent.getId() != null) {
+            modifier(c -> c.ajouter(adherent));
+        }
+    }
+
+    /**
+     * Indexe des adhérents créés par lots
+     */
+    public void putAll(List<Adherent> adherents) {
+        modifier(c -> adherents.stream().filter(a -> a.getId() != null).forEach(c::ajouter));
+    }
+
+    /**
+     * Retire un adhérent désactivé
+     */
+    public void remove(int id) {
+        modifier(c -> c.retirer(id));
+    }
+
+    /**
+     * Reporte une modification du dépôt des adhérents
+     */
+    private void appliquer(MemberRepository.Change change) {
+        if (change.getType() == MemberRepository.ChangeType.REMOVED) {
+            change.getIds().forEach(this::remove);
+        } else {
+            putAll(change.getAdherents());
+        }
+    }
+
+    private void modifier(Consumer<Contenu> modification) {
+        verrou.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(modification);
+            }
+            // Avant la première construction, rien à maintenir : la construction lira la base
+            if (pret) {
+                modification.accept(contenu);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche tous les adhérents actifs correspondant au terme
+     *
+     * @see #search(String, int)
+     */
+    public List<Adherent> search(String terme) {
+        return search(terme, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Recherche les adhérents actifs correspondant au terme, les plus pertinents d'abord
+     * (égalité, puis début de champ ou fin de numéro, puis simple inclusion), à score égal
+     * par nom et prénom.
+     *
+     * <p>Avec une limite, seuls les {@code limite} meilleurs résultats sont triés : un terme
+     * très courant (« ben », « el ») ne coûte pas le tri de milliers d'adhérents.</p>
+     *
+     * @param terme Terme saisi (nom, prénom, CIN, email ou partie du téléphone)
+     * @param limite Nombre maximum de résultats
+     * @return Les adhérents trouvés (liste vide pour un terme vide)
+     */
+    public List<Adherent> search(String terme, int limite) {
+        String texte = plier(terme == null ? "" : terme);
+        String chiffres = normaliserTelephone(terme);
+        if (texte.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        verrou.readLock().lock();
+        try {
+            int[] candidats = contenu.candidats(texte, chiffres);
+            List<Resultat> resultats;
+            if (limite >= candidats.length) {
+                resultats = new ArrayList<>(candidats.length);
+                for (int id : candidats) {
+                    Entree entree = contenu.parId.get(id);
+                    int score = entree.score(texte, chiffres);
+                    if (score > 0) {
+                        resultats.add(new Resultat(entree, score));
+                    }
+                }
+            } else {
+                // Sélection des meilleurs : le pire des résultats retenus est en tête du tas
+                PriorityQueue<Resultat> meilleurs = new PriorityQueue<>(limite + 1, ORDRE_RESULTATS.reversed());
+                for (int id : candidats) {
+                    Entree entree = contenu.parId.get(id);
+                    int score = entree.score(texte, chiffres);
+                    if (score == 0) {
+                        continue;
+                    }
+                    if (meilleurs.size() < limite) {
+                        meilleurs.add(new Resultat(entree, score));
+                    } else if (score >= meilleurs.peek().score) {
+                        Resultat resultat = new Resultat(entree, score);
+                        if (ORDRE_RESULTATS.compare(resultat, meilleurs.peek()) < 0) {
+                            meilleurs.poll();
+                            meilleurs.add(resultat);
+                        }
+                    }
+                }
+                resultats = new ArrayList<>(meilleurs);
+            }
+            resultats.sort(ORDRE_RESULTATS);
+
+            List<Adherent> adherents = new ArrayList<>(resultats.size());
+            for (Resultat resultat : resultats) {
+                adherents.add(resultat.entree.adherent);
+            }
+            return adherents;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // ==================== Normalisation ====================
+
+    /**
+     * Forme de recherche d'un texte : minuscules sans accents, lettres et chiffres seulement,
+     * variantes de transcription repliées
+     */
+    static String plier(String texte) {
+        String sansAccents = estAscii(texte)
+            ? texte.toLowerCase(Locale.ROOT)
+            : Normalizer.normalize(texte, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+
+        StringBuilder lettres = new StringBuilder(sansAccents.length());
+        for (int i = 0; i < sansAccents.length(); i++) {
+            char c = sansAccents.charAt(i);
+            switch (c) {
+                case 'ß' -> lettres.append("ss");
+                case 'æ' -> lettres.append("ae");
+                case 'œ' -> lettres.append("oe");
+                default -> {
+                    if (Character.isLetterOrDigit(c)) {
+                        lettres.append(c);
+                    }
+                }
+            }
+        }
+
+        // Variantes de transcription (Youssef/Yusef, Mouhamed/Mohamed, Djamel/Jamel, Mohammed/Mohamed...)
+        String plie = lettres.toString()
+            .replace("ou", "u")
+            .replace('o', 'u')
+            .replace("dj", "j")
+            .replace("ph", "f")
+            .replace("ck", "k")
+            .replace('q', 'k');
+
+        // Lettres doublées réduites à une seule
+        StringBuilder resultat = new StringBuilder(plie.length());
+        for (int i = 0; i < plie.length(); i++) {
+            char c = plie.charAt(i);
+            if (i == 0 || c != plie.charAt(i - 1) || Character.isDigit(c)) {
+                resultat.append(c);
+            }
+        }
+        return resultat.toString();
+    }
+
+    private static boolean estAscii(String texte) {
+        for (int i = 0; i < texte.length(); i++) {
+            if (texte.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chiffres d'un numéro de téléphone, au format national (+212 6... devient 06...).
+     * Retourne une chaîne vide si le texte contient autre chose qu'un numéro.
+     */
+    static String normaliserTelephone(String texte) {
+        if (texte == null || !texte.matches("[\\d\\s+().-]+")) {
+            return "";
+        }
+        String chiffres = texte.replaceAll("\\D", "");
+        if (chiffres.startsWith("00212")) {
+            chiffres = "0" + chiffres.substring(5);
+        } else if (chiffres.startsWith("212") && (texte.trim().startsWith("+") || chiffres.length() >= 12)) {
+            chiffres = "0" + chiffres.substring(3);
+        }
+        return chiffres;
+    }
+
+    private static long trigramme(String texte, int debut) {
+        return ((long) texte.charAt(debut) << 32) | ((long) texte.charAt(debut + 1) << 16) | texte.charAt(debut + 2);
+    }
+
+    private static final Comparator<Resultat> ORDRE_RESULTATS = (a, b) -> {
+        if (a.score != b.score) {
+            return Integer.compare(b.score, a.score);
+        }
+        int ordre = a.entree.cleTri.compareTo(b.entree.cleTri);
+        return ordre != 0 ? ordre : Integer.compare(a.entree.id, b.entree.id);
+    };
+
+    private record Resultat(Entree entree, int score) {
+    }
+
+    // ==================== Structures ====================
+
+    /**
+     * Adhérent indexé avec ses formes de recherche
+     */
+    private static final class Entree {
+        final int id;
+        final Adherent adherent;
+        final String nom;
+        final String prenom;
+        // Ordre à score égal : nom puis prénom
+        final String cleTri;
+        // nom, prénom, prénom+nom, nom+prénom, CIN, email
+        final String[] champs;
+        final String telephone;
+        final long[] trigrammes;
+        final String[] prefixes;
+
+        Entree(Adherent adherent) {
+            this.id = adherent.getId();
+            this.adherent = adherent;
+            String nomBrut = adherent.getNom() != null ? adherent.getNom() : "";
+            String prenomBrut = adherent.getPrenom() != null ? adherent.getPrenom() : "";
+            this.nom = plier(nomBrut);
+            this.prenom = plier(prenomBrut);
+            this.cleTri = nom + '\u0000' + prenom;
+            this.champs = new String[] {
+                nom, prenom, prenom + nom, nom + prenom,
+                adherent.getCin() != null ? plier(adherent.getCin()) : "",
+                adherent.getEmail() != null ? plier(adherent.getEmail()) : ""
+            };
+            this.telephone = normaliserTelephone(adherent.getTelephone());
+
+            Set<Long> cles = new LinkedHashSet<>();
+            for (String champ : champs) {
+                ajouterTrigrammes(champ, cles);
+            }
+            ajouterTrigrammes(telephone, cles);
+            this.trigrammes = cles.stream().mapToLong(Long::longValue).toArray();
+
+            // Préfixes d'un ou deux caractères de chaque mot, et fin du numéro
+            Set<String> debuts = new LinkedHashSet<>();
+            for (String mot : (nomBrut + " " + prenomBrut + " "
+                    + (adherent.getCin() != null ? adherent.getCin() : "") + " "
+                    + (adherent.getEmail() != null ? adherent.getEmail() : "")).split("[\\s'-]+")) {
+                String plie = plier(mot);
+                if (!plie.isEmpty()) {
+                    debuts.add(plie.substring(0, 1));
+                    if (plie.length() > 1) {
+                        debuts.add(plie.substring(0, 2));
+                    }
+                }
+            }
+            if (telephone.length() >= 2) {
+                debuts.add("#" + telephone.substring(telephone.length() - 1));
+                debuts.add("#" + telephone.substring(telephone.length() - 2));
+            }
+            this.prefixes = debuts.toArray(new String[0]);
+        }
+
+        private static void ajouterTrigrammes(String champ, Set<Long> cles) {
+            for (int i = 0; i + 3 <= champ.length(); i++) {
+                cles.add(trigramme(champ, i));
+            }
+        }
+
+        /**
+         * Pertinence de l'adhérent pour un terme (0 : ne correspond pas)
+         */
+        int score(String texte, String chiffres) {
+            int score = 0;
+            for (String champ : champs) {
+                if (champ.equals(texte)) {
+                    return SCORE_EGAL;
+                }
+                if (champ.startsWith(texte)) {
+                    score = Math.max(score, SCORE_DEBUT);
+                } else if (texte.length() >= 3 && champ.contains(texte)) {
+                    score = Math.max(score, SCORE_CONTIENT);
+                }
+            }
+            if (!chiffres.isEmpty() && !telephone.isEmpty()) {
+                if (telephone.equals(chiffres)) {
+                    return SCORE_EGAL;
+                }
+                if (telephone.endsWith(chiffres)) {
+                    score = Math.max(score, SCORE_FIN_TELEPHONE);
+                } else if (chiffres.length() >= 3 && telephone.contains(chiffres)) {
+                    score = Math.max(score, SCORE_TELEPHONE);
+                }
+            }
+            if (score == 0 && texte.length() < 3 && estDebutDeMot(texte)) {
+                score = SCORE_DEBUT;
+            }
+            return score;
+        }
+
+        private boolean estDebutDeMot(String texte) {
+            for (String prefixe : prefixes) {
+                if (prefixe.equals(texte)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Liste triée d'IDs d'adhérents (posting list)
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int taille;
+
+        void ajouter(int id) {
+            int position = Arrays.binarySearch(ids, 0, taille, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (taille == ids.length) {
+                ids = Arrays.copyOf(ids, taille * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, taille - position);
+            ids[position] = id;
+            taille++;
+        }
+
+        void retirer(int id) {
+            int position = Arrays.binarySearch(ids, 0, taille, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, taille - position - 1);
+                taille--;
+            }
+        }
+
+        boolean contient(int id) {
+            return Arrays.binarySearch(ids, 0, taille, id) >= 0;
+        }
+    }
+
+    /**
+     * Contenu de l'index : adhérents par ID et listes inversées
+     */
+    private static final class Contenu {
+        final Map<Integer, Entree> parId = new HashMap<>();
+        final Map<Long, Postings> trigrammes = new HashMap<>();
+        final Map<String, Postings> prefixes = new HashMap<>();
+
+        void ajouter(Adherent adherent) {
+            retirer(adherent.getId());
+            if (Boolean.FALSE.equals(adherent.getActif())) {
+                return;
+            }
+            Entree entree = new Entree(adherent);
+            parId.put(entree.id, entree);
+            for (long cle : entree.trigrammes) {
+                trigrammes.computeIfAbsent(cle, k -> new Postings()).ajouter(entree.id);
+            }
+            for (String prefixe : entree.prefixes) {
+                prefixes.computeIfAbsent(prefixe, k -> new Postings()).ajouter(entree.id);
+            }
+        }
+
+        void retirer(int id) {
+            Entree entree = parId.remove(id);
+            if (entree == null) {
+                return;
+            }
+            for (long cle : entree.trigrammes) {
+                Postings postings = trigrammes.get(cle);
+                postings.retirer(id);
+                if (postings.taille == 0) {
+                    trigrammes.remove(cle);
+                }
+            }
+            for (String prefixe : entree.prefixes) {
+                Postings postings = prefixes.get(prefixe);
+                postings.retirer(id);
+                if (postings.taille == 0) {
+                    prefixes.remove(prefixe);
+                }
+            }
+        }
+
+        /**
+         * IDs triés susceptibles de correspondre (à vérifier par {@link Entree#score})
+         */
+        int[] candidats(String texte, String chiffres) {
+            int[] ids = texte.length() >= 3 ? intersection(texte) : ids(prefixes.get(texte));
+            if (!chiffres.isEmpty() && !chiffres.equals(texte)) {
+                ids = union(ids, intersection(chiffres));
+            }
+            if (!chiffres.isEmpty() && chiffres.length() < 3) {
+                ids = union(ids, ids(prefixes.get("#" + chiffres)));
+            }
+            return ids;
+        }
+
+        /**
+         * IDs présents dans les listes de tous les trigrammes du terme
+         */
+        private int[] intersection(String terme) {
+            if (terme.length() < 3) {
+                return new int[0];
+            }
+            List<Postings> listes = new ArrayList<>();
+            for (int i = 0; i + 3 <= terme.length(); i++) {
+                Postings postings = trigrammes.get(trigramme(terme, i));
+                if (postings == null) {
+                    return new int[0];
+                }
+                listes.add(postings);
+            }
+            listes.sort(Comparator.comparingInt(p -> p.taille));
+
+            Postings plusCourte = listes.get(0);
+            int[] ids = new int[plusCourte.taille];
+            int taille = 0;
+            for (int i = 0; i < plusCourte.taille; i++) {
+                int id = plusCourte.ids[i];
+                boolean partout = true;
+                for (int j = 1; j < listes.size() && partout; j++) {
+                    partout = listes.get(j).contient(id);
+                }
+                if (partout) {
+                    ids[taille++] = id;
+                }
+            }
+            return Arrays.copyOf(ids, taille);
+        }
+
+        private static int[] ids(Postings postings) {
+            return postings != null ? Arrays.copyOf(postings.ids, postings.taille) : new int[0];
+        }
+
+        /**
+         * Fusion de deux listes triées, sans doublons
+         */
+        private static int[] union(int[] a, int[] b) {
+            if (b.length == 0) {
+                return a;
+            }
+            if (a.length == 0) {
+                return b;
+            }
+            int[] resultat = new int[a.length + b.length];
+            int i = 0, j = 0, taille = 0;
+            while (i < a.length || j < b.length) {
+                int id;
+                if (j == b.length || (i < a.length && a[i] < b[j])) {
+                    id = a[i++];
+                } else if (i == a.length || b[j] < a[i]) {
+                    id = b[j++];
+                } else {
+                    id = a[i++];
+                    j++;
+                }
+                resultat[taille++] = id;
+            }
+            return Arrays.copyOf(resultat, taille);
+        }
+    }
+}
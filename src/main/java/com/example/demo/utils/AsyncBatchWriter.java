@@ -0,0 +1,191 @@
+package com.example.demo.utils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Écriture différée par lots, sur un thread dédié.
+ *
+ * <p>Les éléments sont déposés dans une file bornée ({@link #append(Object)}) et écrits
+ * par lots : un lot part dès qu'il atteint sa taille maximale, ou au plus tard un
+ * intervalle donné après son premier élément. L'appelant n'attend donc jamais l'écriture.</p>
+ *
+ * <p>Si la file est pleine (base indisponible ou trop lente), l'appelant attend qu'une
+ * place se libère, au plus {@link #ATTENTE_MAX_MS} ms ; au-delà, l'élément est abandonné
+ * et journalisé. Un lot en échec est retenté deux fois avant d'être abandonné.
+ * {@link #close()} écrit les éléments encore en file avant de rendre la main
+ * (fermeture de l'application).</p>
+ *
+ * @param <T> Type des éléments écrits
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class AsyncBatchWriter<T> implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(AsyncBatchWriter.class.getName());
+
+    /** Attente maximum d'un appelant lorsque la file est pleine */
+    public static final long ATTENTE_MAX_MS = 2_000;
+    /** Nombre de tentatives d'écriture d'un lot */
+    private static final int TENTATIVES = 3;
+    /** Délai maximum accordé à l'écriture des éléments restants à la fermeture */
+    private static final long DELAI_FERMETURE_MS = 10_000;
+
+    /**
+     * Écriture d'un lot (typiquement une insertion groupée en une transaction)
+     */
+    @FunctionalInterface
+    public interface LotWriter<T> {
+        void write(List<T> lot) throws SQLException;
+    }
+
+    private final String nom;
+    private final int tailleLot;
+    private final long intervalleMs;
+    private final LotWriter<T> lotWriter;
+    private final BlockingQueue<T> file;
+    private final Thread writer;
+    private final AtomicLong abandonnes = new AtomicLong();
+    private volatile boolean actif = true;
+
+    /**
+     * Crée l'écriture différée et démarre son thread
+     *
+     * @param nom Nom du thread d'écriture (et des messages de journal)
+     * @param capacite Nombre maximum d'éléments en attente d'écriture
+     * @param tailleLot Nombre maximum d'éléments par lot
+     * @param intervalleMs Délai maximum entre le dépôt d'un élément et l'écriture de son lot
+     * @param lotWriter Écriture d'un lot
+     */
+    public AsyncBatchWriter(String nom, int capacite, int tailleLot, long intervalleMs, LotWriter<T> lotWriter) {
+        this.nom = nom;
+        this.tailleLot = tailleLot;
+        this.intervalleMs = intervalleMs;
+        this.lotWriter = lotWriter;
+        this.file = new ArrayBlockingQueue<>(capacite);
+        this.writer = Thread.ofPlatform().name(nom).daemon(true).start(this::ecrireEnBoucle);
+    }
+
+    /**
+     * Dépose un élément pour écriture ; n'attend que si la file est pleine
+     *
+     * @param element L'élément à écrire
+     * @return true si l'élément sera écrit, false s'il a été abandonné
+     */
+    public boolean append(T element) {
+        if (!actif) {
+            logger.warning(nom + " fermé, élément abandonné: " + element);
+            return false;
+        }
+        try {
+            if (file.offer(element) || file.offer(element, ATTENTE_MAX_MS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.severe(nom + ": file pleine, élément abandonné (" + abandonnes.incrementAndGet()
+            + " au total): " + element);
+        return false;
+    }
+
+    /**
+     * @return Nombre d'éléments en attente d'écriture
+     */
+    public int getEnAttente() {
+        return file.size();
+    }
+
+    /**
+     * @return Nombre d'éléments abandonnés (file pleine ou écriture en échec)
+     */
+    public long getAbandonnes() {
+        return abandonnes.get();
+    }
+
+    /**
+     * Refuse les nouveaux éléments et attend l'écriture de ceux en file
+     */
+    @Override
+    public void close() {
+        actif = false;
+        try {
+            writer.join(DELAI_FERMETURE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !file.isEmpty()) {
+            logger.warning("Fermeture de " + nom + ": " + file.size() + " éléments non écrits");
+        }
+    }
+
+    /**
+     * Boucle du thread d'écriture : constitue les lots et les écrit, jusqu'à la fermeture
+     * et l'écriture du dernier élément en file
+     */
+    private void ecrireEnBoucle() {
+        List<T> lot = new ArrayList<>(tailleLot);
+        while (actif || !file.isEmpty()) {
+            try {
+                T premier = file.poll(intervalleMs, TimeUnit.MILLISECONDS);
+                if (premier == null) {
+                    continue;
+                }
+                lot.add(premier);
+
+                // Compléter le lot jusqu'à sa taille maximale ou l'échéance de son premier élément
+                long echeance = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalleMs);
+                while (lot.size() < tailleLot) {
+                    if (file.drainTo(lot, tailleLot - lot.size()) > 0) {
+                        continue;
+                    }
+                    long reste = echeance - System.nanoTime();
+                    if (reste <= 0 || !actif) {
+                        break;
+                    }
+                    T suivant = file.poll(reste, TimeUnit.NANOSECONDS);
+                    if (suivant == null) {
+                        break;
+                    }
+                    lot.add(suivant);
+                }
+            } catch (InterruptedException e) {
+                // Interruption : écrire ce qui a été pris puis vider la file sans attendre
+                actif = false;
+            }
+            ecrire(lot);
+            lot.clear();
+        }
+    }
+
+    /**
+     * Écrit un lot, avec quelques nouvelles tentatives si la base est momentanément indisponible
+     */
+    private void ecrire(List<T> lot) {
+        if (lot.isEmpty()) {
+            return;
+        }
+        for (int tentative = 1; tentative <= TENTATIVES; tentative++) {
+            try {
+                lotWriter.write(lot);
+                return;
+            } catch (SQLException e) {
+                logger.warning(nom + ": écriture de " + lot.size() + " éléments échouée (tentative " + tentative
+                    + "/" + TENTATIVES + "): " + e.getMessage());
+                if (tentative < TENTATIVES && actif) {
+                    try {
+                        Thread.sleep(intervalleMs * tentative);
+                    } catch (InterruptedException ie) {
+                        actif = false;
+                    }
+                }
+            }
+        }
+        logger.severe(nom + ": " + lot.size() + " éléments abandonnés (" + abandonnes.addAndGet(lot.size()) + " au total)");
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.demo.utils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool de connexions JDBC borné utilisé par {@link DatabaseManager}.
+ *
+ * <p>Les connexions physiques sont conservées et réutilisées : la méthode
+ * {@code close()} des connexions retournées par {@link #getConnection()} ne ferme
+ * pas la connexion MySQL mais la rend au pool (après un rollback de toute
+ * transaction non validée). Le pool assure :
+ * <ul>
+ *   <li>une taille maximale bornée (les emprunteurs attendent au plus {@code borrowTimeoutMillis})</li>
+ *   <li>l'éviction des connexions inactives au-delà de {@code idleTimeoutMillis}</li>
+ *   <li>la validation des connexions à l'emprunt ({@link Connection#isValid(int)})</li>
+ *   <li>la détection des fuites (connexion empruntée depuis plus de {@code leakThresholdMillis})</li>
+ * </ul>
+ * </p>
+ *
+ * <p>Les statistiques (temps d'attente à l'emprunt, connexions actives) sont
+ * exposées par {@link #getStats()} pour dimensionner le pool.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see DatabaseManager
+ */
+public class ConnectionPool implements DataSource {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    /** Une connexion utilisée il y a moins de ce délai n'est pas revalidée à l'emprunt */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 15_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+
+    private final Semaphore permits;
+    private final Deque<PooledEntry> idle = new ArrayDeque<>(); // protégé par "this"
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown = false;
+
+    // Statistiques
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("La taille maximale du pool doit être positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+            HOUSEKEEPING_PERIOD_MILLIS, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Emprunte une connexion au pool. Elle doit être fermée (try-with-resources)
+     * pour être rendue au pool.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Le pool de connexions est fermé");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Aucune connexion disponible après " + borrowTimeoutMillis
+                    + " ms (pool de " + maxSize + " connexions épuisé)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue", e);
+        }
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            recordWait(System.nanoTime() - start);
+
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connexion empruntée ici") : null;
+            entry.leakReported = false;
+            borrowed.add(entry);
+            return entry.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Le pool utilise des identifiants fixes");
+    }
+
+    /**
+     * Récupère une connexion inactive valide, ou null s'il faut en ouvrir une nouvelle.
+     */
+    private PooledEntry takeValidIdle() {
+        while (true) {
+            PooledEntry entry;
+            synchronized (this) {
+                entry = idle.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.lastUsedAt < VALIDATION_BYPASS_MILLIS || isAlive(entry)) {
+                return entry;
+            }
+            logger.fine("Connexion invalide retirée du pool");
+            closePhysical(entry);
+        }
+    }
+
+    private boolean isAlive(PooledEntry entry) {
+        try {
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection conn = DriverManager.getConnection(url, user, password);
+        // MySQL nécessite une gestion explicite des transactions
+        conn.setAutoCommit(false);
+        createdCount.increment();
+        return conn;
+    }
+
+    /**
+     * Rend une connexion au pool (appelé par le close() du proxy).
+     */
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        boolean reusable = !shutdown;
+        try {
+            if (reusable && !entry.physical.isClosed()) {
+                // Annuler tout travail non validé (lectures comprises) avant réutilisation
+                if (!entry.physical.getAutoCommit()) {
+                    entry.physical.rollback();
+                } else {
+                    entry.physical.setAutoCommit(false);
+                }
+            } else {
+                reusable = false;
+            }
+        } catch (SQLException e) {
+            logger.warning("Connexion défectueuse écartée du pool: " + e.getMessage());
+            reusable = false;
+        }
+
+        if (reusable) {
+            entry.lastUsedAt = System.currentTimeMillis();
+            synchronized (this) {
+                idle.addFirst(entry);
+            }
+        } else {
+            closePhysical(entry);
+        }
+        permits.release();
+    }
+
+    /**
+     * Évince les connexions inactives trop anciennes et signale les fuites.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        if (idleTimeoutMillis > 0) {
+            synchronized (this) {
+                // Les plus anciennes sont en fin de deque (LIFO)
+                Iterator<PooledEntry> it = idle.descendingIterator();
+                while (it.hasNext() && idle.size() > minIdle) {
+                    PooledEntry entry = it.next();
+                    if (now - entry.lastUsedAt > idleTimeoutMillis) {
+                        it.remove();
+                        evictedCount.increment();
+                        closePhysical(entry);
+                    }
+                }
+            }
+        }
+
+        if (leakThresholdMillis > 0) {
+            for (PooledEntry entry : borrowed) {
+                if (!entry.leakReported && now - entry.borrowedAt > leakThresholdMillis) {
+                    entry.leakReported = true;
+                    leakCount.increment();
+                    logger.log(Level.WARNING, "Fuite de connexion probable: empruntée depuis "
+                        + (now - entry.borrowedAt) + " ms sans être rendue", entry.borrowSite);
+                }
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void closePhysical(PooledEntry entry) {
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            logger.fine("Erreur lors de la fermeture d'une connexion: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ferme toutes les connexions inactives et refuse les emprunts suivants.
+     * Les connexions encore empruntées sont fermées lorsqu'elles sont rendues.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        synchronized (this) {
+            while (!idle.isEmpty()) {
+                closePhysical(idle.pollFirst());
+            }
+        }
+        logger.info("Pool de connexions fermé (" + getStats() + ")");
+    }
+
+    /**
+     * Retourne un instantané des statistiques du pool.
+     */
+    public Stats getStats() {
+        int idleNow;
+        synchronized (this) {
+            idleNow = idle.size();
+        }
+        long borrows = borrowCount.sum();
+        return new Stats(maxSize, borrowed.size(), idleNow, borrows,
+            borrows > 0 ? totalWaitNanos.sum() / borrows / 1_000 : 0,
+            maxWaitNanos.get() / 1_000,
+            createdCount.sum(), evictedCount.sum(), leakCount.sum(), timeoutCount.sum());
+    }
+
+    // --- DataSource : méthodes non utilisées par l'application ---
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return logger;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Pas un wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Connexion physique gérée par le pool
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Crée un proxy dont close() rend la connexion au pool
+         */
+        private Connection newHandle() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean closed = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!closed) {
+                                closed = true;
+                                release(PooledEntry.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return closed || physical.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "PooledConnection[" + physical + "]";
+                        default:
+                            if (closed) {
+                                throw new SQLException("Connexion déjà rendue au pool");
+                            }
+                            try {
+                                return method.invoke(physical, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+    }
+
+    /**
+     * Instantané des statistiques du pool (temps en microsecondes)
+     */
+    public static final class Stats {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final long borrowCount;
+        private final long avgBorrowWaitMicros;
+        private final long maxBorrowWaitMicros;
+        private final long createdCount;
+        private final long evictedCount;
+        private final long leakCount;
+        private final long timeoutCount;
+
+        private Stats(int maxSize, int active, int idle, long borrowCount, long avgBorrowWaitMicros,
+                      long maxBorrowWaitMicros, long createdCount, long evictedCount,
+                      long leakCount, long timeoutCount) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.borrowCount = borrowCount;
+            this.avgBorrowWaitMicros = avgBorrowWaitMicros;
+            this.maxBorrowWaitMicros = maxBorrowWaitMicros;
+            this.createdCount = createdCount;
+            this.evictedCount = evictedCount;
+            this.leakCount = leakCount;
+            this.timeoutCount = timeoutCount;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getAvgBorrowWaitMicros() { return avgBorrowWaitMicros; }
+        public long getMaxBorrowWaitMicros() { return maxBorrowWaitMicros; }
+        public long getCreatedCount() { return createdCount; }
+        public long getEvictedCount() { return evictedCount; }
+        public long getLeakCount() { return leakCount; }
+        public long getTimeoutCount() { return timeoutCount; }
+
+        @Override
+        public String toString() {
+            return "actives=" + active + "/" + maxSize + ", inactives=" + idle
+                + ", emprunts=" + borrowCount + ", attente moy=" + avgBorrowWaitMicros + "µs"
+                + ", attente max=" + maxBorrowWaitMicros + "µs, créées=" + createdCount
+                + ", évincées=" + evictedCount + ", fuites=" + leakCount + ", timeouts=" + timeoutCount;
+        }
+    }
+}
@@ -1,10 +1,34 @@
 package com.example.demo.utils;
 
+import com.example.demo.dao.RevenueMonthlyDAO;
+
 import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 /**
  * Outil de migration des données de SQLite vers MySQL.
@@ -13,6 +37,12 @@ import java.util.logging.Logger;
  * depuis une base SQLite vers une base MySQL, en respectant
  * l'ordre des dépendances entre tables.</p>
  * 
+ * <p>La migration est en flux : chaque table est lue en une seule passe (avec un
+ * fetch size) et écrite par lots de PreparedStatement avec des paramètres typés,
+ * validés lot par lot. La mémoire utilisée ne dépend donc que de la taille des lots,
+ * pas de la taille de la base. Les tables d'un même niveau de dépendance (sans clé
+ * étrangère entre elles) sont migrées en parallèle, chacune sur ses propres connexions.</p>
+ * 
  * @author Dashboard Team
  * @version 1.0
  */
@@ -29,469 +59,895 @@ public class DataMigrationTool {
     private static final String MYSQL_USER = "root";
     private static final String MYSQL_PASSWORD = "";
     
+    // Paramètres par défaut du transfert
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_PARALLELISM = 4;
+    
     /**
-     * Exécute la migration complète des données.
+     * Ordre de migration par niveaux de dépendance : une table ne référence que des
+     * tables des niveaux précédents, les tables d'un même niveau peuvent donc être
+     * migrées en parallèle.
+     */
+    private static final String[][] MIGRATION_LEVELS = {
+        {"utilisateurs", "packs", "objectifs", "equipements"},
+        {"adherents", "cours_collectifs", "notifications", "activities", "user_preferences"},
+        {"paiements", "reservations_cours"}
+    };
+    
+    /** Nombre d'ids couverts par chaque plage comparée lors de la vérification */
+    public static final int DEFAULT_CHECKSUM_RANGE = 10_000;
+    
+    /** Table MySQL des points de reprise (dernier id migré par table) */
+    private static final String CHECKPOINT_TABLE = "migration_checkpoint";
+    
+    /** Tables alimentées par les données de référence de la migration 003 */
+    private static final String[] SEED_TABLES = {"objectifs", "utilisateurs", "packs"};
+    
+    /**
+     * Exécute la migration complète des données avec les paramètres de transfert par défaut.
      * 
      * @param forceMigration Si true, vide les tables MySQL avant de migrer
      * @return true si la migration a réussi, false sinon
      */
     public static boolean migrate(boolean forceMigration) {
-        Connection sqliteConn = null;
-        Connection mysqlConn = null;
+        return migrate(forceMigration, DEFAULT_BATCH_SIZE, DEFAULT_PARALLELISM);
+    }
+    
+    /**
+     * Exécute la migration complète des données.
+     * 
+     * <p>Chaque lot est validé avec le point de reprise de sa table (dernier id copié)
+     * dans la même transaction. Si une exécution est interrompue, la suivante reprend
+     * chaque table juste après son dernier lot validé. Une fois les tables copiées,
+     * les deux bases sont comparées par sommes de contrôle et les plages divergentes
+     * sont recopiées.</p>
+     * 
+     * @param forceMigration Si true, vide les tables MySQL (et les points de reprise) avant de migrer
+     * @param batchSize Nombre de lignes par lot (lecture et écriture)
+     * @param parallelism Nombre maximum de tables traitées simultanément
+     * @return true si la migration a réussi et que les données sont identiques, false sinon
+     */
+    public static boolean migrate(boolean forceMigration, int batchSize, int parallelism) {
+        if (batchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("batchSize et parallelism doivent être positifs");
+        }
+        
+        File sqliteFile = new File(SQLITE_DB_PATH);
+        if (!sqliteFile.exists()) {
+            logger.warning("Le fichier SQLite n'existe pas: " + SQLITE_DB_PATH);
+            logger.info("Aucune migration nécessaire - la base MySQL sera initialisée avec des données par défaut");
+            return true;
+        }
+        
+        ExecutorService executor = newExecutor(parallelism);
         
         try {
-            // Connexion à SQLite
-            logger.info("Connexion à la base SQLite...");
-            String sqliteUrl = "jdbc:sqlite:" + SQLITE_DB_PATH;
-            File sqliteFile = new File(SQLITE_DB_PATH);
-            
-            if (!sqliteFile.exists()) {
-                logger.warning("Le fichier SQLite n'existe pas: " + SQLITE_DB_PATH);
-                logger.info("Aucune migration nécessaire - la base MySQL sera initialisée avec des données par défaut");
-                return true;
-            }
-            
-            Class.forName("org.sqlite.JDBC");
-            sqliteConn = DriverManager.getConnection(sqliteUrl);
-            logger.info("Connexion SQLite établie");
-            
-            // Connexion à MySQL
-            logger.info("Connexion à la base MySQL...");
+            loadDrivers();
             
             // Créer la base de données si elle n'existe pas
+            logger.info("Connexion à la base MySQL...");
             String mysqlUrlWithoutDb = String.format("jdbc:mysql://%s:%s/?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
                     MYSQL_HOST, MYSQL_PORT);
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            
             try (Connection tempConn = DriverManager.getConnection(mysqlUrlWithoutDb, MYSQL_USER, MYSQL_PASSWORD);
                  Statement tempStmt = tempConn.createStatement()) {
                 tempStmt.execute("CREATE DATABASE IF NOT EXISTS " + MYSQL_DB + " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
                 logger.info("Base de données '" + MYSQL_DB + "' vérifiée/créée");
             }
             
-            // Connexion à la base de données spécifique
-            String mysqlUrl = String.format("jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
-                    MYSQL_HOST, MYSQL_PORT, MYSQL_DB);
-            mysqlConn = DriverManager.getConnection(mysqlUrl, MYSQL_USER, MYSQL_PASSWORD);
-            mysqlConn.setAutoCommit(false);
-            logger.info("Connexion MySQL établie");
-            
-            // Créer les tables si elles n'existent pas (sans insérer de données)
-            logger.info("Création des tables MySQL si elles n'existent pas...");
-            createTablesIfNotExist(mysqlConn);
-            logger.info("Tables MySQL créées/vérifiées");
-            
-            // Vérifier si MySQL contient déjà des données (après avoir créé les tables)
-            if (hasData(mysqlConn)) {
+            Map<String, Checkpoint> checkpoints;
+            try (Connection mysqlConn = openMySql()) {
+                // Créer ou mettre à jour le schéma avec les migrations de l'application
+                logger.info("Application des migrations du schéma MySQL...");
+                List<String> tablesSansDonnees = emptyTables(mysqlConn, SEED_TABLES);
+                mysqlConn.commit();
+                migrateSchema();
+                removeSeedData(mysqlConn, tablesSansDonnees);
+                createCheckpointTableIfNotExists(mysqlConn);
+                mysqlConn.commit();
+                logger.info("Schéma MySQL créé/vérifié");
+                
+                checkpoints = readCheckpoints(mysqlConn);
+                boolean reprise = checkpoints.values().stream().anyMatch(c -> !c.completed);
+                
                 if (forceMigration) {
-                    logger.info("La base MySQL contient déjà des données. Vidage des tables...");
-                    truncateAllTables(mysqlConn);
-                    logger.info("Tables vidées. Début de la migration...");
-                } else {
+                    if (hasData(mysqlConn) || !checkpoints.isEmpty()) {
+                        logger.info("La base MySQL contient déjà des données. Vidage des tables...");
+                        truncateAllTables(mysqlConn);
+                        mysqlConn.commit();
+                        checkpoints = new HashMap<>();
+                        logger.info("Tables vidées. Début de la migration...");
+                    }
+                } else if (reprise) {
+                    logger.info("Migration interrompue détectée: reprise après le dernier lot validé de chaque table");
+                } else if (hasData(mysqlConn)) {
                     logger.warning("La base MySQL contient déjà des données. La migration sera ignorée.");
                     logger.info("Pour forcer la migration, utilisez: migrate(true) ou videz manuellement les tables MySQL");
                     return false;
                 }
             }
             
-            // Ordre de migration (respecter les dépendances)
-            String[] tables = {
-                "utilisateurs",
-                "packs",
-                "objectifs",
-                "adherents",
-                "paiements",
-                "cours_collectifs",
-                "reservations_cours",
-                "equipements",
-                "notifications",
-                "activities",
-                "user_preferences"
-            };
-            
-            int totalRows = 0;
-            for (String table : tables) {
-                int rows = migrateTable(sqliteConn, mysqlConn, table);
-                totalRows += rows;
-                logger.info(String.format("Table '%s': %d lignes migrées", table, rows));
+            long debut = System.nanoTime();
+            long totalRows = 0;
+            for (String[] level : MIGRATION_LEVELS) {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (String table : level) {
+                    Checkpoint checkpoint = checkpoints.get(table);
+                    if (checkpoint != null && checkpoint.completed) {
+                        logger.info(String.format("Table '%s': déjà migrée (%d lignes), ignorée", table, checkpoint.rowsCopied));
+                        continue;
+                    }
+                    long apresId = checkpoint != null ? checkpoint.lastId : 0;
+                    futures.add(executor.submit(() -> migrateTable(table, batchSize, apresId)));
+                }
+                totalRows += awaitAll(futures);
             }
             
-            // Commit toutes les migrations
-            mysqlConn.commit();
-            logger.info(String.format("Migration terminée avec succès: %d lignes au total", totalRows));
+            double secondes = (System.nanoTime() - debut) / 1_000_000_000.0;
+            logger.info(String.format("Copie terminée: %d lignes au total en %.1f s (%.0f lignes/s)",
+                    totalRows, secondes, totalRows / Math.max(secondes, 0.001)));
             
-            // Vérification de l'intégrité
-            verifyIntegrity(sqliteConn, mysqlConn);
-            
-            return true;
+            // Vérification par sommes de contrôle, avec recopie des plages divergentes
+            boolean identiques = verifyIntegrity(executor, batchSize, true);
+            if (identiques) {
+                rebuildRevenueMonthly();
+            }
+            return identiques;
             
         } catch (Exception e) {
             logger.severe("Erreur lors de la migration: " + e.getMessage());
+            logger.severe("Les lots déjà validés sont conservés: relancer la migration pour reprendre là où elle s'est arrêtée");
             e.printStackTrace();
-            
-            if (mysqlConn != null) {
-                try {
-                    mysqlConn.rollback();
-                    logger.info("Rollback effectué");
-                } catch (SQLException ex) {
-                    logger.severe("Erreur lors du rollback: " + ex.getMessage());
-                }
-            }
-            
             return false;
             
         } finally {
-            closeConnection(sqliteConn);
-            closeConnection(mysqlConn);
+            executor.shutdownNow();
         }
     }
     
     /**
-     * Migre une table spécifique.
+     * Compare les données SQLite et MySQL par sommes de contrôle, sans migrer.
+     * 
+     * @param repair Si true, recopie les plages d'ids divergentes depuis SQLite
+     * @return true si les deux bases sont identiques (après réparation éventuelle)
      */
-    private static int migrateTable(Connection sqliteConn, Connection mysqlConn, String tableName) throws SQLException {
-        // Récupérer toutes les données de SQLite
-        List<String[]> rows = new ArrayList<>();
-        String selectSql = "SELECT * FROM " + tableName;
+    public static boolean verify(boolean repair) {
+        ExecutorService executor = newExecutor(DEFAULT_PARALLELISM);
+        try {
+            loadDrivers();
+            return verifyIntegrity(executor, DEFAULT_BATCH_SIZE, repair);
+        } catch (Exception e) {
+            logger.severe("Erreur lors de la vérification: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Migre une table en flux à partir de son point de reprise, puis la marque terminée.
+     * 
+     * @param apresId Dernier id déjà migré (0 pour une table non commencée)
+     * @return Nombre de lignes migrées par cet appel
+     */
+    private static long migrateTable(String tableName, int batchSize, long apresId) throws SQLException {
+        long debut = System.nanoTime();
         
-        try (Statement stmt = sqliteConn.createStatement();
-             ResultSet rs = stmt.executeQuery(selectSql)) {
+        try (Connection sqliteConn = openSqlite();
+             Connection mysqlConn = openMySql()) {
             
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
-            
-            while (rs.next()) {
-                String[] row = new String[columnCount];
-                for (int i = 1; i <= columnCount; i++) {
-                    Object value = rs.getObject(i);
-                    row[i - 1] = (value == null) ? null : value.toString();
-                }
-                rows.add(row);
+            if (apresId > 0) {
+                logger.info(String.format("Table '%s': reprise après l'id %d", tableName, apresId));
             }
-        }
-        
-        if (rows.isEmpty()) {
-            return 0;
-        }
-        
-        // Insérer dans MySQL
-        try (Statement stmt = sqliteConn.createStatement();
-             ResultSet rs = stmt.executeQuery(selectSql)) {
+            long rows = copyRows(sqliteConn, mysqlConn, tableName, apresId, Long.MAX_VALUE, batchSize, false, true);
             
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
+            saveCheckpoint(mysqlConn, tableName, apresId, 0, true);
+            mysqlConn.commit();
             
-            // Construire la requête INSERT
-            StringBuilder insertSql = new StringBuilder("INSERT INTO " + tableName + " (");
-            for (int i = 1; i <= columnCount; i++) {
-                if (i > 1) insertSql.append(", ");
-                insertSql.append(metaData.getColumnName(i));
-            }
-            insertSql.append(") VALUES ");
+            double secondes = (System.nanoTime() - debut) / 1_000_000_000.0;
+            logger.info(String.format("Table '%s': %d lignes migrées en %.1f s (%.0f lignes/s)",
+                    tableName, rows, secondes, rows / Math.max(secondes, 0.001)));
+            return rows;
+        }
+    }
+    
+    /**
+     * Copie en flux les lignes SQLite d'ids dans ]apresId, avantId[ vers MySQL, par lots
+     * typés validés un à un.
+     * 
+     * @param upsert Si true, les lignes déjà présentes sont mises à jour (réparation de plage)
+     * @param checkpoint Si true, le point de reprise est avancé dans la transaction de chaque lot
+     * @return Nombre de lignes copiées
+     */
+    private static long copyRows(Connection sqliteConn, Connection mysqlConn, String tableName,
+                                 long apresId, long avantId, int batchSize,
+                                 boolean upsert, boolean checkpoint) throws SQLException {
+        TableMapping mapping = TableMapping.of(sqliteConn, mysqlConn, tableName);
+        String selectSql = "SELECT " + mapping.columnList() + " FROM " + tableName + " WHERE id > ? AND id < ? ORDER BY id";
+        
+        try (PreparedStatement select = sqliteConn.prepareStatement(selectSql)) {
+            select.setFetchSize(batchSize);
+            select.setLong(1, apresId);
+            select.setLong(2, avantId);
             
-            // Préparer les valeurs
-            List<String> valueStrings = new ArrayList<>();
-            for (String[] row : rows) {
-                StringBuilder values = new StringBuilder("(");
-                for (int i = 0; i < row.length; i++) {
-                    if (i > 0) values.append(", ");
-                    if (row[i] == null) {
-                        values.append("NULL");
-                    } else {
-                        // Échapper les apostrophes
-                        String escaped = row[i].replace("'", "''");
-                        values.append("'").append(escaped).append("'");
+            long rows = 0;
+            try (ResultSet rs = select.executeQuery();
+                 PreparedStatement insert = mysqlConn.prepareStatement(mapping.insertSql(upsert))) {
+                int enAttente = 0;
+                long dernierId = apresId;
+                while (rs.next()) {
+                    mapping.bind(insert, rs);
+                    insert.addBatch();
+                    dernierId = rs.getLong(mapping.idIndex);
+                    
+                    if (++enAttente == batchSize) {
+                        flush(insert, mysqlConn, tableName, dernierId, enAttente, checkpoint);
+                        rows += enAttente;
+                        enAttente = 0;
+                        logger.fine(String.format("Table '%s': %d lignes copiées (id %d)", tableName, rows, dernierId));
                     }
                 }
-                values.append(")");
-                valueStrings.add(values.toString());
-            }
-            
-            insertSql.append(String.join(", ", valueStrings));
-            
-            // Exécuter l'insertion
-            try (Statement mysqlStmt = mysqlConn.createStatement()) {
-                int rowsAffected = mysqlStmt.executeUpdate(insertSql.toString());
-                return rowsAffected;
+                if (enAttente > 0) {
+                    flush(insert, mysqlConn, tableName, dernierId, enAttente, checkpoint);
+                    rows += enAttente;
+                }
+            } catch (SQLException e) {
+                mysqlConn.rollback();
+                throw new SQLException(String.format("Échec de la copie de '%s' après %d lignes: %s",
+                        tableName, rows, e.getMessage()), e);
             }
+            return rows;
         }
     }
     
     /**
-     * Crée les tables MySQL si elles n'existent pas (sans insérer de données).
+     * Envoie le lot en attente, avance le point de reprise et valide le tout.
      */
-    private static void createTablesIfNotExist(Connection mysqlConn) throws SQLException {
+    private static void flush(PreparedStatement insert, Connection mysqlConn, String tableName,
+                              long dernierId, int enAttente, boolean checkpoint) throws SQLException {
+        insert.executeBatch();
+        if (checkpoint) {
+            saveCheckpoint(mysqlConn, tableName, dernierId, enAttente, false);
+        }
+        mysqlConn.commit();
+    }
+    
+    // ==================== Points de reprise ====================
+    
+    private static void createCheckpointTableIfNotExists(Connection mysqlConn) throws SQLException {
         try (Statement stmt = mysqlConn.createStatement()) {
-            
-            // Table des utilisateurs
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS utilisateurs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    username VARCHAR(255) NOT NULL UNIQUE,
-                    password VARCHAR(255) NOT NULL,
-                    role VARCHAR(50) NOT NULL DEFAULT 'RECEPTIONNISTE',
-                    nom VARCHAR(255),
-                    prenom VARCHAR(255),
-                    actif TINYINT(1) DEFAULT 1,
-                    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    INDEX idx_username (username)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des packs
             stmt.execute("""
-                CREATE TABLE IF NOT EXISTS packs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    prix DECIMAL(10,2) NOT NULL,
-                    activites TEXT,
-                    jours_disponibilite VARCHAR(255),
-                    horaires VARCHAR(255),
-                    duree INT NOT NULL,
-                    unite_duree VARCHAR(50) DEFAULT 'MOIS',
-                    seances_semaine INT,
-                    acces_coach TINYINT(1) DEFAULT 0,
-                    actif TINYINT(1) DEFAULT 1,
-                    description TEXT,
-                    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des adhérents
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS adherents (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    cin VARCHAR(50) UNIQUE,
-                    nom VARCHAR(255) NOT NULL,
-                    prenom VARCHAR(255) NOT NULL,
-                    date_naissance DATE,
-                    telephone VARCHAR(50),
-                    email VARCHAR(255),
-                    adresse TEXT,
-                    photo VARCHAR(500),
-                    poids DECIMAL(5,2),
-                    taille DECIMAL(5,2),
-                    objectifs TEXT,
-                    problemes_sante TEXT,
-                    pack_id INT,
-                    date_debut DATE,
-                    date_fin DATE,
-                    actif TINYINT(1) DEFAULT 1,
-                    date_inscription TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_adherents_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
-                    INDEX idx_cin (cin),
-                    INDEX idx_pack_id (pack_id),
-                    INDEX idx_actif (actif)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des paiements
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS paiements (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    adherent_id INT NOT NULL,
-                    pack_id INT,
-                    montant DECIMAL(10,2) NOT NULL,
-                    date_paiement TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    methode_paiement VARCHAR(50) NOT NULL,
-                    statut VARCHAR(50) DEFAULT 'VALIDE',
-                    reference VARCHAR(255),
-                    date_debut_abonnement DATE,
-                    date_fin_abonnement DATE,
-                    notes TEXT,
-                    CONSTRAINT fk_paiements_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
-                    CONSTRAINT fk_paiements_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
-                    INDEX idx_adherent_id (adherent_id),
-                    INDEX idx_date_paiement (date_paiement),
-                    INDEX idx_statut (statut)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des cours collectifs
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS cours_collectifs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    description TEXT,
-                    coach_id INT,
-                    jour_semaine VARCHAR(50),
-                    heure_debut TIME,
-                    heure_fin TIME,
-                    capacite_max INT DEFAULT 20,
-                    actif TINYINT(1) DEFAULT 1,
-                    CONSTRAINT fk_cours_coach FOREIGN KEY (coach_id) REFERENCES utilisateurs(id) ON DELETE SET NULL,
-                    INDEX idx_coach_id (coach_id)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des réservations de cours
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS reservations_cours (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    cours_id INT NOT NULL,
-                    adherent_id INT NOT NULL,
-                    date_reservation DATE NOT NULL,
-                    statut VARCHAR(50) DEFAULT 'CONFIRME',
-                    CONSTRAINT fk_reservations_cours FOREIGN KEY (cours_id) REFERENCES cours_collectifs(id) ON DELETE CASCADE,
-                    CONSTRAINT fk_reservations_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
-                    INDEX idx_cours_id (cours_id),
-                    INDEX idx_adherent_id (adherent_id),
-                    INDEX idx_date_reservation (date_reservation)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des équipements
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS equipements (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    type VARCHAR(100),
-                    etat VARCHAR(50) DEFAULT 'FONCTIONNEL',
-                    date_achat DATE,
-                    date_maintenance DATE,
-                    notes TEXT
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des notifications
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS notifications (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT,
-                    type VARCHAR(50) NOT NULL,
-                    title VARCHAR(255) NOT NULL,
-                    message TEXT NOT NULL,
-                    `read` TINYINT(1) DEFAULT 0,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id),
-                    INDEX idx_read (`read`),
-                    INDEX idx_created_at (created_at)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des activités
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS activities (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT,
-                    type VARCHAR(50) NOT NULL,
-                    description TEXT NOT NULL,
-                    entity_type VARCHAR(50),
-                    entity_id INT,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_activities_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id),
-                    INDEX idx_type (type),
-                    INDEX idx_created_at (created_at)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-            
-            // Table des objectifs
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS objectifs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    type VARCHAR(50) NOT NULL,
-                    valeur DECIMAL(10,2) NOT NULL,
-                    date_debut DATE NOT NULL,
-                    date_fin DATE,
-                    actif TINYINT(1) DEFAULT 1,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    INDEX idx_type (type),
-                    INDEX idx_actif (actif)
+                CREATE TABLE IF NOT EXISTS migration_checkpoint (
+                    table_name VARCHAR(64) PRIMARY KEY,
+                    last_id BIGINT NOT NULL DEFAULT 0,
+                    rows_copied BIGINT NOT NULL DEFAULT 0,
+                    completed TINYINT(1) NOT NULL DEFAULT 0,
+                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
+        }
+    }
+    
+    private static Map<String, Checkpoint> readCheckpoints(Connection mysqlConn) throws SQLException {
+        Map<String, Checkpoint> checkpoints = new HashMap<>();
+        try (Statement stmt = mysqlConn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT table_name, last_id, rows_copied, completed FROM " + CHECKPOINT_TABLE)) {
+            while (rs.next()) {
+                checkpoints.put(rs.getString("table_name"),
+                        new Checkpoint(rs.getLong("last_id"), rs.getLong("rows_copied"), rs.getBoolean("completed")));
+            }
+        }
+        return checkpoints;
+    }
+    
+    /**
+     * Avance le point de reprise d'une table (sans valider : le commit est celui du lot).
+     */
+    private static void saveCheckpoint(Connection mysqlConn, String tableName, long lastId,
+                                       long rowsCopied, boolean completed) throws SQLException {
+        String sql = """
+            INSERT INTO migration_checkpoint (table_name, last_id, rows_copied, completed)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE last_id = GREATEST(last_id, VALUES(last_id)),
+                                    rows_copied = rows_copied + VALUES(rows_copied),
+                                    completed = VALUES(completed)
+        """;
+        try (PreparedStatement stmt = mysqlConn.prepareStatement(sql)) {
+            stmt.setString(1, tableName);
+            stmt.setLong(2, lastId);
+            stmt.setLong(3, rowsCopied);
+            stmt.setBoolean(4, completed);
+            stmt.executeUpdate();
+        }
+    }
+    
+    // ==================== Vérification par sommes de contrôle ====================
+    
+    /**
+     * Compare chaque table par plages d'ids : une somme de contrôle (CRC32 des valeurs
+     * normalisées, dans l'ordre des ids) et un nombre de lignes par plage, calculés en
+     * parallèle côté SQLite et côté MySQL. Les plages divergentes peuvent être recopiées
+     * seules, puis sont vérifiées à nouveau.
+     * 
+     * @return true si aucune divergence ne subsiste
+     */
+    private static boolean verifyIntegrity(ExecutorService executor, int batchSize, boolean repair) throws Exception {
+        logger.info("Vérification de l'intégrité des données (sommes de contrôle par plages de "
+                + DEFAULT_CHECKSUM_RANGE + " ids)...");
+        
+        Map<String, List<Long>> divergences = findMismatchedRanges(executor, allTables());
+        if (divergences.isEmpty()) {
+            logger.info("✓ Toutes les tables sont identiques");
+            return true;
+        }
+        if (!repair) {
+            return false;
+        }
+        
+        // Recopier les plages divergentes (niveaux de dépendance respectés), puis revérifier
+        for (String[] level : MIGRATION_LEVELS) {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (String table : level) {
+                List<Long> ranges = divergences.get(table);
+                if (ranges != null) {
+                    futures.add(executor.submit(() -> repairRanges(table, ranges, batchSize)));
+                }
+            }
+            awaitAll(futures);
+        }
+        
+        Map<String, List<Long>> restantes = findMismatchedRanges(executor, divergences.keySet().toArray(new String[0]));
+        if (restantes.isEmpty()) {
+            logger.info("✓ Plages divergentes recopiées, toutes les tables sont identiques");
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Calcule les sommes de contrôle des deux côtés et retourne, par table,
+     * le début des plages d'ids divergentes.
+     */
+    private static Map<String, List<Long>> findMismatchedRanges(ExecutorService executor, String[] tables) throws Exception {
+        Map<String, Future<Map<Long, RangeChecksum>>> sources = new LinkedHashMap<>();
+        Map<String, Future<Map<Long, RangeChecksum>>> cibles = new LinkedHashMap<>();
+        
+        for (String table : tables) {
+            TableMapping mapping;
+            try (Connection sqliteConn = openSqlite();
+                 Connection mysqlConn = openMySql()) {
+                mapping = TableMapping.of(sqliteConn, mysqlConn, table);
+            }
+            sources.put(table, executor.submit(() -> {
+                try (Connection conn = openSqlite()) {
+                    return computeChecksums(conn, mapping, false);
+                }
+            }));
+            cibles.put(table, executor.submit(() -> {
+                try (Connection conn = openMySql()) {
+                    return computeChecksums(conn, mapping, true);
+                }
+            }));
+        }
+        
+        Map<String, List<Long>> divergences = new LinkedHashMap<>();
+        for (String table : tables) {
+            Map<Long, RangeChecksum> source = await(sources.get(table));
+            Map<Long, RangeChecksum> cible = await(cibles.get(table));
             
-            // Table des préférences utilisateur
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS user_preferences (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT UNIQUE NOT NULL,
-                    theme VARCHAR(50) DEFAULT 'dark',
-                    language VARCHAR(10) DEFAULT 'fr',
-                    sidebar_collapsed TINYINT(1) DEFAULT 0,
-                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_user_preferences_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
+            Set<Long> plages = new TreeSet<>(source.keySet());
+            plages.addAll(cible.keySet());
+            List<Long> differentes = new ArrayList<>();
+            long lignesSource = 0;
+            long lignesCible = 0;
+            for (Long plage : plages) {
+                RangeChecksum s = source.get(plage);
+                RangeChecksum c = cible.get(plage);
+                lignesSource += s != null ? s.count : 0;
+                lignesCible += c != null ? c.count : 0;
+                if (s == null || c == null || !s.matches(c)) {
+                    differentes.add(plage);
+                }
+            }
             
+            if (differentes.isEmpty()) {
+                logger.info(String.format("✓ Table '%s': %d lignes, %d plages identiques", table, lignesCible, plages.size()));
+            } else {
+                logger.warning(String.format("✗ Table '%s': SQLite=%d, MySQL=%d lignes, %d plage(s) divergente(s) à partir des ids %s",
+                        table, lignesSource, lignesCible, differentes.size(), differentes));
+                divergences.put(table, differentes);
+            }
         }
+        return divergences;
     }
     
     /**
-     * Vérifie si MySQL contient déjà des données.
+     * Parcourt une table dans l'ordre des ids et calcule nombre de lignes et CRC32
+     * pour chaque plage de {@link #DEFAULT_CHECKSUM_RANGE} ids.
      */
-    private static boolean hasData(Connection mysqlConn) throws SQLException {
-        // Vérifier plusieurs tables pour être sûr qu'il y a des données
-        String[] checkTables = {"utilisateurs", "adherents", "packs"};
-        int totalRows = 0;
+    private static Map<Long, RangeChecksum> computeChecksums(Connection conn, TableMapping mapping, boolean mysql) throws SQLException {
+        Map<Long, RangeChecksum> checksums = new TreeMap<>();
+        String sql = "SELECT " + mapping.columnList() + " FROM " + mapping.tableName + " ORDER BY id";
         
-        for (String table : checkTables) {
+        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL: lecture en flux ligne par ligne au lieu de charger tout le résultat
+            stmt.setFetchSize(mysql ? Integer.MIN_VALUE : DEFAULT_BATCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    long id = rs.getLong(mapping.idIndex);
+                    long plage = Math.floorDiv(id, DEFAULT_CHECKSUM_RANGE) * DEFAULT_CHECKSUM_RANGE;
+                    checksums.computeIfAbsent(plage, p -> new RangeChecksum()).update(mapping.canonicalRow(rs));
+                }
+            }
+        }
+        return checksums;
+    }
+    
+    /**
+     * Recopie des plages d'ids depuis SQLite : les lignes source sont insérées ou mises
+     * à jour, les lignes MySQL absentes de la source sont supprimées.
+     */
+    private static long repairRanges(String tableName, List<Long> ranges, int batchSize) throws SQLException {
+        long rows = 0;
+        try (Connection sqliteConn = openSqlite();
+             Connection mysqlConn = openMySql()) {
+            for (long debut : ranges) {
+                long fin = debut + DEFAULT_CHECKSUM_RANGE;
+                rows += copyRows(sqliteConn, mysqlConn, tableName, debut - 1, fin, batchSize, true, false);
+                deleteExtraRows(sqliteConn, mysqlConn, tableName, debut, fin);
+                mysqlConn.commit();
+            }
+        }
+        logger.info(String.format("Table '%s': %d plage(s) recopiée(s) (%d lignes)", tableName, ranges.size(), rows));
+        return rows;
+    }
+    
+    private static void deleteExtraRows(Connection sqliteConn, Connection mysqlConn, String tableName,
+                                        long debut, long fin) throws SQLException {
+        Set<Long> idsSource = readIds(sqliteConn, tableName, debut, fin);
+        Set<Long> idsCible = readIds(mysqlConn, tableName, debut, fin);
+        idsCible.removeAll(idsSource);
+        if (idsCible.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement delete = mysqlConn.prepareStatement("DELETE FROM " + tableName + " WHERE id = ?")) {
+            for (Long id : idsCible) {
+                delete.setLong(1, id);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+        }
+        logger.info(String.format("Table '%s': %d ligne(s) absente(s) de SQLite supprimée(s)", tableName, idsCible.size()));
+    }
+    
+    private static Set<Long> readIds(Connection conn, String tableName, long debut, long fin) throws SQLException {
+        Set<Long> ids = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM " + tableName + " WHERE id >= ? AND id < ?")) {
+            stmt.setLong(1, debut);
+            stmt.setLong(2, fin);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+    
+    // ==================== Conversion des valeurs ====================
+    
+    /**
+     * Convertit une valeur lue (SQLite à typage dynamique, ou MySQL) vers la valeur Java
+     * correspondant au type de la colonne MySQL de destination. La même conversion sert
+     * à l'écriture et au calcul des sommes de contrôle, des deux côtés.
+     */
+    private static Object toTargetValue(Object value, ColumnInfo column) {
+        if (value == null) {
+            return null;
+        }
+        switch (column.sqlType) {
+            case Types.DATE -> {
+                if (value instanceof Number millis) {
+                    return new java.sql.Date(millis.longValue()).toLocalDate();
+                } else if (value instanceof java.sql.Date date) {
+                    return date.toLocalDate();
+                } else if (value instanceof LocalDate date) {
+                    return date;
+                }
+                return DateUtils.parseDate(value.toString());
+            }
+            case Types.TIMESTAMP -> {
+                LocalDateTime dateTime;
+                if (value instanceof Number millis) {
+                    dateTime = new Timestamp(millis.longValue()).toLocalDateTime();
+                } else if (value instanceof Timestamp timestamp) {
+                    dateTime = timestamp.toLocalDateTime();
+                } else if (value instanceof LocalDateTime localDateTime) {
+                    dateTime = localDateTime;
+                } else {
+                    dateTime = DateUtils.parseDateTime(value.toString());
+                }
+                // Les colonnes TIMESTAMP MySQL sont à la seconde
+                return dateTime != null ? dateTime.truncatedTo(ChronoUnit.SECONDS) : null;
+            }
+            case Types.TIME -> {
+                if (value instanceof Time time) {
+                    return time.toLocalTime();
+                } else if (value instanceof LocalTime time) {
+                    return time;
+                }
+                return LocalTime.parse(value.toString().trim());
+            }
+            case Types.BIT, Types.BOOLEAN, Types.TINYINT -> {
+                if (value instanceof Boolean bool) {
+                    return bool ? 1 : 0;
+                } else if (value instanceof Number number) {
+                    return number.intValue();
+                }
+                String text = value.toString().trim();
+                return text.equalsIgnoreCase("true") || text.equals("1") ? 1 : 0;
+            }
+            case Types.INTEGER, Types.SMALLINT, Types.BIGINT -> {
+                if (value instanceof Number number) {
+                    return number.longValue();
+                }
+                return Long.parseLong(value.toString().trim());
+            }
+            case Types.DECIMAL, Types.NUMERIC -> {
+                BigDecimal decimal = value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString().trim());
+                return decimal.setScale(column.scale, RoundingMode.HALF_UP);
+            }
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> {
+                if (value instanceof Number number) {
+                    return number.doubleValue();
+                }
+                return Double.parseDouble(value.toString().trim());
+            }
+            default -> {
+                if (value instanceof byte[] bytes) {
+                    return bytes;
+                }
+                return value.toString();
+            }
+        }
+    }
+    
+    /**
+     * Lie une valeur convertie par {@link #toTargetValue(Object, ColumnInfo)}.
+     */
+    private static void bindValue(PreparedStatement stmt, int index, Object value, ColumnInfo column) throws SQLException {
+        if (value == null) {
+            stmt.setNull(index, column.sqlType);
+        } else if (value instanceof LocalDate date) {
+            stmt.setDate(index, java.sql.Date.valueOf(date));
+        } else if (value instanceof LocalDateTime dateTime) {
+            stmt.setTimestamp(index, Timestamp.valueOf(dateTime));
+        } else if (value instanceof LocalTime time) {
+            stmt.setTime(index, Time.valueOf(time));
+        } else if (value instanceof Integer number) {
+            stmt.setInt(index, number);
+        } else if (value instanceof Long number) {
+            stmt.setLong(index, number);
+        } else if (value instanceof BigDecimal decimal) {
+            stmt.setBigDecimal(index, decimal);
+        } else if (value instanceof Double number) {
+            stmt.setDouble(index, number);
+        } else if (value instanceof byte[] bytes) {
+            stmt.setBytes(index, bytes);
+        } else {
+            stmt.setString(index, value.toString());
+        }
+    }
+    
+    /**
+     * Représentation canonique d'une valeur convertie, identique quelle que soit la base lue.
+     */
+    private static String canonical(Object value) {
+        if (value == null) {
+            return "\u0000";
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        } else if (value instanceof byte[] bytes) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        return value.toString();
+    }
+    
+    /**
+     * Colonnes des tables MySQL (nom en minuscules) : type JDBC et échelle.
+     */
+    private static Map<String, ColumnInfo> getTargetColumns(Connection mysqlConn, String tableName) throws SQLException {
+        Map<String, ColumnInfo> columns = new HashMap<>();
+        try (ResultSet rs = mysqlConn.getMetaData().getColumns(mysqlConn.getCatalog(), null, tableName, null)) {
+            while (rs.next()) {
+                columns.put(rs.getString("COLUMN_NAME").toLowerCase(),
+                        new ColumnInfo(rs.getInt("DATA_TYPE"), rs.getInt("DECIMAL_DIGITS")));
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new SQLException("Table MySQL introuvable: " + tableName);
+        }
+        return columns;
+    }
+    
+    // ==================== Connexions et exécution ====================
+    
+    private static void loadDrivers() throws ClassNotFoundException {
+        Class.forName("org.sqlite.JDBC");
+        Class.forName("com.mysql.cj.jdbc.Driver");
+    }
+    
+    /**
+     * Ouvre une connexion à la base SQLite source.
+     */
+    private static Connection openSqlite() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + SQLITE_DB_PATH);
+    }
+    
+    /**
+     * Ouvre une connexion transactionnelle à la base MySQL de destination.
+     * rewriteBatchedStatements envoie chaque lot en un seul INSERT multi-lignes.
+     */
+    private static Connection openMySql() throws SQLException {
+        Connection conn = DriverManager.getConnection(mysqlUrl(), MYSQL_USER, MYSQL_PASSWORD);
+        conn.setAutoCommit(false);
+        return conn;
+    }
+    
+    private static String mysqlUrl() {
+        return String.format("jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true",
+                MYSQL_HOST, MYSQL_PORT, MYSQL_DB);
+    }
+    
+    private static ExecutorService newExecutor(int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "sqlite-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    private static String[] allTables() {
+        return Arrays.stream(MIGRATION_LEVELS).flatMap(Arrays::stream).toArray(String[]::new);
+    }
+    
+    /**
+     * Attend toutes les tâches d'un niveau ; à la première erreur, annule les autres et la propage.
+     */
+    private static long awaitAll(List<Future<Long>> futures) throws Exception {
+        long total = 0;
+        for (Future<Long> future : futures) {
             try {
-                String sql = "SELECT COUNT(*) as count FROM " + table;
-                try (Statement stmt = mysqlConn.createStatement();
-                     ResultSet rs = stmt.executeQuery(sql)) {
-                    if (rs.next()) {
-                        totalRows += rs.getInt("count");
+                total += await(future);
+            } catch (Exception e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e;
+            }
+        }
+        return total;
+    }
+    
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+    
+    // ==================== Structures internes ====================
+    
+    /**
+     * Point de reprise d'une table
+     */
+    private static final class Checkpoint {
+        private final long lastId;
+        private final long rowsCopied;
+        private final boolean completed;
+        
+        private Checkpoint(long lastId, long rowsCopied, boolean completed) {
+            this.lastId = lastId;
+            this.rowsCopied = rowsCopied;
+            this.completed = completed;
+        }
+    }
+    
+    /**
+     * Type JDBC et échelle d'une colonne MySQL
+     */
+    private static final class ColumnInfo {
+        private final int sqlType;
+        private final int scale;
+        
+        private ColumnInfo(int sqlType, int scale) {
+            this.sqlType = sqlType;
+            this.scale = scale;
+        }
+    }
+    
+    /**
+     * Colonnes communes à la table SQLite et à la table MySQL, dans l'ordre de la source.
+     * Les requêtes de lecture sélectionnent explicitement ces colonnes des deux côtés.
+     */
+    private static final class TableMapping {
+        private final String tableName;
+        private final List<String> columns;
+        private final List<ColumnInfo> infos;
+        private final int idIndex;
+        
+        private TableMapping(String tableName, List<String> columns, List<ColumnInfo> infos) throws SQLException {
+            this.tableName = tableName;
+            this.columns = columns;
+            this.infos = infos;
+            int index = columns.indexOf("id");
+            if (index < 0) {
+                throw new SQLException("Table '" + tableName + "' sans colonne id: reprise et vérification impossibles");
+            }
+            this.idIndex = index + 1;
+        }
+        
+        static TableMapping of(Connection sqliteConn, Connection mysqlConn, String tableName) throws SQLException {
+            Map<String, ColumnInfo> targetColumns = getTargetColumns(mysqlConn, tableName);
+            List<String> columns = new ArrayList<>();
+            List<ColumnInfo> infos = new ArrayList<>();
+            
+            try (Statement stmt = sqliteConn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName + " WHERE 1 = 0")) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    String column = metaData.getColumnName(i).toLowerCase();
+                    ColumnInfo info = targetColumns.get(column);
+                    if (info == null) {
+                        logger.warning(String.format("Table '%s': colonne '%s' absente de MySQL, ignorée", tableName, column));
+                        continue;
                     }
+                    columns.add(column);
+                    infos.add(info);
                 }
-            } catch (SQLException e) {
-                // Si la table n'existe pas encore, on ignore et on continue
-                logger.fine("Table '" + table + "' non trouvée, ignorée");
             }
+            return new TableMapping(tableName, columns, infos);
         }
         
-        // Si au moins une table a des données, on considère que la migration n'est pas nécessaire
-        return totalRows > 0;
+        String columnList() {
+            StringBuilder list = new StringBuilder();
+            for (String column : columns) {
+                if (list.length() > 0) {
+                    list.append(", ");
+                }
+                list.append('`').append(column).append('`');
+            }
+            return list.toString();
+        }
+        
+        String insertSql(boolean upsert) {
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+                    .append(" (").append(columnList()).append(") VALUES (")
+                    .append(String.join(", ", Collections.nCopies(columns.size(), "?"))).append(")");
+            if (upsert) {
+                sql.append(" ON DUPLICATE KEY UPDATE ");
+                boolean premiere = true;
+                for (String column : columns) {
+                    if (column.equals("id")) {
+                        continue;
+                    }
+                    if (!premiere) {
+                        sql.append(", ");
+                    }
+                    sql.append('`').append(column).append("` = VALUES(`").append(column).append("`)");
+                    premiere = false;
+                }
+            }
+            return sql.toString();
+        }
+        
+        void bind(PreparedStatement insert, ResultSet rs) throws SQLException {
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnInfo info = infos.get(i);
+                bindValue(insert, i + 1, toTargetValue(rs.getObject(i + 1), info), info);
+            }
+        }
+        
+        String canonicalRow(ResultSet rs) throws SQLException {
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < columns.size(); i++) {
+                row.append(canonical(toTargetValue(rs.getObject(i + 1), infos.get(i)))).append('\u001F');
+            }
+            return row.toString();
+        }
     }
     
     /**
-     * Vérifie l'intégrité des données après migration.
+     * Somme de contrôle glissante d'une plage d'ids : nombre de lignes et CRC32
+     * des lignes dans l'ordre des ids
      */
-    private static void verifyIntegrity(Connection sqliteConn, Connection mysqlConn) throws SQLException {
-        String[] tables = {"utilisateurs", "packs", "adherents", "paiements"};
+    private static final class RangeChecksum {
+        private final CRC32 crc = new CRC32();
+        private long count;
         
-        logger.info("Vérification de l'intégrité des données...");
+        void update(String canonicalRow) {
+            crc.update(canonicalRow.getBytes(StandardCharsets.UTF_8));
+            count++;
+        }
         
+        boolean matches(RangeChecksum other) {
+            return count == other.count && crc.getValue() == other.crc.getValue();
+        }
+    }
+    
+    /**
+     * Crée ou met à jour le schéma MySQL avec les migrations versionnées de l'application
+     * ({@link SchemaMigrator}, comme au démarrage) : schema_version reflète ainsi le schéma
+     * créé et l'application ne rejoue pas les scripts sur la base migrée.
+     */
+    private static void migrateSchema() throws SQLException {
+        ConnectionPool dataSource = new ConnectionPool(mysqlUrl(), MYSQL_USER, MYSQL_PASSWORD,
+                1, 0, 30_000, 60_000, 0);
+        try {
+            new SchemaMigrator(dataSource, DatabaseBackend.MYSQL.getMigrationsLocation()).migrate();
+        } finally {
+            dataSource.shutdown();
+        }
+    }
+    
+    /**
+     * Retourne les tables vides ou inexistantes parmi celles données.
+     */
+    private static List<String> emptyTables(Connection mysqlConn, String... tables) throws SQLException {
+        List<String> vides = new ArrayList<>();
         for (String table : tables) {
-            int sqliteCount = getRowCount(sqliteConn, table);
-            int mysqlCount = getRowCount(mysqlConn, table);
-            
-            if (sqliteCount == mysqlCount) {
-                logger.info(String.format("✓ Table '%s': %d lignes (OK)", table, mysqlCount));
-            } else {
-                logger.warning(String.format("✗ Table '%s': SQLite=%d, MySQL=%d (DIFFÉRENCE)", 
-                        table, sqliteCount, mysqlCount));
+            try (Statement stmt = mysqlConn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1 FROM " + table + " LIMIT 1")) {
+                if (!rs.next()) {
+                    vides.add(table);
+                }
+            } catch (SQLException e) {
+                // La table n'existe pas encore : elle sera créée par les migrations
+                vides.add(table);
             }
         }
+        return vides;
     }
     
     /**
-     * Compte les lignes d'une table.
+     * Supprime les données de référence insérées par les migrations (003) dans les tables
+     * qui étaient vides : elles sont remplacées par celles de SQLite, avec leurs ids.
      */
-    private static int getRowCount(Connection conn, String tableName) throws SQLException {
-        String sql = "SELECT COUNT(*) as count FROM " + tableName;
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt("count");
+    private static void removeSeedData(Connection mysqlConn, List<String> tables) throws SQLException {
+        try (Statement stmt = mysqlConn.createStatement()) {
+            for (String table : tables) {
+                int lignes = stmt.executeUpdate("DELETE FROM " + table);
+                if (lignes > 0) {
+                    logger.info(String.format("Table '%s': %d lignes de référence retirées avant la copie", table, lignes));
+                }
             }
         }
-        return 0;
     }
     
     /**
-     * Ferme une connexion de manière sécurisée.
+     * Vérifie si MySQL contient déjà des données.
      */
-    private static void closeConnection(Connection conn) {
-        if (conn != null) {
+    private static boolean hasData(Connection mysqlConn) throws SQLException {
+        // Vérifier plusieurs tables pour être sûr qu'il y a des données
+        String[] checkTables = {"utilisateurs", "adherents", "packs"};
+        int totalRows = 0;
+        
+        for (String table : checkTables) {
             try {
-                conn.close();
+                String sql = "SELECT COUNT(*) as count FROM " + table;
+                try (Statement stmt = mysqlConn.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
+                    if (rs.next()) {
+                        totalRows += rs.getInt("count");
+                    }
+                }
             } catch (SQLException e) {
-                logger.warning("Erreur lors de la fermeture de la connexion: " + e.getMessage());
+                // Si la table n'existe pas encore, on ignore et on continue
+                logger.fine("Table '" + table + "' non trouvée, ignorée");
             }
         }
+        
+        // Si au moins une table a des données, on considère que la migration n'est pas nécessaire
+        return totalRows > 0;
     }
     
     /**
@@ -503,6 +959,18 @@ public class DataMigrationTool {
         return migrate(false);
     }
     
+    /**
+     * Recalcule l'agrégat mensuel des revenus MySQL depuis les paiements copiés
+     * (la copie écrit les paiements sans passer par PaiementDAO).
+     */
+    private static void rebuildRevenueMonthly() throws SQLException {
+        try (Connection mysqlConn = openMySql()) {
+            int lignes = RevenueMonthlyDAO.rebuild(mysqlConn, new MySqlDialect());
+            mysqlConn.commit();
+            logger.info("Agrégat mensuel des revenus recalculé: " + lignes + " lignes");
+        }
+    }
+    
     /**
      * Vide toutes les tables MySQL.
      */
@@ -513,9 +981,10 @@ public class DataMigrationTool {
             
             // Vider toutes les tables dans l'ordre inverse des dépendances
             String[] tables = {
+                CHECKPOINT_TABLE,
                 "user_preferences", "activities", "notifications",
                 "equipements", "reservations_cours", "cours_collectifs",
-                "paiements", "adherents", "objectifs",
+                "revenue_monthly", "paiements", "adherents", "objectifs",
                 "packs", "utilisateurs"
             };
             
@@ -540,14 +1009,34 @@ public class DataMigrationTool {
     public static void main(String[] args) {
         logger.info("=== Démarrage de la migration SQLite -> MySQL ===");
         
-        // Vérifier si l'option --force est passée
-        boolean force = args.length > 0 && (args[0].equals("--force") || args[0].equals("-f"));
+        // Options: --force/-f, --batch-size=N, --threads=N, --verify (comparaison + réparation seules)
+        boolean force = false;
+        boolean verifyOnly = false;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        int parallelism = DEFAULT_PARALLELISM;
+        for (String arg : args) {
+            if (arg.equals("--force") || arg.equals("-f")) {
+                force = true;
+            } else if (arg.startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(arg.substring("--batch-size=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                parallelism = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.equals("--verify")) {
+                verifyOnly = true;
+            }
+        }
+        
+        if (verifyOnly) {
+            boolean identiques = verify(true);
+            logger.info(identiques ? "=== Bases identiques ===" : "=== Divergences restantes ===");
+            System.exit(identiques ? 0 : 1);
+        }
         
         if (force) {
             logger.info("Mode FORCE activé : les tables MySQL seront vidées avant la migration");
         }
         
-        boolean success = migrate(force);
+        boolean success = migrate(force, batchSize, parallelism);
         
         if (success) {
             logger.info("=== Migration terminée avec succès ===");
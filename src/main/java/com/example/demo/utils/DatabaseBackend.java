@@ -0,0 +1,67 @@
+package com.example.demo.utils;
+
+import java.util.Locale;
+
+/**
+ * Moteurs de base de données supportés par {@link DatabaseManager}.
+ *
+ * <p>Le moteur est choisi au démarrage par la propriété système {@code gym.db.backend}
+ * (ou la variable d'environnement {@code GYM_DB_BACKEND}) :
+ * <ul>
+ *   <li>{@code mysql} (par défaut) - serveur MySQL XAMPP, pour une installation multi-postes</li>
+ *   <li>{@code sqlite} - fichier local embarqué ({@code gym.db.path}), sans serveur : poste unique,
+ *       démarrage rapide, benchmarks et tests sur une machine sans MySQL</li>
+ * </ul>
+ * Chaque moteur a son dialecte SQL et son propre jeu de scripts de migration
+ * (mêmes numéros de version).</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see SqlDialect
+ */
+public enum DatabaseBackend {
+    MYSQL("com.mysql.cj.jdbc.Driver", "/db/migrations/", new MySqlDialect()),
+    SQLITE("org.sqlite.JDBC", "/db/migrations/sqlite/", new SqliteDialect());
+
+    /** Propriété système de sélection du moteur */
+    public static final String BACKEND_PROPERTY = "gym.db.backend";
+
+    private final String driverClass;
+    private final String migrationsLocation;
+    private final SqlDialect dialect;
+
+    DatabaseBackend(String driverClass, String migrationsLocation, SqlDialect dialect) {
+        this.driverClass = driverClass;
+        this.migrationsLocation = migrationsLocation;
+        this.dialect = dialect;
+    }
+
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    /** Dossier (classpath) des scripts de migration de ce moteur */
+    public String getMigrationsLocation() {
+        return migrationsLocation;
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Moteur configuré par {@code -Dgym.db.backend} ou {@code GYM_DB_BACKEND} (MySQL par défaut)
+     */
+    public static DatabaseBackend fromConfiguration() {
+        String valeur = System.getProperty(BACKEND_PROPERTY, System.getenv("GYM_DB_BACKEND"));
+        if (valeur == null || valeur.isBlank()) {
+            return MYSQL;
+        }
+        try {
+            return valueOf(valeur.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Moteur de base de données inconnu: " + valeur
+                    + " (valeurs possibles: mysql, sqlite)", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.utils;
 
+import com.example.demo.dao.RevenueMonthlyDAO;
+
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -8,32 +10,43 @@ import java.sql.Statement;
 import java.util.logging.Logger;
 
 /**
- * Gestionnaire de connexion à la base de données MySQL
+ * Gestionnaire de connexion à la base de données MySQL ou SQLite embarquée
  * Implémentation du pattern Singleton
+ * 
+ * @see DatabaseBackend
  */
 public class DatabaseManager {
     private static final Logger logger = Logger.getLogger(DatabaseManager.class.getName());
     private static DatabaseManager instance;
-    private Connection connection;
+    private ConnectionPool pool;
+    private final DatabaseBackend backend = DatabaseBackend.fromConfiguration();
     
-    // Configuration MySQL par défaut (XAMPP)
-    private static final String DB_HOST = "localhost";
-    private static final String DB_PORT = "3306";
-    private static final String DB_NAME = "gym_management";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "";
+    // Configuration MySQL (XAMPP par défaut, surchargeable par -Dgym.db.host, -Dgym.db.port, ...)
+    private static final String DB_HOST = System.getProperty("gym.db.host", "localhost");
+    private static final String DB_PORT = System.getProperty("gym.db.port", "3306");
+    private static final String DB_NAME = System.getProperty("gym.db.name", "gym_management");
+    private static final String DB_USER = System.getProperty("gym.db.user", "root");
+    private static final String DB_PASSWORD = System.getProperty("gym.db.password", "");
+    
+    // Configuration SQLite embarquée (fichier créé au premier lancement)
+    private static final String SQLITE_PATH = System.getProperty("gym.db.path", "data/gym_local.db");
+    private static final int SQLITE_BUSY_TIMEOUT_MS = 5_000;
+    
+    // Configuration du pool de connexions
+    private static final int POOL_MAX_SIZE = 10;
+    private static final int POOL_MIN_IDLE = 2;
+    // SQLite n'a qu'un écrivain à la fois : quelques connexions suffisent aux lectures concurrentes
+    private static final int SQLITE_POOL_MAX_SIZE = 4;
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long POOL_LEAK_THRESHOLD_MS = 30_000;
+    
+    /**
+     * Nombre de lignes par lot pour les insertions groupées (createAll des DAO).
+     * Avec rewriteBatchedStatements, chaque lot est envoyé en un seul INSERT multi-lignes.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
     
-    // Charger le driver MySQL au chargement de la classe
-    static {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            logger.info("Driver MySQL chargé avec succès");
-        } catch (ClassNotFoundException e) {
-            logger.severe("ERREUR: Driver MySQL non trouvé. Vérifiez que la dépendance mysql-connector-j est dans pom.xml");
-            e.printStackTrace();
-        }
-    }
-
     private DatabaseManager() {
         // Constructeur privé pour le pattern Singleton
     }
@@ -46,10 +59,32 @@ public class DatabaseManager {
     }
 
     /**
-     * Obtient l'URL de connexion MySQL
+     * Moteur de base de données utilisé
+     */
+    public DatabaseBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Dialecte SQL du moteur utilisé, pour les fonctions qui diffèrent entre MySQL et SQLite
+     */
+    public SqlDialect getDialect() {
+        return backend.getDialect();
+    }
+
+    /**
+     * Obtient l'URL de connexion du moteur configuré
      */
     private String getDatabaseUrl() {
-        return String.format("jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
+        if (backend == DatabaseBackend.SQLITE) {
+            // WAL: lectures concurrentes pendant une écriture ; dates stockées en texte ISO
+            // (comparables comme chaînes, même format que DATE('now') et CURRENT_TIMESTAMP)
+            return "jdbc:sqlite:" + SQLITE_PATH
+                    + "?journal_mode=WAL&foreign_keys=true&busy_timeout=" + SQLITE_BUSY_TIMEOUT_MS
+                    + "&date_class=TEXT&date_string_format=yyyy-MM-dd HH:mm:ss";
+        }
+        // rewriteBatchedStatements: les lots d'INSERT (addBatch) sont réécrits en INSERT multi-lignes
+        return String.format("jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true",
                 DB_HOST, DB_PORT, DB_NAME);
     }
     
@@ -57,6 +92,15 @@ public class DatabaseManager {
      * Crée la base de données si elle n'existe pas
      */
     private void createDatabaseIfNotExists() throws SQLException {
+        if (backend == DatabaseBackend.SQLITE) {
+            // Le fichier est créé par le driver ; seul son dossier doit exister
+            File dossier = new File(SQLITE_PATH).getAbsoluteFile().getParentFile();
+            if (dossier != null && !dossier.isDirectory() && !dossier.mkdirs()) {
+                throw new SQLException("Impossible de créer le dossier de la base embarquée: " + dossier);
+            }
+            return;
+        }
+
         // Se connecter sans spécifier la base de données
         String urlWithoutDb = String.format("jdbc:mysql://%s:%s/?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true",
                 DB_HOST, DB_PORT);
@@ -71,259 +115,81 @@ public class DatabaseManager {
     }
 
     /**
-     * Obtient une connexion à la base de données MySQL
+     * Obtient une connexion à la base de données depuis le pool.
+     *
+     * <p>La connexion doit être fermée (try-with-resources) : sa fermeture la rend
+     * au pool au lieu de couper la connexion physique.</p>
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Retourne le pool de connexions, créé au premier appel
+     */
+    public synchronized ConnectionPool getDataSource() throws SQLException {
+        if (pool == null) {
             try {
                 // Charger le driver explicitement
                 try {
-                    Class.forName("com.mysql.cj.jdbc.Driver");
+                    Class.forName(backend.getDriverClass());
                 } catch (ClassNotFoundException e) {
-                    logger.severe("Driver MySQL non trouvé. Vérifiez que mysql-connector-j est dans le classpath.");
-                    throw new SQLException("Driver MySQL non trouvé. Ajoutez la dépendance dans pom.xml", e);
+                    logger.severe("Driver " + backend + " non trouvé: " + backend.getDriverClass());
+                    throw new SQLException("Driver " + backend + " non trouvé. Ajoutez la dépendance dans pom.xml", e);
                 }
                 
-                // Créer la base de données si elle n'existe pas
+                // Créer la base de données si elle n'existe pas (une seule fois par lancement)
                 createDatabaseIfNotExists();
                 
                 String dbUrl = getDatabaseUrl();
-                logger.info("Connexion à la base de données MySQL: " + dbUrl);
+                logger.info("Connexion à la base de données " + backend + ": " + dbUrl);
                 
-                connection = DriverManager.getConnection(dbUrl, DB_USER, DB_PASSWORD);
-                // MySQL nécessite une gestion explicite des transactions
-                connection.setAutoCommit(false);
-                logger.info("Connexion à la base de données MySQL établie avec succès");
+                int maxSize = backend == DatabaseBackend.SQLITE ? SQLITE_POOL_MAX_SIZE : POOL_MAX_SIZE;
+                pool = new ConnectionPool(dbUrl, DB_USER, DB_PASSWORD, maxSize, Math.min(POOL_MIN_IDLE, maxSize),
+                        POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS);
+                logger.info("Pool de connexions " + backend + " créé (" + maxSize + " connexions max)");
             } catch (SQLException e) {
-                logger.severe("Erreur lors de la connexion à la base de données MySQL: " + e.getMessage());
-                logger.severe("Vérifiez que XAMPP est démarré et que MySQL est actif sur le port 3306");
+                logger.severe("Erreur lors de la connexion à la base de données " + backend + ": " + e.getMessage());
+                if (backend == DatabaseBackend.MYSQL) {
+                    logger.severe("Vérifiez que XAMPP est démarré et que MySQL est actif sur le port " + DB_PORT);
+                }
                 e.printStackTrace();
                 throw e;
             }
         }
-        return connection;
+        return pool;
     }
 
     /**
-     * Initialise la base de données et crée les tables si elles n'existent pas
+     * Retourne les statistiques du pool de connexions (null si le pool n'est pas encore créé)
      */
-    public void initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // Table des utilisateurs (pour le système de login)
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS utilisateurs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    username VARCHAR(255) NOT NULL UNIQUE,
-                    password VARCHAR(255) NOT NULL,
-                    role VARCHAR(50) NOT NULL DEFAULT 'RECEPTIONNISTE',
-                    nom VARCHAR(255),
-                    prenom VARCHAR(255),
-                    actif TINYINT(1) DEFAULT 1,
-                    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    INDEX idx_username (username)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des packs/abonnements
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS packs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    prix DECIMAL(10,2) NOT NULL,
-                    activites TEXT,
-                    jours_disponibilite VARCHAR(255),
-                    horaires VARCHAR(255),
-                    duree INT NOT NULL,
-                    unite_duree VARCHAR(50) DEFAULT 'MOIS',
-                    seances_semaine INT,
-                    acces_coach TINYINT(1) DEFAULT 0,
-                    actif TINYINT(1) DEFAULT 1,
-                    description TEXT,
-                    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des adhérents
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS adherents (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    cin VARCHAR(50) UNIQUE,
-                    nom VARCHAR(255) NOT NULL,
-                    prenom VARCHAR(255) NOT NULL,
-                    date_naissance DATE,
-                    telephone VARCHAR(50),
-                    email VARCHAR(255),
-                    adresse TEXT,
-                    photo VARCHAR(500),
-                    poids DECIMAL(5,2),
-                    taille DECIMAL(5,2),
-                    objectifs TEXT,
-                    problemes_sante TEXT,
-                    pack_id INT,
-                    date_debut DATE,
-                    date_fin DATE,
-                    actif TINYINT(1) DEFAULT 1,
-                    date_inscription TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_adherents_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
-                    INDEX idx_cin (cin),
-                    INDEX idx_pack_id (pack_id),
-                    INDEX idx_actif (actif)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des paiements
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS paiements (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    adherent_id INT NOT NULL,
-                    pack_id INT,
-                    montant DECIMAL(10,2) NOT NULL,
-                    date_paiement TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    methode_paiement VARCHAR(50) NOT NULL,
-                    statut VARCHAR(50) DEFAULT 'VALIDE',
-                    reference VARCHAR(255),
-                    date_debut_abonnement DATE,
-                    date_fin_abonnement DATE,
-                    notes TEXT,
-                    CONSTRAINT fk_paiements_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
-                    CONSTRAINT fk_paiements_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
-                    INDEX idx_adherent_id (adherent_id),
-                    INDEX idx_date_paiement (date_paiement),
-                    INDEX idx_statut (statut)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des cours collectifs
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS cours_collectifs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    description TEXT,
-                    coach_id INT,
-                    jour_semaine VARCHAR(50),
-                    heure_debut TIME,
-                    heure_fin TIME,
-                    capacite_max INT DEFAULT 20,
-                    actif TINYINT(1) DEFAULT 1,
-                    CONSTRAINT fk_cours_coach FOREIGN KEY (coach_id) REFERENCES utilisateurs(id) ON DELETE SET NULL,
-                    INDEX idx_coach_id (coach_id)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des réservations de cours
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS reservations_cours (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    cours_id INT NOT NULL,
-                    adherent_id INT NOT NULL,
-                    date_reservation DATE NOT NULL,
-                    statut VARCHAR(50) DEFAULT 'CONFIRME',
-                    CONSTRAINT fk_reservations_cours FOREIGN KEY (cours_id) REFERENCES cours_collectifs(id) ON DELETE CASCADE,
-                    CONSTRAINT fk_reservations_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
-                    INDEX idx_cours_id (cours_id),
-                    INDEX idx_adherent_id (adherent_id),
-                    INDEX idx_date_reservation (date_reservation)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des équipements
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS equipements (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    nom VARCHAR(255) NOT NULL,
-                    type VARCHAR(100),
-                    etat VARCHAR(50) DEFAULT 'FONCTIONNEL',
-                    date_achat DATE,
-                    date_maintenance DATE,
-                    notes TEXT
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des notifications
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS notifications (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT,
-                    type VARCHAR(50) NOT NULL,
-                    title VARCHAR(255) NOT NULL,
-                    message TEXT NOT NULL,
-                    `read` TINYINT(1) DEFAULT 0,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id),
-                    INDEX idx_read (`read`),
-                    INDEX idx_created_at (created_at)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des activités
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS activities (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT,
-                    type VARCHAR(50) NOT NULL,
-                    description TEXT NOT NULL,
-                    entity_type VARCHAR(50),
-                    entity_id INT,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_activities_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id),
-                    INDEX idx_type (type),
-                    INDEX idx_created_at (created_at)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des objectifs
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS objectifs (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    type VARCHAR(50) NOT NULL,
-                    valeur DECIMAL(10,2) NOT NULL,
-                    date_debut DATE NOT NULL,
-                    date_fin DATE,
-                    actif TINYINT(1) DEFAULT 1,
-                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                    INDEX idx_type (type),
-                    INDEX idx_actif (actif)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
-
-            // Table des préférences utilisateur
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS user_preferences (
-                    id INT PRIMARY KEY AUTO_INCREMENT,
-                    user_id INT UNIQUE NOT NULL,
-                    theme VARCHAR(50) DEFAULT 'dark',
-                    language VARCHAR(10) DEFAULT 'fr',
-                    sidebar_collapsed TINYINT(1) DEFAULT 0,
-                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                    CONSTRAINT fk_user_preferences_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
-                    INDEX idx_user_id (user_id)
-                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
-            """);
+    public synchronized ConnectionPool.Stats getPoolStats() {
+        return pool != null ? pool.getStats() : null;
+    }
 
-            // Insérer un objectif par défaut pour le taux d'occupation
-            stmt.execute("""
-                INSERT IGNORE INTO objectifs (type, valeur, date_debut, actif)
-                VALUES ('taux_occupation', 80.0, CURDATE(), 1)
-            """);
+    /**
+     * Initialise la base de données en appliquant les migrations en attente.
+     *
+     * <p>Si le schéma est à jour, le coût se limite à une lecture de la table
+     * {@code schema_version}. Les données de test ne sont insérées qu'à la première
+     * installation.</p>
+     *
+     * @see SchemaMigrator
+     */
+    public void initializeDatabase() {
+        try {
+            SchemaMigrator.Result result = new SchemaMigrator(getDataSource(), backend.getMigrationsLocation()).migrate();
 
-            // Créer un utilisateur admin par défaut (username: admin, password: admin)
-            stmt.execute("""
-                INSERT IGNORE INTO utilisateurs (username, password, role, nom, prenom)
-                VALUES ('admin', 'admin', 'ADMIN', 'Administrateur', 'Système')
-            """);
-            
-            // Commit les changements
-            conn.commit();
+            if (result.isFreshInstall()) {
+                try (Connection conn = getConnection();
+                     Statement stmt = conn.createStatement()) {
+                    insertTestData(stmt, conn);
+                }
+                // Compléter jusqu'à 50 adhérents pour les statistiques
+                InsertAdherents.insert50();
+            }
 
             logger.info("Base de données initialisée avec succès");
-
-            // Insérer des données de test
-            insertTestData(stmt, conn);
-
         } catch (SQLException e) {
             logger.severe("Erreur lors de l'initialisation de la base de données: " + e.getMessage());
             e.printStackTrace();
@@ -334,20 +200,6 @@ public class DatabaseManager {
      * Insère des données de test pour le développement
      */
     private void insertTestData(Statement stmt, Connection conn) throws SQLException {
-        // Insérer des packs de test
-        stmt.execute("""
-            INSERT IGNORE INTO packs (nom, prix, activites, jours_disponibilite, horaires, duree, unite_duree, seances_semaine, acces_coach, description)
-            VALUES 
-            ('Pack Tapis + Musculation', 200.0, 'Musculation,Tapis', 'Lundi-Vendredi', 'Matin,Apres-midi', 1, 'MOIS', 5, 0, 'Accès aux machines de musculation et tapis de course'),
-            ('Pack Musculation', 150.0, 'Musculation', 'Lundi-Vendredi', 'Tous', 1, 'MOIS', 7, 0, 'Accès complet à la salle de musculation'),
-            ('Pack Premium All Access', 400.0, 'Musculation,Cardio,Tapis,Cours collectifs,Piscine,Sauna', 'Tous les jours', '24h/24', 1, 'MOIS', -1, 1, 'Accès complet à toutes les installations + coach personnel'),
-            ('Pack Étudiant', 120.0, 'Musculation,Cardio', 'Lundi-Vendredi', 'Matin,Apres-midi', 1, 'MOIS', 5, 0, 'Pack spécial étudiants avec tarif réduit'),
-            ('Pack 3 Mois', 350.0, 'Musculation,Cardio,Tapis', 'Tous les jours', 'Tous', 3, 'MOIS', 7, 0, 'Pack trimestriel avec avantage prix'),
-            ('Pack Annuel', 1200.0, 'Musculation,Cardio,Tapis,Cours collectifs', 'Tous les jours', 'Tous', 12, 'MOIS', -1, 0, 'Pack annuel avec économie importante')
-        """);
-        
-        logger.info("Packs de test insérés");
-
         // Vérifier si des adhérents existent déjà pour éviter les doublons
         try (var rs = stmt.executeQuery("SELECT COUNT(*) as count FROM adherents")) {
             if (rs.next() && rs.getInt("count") > 0) {
@@ -418,67 +270,84 @@ public class DatabaseManager {
             {"AB123495", "Qadiri", "Maryam", "1997-03-29", "0603456790", "maryam.qadiri@email.com", "17 Rue Mohammed V, Casablanca", "56.5", "159.0", "Cardio", "", "1", "65", "1"}
         };
 
-        int adherentIndex = 0;
-        for (String[] data : adherentsData) {
-            adherentIndex++;
-            int packIndex = Integer.parseInt(data[11]) % packIds.size();
-            int packId = packIds.get(packIndex);
-            int joursDepuisDebut = Integer.parseInt(data[12]);
-            java.time.LocalDate dateDebut = aujourdhui.minusDays(joursDepuisDebut);
-            java.time.LocalDate dateFin = dateDebut.plusMonths(1); // Abonnement d'1 mois par défaut
-            
-            // Si l'adhérent est inactif ou que la date est ancienne, marquer comme expiré
-            boolean actif = data[13].equals("1") && dateFin.isAfter(aujourdhui) || dateFin.isEqual(aujourdhui);
-            if (!actif && data[13].equals("1")) {
-                dateFin = aujourdhui.minusDays((int)(Math.random() * 60)); // Expiré il y a 0-60 jours
+        // Prix des packs, lus une seule fois
+        var prixPacks = new java.util.HashMap<Integer, Double>();
+        try (var rs = stmt.executeQuery("SELECT id, prix FROM packs")) {
+            while (rs.next()) {
+                prixPacks.put(rs.getInt("id"), rs.getDouble("prix"));
             }
+        }
 
-            String insertAdherent = String.format("""
-                INSERT INTO adherents (cin, nom, prenom, date_naissance, telephone, email, adresse, 
-                                     poids, taille, objectifs, problemes_sante, pack_id, 
-                                     date_debut, date_fin, actif, date_inscription)
-                VALUES ('%s', '%s', '%s', '%s', '%s', '%s', '%s', 
-                        %s, %s, '%s', '%s', %d, 
-                        '%s', '%s', %d, '%s')
-                """,
-                data[0], data[1], data[2], data[3], data[4], data[5], data[6],
-                data[7], data[8], data[9], data[10], packId,
-                dateDebut.toString(), dateFin.toString(), actif ? 1 : 0, dateDebut.toString()
-            );
-            
-            stmt.execute(insertAdherent);
-            
-            // Récupérer l'ID de l'adhérent inséré
-            int adherentId = 0;
-            try (var rs = stmt.executeQuery("SELECT LAST_INSERT_ID() as id")) {
-                if (rs.next()) {
-                    adherentId = rs.getInt("id");
+        String insertAdherent = """
+            INSERT INTO adherents (cin, nom, prenom, date_naissance, telephone, email, adresse, 
+                                 poids, taille, objectifs, problemes_sante, pack_id, 
+                                 date_debut, date_fin, actif, date_inscription)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+        String insertPaiement = """
+            INSERT INTO paiements (adherent_id, pack_id, montant, date_paiement, methode_paiement, 
+                                 statut, date_debut_abonnement, date_fin_abonnement)
+            VALUES (?, ?, ?, ?, ?, 'VALIDE', ?, ?)
+            """;
+        String[] methodesPaiement = {"ESPECES", "CARTE", "CHEQUE", "VIREMENT"};
+
+        // Adhérents et paiements insérés par lots (un INSERT multi-lignes chacun)
+        try (java.sql.PreparedStatement adherentStmt = conn.prepareStatement(insertAdherent, Statement.RETURN_GENERATED_KEYS);
+             java.sql.PreparedStatement paiementStmt = conn.prepareStatement(insertPaiement)) {
+
+            var packIdsAdherents = new java.util.ArrayList<Integer>();
+            var datesDebut = new java.util.ArrayList<java.time.LocalDate>();
+            var datesFin = new java.util.ArrayList<java.time.LocalDate>();
+
+            for (String[] data : adherentsData) {
+                int packIndex = Integer.parseInt(data[11]) % packIds.size();
+                int packId = packIds.get(packIndex);
+                int joursDepuisDebut = Integer.parseInt(data[12]);
+                java.time.LocalDate dateDebut = aujourdhui.minusDays(joursDepuisDebut);
+                java.time.LocalDate dateFin = dateDebut.plusMonths(1); // Abonnement d'1 mois par défaut
+                
+                // Si l'adhérent est inactif ou que la date est ancienne, marquer comme expiré
+                boolean actif = data[13].equals("1") && dateFin.isAfter(aujourdhui) || dateFin.isEqual(aujourdhui);
+                if (!actif && data[13].equals("1")) {
+                    dateFin = aujourdhui.minusDays((int)(Math.random() * 60)); // Expiré il y a 0-60 jours
+                }
+
+                for (int i = 0; i < 11; i++) {
+                    adherentStmt.setString(i + 1, data[i]);
                 }
+                adherentStmt.setInt(12, packId);
+                adherentStmt.setString(13, dateDebut.toString());
+                adherentStmt.setString(14, dateFin.toString());
+                adherentStmt.setInt(15, actif ? 1 : 0);
+                adherentStmt.setString(16, dateDebut.toString());
+                adherentStmt.addBatch();
+
+                packIdsAdherents.add(packId);
+                datesDebut.add(dateDebut);
+                datesFin.add(dateFin);
             }
-            
-            // Insérer un paiement pour cet adhérent
-            String[] methodesPaiement = {"ESPECE", "CARTE", "CHEQUE", "VIREMENT"};
-            String methode = methodesPaiement[(int)(Math.random() * methodesPaiement.length)];
-            
-            // Récupérer le prix du pack
-            double prixPack = 200.0;
-            try (var rs = stmt.executeQuery("SELECT prix FROM packs WHERE id = " + packId)) {
-                if (rs.next()) {
-                    prixPack = rs.getDouble("prix");
+            adherentStmt.executeBatch();
+
+            // Un paiement par adhérent, avec l'ID généré de l'adhérent
+            try (var keys = adherentStmt.getGeneratedKeys()) {
+                for (int i = 0; i < adherentsData.length && keys.next(); i++) {
+                    int packId = packIdsAdherents.get(i);
+                    paiementStmt.setInt(1, keys.getInt(1));
+                    paiementStmt.setInt(2, packId);
+                    paiementStmt.setDouble(3, prixPacks.getOrDefault(packId, 200.0));
+                    paiementStmt.setTimestamp(4, java.sql.Timestamp.valueOf(datesDebut.get(i).atStartOfDay()));
+                    paiementStmt.setString(5, methodesPaiement[(int)(Math.random() * methodesPaiement.length)]);
+                    paiementStmt.setString(6, datesDebut.get(i).toString());
+                    paiementStmt.setString(7, datesFin.get(i).toString());
+                    paiementStmt.addBatch();
                 }
             }
-            
-            String insertPaiement = String.format("""
-                INSERT INTO paiements (adherent_id, pack_id, montant, date_paiement, methode_paiement, 
-                                     statut, date_debut_abonnement, date_fin_abonnement)
-                VALUES (%d, %d, %.2f, '%s', '%s', 'VALIDE', '%s', '%s')
-                """,
-                adherentId, packId, prixPack, dateDebut.toString(), methode, dateDebut.toString(), dateFin.toString()
-            );
-            
-            stmt.execute(insertPaiement);
+            paiementStmt.executeBatch();
         }
         
+        // Les paiements insérés ici ne passent pas par PaiementDAO : recalculer l'agrégat mensuel
+        RevenueMonthlyDAO.rebuild(conn, getDialect());
+        
         // Commit toutes les insertions
         conn.commit();
 
@@ -486,16 +355,13 @@ public class DatabaseManager {
     }
 
     /**
-     * Ferme la connexion à la base de données
+     * Ferme le pool et toutes les connexions à la base de données
      */
-    public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("Connexion à la base de données fermée");
-            }
-        } catch (SQLException e) {
-            logger.severe("Erreur lors de la fermeture de la connexion: " + e.getMessage());
+    public synchronized void closeConnection() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+            logger.info("Connexion à la base de données fermée");
         }
     }
 }
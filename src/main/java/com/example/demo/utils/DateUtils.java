@@ -2,6 +2,8 @@ package com.example.demo.utils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
@@ -21,6 +23,12 @@ public class DateUtils {
             return null;
         }
         
+        // Chemin rapide : 'yyyy-MM-dd' en tête de chaîne, lu sans formatter ni sous-chaîne
+        LocalDate date = lireDateIso(dateStr);
+        if (date != null) {
+            return date;
+        }
+        
         try {
             // Essayer d'abord le format date seule
             if (dateStr.length() == 10) {
@@ -46,6 +54,18 @@ public class DateUtils {
             return null;
         }
         
+        // Chemin rapide : 'yyyy-MM-dd', 'yyyy-MM-dd HH:mm:ss' ou 'yyyy-MM-ddTHH:mm:ss'
+        LocalDate jour = lireDateIso(dateTimeStr);
+        if (jour != null) {
+            if (dateTimeStr.length() == 10) {
+                return jour.atStartOfDay();
+            }
+            LocalDateTime dateTime = lireHeureIso(jour, dateTimeStr);
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        
         try {
             // Si le format contient un 'T', c'est un format ISO
             if (dateTimeStr.contains("T")) {
@@ -66,8 +86,53 @@ public class DateUtils {
             return date != null ? date.atStartOfDay() : null;
         }
     }
-}
-
 
+    /**
+     * Lit une date 'yyyy-MM-dd' au début de la chaîne, chiffre par chiffre.
+     * Retourne null si la chaîne n'a pas exactement cette forme ou si la date est invalide,
+     * pour laisser le formatter traiter le cas (et son message d'erreur).
+     */
+    private static LocalDate lireDateIso(String s) {
+        if (s.length() < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return null;
+        }
+        int annee = lireNombre(s, 0, 4);
+        int mois = lireNombre(s, 5, 7);
+        int jour = lireNombre(s, 8, 10);
+        if (annee < 1 || mois < 1 || mois > 12 || jour < 1 || jour > 28 && jour > Month.of(mois).length(Year.isLeap(annee))) {
+            return null;
+        }
+        return LocalDate.of(annee, mois, jour);
+    }
 
+    /**
+     * Lit l'heure 'HH:mm:ss' qui suit une date ISO (séparée par un espace ou un 'T')
+     */
+    private static LocalDateTime lireHeureIso(LocalDate date, String s) {
+        if (s.length() != 19 || (s.charAt(10) != ' ' && s.charAt(10) != 'T') || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return null;
+        }
+        int heure = lireNombre(s, 11, 13);
+        int minute = lireNombre(s, 14, 16);
+        int seconde = lireNombre(s, 17, 19);
+        if (heure < 0 || heure > 23 || minute < 0 || minute > 59 || seconde < 0 || seconde > 59) {
+            return null;
+        }
+        return date.atTime(heure, minute, seconde);
+    }
 
+    /**
+     * Entier positif écrit en chiffres ASCII entre debut (inclus) et fin (exclus), -1 sinon
+     */
+    private static int lireNombre(String s, int debut, int fin) {
+        int valeur = 0;
+        for (int i = debut; i < fin; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valeur = valeur * 10 + (c - '0');
+        }
+        return valeur;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.utils;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.property.StringProperty;
+import javafx.util.Duration;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Recherche « au fil de la frappe » d'un champ de recherche.
+ *
+ * <p>Au lieu d'une requête par frappe :</p>
+ * <ul>
+ *   <li>la recherche n'est lancée qu'après {@code delai} sans nouvelle frappe (debounce) ;</li>
+ *   <li>un terme plus court que {@code longueurMin} n'interroge pas la base (un champ vidé
+ *       ou trop court réaffiche la liste complète) ;</li>
+ *   <li>si le nouveau terme contient le précédent et que les résultats affichés sont
+ *       entièrement en mémoire, ils sont filtrés sur place sans requête : tout résultat
+ *       du terme prolongé est forcément un résultat du terme précédent.</li>
+ * </ul>
+ *
+ * <p>L'annulation des recherches dépassées (seule la dernière est publiée) est assurée par
+ * la recherche fournie : {@link LazyTableLoader} ignore les pages d'une source remplacée,
+ * {@code DataLoadService} annule le chargement précédent de même clé.</p>
+ *
+ * <p>Toutes les méthodes s'exécutent sur le thread JavaFX.</p>
+ *
+ * @param <T> Type des résultats
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class DebouncedSearch<T> {
+    private static final Logger logger = Logger.getLogger(DebouncedSearch.class.getName());
+
+    /** Délai sans frappe avant de lancer la recherche */
+    public static final Duration DEFAULT_DELAY = Duration.millis(250);
+
+    /** Longueur minimale d'un terme pour interroger la base */
+    public static final int DEFAULT_MIN_LENGTH = 2;
+
+    private final PauseTransition pause;
+    private final int longueurMin;
+    private final Consumer<String> recherche;
+    private final Runnable listeComplete;
+    private final Supplier<List<T>> resultatsEnMemoire;
+    private final BiPredicate<T, String> correspond;
+    private final Consumer<List<T>> affichage;
+
+    private String termeEnAttente = "";
+    // Terme des résultats affichés (null : liste complète affichée)
+    private String dernierTerme;
+
+    /**
+     * @param recherche Lance la recherche en base pour un terme (déjà normalisé par trim)
+     * @param listeComplete Réaffiche la liste complète (champ vide ou terme trop court)
+     * @param resultatsEnMemoire Résultats affichés s'ils sont complets, null s'ils ne le sont pas
+     *                           (pages restantes, chargement en cours)
+     * @param correspond Même critère que la requête, appliqué à un résultat en mémoire
+     * @param affichage Affiche les résultats filtrés en mémoire
+     */
+    public DebouncedSearch(Consumer<String> recherche, Runnable listeComplete,
+                           Supplier<List<T>> resultatsEnMemoire, BiPredicate<T, String> correspond,
+                           Consumer<List<T>> affichage) {
+        this(DEFAULT_DELAY, DEFAULT_MIN_LENGTH, recherche, listeComplete, resultatsEnMemoire, correspond, affichage);
+    }
+
+    public DebouncedSearch(Duration delai, int longueurMin, Consumer<String> recherche, Runnable listeComplete,
+                           Supplier<List<T>> resultatsEnMemoire, BiPredicate<T, String> correspond,
+                           Consumer<List<T>> affichage) {
+        this.longueurMin = longueurMin;
+        this.recherche = recherche;
+        this.listeComplete = listeComplete;
+        this.resultatsEnMemoire = resultatsEnMemoire;
+        this.correspond = correspond;
+        this.affichage = affichage;
+        this.pause = new PauseTransition(delai);
+        this.pause.setOnFinished(e -> executer(termeEnAttente));
+    }
+
+    /**
+     * Branche la recherche sur le texte d'un champ
+     */
+    public DebouncedSearch<T> bind(StringProperty texte) {
+        texte.addListener((obs, oldVal, newVal) -> submit(newVal));
+        return this;
+    }
+
+    /**
+     * Enregistre une frappe : la recherche part après le délai si aucune autre frappe ne suit
+     */
+    public void submit(String terme) {
+        termeEnAttente = terme == null ? "" : terme.trim();
+        pause.playFromStart();
+    }
+
+    /**
+     * Oublie le terme courant : la prochaine recherche interrogera la base
+     * (à appeler après une modification des données affichées)
+     */
+    public void reset() {
+        dernierTerme = null;
+    }
+
+    private void executer(String terme) {
+        if (terme.length() < longueurMin) {
+            if (dernierTerme != null) {
+                dernierTerme = null;
+                listeComplete.run();
+            }
+            return;
+        }
+        if (terme.equals(dernierTerme)) {
+            return;
+        }
+
+        // La liste complète est le résultat du terme vide, que tout terme prolonge
+        boolean prolonge = dernierTerme == null || normaliser(terme).contains(normaliser(dernierTerme));
+        List<T> precedents = prolonge ? resultatsEnMemoire.get() : null;
+        dernierTerme = terme;
+
+        if (precedents != null) {
+            List<T> filtres = precedents.stream().filter(r -> correspond.test(r, terme)).toList();
+            logger.fine("Recherche '" + terme + "' affinée en mémoire: " + filtres.size() + "/" + precedents.size());
+            affichage.accept(filtres);
+        } else {
+            recherche.accept(terme);
+        }
+    }
+
+    /**
+     * true si {@code valeur} contient {@code terme}, comme un {@code LIKE '%terme%'} :
+     * sans tenir compte de la casse ni des accents (collations *_ci de MySQL)
+     */
+    public static boolean contient(String valeur, String terme) {
+        return valeur != null && normaliser(valeur).contains(normaliser(terme));
+    }
+
+    private static String normaliser(String texte) {
+        String decompose = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return decompose.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+}
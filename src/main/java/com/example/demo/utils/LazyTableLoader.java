@@ -0,0 +1,204 @@
+package com.example.demo.utils;
+
+import com.example.demo.models.Page;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Chargement à la demande des lignes d'une TableView.
+ *
+ * <p>Au lieu de charger une table entière en mémoire, les lignes sont lues page par page
+ * (pagination par clé, voir {@link Page}) au fur et à mesure du défilement. Une nouvelle
+ * page est demandée dès qu'il reste moins de {@code prefetch} lignes chargées sous la
+ * dernière ligne visible, afin qu'elle soit prête avant que l'utilisateur n'arrive en bas.</p>
+ *
+ * <p>Les requêtes s'exécutent hors du thread JavaFX ; les pages sont ajoutées à la liste
+ * sur le thread JavaFX. Un rechargement (nouvelle recherche, rafraîchissement) invalide
+ * les pages encore en cours de chargement.</p>
+ *
+ * @param <T> Type des lignes de la table
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class LazyTableLoader<T> {
+    private static final Logger logger = Logger.getLogger(LazyTableLoader.class.getName());
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "table-page-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Source des pages : retourne la page qui suit le curseur (null pour la première page)
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        Page<T> fetch(T apres, int taille) throws SQLException;
+    }
+
+    private final TableView<T> table;
+    private final ObservableList<T> items;
+    private final int pageSize;
+    private final int prefetch;
+
+    private PageFetcher<T> fetcher;
+    private Consumer<SQLException> onError = e -> logger.severe("Erreur lors du chargement d'une page: " + e.getMessage());
+    private int generation;
+    private boolean loading;
+    private boolean hasMore;
+
+    /**
+     * @param table Table à alimenter
+     * @param items Liste affichée par la table
+     * @param pageSize Nombre de lignes lues par requête
+     * @param prefetch Nombre de lignes restantes sous la partie visible qui déclenche la page suivante
+     */
+    public LazyTableLoader(TableView<T> table, ObservableList<T> items, int pageSize, int prefetch) {
+        this.table = table;
+        this.items = items;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+
+        if (table.getSkin() != null) {
+            Platform.runLater(this::installScrollListener);
+        }
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            if (newSkin != null) {
+                Platform.runLater(this::installScrollListener);
+            }
+        });
+    }
+
+    /**
+     * Définit le traitement des erreurs de chargement (appelé sur le thread JavaFX)
+     */
+    public void setOnError(Consumer<SQLException> onError) {
+        this.onError = onError;
+    }
+
+    /**
+     * Vide la table et charge la première page depuis une nouvelle source
+     */
+    public void load(PageFetcher<T> fetcher) {
+        this.fetcher = fetcher;
+        reload();
+    }
+
+    /**
+     * Vide la table et recharge la première page depuis la source courante
+     */
+    public void reload() {
+        generation++;
+        loading = false;
+        hasMore = true;
+        items.clear();
+        loadNextPage();
+    }
+
+    /**
+     * Affiche des lignes déjà en mémoire (par exemple une recherche affinée sans requête).
+     * Les pages encore en cours de chargement sont ignorées ; un rechargement réaffiche ces lignes.
+     */
+    public void show(List<T> lignes) {
+        List<T> copie = List.copyOf(lignes);
+        this.fetcher = (apres, taille) -> new Page<>(apres == null ? copie : List.of(), false);
+        generation++;
+        loading = false;
+        hasMore = false;
+        items.setAll(copie);
+    }
+
+    /**
+     * Lignes affichées si la source est entièrement chargée, null sinon (pages restantes
+     * ou chargement en cours)
+     */
+    public List<T> getAllIfLoaded() {
+        return hasMore || loading ? null : List.copyOf(items);
+    }
+
+    /** true si toutes les lignes de la source ont été chargées */
+    public boolean isFullyLoaded() {
+        return !hasMore;
+    }
+
+    private void loadNextPage() {
+        if (loading || !hasMore || fetcher == null) {
+            return;
+        }
+        loading = true;
+
+        final int requestGeneration = generation;
+        final PageFetcher<T> source = fetcher;
+        final T curseur = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        EXECUTOR.execute(() -> {
+            try {
+                Page<T> page = source.fetch(curseur, pageSize);
+                Platform.runLater(() -> applyPage(requestGeneration, page));
+            } catch (SQLException e) {
+                Platform.runLater(() -> {
+                    if (requestGeneration == generation) {
+                        loading = false;
+                        hasMore = false;
+                        onError.accept(e);
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyPage(int requestGeneration, Page<T> page) {
+        if (requestGeneration != generation) {
+            // Page d'une source remplacée entre-temps (recherche, rechargement)
+            return;
+        }
+        items.addAll(page.getItems());
+        hasMore = page.hasMore();
+        loading = false;
+
+        // Si la page ne remplit pas encore la zone visible, enchaîner après la mise en page
+        Platform.runLater(this::checkPrefetch);
+    }
+
+    private void installScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().addListener((obs, oldVal, newVal) -> checkPrefetch());
+            }
+        }
+        checkPrefetch();
+    }
+
+    /**
+     * Déclenche la page suivante si la dernière ligne visible entre dans la fenêtre de préchargement
+     */
+    private void checkPrefetch() {
+        if (loading || !hasMore) {
+            return;
+        }
+        int dernierVisible = items.size() - 1;
+        if (table.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+            IndexedCell<?> cell = flow.getLastVisibleCell();
+            if (cell != null) {
+                dernierVisible = cell.getIndex();
+            }
+        }
+        if (dernierVisible >= items.size() - prefetch) {
+            loadNextPage();
+        }
+    }
+}
@@ -0,0 +1,676 @@
+package com.example.demo.utils;
+
+import com.example.demo.dao.PackDAO;
+import com.example.demo.dao.RevenueMonthlyDAO;
+import com.example.demo.models.Pack;
+import com.example.demo.models.Paiement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+
+/**
+ * Générateur reproductible de gros volumes de données pour les tests de charge.
+ *
+ * <p>Contrairement à {@link TestDataGenerator} (quelques dizaines d'adhérents créés un par un),
+ * ce générateur simule l'historique complet de millions d'adhérents : saisonnalité des
+ * inscriptions, répartition entre les packs, renouvellements et départs, méthodes et statuts
+ * de paiement, ainsi que les notifications et activités qui en découlent.</p>
+ *
+ * <p>Le résultat ne dépend que de la graine, du nombre d'adhérents et de la date de référence :
+ * chaque bloc de {@value #BLOCK_SIZE} adhérents tire ses valeurs d'un générateur dérivé de la
+ * graine et de son numéro, quelle que soit la taille des lots d'insertion. Les ID sont attribués
+ * explicitement à la suite des ID existants, ce qui évite de relire les clés générées.</p>
+ *
+ * <p>Les lignes sont écrites au fil de l'eau, soit directement en base par lots
+ * (voir {@link #toDatabase(int)}), soit dans des fichiers au format {@code LOAD DATA INFILE}
+ * de MySQL (voir {@link #toFiles(int, Path)}) ; la mémoire utilisée ne dépend pas du volume.</p>
+ *
+ * <p>Usage : {@code LoadTestDataGenerator --adherents=1000000 [--seed=N] [--years=N]
+ * [--today=yyyy-MM-dd] [--batch-size=N] [--out=dossier]}. Sans {@code --today}, la date de
+ * référence est celle du jour (journalisée) : la fixer reproduit le même jeu de données.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class LoadTestDataGenerator {
+    private static final Logger logger = Logger.getLogger(LoadTestDataGenerator.class.getName());
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final int DEFAULT_HISTORY_YEARS = 3;
+
+    /** Nombre d'adhérents par bloc : une graine dérivée et une transaction par bloc */
+    private static final int BLOCK_SIZE = 10_000;
+
+    /** Décalage entre les graines de deux blocs consécutifs (constante de SplittableRandom) */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final DateTimeFormatter FORMAT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Poids relatifs des inscriptions par mois (janvier..décembre) : résolutions de début
+    // d'année et rentrée de septembre, creux de l'été
+    private static final double[] SAISONNALITE = {1.6, 1.25, 1.05, 0.95, 1.0, 1.1, 0.6, 0.5, 1.45, 1.2, 0.9, 0.7};
+    private static final double SAISONNALITE_MAX = 1.6;
+
+    // Méthodes de paiement (même ordre que Paiement.MethodePaiement) et statuts
+    private static final double[] POIDS_METHODES = {0.55, 0.30, 0.10, 0.05};
+    private static final double TAUX_ANNULE = 0.03;
+    private static final double TAUX_REMBOURSE = 0.01;
+
+    // Départs : plus fréquents après le premier abonnement, et pour les abonnements longs
+    private static final double DEPART_PREMIERE_PERIODE = 0.35;
+    private static final double DEPART_PERIODE_SUIVANTE = 0.12;
+    private static final double DEPART_ABONNEMENT_LONG = 0.30;
+    private static final double TAUX_RENOUVELLEMENT_TARDIF = 0.20;
+    private static final double TAUX_CHANGEMENT_PACK = 0.08;
+    private static final double TAUX_MODIFICATION = 0.25;
+
+    /** Au-delà de ce délai après la fin de son abonnement, un adhérent est désactivé */
+    private static final int JOURS_AVANT_DESACTIVATION = 60;
+
+    private static final String[] PRENOMS = {
+        "Ahmed", "Fatima", "Mohamed", "Aicha", "Hassan", "Khadija", "Omar", "Sanae",
+        "Youssef", "Laila", "Ali", "Nadia", "Karim", "Souad", "Mehdi", "Salma",
+        "Amine", "Imane", "Bilal", "Zineb", "Rachid", "Houda", "Said", "Nabila"
+    };
+
+    private static final String[] NOMS = {
+        "Alaoui", "Benali", "Chraibi", "Dahbi", "El Amrani", "Fassi", "Ghazi", "Haddad",
+        "Idrissi", "Jazouli", "Kadiri", "Lamrani", "Mansouri", "Naciri", "Ouali", "Qadiri",
+        "Rahmani", "Saadi", "Tazi", "Zahiri", "Bennani", "Cherkaoui", "Dari", "El Fassi"
+    };
+
+    private static final String[] VILLES = {"Casablanca", "Rabat", "Mohammedia", "Salé", "Témara"};
+    private static final String[] OBJECTIFS = {"Perte de poids", "Prise de masse", "Remise en forme", "Endurance"};
+
+    /**
+     * Tables alimentées, dans l'ordre d'insertion imposé par les clés étrangères
+     */
+    public enum Table {
+        ADHERENTS("adherents", "id", "cin", "nom", "prenom", "date_naissance", "telephone", "email", "adresse",
+                "poids", "taille", "objectifs", "pack_id", "date_debut", "date_fin", "actif", "date_inscription"),
+        PAIEMENTS("paiements", "id", "adherent_id", "pack_id", "montant", "date_paiement", "methode_paiement",
+                "statut", "reference", "date_debut_abonnement", "date_fin_abonnement"),
+        NOTIFICATIONS("notifications", "id", "user_id", "type", "title", "message", "`read`", "created_at",
+                "dedup_day"),
+        ACTIVITIES("activities", "id", "user_id", "type", "description", "entity_type", "entity_id", "created_at");
+
+        private final String tableName;
+        private final String[] columns;
+
+        Table(String tableName, String... columns) {
+            this.tableName = tableName;
+            this.columns = columns;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        String columnList() {
+            return String.join(", ", columns);
+        }
+
+        String insertSql() {
+            return "INSERT INTO " + tableName + " (" + columnList() + ") VALUES ("
+                    + "?, ".repeat(columns.length - 1) + "?)";
+        }
+    }
+
+    /**
+     * Destination des lignes générées. Les valeurs sont des String, Integer, Double ou null ;
+     * les dates sont déjà formatées ('yyyy-MM-dd' et 'yyyy-MM-dd HH:mm:ss').
+     */
+    public interface RowSink extends AutoCloseable {
+        void write(Table table, Object[] row) throws SQLException, IOException;
+
+        /** Fin d'un bloc d'adhérents : toutes ses lignes peuvent être rendues durables */
+        void endBlock() throws SQLException, IOException;
+
+        @Override
+        void close() throws SQLException, IOException;
+    }
+
+    private final long seed;
+    private final int historyYears;
+    private final LocalDate aujourdhui;
+    private final List<Pack> packs;
+    private final double[] poidsPacks;
+    private final Integer userId;
+    private final Map<Table, Integer> prochainsIds = new EnumMap<>(Table.class);
+    private final Map<Table, Long> compteurs = new EnumMap<>(Table.class);
+
+    // Expirations par jour de l'historique, résumées en une notification quotidienne
+    private final int[] expirantParJour;
+    private final int[] expiresParJour;
+
+    /**
+     * @param seed Graine du générateur
+     * @param historyYears Profondeur de l'historique des inscriptions (en années)
+     * @param aujourdhui Date de référence de la simulation
+     * @param packs Packs existants (les adhérents y sont répartis)
+     * @param userId Utilisateur propriétaire des notifications et activités (peut être null)
+     * @param premiersIds Premier ID à attribuer pour chaque table
+     */
+    public LoadTestDataGenerator(long seed, int historyYears, LocalDate aujourdhui, List<Pack> packs,
+                                 Integer userId, Map<Table, Integer> premiersIds) {
+        if (packs.isEmpty()) {
+            throw new IllegalArgumentException("Aucun pack : créer les packs avant de générer les adhérents");
+        }
+        this.seed = seed;
+        this.historyYears = historyYears;
+        this.aujourdhui = aujourdhui;
+        this.packs = List.copyOf(packs);
+        this.userId = userId;
+        for (Table table : Table.values()) {
+            prochainsIds.put(table, premiersIds.getOrDefault(table, 1));
+            compteurs.put(table, 0L);
+        }
+
+        // Les packs les moins chers (ramenés au mois) sont les plus choisis
+        poidsPacks = new double[this.packs.size()];
+        for (int i = 0; i < poidsPacks.length; i++) {
+            Pack pack = this.packs.get(i);
+            double prixMensuel = pack.getPrix() / Math.max(1.0, dureeEnMois(pack));
+            poidsPacks[i] = 1.0 / Math.sqrt(Math.max(1.0, prixMensuel));
+        }
+
+        int jours = (int) ChronoUnit.DAYS.between(debutHistorique(), aujourdhui) + 1;
+        expirantParJour = new int[jours];
+        expiresParJour = new int[jours];
+    }
+
+    /**
+     * Génère {@code nombreAdherents} adhérents et tout leur historique dans la destination donnée.
+     *
+     * @return Nombre de lignes écrites par table
+     */
+    public Map<Table, Long> generate(int nombreAdherents, RowSink sink) throws SQLException, IOException {
+        int blocs = (nombreAdherents + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int bloc = 0; bloc < blocs; bloc++) {
+            SplittableRandom random = new SplittableRandom(seed + bloc * SEED_GAMMA);
+            int taille = Math.min(BLOCK_SIZE, nombreAdherents - bloc * BLOCK_SIZE);
+            for (int i = 0; i < taille; i++) {
+                genererAdherent(random, sink);
+            }
+            sink.endBlock();
+            logger.info(String.format("Bloc %d/%d généré (%d adhérents, %d paiements)",
+                    bloc + 1, blocs, compteurs.get(Table.ADHERENTS), compteurs.get(Table.PAIEMENTS)));
+        }
+
+        genererNotificationsExpiration(sink);
+        sink.endBlock();
+        return new EnumMap<>(compteurs);
+    }
+
+    /**
+     * Simule la vie d'un adhérent : inscription, abonnements successifs jusqu'au départ
+     * ou jusqu'à aujourd'hui, avec un paiement par abonnement.
+     */
+    private void genererAdherent(SplittableRandom random, RowSink sink) throws SQLException, IOException {
+        int adherentId = nextId(Table.ADHERENTS);
+        String prenom = PRENOMS[random.nextInt(PRENOMS.length)];
+        String nom = NOMS[random.nextInt(NOMS.length)];
+        String nomComplet = prenom + " " + nom;
+        LocalDate inscription = tirerDateInscription(random);
+        LocalDateTime heureInscription = inscription.atTime(7 + random.nextInt(14), random.nextInt(60), random.nextInt(60));
+        Pack pack = tirerPack(random);
+
+        List<Object[]> paiements = new ArrayList<>();
+        List<Object[]> notifications = new ArrayList<>();
+        List<Object[]> activities = new ArrayList<>();
+        notifications.add(notification(DashboardConstants.NOTIF_TYPE_NEW_USER, "Nouvel adhérent inscrit",
+                nomComplet + " s'est inscrit", heureInscription, random));
+        activities.add(activity(DashboardConstants.ACTIVITY_TYPE_ADHERENT_CREATED, "Nouvel adhérent créé: " + nomComplet,
+                DashboardConstants.ENTITY_TYPE_ADHERENT, adherentId, heureInscription));
+
+        LocalDate debut = inscription;
+        LocalDate fin;
+        int periode = 0;
+        while (true) {
+            fin = finPeriode(debut, pack);
+            LocalDateTime datePaiement = (periode == 0 ? debut : debut.minusDays(random.nextInt(4)))
+                    .atTime(7 + random.nextInt(14), random.nextInt(60), random.nextInt(60));
+            int paiementId = nextId(Table.PAIEMENTS);
+            double montant = random.nextInt(10) == 0 ? Math.round(pack.getPrix() * 0.9) : pack.getPrix();
+            paiements.add(new Object[]{
+                paiementId, adherentId, pack.getId(), montant, datePaiement.format(FORMAT_TIMESTAMP),
+                tirerMethode(random).name(), tirerStatut(random).name(), "PAY-" + paiementId,
+                debut.toString(), fin.toString()
+            });
+            notifications.add(notification(DashboardConstants.NOTIF_TYPE_NEW_PAYMENT, "Nouveau paiement reçu",
+                    String.format("Paiement de %.2f DH de %s pour le pack %s", montant, nomComplet, pack.getNom()),
+                    datePaiement, random));
+            activities.add(activity(DashboardConstants.ACTIVITY_TYPE_PAYMENT_RECORDED,
+                    String.format("Paiement enregistré: %.2f DH", montant),
+                    DashboardConstants.ENTITY_TYPE_PAYMENT, paiementId, datePaiement));
+            if (random.nextDouble() < TAUX_MODIFICATION) {
+                LocalDate modification = debut.plusDays(random.nextInt((int) Math.max(1, ChronoUnit.DAYS.between(debut, fin))));
+                if (!modification.isAfter(aujourdhui)) {
+                    activities.add(activity(DashboardConstants.ACTIVITY_TYPE_ADHERENT_UPDATED, "Adhérent modifié: " + nomComplet,
+                            DashboardConstants.ENTITY_TYPE_ADHERENT, adherentId,
+                            modification.atTime(7 + random.nextInt(14), random.nextInt(60))));
+                }
+            }
+
+            compterExpiration(expirantParJour, fin.minusDays(DashboardConstants.DAYS_EXPIRING_SOON));
+            if (fin.isAfter(aujourdhui)) {
+                break;
+            }
+            double tauxDepart = periode == 0 ? DEPART_PREMIERE_PERIODE
+                    : dureeEnMois(pack) >= 12 ? DEPART_ABONNEMENT_LONG : DEPART_PERIODE_SUIVANTE;
+            LocalDate suivant = random.nextDouble() < TAUX_RENOUVELLEMENT_TARDIF ? fin.plusDays(1 + random.nextInt(60)) : fin;
+            if (random.nextDouble() < tauxDepart || suivant.isAfter(aujourdhui)) {
+                compterExpiration(expiresParJour, fin);
+                break;
+            }
+            if (random.nextDouble() < TAUX_CHANGEMENT_PACK) {
+                pack = tirerPack(random);
+            }
+            debut = suivant;
+            periode++;
+        }
+
+        boolean actif = !fin.isBefore(aujourdhui.minusDays(JOURS_AVANT_DESACTIVATION));
+        sink.write(Table.ADHERENTS, new Object[]{
+            adherentId, String.format("LT%08d", adherentId), nom, prenom,
+            inscription.minusYears(16 + random.nextInt(45)).minusDays(random.nextInt(365)).toString(),
+            String.format("06%08d", random.nextInt(100_000_000)),
+            prenom.toLowerCase() + "." + nom.toLowerCase().replace(' ', '-') + adherentId + "@email.com",
+            (1 + random.nextInt(200)) + " Rue " + NOMS[random.nextInt(NOMS.length)] + ", " + VILLES[random.nextInt(VILLES.length)],
+            Math.round((50 + random.nextDouble() * 50) * 100) / 100.0,
+            Math.round((150 + random.nextDouble() * 45) * 100) / 100.0,
+            OBJECTIFS[random.nextInt(OBJECTIFS.length)], pack.getId(), debut.toString(), fin.toString(),
+            actif ? 1 : 0, heureInscription.format(FORMAT_TIMESTAMP)
+        });
+        for (Object[] row : paiements) {
+            sink.write(Table.PAIEMENTS, row);
+        }
+        for (Object[] row : notifications) {
+            sink.write(Table.NOTIFICATIONS, row);
+        }
+        for (Object[] row : activities) {
+            sink.write(Table.ACTIVITIES, row);
+        }
+        compteurs.merge(Table.ADHERENTS, 1L, Long::sum);
+        compteurs.merge(Table.PAIEMENTS, (long) paiements.size(), Long::sum);
+        compteurs.merge(Table.NOTIFICATIONS, (long) notifications.size(), Long::sum);
+        compteurs.merge(Table.ACTIVITIES, (long) activities.size(), Long::sum);
+    }
+
+    /**
+     * Notifications quotidiennes d'expiration, comme celles de NotificationService
+     * (une par type et par jour, avec leur jour de dédoublonnage)
+     */
+    private void genererNotificationsExpiration(RowSink sink) throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(seed - SEED_GAMMA);
+        LocalDate debutHistorique = debutHistorique();
+        long ecrites = 0;
+        for (int jour = 0; jour < expirantParJour.length; jour++) {
+            LocalDateTime matin = debutHistorique.plusDays(jour).atTime(8, 0);
+            if (expirantParJour[jour] > 0) {
+                sink.write(Table.NOTIFICATIONS, notification(DashboardConstants.NOTIF_TYPE_EXPIRING_SOON,
+                        "Abonnements expirant bientôt", expirantParJour[jour] + " abonnement(s) expire(nt) dans les "
+                                + DashboardConstants.DAYS_EXPIRING_SOON + " prochains jours", matin, matin.toLocalDate(), random));
+                ecrites++;
+            }
+            if (expiresParJour[jour] > 0) {
+                sink.write(Table.NOTIFICATIONS, notification(DashboardConstants.NOTIF_TYPE_EXPIRED,
+                        "Abonnements expirés", expiresParJour[jour] + " abonnement(s) expiré(s). Renouvellement urgent requis !",
+                        matin.plusMinutes(1), matin.toLocalDate(), random));
+                ecrites++;
+            }
+        }
+        compteurs.merge(Table.NOTIFICATIONS, ecrites, Long::sum);
+    }
+
+    private Object[] notification(String type, String title, String message, LocalDateTime createdAt, SplittableRandom random) {
+        return notification(type, title, message, createdAt, null, random);
+    }
+
+    /**
+     * @param dedupDay Jour de dédoublonnage des notifications quotidiennes (null pour un événement)
+     */
+    private Object[] notification(String type, String title, String message, LocalDateTime createdAt,
+                                  LocalDate dedupDay, SplittableRandom random) {
+        // Les notifications de plus de 3 jours sont presque toutes lues
+        boolean lue = createdAt.isBefore(aujourdhui.minusDays(3).atStartOfDay())
+                ? random.nextInt(20) != 0 : random.nextInt(3) == 0;
+        return new Object[]{nextId(Table.NOTIFICATIONS), userId, type, title, message, lue ? 1 : 0,
+            createdAt.format(FORMAT_TIMESTAMP), dedupDay != null ? dedupDay.toString() : null};
+    }
+
+    private Object[] activity(String type, String description, String entityType, int entityId, LocalDateTime createdAt) {
+        return new Object[]{nextId(Table.ACTIVITIES), userId, type, description, entityType, entityId,
+            createdAt.format(FORMAT_TIMESTAMP)};
+    }
+
+    private void compterExpiration(int[] parJour, LocalDate date) {
+        long jour = ChronoUnit.DAYS.between(debutHistorique(), date);
+        if (jour >= 0 && jour < parJour.length) {
+            parJour[(int) jour]++;
+        }
+    }
+
+    private int nextId(Table table) {
+        return prochainsIds.merge(table, 1, Integer::sum) - 1;
+    }
+
+    private LocalDate debutHistorique() {
+        return aujourdhui.minusYears(historyYears);
+    }
+
+    /**
+     * Date d'inscription dans l'historique, pondérée par la saisonnalité (tirage par rejet)
+     */
+    private LocalDate tirerDateInscription(SplittableRandom random) {
+        int jours = expirantParJour.length;
+        while (true) {
+            LocalDate date = debutHistorique().plusDays(random.nextInt(jours));
+            if (random.nextDouble() * SAISONNALITE_MAX < SAISONNALITE[date.getMonthValue() - 1]) {
+                return date;
+            }
+        }
+    }
+
+    private Pack tirerPack(SplittableRandom random) {
+        return packs.get(tirerIndex(random, poidsPacks));
+    }
+
+    private static Paiement.MethodePaiement tirerMethode(SplittableRandom random) {
+        return Paiement.MethodePaiement.values()[tirerIndex(random, POIDS_METHODES)];
+    }
+
+    private static Paiement.StatutPaiement tirerStatut(SplittableRandom random) {
+        double tirage = random.nextDouble();
+        if (tirage < TAUX_REMBOURSE) {
+            return Paiement.StatutPaiement.REMBOURSE;
+        }
+        return tirage < TAUX_REMBOURSE + TAUX_ANNULE ? Paiement.StatutPaiement.ANNULE : Paiement.StatutPaiement.VALIDE;
+    }
+
+    private static int tirerIndex(SplittableRandom random, double[] poids) {
+        double total = 0;
+        for (double p : poids) {
+            total += p;
+        }
+        double tirage = random.nextDouble() * total;
+        for (int i = 0; i < poids.length - 1; i++) {
+            tirage -= poids[i];
+            if (tirage < 0) {
+                return i;
+            }
+        }
+        return poids.length - 1;
+    }
+
+    private static LocalDate finPeriode(LocalDate debut, Pack pack) {
+        int duree = pack.getDuree() != null && pack.getDuree() > 0 ? pack.getDuree() : 1;
+        String unite = pack.getUniteDuree() != null ? pack.getUniteDuree() : "MOIS";
+        return switch (unite) {
+            case "JOUR" -> debut.plusDays(duree);
+            case "SEMAINE" -> debut.plusWeeks(duree);
+            case "ANNEE" -> debut.plusYears(duree);
+            default -> debut.plusMonths(duree);
+        };
+    }
+
+    private static double dureeEnMois(Pack pack) {
+        return ChronoUnit.DAYS.between(LocalDate.of(2000, 1, 1), finPeriode(LocalDate.of(2000, 1, 1), pack)) / 30.0;
+    }
+
+    // ==================== Destinations ====================
+
+    /**
+     * Insère les lignes dans la base configurée, par lots de {@code batchSize} lignes
+     * et une transaction par bloc d'adhérents.
+     */
+    public static class JdbcSink implements RowSink {
+        private final Connection conn;
+        private final int batchSize;
+        private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+        private int enAttente;
+
+        public JdbcSink(Connection conn, int batchSize) throws SQLException {
+            this.conn = conn;
+            this.batchSize = batchSize;
+            conn.setAutoCommit(false);
+            for (Table table : Table.values()) {
+                statements.put(table, conn.prepareStatement(table.insertSql()));
+            }
+        }
+
+        @Override
+        public void write(Table table, Object[] row) throws SQLException {
+            PreparedStatement stmt = statements.get(table);
+            for (int i = 0; i < row.length; i++) {
+                stmt.setObject(i + 1, row[i]);
+            }
+            stmt.addBatch();
+            if (++enAttente >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Envoie les lots en attente dans l'ordre des tables (les adhérents avant leurs paiements)
+         */
+        private void flush() throws SQLException {
+            for (PreparedStatement stmt : statements.values()) {
+                stmt.executeBatch();
+            }
+            enAttente = 0;
+        }
+
+        @Override
+        public void endBlock() throws SQLException {
+            try {
+                flush();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement stmt : statements.values()) {
+                stmt.close();
+            }
+        }
+    }
+
+    /**
+     * Écrit un fichier par table au format par défaut de {@code LOAD DATA INFILE}
+     * (champs séparés par des tabulations, NULL écrit \N) et le script de chargement MySQL.
+     */
+    public static class LoadDataFileSink implements RowSink {
+        private final Path dossier;
+        private final Map<Table, BufferedWriter> writers = new EnumMap<>(Table.class);
+
+        public LoadDataFileSink(Path dossier) throws IOException {
+            this.dossier = dossier;
+            Files.createDirectories(dossier);
+            for (Table table : Table.values()) {
+                writers.put(table, Files.newBufferedWriter(fichier(table), StandardCharsets.UTF_8));
+            }
+        }
+
+        private Path fichier(Table table) {
+            return dossier.resolve(table.getTableName() + ".tsv");
+        }
+
+        @Override
+        public void write(Table table, Object[] row) throws IOException {
+            BufferedWriter writer = writers.get(table);
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                writer.write(row[i] == null ? "\\N" : echapper(row[i].toString()));
+            }
+            writer.write('\n');
+        }
+
+        private static String echapper(String valeur) {
+            if (valeur.indexOf('\\') < 0 && valeur.indexOf('\t') < 0 && valeur.indexOf('\n') < 0) {
+                return valeur;
+            }
+            return valeur.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+        }
+
+        @Override
+        public void endBlock() throws IOException {
+            for (BufferedWriter writer : writers.values()) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+            StringBuilder script = new StringBuilder("-- Chargement des données générées (mysql --local-infile=1)\n")
+                    .append("SET foreign_key_checks = 0;\nSET unique_checks = 0;\n");
+            for (Table table : Table.values()) {
+                script.append("LOAD DATA LOCAL INFILE '")
+                        .append(fichier(table).toAbsolutePath().toString().replace("\\", "/"))
+                        .append("' INTO TABLE ").append(table.getTableName())
+                        .append(" CHARACTER SET utf8mb4 (").append(table.columnList()).append(");\n");
+            }
+            script.append("SET unique_checks = 1;\nSET foreign_key_checks = 1;\n");
+            // Les paiements chargés ne passent pas par PaiementDAO : recalculer l'agrégat mensuel
+            script.append("DELETE FROM revenue_monthly;\n")
+                    .append(RevenueMonthlyDAO.rebuildSql(new MySqlDialect())).append(";\n");
+            Files.writeString(dossier.resolve("load_mysql.sql"), script.toString(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // ==================== Points d'entrée ====================
+
+    /**
+     * Génère les données directement dans la base configurée (MySQL ou SQLite)
+     *
+     * @param aujourdhui Date de référence (fin de l'historique simulé)
+     */
+    public static Map<Table, Long> toDatabase(int nombreAdherents, long seed, int historyYears, LocalDate aujourdhui,
+                                              int batchSize) throws SQLException, IOException {
+        LoadTestDataGenerator generator = create(seed, historyYears, aujourdhui);
+        Map<Table, Long> compteurs;
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             JdbcSink sink = new JdbcSink(conn, batchSize)) {
+            compteurs = generator.generate(nombreAdherents, sink);
+        }
+        // Les paiements générés ne passent pas par PaiementDAO : recalculer l'agrégat mensuel
+        new RevenueMonthlyDAO().rebuild();
+        return compteurs;
+    }
+
+    public static Map<Table, Long> toDatabase(int nombreAdherents) throws SQLException, IOException {
+        return toDatabase(nombreAdherents, DEFAULT_SEED, DEFAULT_HISTORY_YEARS, LocalDate.now(),
+                DatabaseManager.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Génère les données dans des fichiers {@code LOAD DATA}, avec les ID qui suivent
+     * ceux de la base configurée
+     *
+     * @param aujourdhui Date de référence (fin de l'historique simulé)
+     */
+    public static Map<Table, Long> toFiles(int nombreAdherents, long seed, int historyYears, LocalDate aujourdhui,
+                                           Path dossier) throws SQLException, IOException {
+        LoadTestDataGenerator generator = create(seed, historyYears, aujourdhui);
+        try (LoadDataFileSink sink = new LoadDataFileSink(dossier)) {
+            return generator.generate(nombreAdherents, sink);
+        }
+    }
+
+    public static Map<Table, Long> toFiles(int nombreAdherents, Path dossier) throws SQLException, IOException {
+        return toFiles(nombreAdherents, DEFAULT_SEED, DEFAULT_HISTORY_YEARS, LocalDate.now(), dossier);
+    }
+
+    /**
+     * Crée un générateur à partir des packs, de l'administrateur et des ID existants en base
+     */
+    private static LoadTestDataGenerator create(long seed, int historyYears, LocalDate aujourdhui) throws SQLException {
+        List<Pack> packs = new PackDAO().findAll();
+        Integer userId = null;
+        Map<Table, Integer> premiersIds = new EnumMap<>(Table.class);
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT MIN(id) FROM utilisateurs")) {
+                if (rs.next()) {
+                    userId = rs.getObject(1) != null ? rs.getInt(1) : null;
+                }
+            }
+            for (Table table : Table.values()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table.getTableName())) {
+                    premiersIds.put(table, rs.next() ? rs.getInt(1) + 1 : 1);
+                }
+            }
+        }
+        return new LoadTestDataGenerator(seed, historyYears, aujourdhui, packs, userId, premiersIds);
+    }
+
+    public static void main(String[] args) {
+        // Options: --adherents=N, --seed=N, --years=N, --today=yyyy-MM-dd, --batch-size=N,
+        // --out=dossier (fichiers LOAD DATA)
+        int nombreAdherents = 100_000;
+        long seed = DEFAULT_SEED;
+        int historyYears = DEFAULT_HISTORY_YEARS;
+        LocalDate aujourdhui = LocalDate.now();
+        int batchSize = DatabaseManager.DEFAULT_BATCH_SIZE;
+        Path dossier = null;
+        for (String arg : args) {
+            if (arg.startsWith("--adherents=")) {
+                nombreAdherents = Integer.parseInt(arg.substring("--adherents=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--years=")) {
+                historyYears = Integer.parseInt(arg.substring("--years=".length()));
+            } else if (arg.startsWith("--today=")) {
+                aujourdhui = LocalDate.parse(arg.substring("--today=".length()));
+            } else if (arg.startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(arg.substring("--batch-size=".length()));
+            } else if (arg.startsWith("--out=")) {
+                dossier = Path.of(arg.substring("--out=".length()));
+            }
+        }
+
+        // La date de référence fait partie du jeu de données : --today=<date> le reproduit
+        logger.info("=== Génération de " + nombreAdherents + " adhérents (graine " + seed
+                + ", --today=" + aujourdhui + ") ===");
+        try {
+            long debut = System.currentTimeMillis();
+            Map<Table, Long> compteurs = dossier != null
+                    ? toFiles(nombreAdherents, seed, historyYears, aujourdhui, dossier)
+                    : toDatabase(nombreAdherents, seed, historyYears, aujourdhui, batchSize);
+            logger.info("=== Génération terminée en " + (System.currentTimeMillis() - debut) / 1000 + " s : " + compteurs + " ===");
+        } catch (SQLException | IOException e) {
+            logger.severe("Erreur lors de la génération: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            DatabaseManager.getInstance().closeConnection();
+        }
+    }
+}
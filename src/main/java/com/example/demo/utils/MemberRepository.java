@@ -0,0 +1,477 @@
+package com.example.demo.utils;
+
+import com.example.demo.dao.AdherentDAO;
+import com.example.demo.models.Adherent;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dépôt en mémoire des adhérents actifs, partagé par toutes les vues.
+ *
+ * <p>Les adhérents actifs sont lus une seule fois ({@link AdherentDAO#findAll()}), à la
+ * première lecture, puis tenus à jour par {@link AdherentDAO} après chaque création,
+ * modification et désactivation validée : changer de vue ne coûte aucune requête tant que
+ * rien n'a changé. Des index secondaires répondent sans parcours complet aux lectures des
+ * vues : par pack, par date de fin d'abonnement et par date d'inscription.</p>
+ *
+ * <p>Chaque écriture publie un {@link Change} aux abonnés ({@link #addListener(Consumer)}).
+ * Les abonnés sont appelés sur le thread de l'écriture, dans l'ordre des écritures : une vue
+ * JavaFX doit repasser sur le thread JavaFX ({@code Platform.runLater}).</p>
+ *
+ * <p>Les adhérents retournés sont partagés : ils ne doivent être modifiés qu'en vue d'un
+ * {@link AdherentDAO#update(Adherent)}. Les index conservent les valeurs de l'adhérent au
+ * moment de son enregistrement.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see AdherentDAO
+ */
+public final class MemberRepository {
+    private static final Logger logger = Logger.getLogger(MemberRepository.class.getName());
+    private static MemberRepository instance;
+
+    /** Horizon de {@link #findExpiringSoon()}, comme {@link AdherentDAO#findExpiringSoon()} */
+    public static final int EXPIRING_SOON_DAYS = 7;
+
+    /**
+     * Nature d'une modification publiée aux abonnés
+     */
+    public enum ChangeType {
+        CREATED, UPDATED, REMOVED
+    }
+
+    /**
+     * Modification du dépôt : adhérents créés, modifiés, ou IDs retirés (désactivés)
+     */
+    public static final class Change {
+        private final ChangeType type;
+        private final List<Integer> ids;
+        private final List<Adherent> adherents;
+        private final long version;
+
+        private Change(ChangeType type, List<Integer> ids, List<Adherent> adherents, long version) {
+            this.type = type;
+            this.ids = ids;
+            this.adherents = adherents;
+            this.version = version;
+        }
+
+        public ChangeType getType() { return type; }
+        /** IDs des adhérents concernés */
+        public List<Integer> getIds() { return ids; }
+        /** Adhérents créés ou modifiés (vide pour un retrait) */
+        public List<Adherent> getAdherents() { return adherents; }
+        /** Version du dépôt après la modification */
+        public long getVersion() { return version; }
+    }
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+    private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+
+    // Index (protégés par le verrou ; vides tant que le dépôt n'est pas chargé)
+    private final Map<Integer, Entree> parId = new HashMap<>();
+    private final TreeSet<Entree> parNom = new TreeSet<>(ORDRE_NOM);
+    private final Map<Integer, Map<Integer, Adherent>> parPack = new HashMap<>();
+    private final TreeMap<LocalDate, Map<Integer, Adherent>> parDateFin = new TreeMap<>();
+    private final TreeMap<LocalDate, Map<Integer, Adherent>> parDateInscription = new TreeMap<>();
+
+    private volatile boolean charge;
+    private long version; // protégé par le verrou
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private MemberRepository() {
+    }
+
+    /**
+     * Retourne l'instance unique du dépôt (Singleton)
+     */
+    public static synchronized MemberRepository getInstance() {
+        if (instance == null) {
+            instance = new MemberRepository();
+        }
+        return instance;
+    }
+
+    // ==================== Abonnements ====================
+
+    /**
+     * Abonne un observateur aux modifications du dépôt
+     */
+    public void addListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Change> listener) {
+        listeners.remove(listener);
+    }
+
+    // ==================== Lectures ====================
+
+    /** true une fois les adhérents lus en base (les lectures suivantes sont en mémoire) */
+    public boolean isLoaded() {
+        return charge;
+    }
+
+    /**
+     * Lit les adhérents actifs en base si ce n'est pas encore fait
+     *
+     * @throws SQLException Si la lecture échoue (elle sera retentée à la lecture suivante)
+     */
+    public void load() throws SQLException {
+        if (charge) {
+            return;
+        }
+        // Les écritures attendent la fin du chargement : appliquées ensuite, elles
+        // remplacent les lignes éventuellement lues avant leur validation
+        verrou.writeLock().lock();
+        try {
+            if (charge) {
+                return;
+            }
+            long debut = System.nanoTime();
+            for (Adherent adherent : new AdherentDAO().findAll()) {
+                ajouter(adherent);
+            }
+            charge = true;
+            logger.info("Dépôt des adhérents chargé: " + parId.size() + " adhérents actifs en "
+                + (System.nanoTime() - debut) / 1_000_000 + " ms");
+        } catch (SQLException e) {
+            vider();
+            throw e;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /** Version du dépôt, incrémentée à chaque écriture */
+    public long getVersion() {
+        verrou.readLock().lock();
+        try {
+            return version;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre d'adhérents actifs
+     */
+    public int size() throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return parId.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tous les adhérents actifs, triés par nom puis prénom
+     */
+    public List<Adherent> findAll() throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            List<Adherent> adherents = new ArrayList<>(parNom.size());
+            for (Entree entree : parNom) {
+                adherents.add(entree.adherent);
+            }
+            return adherents;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adhérent actif par ID (null s'il n'existe pas ou n'est plus actif)
+     */
+    public Adherent findById(Integer id) throws SQLException {
+        if (id == null) {
+            return null;
+        }
+        load();
+        verrou.readLock().lock();
+        try {
+            Entree entree = parId.get(id);
+            return entree != null ? entree.adherent : null;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adhérents actifs d'un pack
+     */
+    public List<Adherent> findByPack(Integer packId) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            Map<Integer, Adherent> adherents = parPack.get(packId);
+            return adherents != null ? new ArrayList<>(adherents.values()) : new ArrayList<>();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre d'adhérents actifs par ID de pack (adhérents sans pack exclus)
+     */
+    public Map<Integer, Integer> countByPack() throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            Map<Integer, Integer> comptes = new HashMap<>();
+            parPack.forEach((packId, adherents) -> comptes.put(packId, adherents.size()));
+            return comptes;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adhérents actifs dont l'abonnement se termine entre deux dates incluses, par date de fin
+     */
+    public List<Adherent> findByDateFin(LocalDate debut, LocalDate fin) throws SQLException {
+        if (debut.isAfter(fin)) {
+            return new ArrayList<>();
+        }
+        load();
+        verrou.readLock().lock();
+        try {
+            return aplatir(parDateFin.subMap(debut, true, fin, true).values());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adhérents actifs dont l'abonnement est expiré (date de fin passée), par date de fin
+     */
+    public List<Adherent> findExpired() throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return aplatir(parDateFin.headMap(LocalDate.now(), false).values());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adhérents actifs dont l'abonnement se termine dans les {@value #EXPIRING_SOON_DAYS}
+     * prochains jours (aujourd'hui inclus), par date de fin
+     */
+    public List<Adherent> findExpiringSoon() throws SQLException {
+        LocalDate aujourdhui = LocalDate.now();
+        return findByDateFin(aujourdhui, aujourdhui.plusDays(EXPIRING_SOON_DAYS));
+    }
+
+    /**
+     * Adhérents actifs inscrits entre deux dates incluses, par date d'inscription
+     */
+    public List<Adherent> findInscritsEntre(LocalDate debut, LocalDate fin) throws SQLException {
+        if (debut.isAfter(fin)) {
+            return new ArrayList<>();
+        }
+        load();
+        verrou.readLock().lock();
+        try {
+            return aplatir(parDateInscription.subMap(debut, true, fin, true).values());
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Derniers adhérents actifs inscrits, les plus récents d'abord
+     */
+    public List<Adherent> findRecent(int limit) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            List<Adherent> adherents = new ArrayList<>(Math.min(limit, parId.size()));
+            for (Map<Integer, Adherent> jour : parDateInscription.descendingMap().values()) {
+                for (Adherent adherent : jour.values()) {
+                    if (adherents.size() == limit) {
+                        return adherents;
+                    }
+                    adherents.add(adherent);
+                }
+            }
+            return adherents;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // ==================== Écritures (appelées par AdherentDAO après validation) ====================
+
+    /**
+     * Enregistre des adhérents créés
+     */
+    public void notifyCreated(List<Adherent> adherents) {
+        appliquer(ChangeType.CREATED, adherents);
+    }
+
+    /**
+     * Enregistre un adhérent modifié (un adhérent devenu inactif est retiré)
+     */
+    public void notifyUpdated(Adherent adherent) {
+        appliquer(ChangeType.UPDATED, List.of(adherent));
+    }
+
+    /**
+     * Retire un adhérent désactivé
+     */
+    public void notifyDeleted(int id) {
+        verrou.writeLock().lock();
+        try {
+            if (charge) {
+                retirer(id);
+            }
+            publier(new Change(ChangeType.REMOVED, List.of(id), List.of(), ++version));
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void appliquer(ChangeType type, List<Adherent> adherents) {
+        List<Adherent> enregistres = adherents.stream().filter(a -> a.getId() != null).toList();
+        if (enregistres.isEmpty()) {
+            return;
+        }
+        verrou.writeLock().lock();
+        try {
+            if (charge) {
+                enregistres.forEach(this::ajouter);
+            }
+            List<Integer> ids = enregistres.stream().map(Adherent::getId).toList();
+            publier(new Change(type, ids, enregistres, ++version));
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Publie une modification (sous le verrou d'écriture : les abonnés la reçoivent dans
+     * l'ordre des écritures et peuvent relire le dépôt)
+     */
+    private void publier(Change change) {
+        for (Consumer<Change> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Erreur d'un abonné du dépôt des adhérents", e);
+            }
+        }
+    }
+
+    // ==================== Index ====================
+
+    private static final Comparator<Entree> ORDRE_NOM = Comparator
+        .comparing((Entree e) -> e.cleTri)
+        .thenComparingInt(e -> e.id);
+
+    /**
+     * Adhérent enregistré, avec les valeurs de ses clés d'index au moment de l'enregistrement
+     */
+    private static final class Entree {
+        final int id;
+        final Adherent adherent;
+        final String cleTri;
+        final Integer packId;
+        final LocalDate dateFin;
+        final LocalDate dateInscription;
+
+        Entree(Adherent adherent) {
+            this.id = adherent.getId();
+            this.adherent = adherent;
+            this.cleTri = minuscules(adherent.getNom()) + '\u0000' + minuscules(adherent.getPrenom());
+            this.packId = adherent.getPackId();
+            this.dateFin = adherent.getDateFin();
+            this.dateInscription = adherent.getDateInscription();
+        }
+
+        private static String minuscules(String texte) {
+            return texte != null ? texte.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+
+    private void ajouter(Adherent adherent) {
+        retirer(adherent.getId());
+        if (Boolean.FALSE.equals(adherent.getActif())) {
+            return;
+        }
+        Entree entree = new Entree(adherent);
+        parId.put(entree.id, entree);
+        parNom.add(entree);
+        if (entree.packId != null) {
+            parPack.computeIfAbsent(entree.packId, k -> new LinkedHashMap<>()).put(entree.id, adherent);
+        }
+        if (entree.dateFin != null) {
+            parDateFin.computeIfAbsent(entree.dateFin, k -> new LinkedHashMap<>()).put(entree.id, adherent);
+        }
+        if (entree.dateInscription != null) {
+            parDateInscription.computeIfAbsent(entree.dateInscription, k -> new LinkedHashMap<>()).put(entree.id, adherent);
+        }
+    }
+
+    private void retirer(int id) {
+        Entree entree = parId.remove(id);
+        if (entree == null) {
+            return;
+        }
+        parNom.remove(entree);
+        retirer(parPack, entree.packId, id);
+        retirer(parDateFin, entree.dateFin, id);
+        retirer(parDateInscription, entree.dateInscription, id);
+    }
+
+    private static <K> void retirer(Map<K, Map<Integer, Adherent>> index, K cle, int id) {
+        if (cle == null) {
+            return;
+        }
+        Map<Integer, Adherent> adherents = index.get(cle);
+        if (adherents != null) {
+            adherents.remove(id);
+            if (adherents.isEmpty()) {
+                index.remove(cle);
+            }
+        }
+    }
+
+    private void vider() {
+        parId.clear();
+        parNom.clear();
+        parPack.clear();
+        parDateFin.clear();
+        parDateInscription.clear();
+    }
+
+    private static List<Adherent> aplatir(Collection<Map<Integer, Adherent>> groupes) {
+        List<Adherent> adherents = new ArrayList<>();
+        for (Map<Integer, Adherent> groupe : groupes) {
+            adherents.addAll(groupe.values());
+        }
+        return adherents;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.utils;
+
+import java.util.StringJoiner;
+
+/**
+ * Dialecte MySQL / MariaDB (serveur XAMPP)
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class MySqlDialect implements SqlDialect {
+
+    @Override
+    public String currentDate() {
+        return "CURDATE()";
+    }
+
+    @Override
+    public String addDays(String dateExpression, int jours) {
+        return "DATE_ADD(" + dateExpression + ", INTERVAL " + jours + " DAY)";
+    }
+
+    @Override
+    public String formatDate(String expression, String format) {
+        return "DATE_FORMAT(" + expression + ", '" + format + "')";
+    }
+
+    @Override
+    public String concat(String... expressions) {
+        return "CONCAT(" + String.join(", ", expressions) + ")";
+    }
+
+    @Override
+    public String lastInsertIdQuery() {
+        return "SELECT LAST_INSERT_ID() as id";
+    }
+
+    @Override
+    public String insertIgnore() {
+        return "INSERT IGNORE";
+    }
+
+    @Override
+    public String insertOrAdd(String table, String[] colonnesCle, String[] colonnesAjoutees) {
+        StringJoiner miseAJour = new StringJoiner(", ");
+        for (String colonne : colonnesAjoutees) {
+            miseAJour.add(colonne + " = " + colonne + " + VALUES(" + colonne + ")");
+        }
+        return SqlDialect.insertInto(table, colonnesCle, colonnesAjoutees) + " ON DUPLICATE KEY UPDATE " + miseAJour;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+
+    @Override
+    public boolean hasNativeDateTypes() {
+        return true;
+    }
+
+    @Override
+    public int streamingFetchSize() {
+        // Connector/J : lecture en flux uniquement avec Integer.MIN_VALUE
+        return Integer.MIN_VALUE;
+    }
+}
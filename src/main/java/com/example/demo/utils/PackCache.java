@@ -0,0 +1,243 @@
+package com.example.demo.utils;
+
+import com.example.demo.dao.PackDAO;
+import com.example.demo.models.Pack;
+
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Cache en mémoire de la table des packs (données de référence).
+ *
+ * <p>La table est petite et change rarement, mais elle est relue à chaque ouverture d'un
+ * dialogue d'adhérent ou de paiement, et à chaque cellule affichant le nom d'un pack. Le
+ * cache la charge une seule fois ({@link PackDAO#findAll(Boolean)}) et sert ensuite
+ * {@link #findAll()}, {@link #findById(Integer)} et {@link #searchByNom(String)} depuis la
+ * mémoire. {@link PackDAO} l'invalide après chaque création, modification et désactivation
+ * validée : la lecture suivante recharge la table. Un ID inconnu de la base n'y est
+ * recherché qu'une fois jusqu'à l'invalidation suivante.</p>
+ *
+ * <p>Les packs retournés sont partagés entre les appelants : ils ne doivent être modifiés
+ * qu'en vue d'un {@link PackDAO#update(Pack)}.</p>
+ *
+ * <p>Les statistiques (succès, échecs, chargements) sont exposées par {@link #getStats()} :
+ * chaque lecture compte un seul résultat, succès si elle est servie sans requête.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see PackDAO
+ */
+public final class PackCache {
+    private static final Logger logger = Logger.getLogger(PackCache.class.getName());
+    private static PackCache instance;
+
+    /** Nombre maximum d'ID inconnus retenus entre deux invalidations */
+    private static final int INCONNUS_MAX = 1_000;
+
+    private final PackDAO packDAO = new PackDAO();
+
+    // Tous les packs par ID, dans l'ordre des noms (null : à recharger)
+    private volatile Map<Integer, Pack> packs;
+    // ID absents de la base (remplacé à chaque invalidation)
+    private volatile Set<Integer> idsInconnus = ConcurrentHashMap.newKeySet();
+    // Incrémenté à chaque invalidation : un chargement commencé avant n'est pas conservé
+    private long generation; // protégé par "this"
+
+    // Statistiques
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private PackCache() {
+    }
+
+    /**
+     * Retourne l'instance unique du cache (Singleton)
+     */
+    public static synchronized PackCache getInstance() {
+        if (instance == null) {
+            instance = new PackCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Récupère tous les packs actifs, triés par nom
+     */
+    public List<Pack> findAll() throws SQLException {
+        return findAll(true);
+    }
+
+    /**
+     * Récupère tous les packs (actifs ou tous), triés par nom
+     */
+    public List<Pack> findAll(boolean actifsSeulement) throws SQLException {
+        List<Pack> resultat = new ArrayList<>();
+        for (Pack pack : packs().values()) {
+            if (!actifsSeulement || Boolean.TRUE.equals(pack.getActif())) {
+                resultat.add(pack);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Récupère un pack par son ID, actif ou non.
+     * Un ID absent du cache (pack créé par une autre instance) recharge la table ; s'il n'y
+     * existe pas non plus, il est retenu et les lectures suivantes retournent null sans requête.
+     */
+    public Pack findById(Integer id) throws SQLException {
+        if (id == null) {
+            return null;
+        }
+        Map<Integer, Pack> courant = packs;
+        Set<Integer> inconnus = idsInconnus;
+        if (courant != null && (courant.containsKey(id) || inconnus.contains(id))) {
+            hitCount.increment();
+            return courant.get(id);
+        }
+        missCount.increment();
+
+        // Un pack absent du cache chargé rend la table en cache périmée : elle est rechargée,
+        // et le pack y est servi depuis la mémoire aux lectures suivantes
+        Pack pack = charger().get(id);
+        // Après une invalidation pendant la lecture, l'ID est ajouté à un ensemble déjà remplacé
+        if (pack == null && inconnus.size() < INCONNUS_MAX) {
+            inconnus.add(id);
+        }
+        return pack;
+    }
+
+    /**
+     * Recherche des packs actifs dont le nom contient le terme
+     * (sans tenir compte de la casse ni des accents, comme le LIKE de {@link PackDAO#searchByNom(String)})
+     */
+    public List<Pack> searchByNom(String searchTerm) throws SQLException {
+        String terme = normaliser(searchTerm == null ? "" : searchTerm);
+        List<Pack> resultat = new ArrayList<>();
+        for (Pack pack : packs().values()) {
+            if (Boolean.TRUE.equals(pack.getActif()) && pack.getNom() != null
+                    && normaliser(pack.getNom()).contains(terme)) {
+                resultat.add(pack);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Vide le cache : la prochaine lecture recharge la table des packs
+     */
+    public void invalidate() {
+        synchronized (this) {
+            generation++;
+            packs = null;
+            idsInconnus = ConcurrentHashMap.newKeySet();
+        }
+        invalidationCount.increment();
+        logger.fine("Cache des packs invalidé");
+    }
+
+    /**
+     * Retourne un instantané des statistiques du cache.
+     */
+    public Stats getStats() {
+        Map<Integer, Pack> courant = packs;
+        return new Stats(courant != null ? courant.size() : 0, hitCount.sum(), missCount.sum(),
+            loadCount.sum(), invalidationCount.sum());
+    }
+
+    /**
+     * Packs en cache, chargés si nécessaire
+     */
+    private Map<Integer, Pack> packs() throws SQLException {
+        Map<Integer, Pack> courant = packs;
+        if (courant != null) {
+            hitCount.increment();
+            return courant;
+        }
+        missCount.increment();
+        return charger();
+    }
+
+    /**
+     * Charge la table des packs, sans compter de succès ni d'échec
+     */
+    private Map<Integer, Pack> charger() throws SQLException {
+        long generationChargement;
+        synchronized (this) {
+            generationChargement = generation;
+        }
+        Map<Integer, Pack> charge = new LinkedHashMap<>();
+        for (Pack pack : packDAO.findAll(false)) {
+            charge.put(pack.getId(), pack);
+        }
+        charge = Collections.unmodifiableMap(charge);
+        loadCount.increment();
+
+        synchronized (this) {
+            // Une écriture validée pendant la lecture rend ce chargement peut-être périmé
+            if (generationChargement == generation) {
+                packs = charge;
+            }
+        }
+        logger.fine("Cache des packs chargé: " + charge.size() + " packs (" + getStats() + ")");
+        return charge;
+    }
+
+    private static String normaliser(String texte) {
+        String decompose = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return decompose.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Instantané des statistiques du cache
+     */
+    public static final class Stats {
+        private final int size;
+        private final long hitCount;
+        private final long missCount;
+        private final long loadCount;
+        private final long invalidationCount;
+
+        private Stats(int size, long hitCount, long missCount, long loadCount, long invalidationCount) {
+            this.size = size;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.invalidationCount = invalidationCount;
+        }
+
+        public int getSize() { return size; }
+        public long getHitCount() { return hitCount; }
+        public long getMissCount() { return missCount; }
+        public long getLoadCount() { return loadCount; }
+        public long getInvalidationCount() { return invalidationCount; }
+
+        /** Part des lectures servies depuis la mémoire (0 à 1) */
+        public double getHitRatio() {
+            long total = hitCount + missCount;
+            return total > 0 ? (double) hitCount / total : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "packs=" + size + ", succès=" + hitCount
+                + String.format(Locale.ROOT, " (%.1f%%)", getHitRatio() * 100)
+                + ", échecs=" + missCount + ", chargements=" + loadCount + ", invalidations=" + invalidationCount;
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package com.example.demo.utils;
+
+import com.example.demo.dao.PaiementDAO;
+import com.example.demo.dao.RevenueMonthlyDAO;
+import com.example.demo.models.MonthlyRevenue;
+import com.example.demo.models.Paiement;
+
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Magasin en mémoire des paiements, rangés en colonnes de types primitifs.
+ *
+ * <p>Les analyses de revenus (sommes filtrées, regroupements par mois, par pack ou par
+ * méthode, percentiles) parcourent des tableaux {@code int}/{@code long}/{@code byte}
+ * triés par date de paiement, au lieu de listes de {@link Paiement} (montant en
+ * {@code Double}, date en {@code LocalDateTime}, énumérations) ou d'une requête par série.
+ * Une période est trouvée par recherche dichotomique, puis sommée en une boucle sans
+ * allocation : quelques millisecondes pour des millions de paiements.</p>
+ *
+ * <p>Les paiements sont lus une seule fois ({@link PaiementDAO#forEachColumns}), à la
+ * première analyse ou en arrière-plan au démarrage ({@link #loadAsync()}), puis complétés
+ * par {@link PaiementDAO} après chaque création et changement de statut validés. Les
+ * montants sont conservés en centimes.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see PaiementDAO
+ */
+public final class PaiementColumnStore {
+    private static final Logger logger = Logger.getLogger(PaiementColumnStore.class.getName());
+    private static PaiementColumnStore instance;
+
+    /** Valeur de la colonne des packs pour un paiement sans pack */
+    public static final int SANS_PACK = 0;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+    private final Colonnes colonnes = new Colonnes(); // protégées par le verrou
+    private volatile boolean charge;
+
+    /**
+     * Constructeur privé pour le pattern Singleton
+     */
+    private PaiementColumnStore() {
+    }
+
+    /**
+     * Retourne l'instance unique du magasin (Singleton)
+     */
+    public static synchronized PaiementColumnStore getInstance() {
+        if (instance == null) {
+            instance = new PaiementColumnStore();
+        }
+        return instance;
+    }
+
+    // ==================== Chargement ====================
+
+    /** true une fois les paiements lus en base (les analyses suivantes sont en mémoire) */
+    public boolean isLoaded() {
+        return charge;
+    }
+
+    /**
+     * Lit les paiements en base si ce n'est pas encore fait
+     *
+     * @throws SQLException Si la lecture échoue (elle sera retentée à l'analyse suivante)
+     */
+    public void load() throws SQLException {
+        if (charge) {
+            return;
+        }
+        // Les créations attendent la fin du chargement pour être ajoutées
+        verrou.writeLock().lock();
+        try {
+            if (charge) {
+                return;
+            }
+            long debut = System.nanoTime();
+            new PaiementDAO().forEachColumns(colonnes::ajouter);
+            colonnes.trier();
+            charge = true;
+            logger.info("Magasin des paiements chargé: " + colonnes.size() + " paiements en "
+                + (System.nanoTime() - debut) / 1_000_000 + " ms");
+        } catch (SQLException e) {
+            colonnes.vider();
+            throw e;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Charge les paiements en arrière-plan (au démarrage, pour que la première analyse
+     * n'attende pas la lecture de la table)
+     */
+    public void loadAsync() {
+        Thread.ofVirtual().name("paiement-column-store").start(() -> {
+            try {
+                load();
+            } catch (SQLException e) {
+                logger.severe("Erreur lors du chargement du magasin des paiements: " + e.getMessage());
+            }
+        });
+    }
+
+    // ==================== Écritures (appelées par PaiementDAO après validation) ====================
+
+    /**
+     * Ajoute des paiements créés. Sans effet tant que le magasin n'est pas chargé :
+     * le chargement les lira en base.
+     */
+    public void notifyCreated(List<Paiement> paiements) {
+        verrou.writeLock().lock();
+        try {
+            if (!charge) {
+                return;
+            }
+            for (Paiement paiement : paiements) {
+                // Déjà lu si validé pendant le chargement
+                if (paiement.getId() != null && !colonnes.contientId(paiement.getId())) {
+                    colonnes.ajouter(paiement);
+                }
+            }
+            colonnes.trier();
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Enregistre le nouveau statut d'un paiement (annulation, remboursement)
+     */
+    public void notifyStatutChanged(int id, Paiement.StatutPaiement statut) {
+        verrou.writeLock().lock();
+        try {
+            if (charge) {
+                colonnes.changerStatut(id, (byte) statut.ordinal());
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // ==================== Analyses ====================
+
+    /**
+     * Nombre de paiements en mémoire
+     */
+    public int size() throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Somme des montants (en centimes) des paiements retenus par le filtre
+     */
+    public long sumCents(Filtre filtre) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.sumCents(filtre);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de paiements retenus par le filtre
+     */
+    public int count(Filtre filtre) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.count(filtre);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sommes (en centimes) par mois, du mois {@code premierMois} sur {@code nombreMois} mois
+     *
+     * @return Un total par mois, du plus ancien au plus récent (0 pour un mois sans paiement)
+     */
+    public long[] sumCentsByMonth(Filtre filtre, YearMonth premierMois, int nombreMois) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.sumCentsByMonth(filtre, premierMois, nombreMois);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sommes (en centimes) par pack
+     *
+     * @return Un total par ID de pack (index {@link #SANS_PACK} : paiements sans pack)
+     */
+    public long[] sumCentsByPack(Filtre filtre) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.sumCentsByPack(filtre);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sommes (en centimes) par méthode de paiement
+     *
+     * @return Un total par méthode, indexé par {@link Paiement.MethodePaiement#ordinal()}
+     */
+    public long[] sumCentsByMethode(Filtre filtre) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.sumCentsByMethode(filtre);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Percentiles des montants (en centimes) des paiements retenus par le filtre
+     *
+     * @param rangs Rangs entre 0 et 100 (50 : médiane)
+     * @return Un montant par rang (0 si aucun paiement n'est retenu)
+     */
+    public long[] percentilesCents(Filtre filtre, double... rangs) throws SQLException {
+        load();
+        verrou.readLock().lock();
+        try {
+            return colonnes.percentilesCents(filtre, rangs);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Revenus validés d'un mois (comme {@link PaiementDAO#getRevenusMois(LocalDate)}).
+     * Tant que le magasin n'est pas chargé, ils sont lus dans l'agrégat mensuel des revenus.
+     */
+    public double getRevenusMois(LocalDate mois) throws SQLException {
+        if (!charge) {
+            return new PaiementDAO().getRevenusMois(mois);
+        }
+        YearMonth yearMonth = YearMonth.from(mois);
+        return sumCents(Filtre.entre(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1))
+            .statut(Paiement.StatutPaiement.VALIDE)) / 100.0;
+    }
+
+    /**
+     * Revenus validés des N derniers mois (comme {@link PaiementDAO#getRevenusParMois(int)})
+     */
+    public List<MonthlyRevenue> getRevenusParMois(int nombreMois) throws SQLException {
+        return getRevenusParMois(LocalDate.now(), nombreMois);
+    }
+
+    /**
+     * Revenus validés des {@code nombreMois} mois se terminant au mois de {@code reference}.
+     * Tant que le magasin n'est pas chargé, ils sont lus dans l'agrégat mensuel des revenus
+     * ({@link RevenueMonthlyDAO}) plutôt que d'attendre la lecture de tous les paiements.
+     *
+     * @return Un revenu par mois, du plus ancien au plus récent (0 pour un mois sans paiement)
+     */
+    public List<MonthlyRevenue> getRevenusParMois(LocalDate reference, int nombreMois) throws SQLException {
+        YearMonth premierMois = YearMonth.from(reference).minusMonths(nombreMois - 1);
+        if (!charge) {
+            return new RevenueMonthlyDAO().getRevenusParMois(premierMois, nombreMois);
+        }
+        long[] centimes = sumCentsByMonth(Filtre.tous().statut(Paiement.StatutPaiement.VALIDE), premierMois, nombreMois);
+        List<MonthlyRevenue> revenus = new ArrayList<>(nombreMois);
+        for (int i = 0; i < nombreMois; i++) {
+            revenus.add(new MonthlyRevenue(premierMois.plusMonths(i).atDay(1), centimes[i] / 100.0));
+        }
+        return revenus;
+    }
+
+    /**
+     * Critères d'une analyse (immuable) : période de paiement, statut, pack, méthode
+     */
+    public static final class Filtre {
+        private static final int TOUS = -1;
+
+        private final int debut; // jour inclus (depuis l'époque)
+        private final int fin;   // jour exclu
+        private final int statut;
+        private final int packId;
+        private final int methode;
+
+        private Filtre(int debut, int fin, int statut, int packId, int methode) {
+            this.debut = debut;
+            this.fin = fin;
+            this.statut = statut;
+            this.packId = packId;
+            this.methode = methode;
+        }
+
+        /** Tous les paiements */
+        public static Filtre tous() {
+            return new Filtre(Integer.MIN_VALUE, Integer.MAX_VALUE, TOUS, TOUS, TOUS);
+        }
+
+        /** Paiements du jour {@code debut} (inclus) au jour {@code fin} (exclu) */
+        public static Filtre entre(LocalDate debut, LocalDate fin) {
+            return new Filtre((int) debut.toEpochDay(), (int) fin.toEpochDay(), TOUS, TOUS, TOUS);
+        }
+
+        /** Restreint au statut donné */
+        public Filtre statut(Paiement.StatutPaiement valeur) {
+            return new Filtre(debut, fin, valeur.ordinal(), packId, methode);
+        }
+
+        /** Restreint au pack donné ({@link #SANS_PACK} : paiements sans pack) */
+        public Filtre pack(int valeur) {
+            return new Filtre(debut, fin, statut, valeur, methode);
+        }
+
+        /** Restreint à la méthode de paiement donnée */
+        public Filtre methode(Paiement.MethodePaiement valeur) {
+            return new Filtre(debut, fin, statut, packId, valeur.ordinal());
+        }
+    }
+
+    /**
+     * Colonnes des paiements, triées par jour de paiement (non synchronisées).
+     *
+     * <p>La ligne {@code i} est un paiement : {@code jours[i]} (jour depuis l'époque),
+     * {@code montants[i]} (centimes), {@code adherents[i]}, {@code packs[i]}
+     * ({@link #SANS_PACK} si aucun), {@code methodes[i]} et {@code statuts[i]} (ordinaux
+     * des énumérations de {@link Paiement}).</p>
+     */
+    public static final class Colonnes {
+        private static final int CAPACITE_INITIALE = 1024;
+
+        private int[] ids = new int[CAPACITE_INITIALE];
+        private int[] jours = new int[CAPACITE_INITIALE];
+        private long[] montants = new long[CAPACITE_INITIALE];
+        private int[] adherents = new int[CAPACITE_INITIALE];
+        private int[] packs = new int[CAPACITE_INITIALE];
+        private byte[] methodes = new byte[CAPACITE_INITIALE];
+        private byte[] statuts = new byte[CAPACITE_INITIALE];
+        private int taille;
+        // Lignes 0..triees-1 rangées par jour ; les suivantes sont ajoutées en fin
+        private int triees;
+        private int idMax;
+
+        /**
+         * Colonnes construites depuis des paiements
+         */
+        public static Colonnes of(List<Paiement> paiements) {
+            Colonnes colonnes = new Colonnes();
+            for (Paiement paiement : paiements) {
+                colonnes.ajouter(paiement);
+            }
+            colonnes.trier();
+            return colonnes;
+        }
+
+        public int size() {
+            return taille;
+        }
+
+        /**
+         * Ajoute une ligne en fin (à trier par {@link #trier()} avant une analyse)
+         */
+        void ajouter(int id, int jour, long montantCentimes, int adherentId, int packId, byte methode, byte statut) {
+            if (taille == jours.length) {
+                int capacite = taille + (taille >> 1);
+                ids = Arrays.copyOf(ids, capacite);
+                jours = Arrays.copyOf(jours, capacite);
+                montants = Arrays.copyOf(montants, capacite);
+                adherents = Arrays.copyOf(adherents, capacite);
+                packs = Arrays.copyOf(packs, capacite);
+                methodes = Arrays.copyOf(methodes, capacite);
+                statuts = Arrays.copyOf(statuts, capacite);
+            }
+            ids[taille] = id;
+            jours[taille] = jour;
+            montants[taille] = montantCentimes;
+            adherents[taille] = adherentId;
+            packs[taille] = packId;
+            methodes[taille] = methode;
+            statuts[taille] = statut;
+            taille++;
+            idMax = Math.max(idMax, id);
+        }
+
+        private void ajouter(Paiement paiement) {
+            if (paiement.getDatePaiement() == null || paiement.getMontant() == null) {
+                return;
+            }
+            ajouter(paiement.getId() != null ? paiement.getId() : 0,
+                (int) paiement.getDatePaiement().toLocalDate().toEpochDay(),
+                paiement.getMontant().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue(),
+                paiement.getAdherentId() != null ? paiement.getAdherentId() : 0,
+                paiement.getPackId() != null ? paiement.getPackId() : SANS_PACK,
+                (byte) paiement.getMethodePaiement().ordinal(),
+                (byte) paiement.getStatut().ordinal());
+        }
+
+        /**
+         * true si une ligne porte cet ID (parcours complet, seulement pour un ID déjà vu)
+         */
+        private boolean contientId(int id) {
+            if (id > idMax) {
+                return false;
+            }
+            for (int i = 0; i < taille; i++) {
+                if (ids[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Change le statut de la ligne portant cet ID (parcours complet, changement rare)
+         */
+        private void changerStatut(int id, byte statut) {
+            for (int i = 0; i < taille; i++) {
+                if (ids[i] == id) {
+                    statuts[i] = statut;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Range les lignes ajoutées depuis le dernier tri. Les paiements du jour (cas courant)
+         * restent en place ; sinon les lignes sont permutées selon un tri des clés (jour, position).
+         */
+        private void trier() {
+            boolean enOrdre = true;
+            for (int i = Math.max(triees, 1); i < taille && enOrdre; i++) {
+                enOrdre = jours[i - 1] <= jours[i];
+            }
+            if (!enOrdre) {
+                long[] cles = new long[taille];
+                for (int i = 0; i < taille; i++) {
+                    cles[i] = ((long) jours[i] << 32) | i;
+                }
+                Arrays.sort(cles);
+                int[] ordre = new int[taille];
+                for (int i = 0; i < taille; i++) {
+                    ordre[i] = (int) cles[i];
+                }
+                ids = permuter(ids, ordre);
+                jours = permuter(jours, ordre);
+                montants = permuter(montants, ordre);
+                adherents = permuter(adherents, ordre);
+                packs = permuter(packs, ordre);
+                methodes = permuter(methodes, ordre);
+                statuts = permuter(statuts, ordre);
+            }
+            triees = taille;
+        }
+
+        private void vider() {
+            taille = 0;
+            triees = 0;
+            idMax = 0;
+        }
+
+        public long sumCents(Filtre filtre) {
+            long total = 0;
+            for (int i = premiereLigne(filtre.debut), fin = premiereLigne(filtre.fin); i < fin; i++) {
+                if (retenue(filtre, i)) {
+                    total += montants[i];
+                }
+            }
+            return total;
+        }
+
+        public int count(Filtre filtre) {
+            int nombre = 0;
+            for (int i = premiereLigne(filtre.debut), fin = premiereLigne(filtre.fin); i < fin; i++) {
+                if (retenue(filtre, i)) {
+                    nombre++;
+                }
+            }
+            return nombre;
+        }
+
+        public long[] sumCentsByMonth(Filtre filtre, YearMonth premierMois, int nombreMois) {
+            // bornes[m] : premier jour du mois m de la période
+            int[] bornes = new int[nombreMois + 1];
+            for (int m = 0; m <= nombreMois; m++) {
+                bornes[m] = (int) premierMois.plusMonths(m).atDay(1).toEpochDay();
+            }
+            long[] totaux = new long[nombreMois];
+            int debut = premiereLigne(Math.max(filtre.debut, bornes[0]));
+            int fin = premiereLigne(Math.min(filtre.fin, bornes[nombreMois]));
+            int mois = 0;
+            for (int i = debut; i < fin; i++) {
+                // Lignes triées par jour : le mois courant ne fait qu'avancer
+                while (jours[i] >= bornes[mois + 1]) {
+                    mois++;
+                }
+                if (retenue(filtre, i)) {
+                    totaux[mois] += montants[i];
+                }
+            }
+            return totaux;
+        }
+
+        public long[] sumCentsByPack(Filtre filtre) {
+            int debut = premiereLigne(filtre.debut);
+            int fin = premiereLigne(filtre.fin);
+            int packMax = SANS_PACK;
+            for (int i = debut; i < fin; i++) {
+                packMax = Math.max(packMax, packs[i]);
+            }
+            long[] totaux = new long[packMax + 1];
+            for (int i = debut; i < fin; i++) {
+                if (retenue(filtre, i) && packs[i] >= 0) {
+                    totaux[packs[i]] += montants[i];
+                }
+            }
+            return totaux;
+        }
+
+        public long[] sumCentsByMethode(Filtre filtre) {
+            long[] totaux = new long[Paiement.MethodePaiement.values().length];
+            for (int i = premiereLigne(filtre.debut), fin = premiereLigne(filtre.fin); i < fin; i++) {
+                if (retenue(filtre, i)) {
+                    totaux[methodes[i]] += montants[i];
+                }
+            }
+            return totaux;
+        }
+
+        public long[] percentilesCents(Filtre filtre, double... rangs) {
+            int debut = premiereLigne(filtre.debut);
+            int fin = premiereLigne(filtre.fin);
+            long[] retenus = new long[fin - debut];
+            int nombre = 0;
+            for (int i = debut; i < fin; i++) {
+                if (retenue(filtre, i)) {
+                    retenus[nombre++] = montants[i];
+                }
+            }
+            Arrays.sort(retenus, 0, nombre);
+            long[] resultats = new long[rangs.length];
+            if (nombre > 0) {
+                for (int r = 0; r < rangs.length; r++) {
+                    // Rang le plus proche : plus petite valeur couvrant rangs[r] % des paiements
+                    int index = (int) Math.ceil(rangs[r] / 100.0 * nombre) - 1;
+                    resultats[r] = retenus[Math.min(Math.max(index, 0), nombre - 1)];
+                }
+            }
+            return resultats;
+        }
+
+        /**
+         * Première ligne dont le jour est au moins {@code jour}
+         */
+        private int premiereLigne(int jour) {
+            int bas = 0;
+            int haut = taille;
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                if (jours[milieu] < jour) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+            return bas;
+        }
+
+        private boolean retenue(Filtre filtre, int i) {
+            return (filtre.statut == Filtre.TOUS || statuts[i] == filtre.statut)
+                && (filtre.packId == Filtre.TOUS || packs[i] == filtre.packId)
+                && (filtre.methode == Filtre.TOUS || methodes[i] == filtre.methode);
+        }
+
+        private int[] permuter(int[] colonne, int[] ordre) {
+            int[] resultat = new int[colonne.length];
+            for (int i = 0; i < taille; i++) {
+                resultat[i] = colonne[ordre[i]];
+            }
+            return resultat;
+        }
+
+        private long[] permuter(long[] colonne, int[] ordre) {
+            long[] resultat = new long[colonne.length];
+            for (int i = 0; i < taille; i++) {
+                resultat[i] = colonne[ordre[i]];
+            }
+            return resultat;
+        }
+
+        private byte[] permuter(byte[] colonne, int[] ordre) {
+            byte[] resultat = new byte[colonne.length];
+            for (int i = 0; i < taille; i++) {
+                resultat[i] = colonne[ordre[i]];
+            }
+            return resultat;
+        }
+    }
+}
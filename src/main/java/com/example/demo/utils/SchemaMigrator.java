@@ -0,0 +1,292 @@
+package com.example.demo.utils;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Moteur de migration versionnée du schéma de la base de données.
+ *
+ * <p>Les scripts SQL sont lus depuis {@code /db/migrations/} (ou le dossier du moteur,
+ * voir {@link DatabaseBackend#getMigrationsLocation()}) dans l'ordre défini par
+ * {@code migrations.txt}. Chaque script appliqué est enregistré dans la table
+ * {@code schema_version} avec sa somme de contrôle (CRC32). Au démarrage :
+ * <ul>
+ *   <li>si le schéma est à jour, une seule requête (lecture de {@code schema_version}) est exécutée</li>
+ *   <li>sinon, seuls les scripts en attente sont appliqués, dans l'ordre des versions</li>
+ *   <li>un script déjà appliqué dont le contenu a changé est signalé (il n'est jamais réappliqué)</li>
+ * </ul>
+ * </p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see DatabaseManager#initializeDatabase()
+ */
+public class SchemaMigrator {
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class.getName());
+
+    private static final String MIGRATIONS_LOCATION = "/db/migrations/";
+    private static final String MIGRATIONS_INDEX = "migrations.txt";
+
+    private final DataSource dataSource;
+    private final String migrationsLocation;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, MIGRATIONS_LOCATION);
+    }
+
+    /**
+     * @param migrationsLocation Dossier (classpath) des scripts, terminé par '/'
+     */
+    public SchemaMigrator(DataSource dataSource, String migrationsLocation) {
+        this.dataSource = dataSource;
+        this.migrationsLocation = migrationsLocation;
+    }
+
+    /**
+     * Applique les migrations en attente.
+     *
+     * @return Le résultat de la migration (scripts appliqués)
+     * @throws SQLException Si un script échoue
+     */
+    public Result migrate() throws SQLException {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection conn = dataSource.getConnection()) {
+            Map<Integer, Long> applied = readAppliedVersions(conn);
+            if (applied == null) {
+                createVersionTable(conn);
+                applied = new HashMap<>();
+            }
+
+            List<Integer> newlyApplied = new ArrayList<>();
+            for (Migration migration : migrations) {
+                Long checksum = applied.get(migration.version);
+                if (checksum == null) {
+                    apply(conn, migration);
+                    newlyApplied.add(migration.version);
+                } else if (checksum != migration.checksum) {
+                    logger.severe("La migration " + migration.script + " a été modifiée après son application "
+                        + "(checksum " + checksum + " != " + migration.checksum + "). Ajoutez un nouveau script à la place.");
+                }
+            }
+
+            if (newlyApplied.isEmpty()) {
+                logger.info("Schéma à jour (version " + latestVersion(migrations) + ")");
+            } else {
+                logger.info(newlyApplied.size() + " migration(s) appliquée(s), schéma en version " + latestVersion(migrations));
+            }
+            return new Result(newlyApplied, applied.isEmpty());
+        }
+    }
+
+    /**
+     * Lit les versions appliquées. Retourne null si la table schema_version n'existe pas encore.
+     */
+    private Map<Integer, Long> readAppliedVersions(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+            return applied;
+        } catch (SQLException e) {
+            conn.rollback();
+            // Vérifier que l'échec vient bien de l'absence de la table
+            try (ResultSet tables = conn.getMetaData().getTables(conn.getCatalog(), null, "schema_version", null)) {
+                if (tables.next()) {
+                    throw e;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    script VARCHAR(255) NOT NULL,
+                    checksum BIGINT NOT NULL,
+                    execution_time_ms INT NOT NULL,
+                    installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+            conn.commit();
+        }
+        logger.info("Table schema_version créée");
+    }
+
+    /**
+     * Applique un script puis l'enregistre dans schema_version.
+     * Note: MySQL valide implicitement les instructions DDL, un script partiellement
+     * appliqué doit donc rester idempotent (IF NOT EXISTS, insertions conditionnelles).
+     */
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        logger.info("Application de la migration " + migration.script);
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, script, checksum, execution_time_ms) VALUES (?, ?, ?, ?, ?)")) {
+                insert.setInt(1, migration.version);
+                insert.setString(2, migration.description);
+                insert.setString(3, migration.script);
+                insert.setLong(4, migration.checksum);
+                insert.setInt(5, (int) (System.currentTimeMillis() - start));
+                insert.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            logger.severe("Échec de la migration " + migration.script + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Charge les scripts listés dans migrations.txt, triés par version.
+     */
+    private List<Migration> loadMigrations() throws SQLException {
+        List<Migration> migrations = new ArrayList<>();
+        for (String script : readLines(MIGRATIONS_INDEX)) {
+            String line = script.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            migrations.add(Migration.parse(line, String.join("\n", readLines(line))));
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        return migrations;
+    }
+
+    private List<String> readLines(String name) throws SQLException {
+        InputStream in = SchemaMigrator.class.getResourceAsStream(migrationsLocation + name);
+        if (in == null) {
+            throw new SQLException("Script de migration introuvable: " + migrationsLocation + name);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        } catch (IOException e) {
+            throw new SQLException("Lecture impossible de " + name, e);
+        }
+    }
+
+    private static int latestVersion(List<Migration> migrations) {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+    }
+
+    /**
+     * Script de migration chargé depuis le classpath
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+        private final long checksum;
+        private final List<String> statements;
+
+        private Migration(int version, String description, String script, long checksum, List<String> statements) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+            this.checksum = checksum;
+            this.statements = statements;
+        }
+
+        /**
+         * Analyse un script nommé {@code <version>_<description>.sql}
+         */
+        static Migration parse(String script, String content) throws SQLException {
+            int underscore = script.indexOf('_');
+            if (underscore <= 0 || !script.endsWith(".sql")) {
+                throw new SQLException("Nom de migration invalide: " + script);
+            }
+            int version;
+            try {
+                version = Integer.parseInt(script.substring(0, underscore));
+            } catch (NumberFormatException e) {
+                throw new SQLException("Version de migration invalide: " + script, e);
+            }
+            String description = script.substring(underscore + 1, script.length() - 4).replace('_', ' ');
+
+            CRC32 crc = new CRC32();
+            crc.update(content.getBytes(StandardCharsets.UTF_8));
+            return new Migration(version, description, script, crc.getValue(), splitStatements(content));
+        }
+
+        /**
+         * Découpe un script en instructions terminées par ';' en fin de ligne.
+         * Les lignes de commentaire ('--') sont ignorées.
+         */
+        private static List<String> splitStatements(String content) {
+            List<String> statements = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String line : content.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String sql = current.toString().trim();
+                    statements.add(sql.substring(0, sql.length() - 1));
+                    current.setLength(0);
+                }
+            }
+            if (!current.toString().isBlank()) {
+                statements.add(current.toString().trim());
+            }
+            return statements;
+        }
+    }
+
+    /**
+     * Résultat d'une exécution du moteur de migration
+     */
+    public static final class Result {
+        private final List<Integer> appliedVersions;
+        private final boolean freshInstall;
+
+        private Result(List<Integer> appliedVersions, boolean freshInstall) {
+            this.appliedVersions = List.copyOf(appliedVersions);
+            this.freshInstall = freshInstall;
+        }
+
+        /** Versions appliquées lors de cette exécution */
+        public List<Integer> getAppliedVersions() {
+            return appliedVersions;
+        }
+
+        /** true si aucune migration n'était enregistrée avant cette exécution */
+        public boolean isFreshInstall() {
+            return freshInstall;
+        }
+
+        /** true si le schéma était déjà à jour (chemin rapide) */
+        public boolean isUpToDate() {
+            return appliedVersions.isEmpty();
+        }
+    }
+}
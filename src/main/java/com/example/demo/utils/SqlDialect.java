@@ -0,0 +1,123 @@
+package com.example.demo.utils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+/**
+ * Fragments SQL propres à un moteur de base de données.
+ *
+ * <p>Les DAO écrivent un SQL commun aux deux moteurs et passent par le dialecte
+ * courant ({@link DatabaseManager#getDialect()}) pour les seules fonctions qui diffèrent :
+ * date du jour, arithmétique de dates, formatage de dates, concaténation, dernier ID
+ * généré et insertions conditionnelles (doublons ignorés, compteurs cumulés).</p>
+ *
+ * <p>Convention commune : les dates sont comparées sous forme {@code yyyy-MM-dd}
+ * et les horodatages sous forme {@code yyyy-MM-dd HH:mm:ss}, ce qui permet des
+ * comparaisons de chaînes correctes en SQLite.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ * @see DatabaseBackend
+ */
+public interface SqlDialect {
+
+    /**
+     * Date du jour (heure locale), équivalent de {@code CURDATE()}
+     */
+    String currentDate();
+
+    /**
+     * Date décalée d'un nombre de jours, équivalent de {@code DATE_ADD(expr, INTERVAL n DAY)}
+     *
+     * @param dateExpression Expression SQL de type date
+     * @param jours Nombre de jours (négatif pour reculer)
+     */
+    String addDays(String dateExpression, int jours);
+
+    /**
+     * Formate une date, équivalent de {@code DATE_FORMAT(expr, format)}.
+     * Seuls les spécificateurs communs aux deux moteurs sont admis : %Y, %m, %d et %H.
+     */
+    String formatDate(String expression, String format);
+
+    /**
+     * Concaténation de chaînes, équivalent de {@code CONCAT(a, b, ...)}
+     */
+    String concat(String... expressions);
+
+    /**
+     * Requête retournant le dernier ID généré sur la connexion (colonne {@code id})
+     */
+    String lastInsertIdQuery();
+
+    /**
+     * Début d'une insertion ignorant les doublons de clé, équivalent de {@code INSERT IGNORE}
+     */
+    String insertIgnore();
+
+    /**
+     * Insertion d'une ligne de compteurs : si la clé existe déjà, les valeurs sont ajoutées
+     * à celles de la ligne existante, équivalent de
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE c = c + VALUES(c)}.
+     * Les paramètres sont les colonnes de clé puis les colonnes ajoutées, dans l'ordre.
+     *
+     * @param table Table (clé primaire ou unique sur {@code colonnesCle})
+     * @param colonnesCle Colonnes de la clé
+     * @param colonnesAjoutees Colonnes incrémentées de la valeur insérée
+     */
+    String insertOrAdd(String table, String[] colonnesCle, String[] colonnesAjoutees);
+
+    /**
+     * true si {@link Statement#getGeneratedKeys()} retourne un ID par ligne après
+     * {@code executeBatch()}. Sinon, voir {@link #lastInsertId(Connection)}.
+     */
+    boolean supportsBatchGeneratedKeys();
+
+    /**
+     * true si le driver lit directement les colonnes DATE et TIMESTAMP en
+     * {@code LocalDate} / {@code LocalDateTime} ({@code getObject(index, LocalDate.class)}).
+     * Sinon, les dates sont stockées en texte ISO et lues avec {@link DateUtils}.
+     */
+    boolean hasNativeDateTypes();
+
+    /**
+     * Taille de lecture ({@link Statement#setFetchSize(int)}) pour parcourir une grande
+     * table ligne par ligne, sans charger tout le résultat en mémoire
+     */
+    int streamingFetchSize();
+
+    /**
+     * {@code INSERT INTO table (colonnes...) VALUES (?, ...)} sur les colonnes de clé puis
+     * les autres colonnes (base de {@link #insertOrAdd(String, String[], String[])})
+     */
+    static String insertInto(String table, String[] colonnesCle, String[] autresColonnes) {
+        StringJoiner colonnes = new StringJoiner(", ", "(", ")");
+        StringJoiner valeurs = new StringJoiner(", ", "(", ")");
+        for (String[] groupe : new String[][]{colonnesCle, autresColonnes}) {
+            for (String colonne : groupe) {
+                colonnes.add(colonne);
+                valeurs.add("?");
+            }
+        }
+        return "INSERT INTO " + table + " " + colonnes + " VALUES " + valeurs;
+    }
+
+    /**
+     * Lit le dernier ID généré sur la connexion.
+     *
+     * <p>Pour un lot inséré dans une même transaction, les IDs sont consécutifs et
+     * se terminent par cette valeur.</p>
+     */
+    default int lastInsertId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(lastInsertIdQuery())) {
+            if (rs.next()) {
+                return rs.getInt("id");
+            }
+            throw new SQLException("Aucun ID généré sur cette connexion");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.utils;
+
+import java.util.StringJoiner;
+
+/**
+ * Dialecte SQLite (base embarquée dans un fichier local)
+ *
+ * <p>SQLite n'a pas de type date : les dates sont stockées en texte ISO et les
+ * fonctions {@code date()} / {@code strftime()} produisent le même format, en
+ * heure locale comme MySQL.</p>
+ *
+ * @author Dashboard Team
+ * @version 1.0
+ */
+public class SqliteDialect implements SqlDialect {
+
+    @Override
+    public String currentDate() {
+        return "DATE('now', 'localtime')";
+    }
+
+    @Override
+    public String addDays(String dateExpression, int jours) {
+        return "DATE(" + dateExpression + ", '" + (jours >= 0 ? "+" : "") + jours + " days')";
+    }
+
+    @Override
+    public String formatDate(String expression, String format) {
+        return "strftime('" + format + "', " + expression + ")";
+    }
+
+    @Override
+    public String concat(String... expressions) {
+        return "(" + String.join(" || ", expressions) + ")";
+    }
+
+    @Override
+    public String lastInsertIdQuery() {
+        return "SELECT last_insert_rowid() as id";
+    }
+
+    @Override
+    public String insertIgnore() {
+        return "INSERT OR IGNORE";
+    }
+
+    @Override
+    public String insertOrAdd(String table, String[] colonnesCle, String[] colonnesAjoutees) {
+        StringJoiner miseAJour = new StringJoiner(", ");
+        for (String colonne : colonnesAjoutees) {
+            miseAJour.add(colonne + " = " + colonne + " + excluded." + colonne);
+        }
+        return SqlDialect.insertInto(table, colonnesCle, colonnesAjoutees)
+            + " ON CONFLICT (" + String.join(", ", colonnesCle) + ") DO UPDATE SET " + miseAJour;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        // Le driver ne retourne que la clé de la dernière ligne d'un lot
+        return false;
+    }
+
+    @Override
+    public boolean hasNativeDateTypes() {
+        // Dates stockées en texte ('yyyy-MM-dd' et 'yyyy-MM-dd HH:mm:ss')
+        return false;
+    }
+
+    @Override
+    public int streamingFetchSize() {
+        return DatabaseManager.DEFAULT_BATCH_SIZE;
+    }
+}
@@ -7,6 +7,7 @@ import com.example.demo.models.Adherent;
 import com.example.demo.models.Pack;
 import com.example.demo.models.Paiement;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Random;
@@ -73,9 +74,10 @@ public class TestDataGenerator {
             
             // Générer les adhérents
             int baseIndex = forcer ? nombreExistant : 0;
-            int adherentsCrees = 0;
             System.out.println("Index de base pour les nouveaux adhérents: " + baseIndex);
             
+            java.util.List<Adherent> adherents = new java.util.ArrayList<>(nombreAdherents);
+            
             for (int i = 0; i < nombreAdherents; i++) {
                 Adherent adherent = new Adherent();
                 adherent.setCin("AB" + String.format("%06d", 100000 + baseIndex + i));
@@ -112,22 +114,27 @@ public class TestDataGenerator {
                 }
                 
                 adherent.setDateInscription(adherent.getDateDebut());
-                
-                // Créer l'adhérent
-                adherentDAO.create(adherent);
-                adherentsCrees++;
+                adherents.add(adherent);
+            }
+            
+            // Créer les adhérents par lots (les IDs générés sont renseignés)
+            adherentDAO.createAll(adherents);
+            
+            java.util.List<Paiement> paiements = new java.util.ArrayList<>();
+            for (Adherent adherent : adherents) {
+                Pack pack = adherent.getPack();
                 
                 // Créer un paiement pour cet adhérent
                 Paiement paiement = new Paiement();
                 paiement.setAdherent(adherent);
                 paiement.setPack(pack);
-                paiement.setMontant(pack.getPrix());
+                paiement.setMontant(BigDecimal.valueOf(pack.getPrix()));
                 paiement.setDatePaiement(adherent.getDateDebut().atStartOfDay());
                 paiement.setMethodePaiement(Paiement.MethodePaiement.values()[random.nextInt(Paiement.MethodePaiement.values().length)]);
                 paiement.setDateDebutAbonnement(adherent.getDateDebut());
                 paiement.setDateFinAbonnement(adherent.getDateFin());
                 
-                paiementDAO.create(paiement);
+                paiements.add(paiement);
                 
                 // Créer des paiements supplémentaires pour certains adhérents (historique)
                 if (random.nextDouble() < 0.4 && adherent.getDateDebut().isBefore(LocalDate.now().minusMonths(2))) {
@@ -135,16 +142,19 @@ public class TestDataGenerator {
                     Paiement paiementPrecedent = new Paiement();
                     paiementPrecedent.setAdherent(adherent);
                     paiementPrecedent.setPack(pack);
-                    paiementPrecedent.setMontant(pack.getPrix());
+                    paiementPrecedent.setMontant(BigDecimal.valueOf(pack.getPrix()));
                     paiementPrecedent.setDatePaiement(adherent.getDateDebut().minusMonths(pack.getDuree()).atStartOfDay());
                     paiementPrecedent.setMethodePaiement(Paiement.MethodePaiement.values()[random.nextInt(Paiement.MethodePaiement.values().length)]);
                     paiementPrecedent.setDateDebutAbonnement(adherent.getDateDebut().minusMonths(pack.getDuree()));
                     paiementPrecedent.setDateFinAbonnement(adherent.getDateDebut());
-                    paiementDAO.create(paiementPrecedent);
+                    paiements.add(paiementPrecedent);
                 }
             }
             
-            String successMsg = "✓ Génération terminée : " + adherentsCrees + " adhérents créés avec leurs paiements.";
+            // Créer les paiements par lots
+            paiementDAO.createAll(paiements);
+            
+            String successMsg = "✓ Génération terminée : " + adherents.size() + " adhérents créés avec leurs paiements.";
             System.out.println(successMsg);
             System.err.println(successMsg);
             
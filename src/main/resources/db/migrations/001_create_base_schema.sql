@@ -0,0 +1,175 @@
+-- Schéma initial MySQL du système de gestion de gym
+-- Description: Tables métier (utilisateurs, packs, adhérents, paiements, cours, équipements)
+-- et tables du dashboard (notifications, activités, objectifs, préférences utilisateur)
+
+-- Table des utilisateurs (pour le système de login)
+CREATE TABLE IF NOT EXISTS utilisateurs (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL DEFAULT 'RECEPTIONNISTE',
+    nom VARCHAR(255),
+    prenom VARCHAR(255),
+    actif TINYINT(1) DEFAULT 1,
+    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_username (username)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des packs/abonnements
+CREATE TABLE IF NOT EXISTS packs (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    prix DECIMAL(10,2) NOT NULL,
+    activites TEXT,
+    jours_disponibilite VARCHAR(255),
+    horaires VARCHAR(255),
+    duree INT NOT NULL,
+    unite_duree VARCHAR(50) DEFAULT 'MOIS',
+    seances_semaine INT,
+    acces_coach TINYINT(1) DEFAULT 0,
+    actif TINYINT(1) DEFAULT 1,
+    description TEXT,
+    date_creation TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des adhérents
+CREATE TABLE IF NOT EXISTS adherents (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    cin VARCHAR(50) UNIQUE,
+    nom VARCHAR(255) NOT NULL,
+    prenom VARCHAR(255) NOT NULL,
+    date_naissance DATE,
+    telephone VARCHAR(50),
+    email VARCHAR(255),
+    adresse TEXT,
+    photo VARCHAR(500),
+    poids DECIMAL(5,2),
+    taille DECIMAL(5,2),
+    objectifs TEXT,
+    problemes_sante TEXT,
+    pack_id INT,
+    date_debut DATE,
+    date_fin DATE,
+    actif TINYINT(1) DEFAULT 1,
+    date_inscription TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_adherents_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
+    INDEX idx_cin (cin),
+    INDEX idx_pack_id (pack_id),
+    INDEX idx_actif (actif)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des paiements
+CREATE TABLE IF NOT EXISTS paiements (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    adherent_id INT NOT NULL,
+    pack_id INT,
+    montant DECIMAL(10,2) NOT NULL,
+    date_paiement TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    methode_paiement VARCHAR(50) NOT NULL,
+    statut VARCHAR(50) DEFAULT 'VALIDE',
+    reference VARCHAR(255),
+    date_debut_abonnement DATE,
+    date_fin_abonnement DATE,
+    notes TEXT,
+    CONSTRAINT fk_paiements_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
+    CONSTRAINT fk_paiements_pack FOREIGN KEY (pack_id) REFERENCES packs(id) ON DELETE SET NULL,
+    INDEX idx_adherent_id (adherent_id),
+    INDEX idx_date_paiement (date_paiement),
+    INDEX idx_statut (statut)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des cours collectifs
+CREATE TABLE IF NOT EXISTS cours_collectifs (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    description TEXT,
+    coach_id INT,
+    jour_semaine VARCHAR(50),
+    heure_debut TIME,
+    heure_fin TIME,
+    capacite_max INT DEFAULT 20,
+    actif TINYINT(1) DEFAULT 1,
+    CONSTRAINT fk_cours_coach FOREIGN KEY (coach_id) REFERENCES utilisateurs(id) ON DELETE SET NULL,
+    INDEX idx_coach_id (coach_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des réservations de cours
+CREATE TABLE IF NOT EXISTS reservations_cours (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    cours_id INT NOT NULL,
+    adherent_id INT NOT NULL,
+    date_reservation DATE NOT NULL,
+    statut VARCHAR(50) DEFAULT 'CONFIRME',
+    CONSTRAINT fk_reservations_cours FOREIGN KEY (cours_id) REFERENCES cours_collectifs(id) ON DELETE CASCADE,
+    CONSTRAINT fk_reservations_adherent FOREIGN KEY (adherent_id) REFERENCES adherents(id) ON DELETE CASCADE,
+    INDEX idx_cours_id (cours_id),
+    INDEX idx_adherent_id (adherent_id),
+    INDEX idx_date_reservation (date_reservation)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des équipements
+CREATE TABLE IF NOT EXISTS equipements (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    type VARCHAR(100),
+    etat VARCHAR(50) DEFAULT 'FONCTIONNEL',
+    date_achat DATE,
+    date_maintenance DATE,
+    notes TEXT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des notifications
+CREATE TABLE IF NOT EXISTS notifications (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    `read` TINYINT(1) DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_read (`read`),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des activités
+CREATE TABLE IF NOT EXISTS activities (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT,
+    type VARCHAR(50) NOT NULL,
+    description TEXT NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id INT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_activities_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id),
+    INDEX idx_type (type),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des objectifs
+CREATE TABLE IF NOT EXISTS objectifs (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    type VARCHAR(50) NOT NULL,
+    valeur DECIMAL(10,2) NOT NULL,
+    date_debut DATE NOT NULL,
+    date_fin DATE,
+    actif TINYINT(1) DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_type (type),
+    INDEX idx_actif (actif)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Table des préférences utilisateur
+CREATE TABLE IF NOT EXISTS user_preferences (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    user_id INT UNIQUE NOT NULL,
+    theme VARCHAR(50) DEFAULT 'dark',
+    language VARCHAR(10) DEFAULT 'fr',
+    sidebar_collapsed TINYINT(1) DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_preferences_user FOREIGN KEY (user_id) REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    INDEX idx_user_id (user_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
@@ -1,19 +1,5 @@
--- Script de création de la base de données MySQL pour le système de gestion de gym
--- Compatible avec XAMPP (MySQL par défaut)
-
--- Créer la base de données si elle n'existe pas
-CREATE DATABASE IF NOT EXISTS gym_management 
-    CHARACTER SET utf8mb4 
-    COLLATE utf8mb4_unicode_ci;
-
--- Utiliser la base de données
-USE gym_management;
-
--- Note: Les tables seront créées automatiquement par DatabaseManager.initializeDatabase()
--- Ce script sert uniquement à créer la base de données elle-même.
-
-
-
-
-
-
+-- Création de la base de données MySQL
+-- Description: Sans objet dans une migration : DatabaseManager crée la base configurée
+-- (gym.db.name) avant d'ouvrir le pool, et les scripts s'exécutent sur une connexion déjà
+-- rattachée à cette base. Un CREATE DATABASE / USE ici ciblerait un nom fixe et laisserait
+-- la connexion du pool sur une autre base. Script conservé vide pour garder la numérotation.
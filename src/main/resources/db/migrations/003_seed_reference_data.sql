@@ -0,0 +1,24 @@
+-- Données de référence initiales
+-- Description: Objectif par défaut, compte administrateur et catalogue de packs.
+-- Les insertions sont conditionnelles pour ne pas dupliquer les données d'une base existante.
+
+-- Insérer un objectif par défaut pour le taux d'occupation
+INSERT INTO objectifs (type, valeur, date_debut, actif)
+SELECT 'taux_occupation', 80.0, CURDATE(), 1 FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM objectifs WHERE type = 'taux_occupation');
+
+-- Créer un utilisateur admin par défaut (username: admin, password: admin)
+INSERT IGNORE INTO utilisateurs (username, password, role, nom, prenom)
+VALUES ('admin', 'admin', 'ADMIN', 'Administrateur', 'Système');
+
+-- Catalogue de packs par défaut (uniquement si aucun pack n'existe)
+INSERT INTO packs (nom, prix, activites, jours_disponibilite, horaires, duree, unite_duree, seances_semaine, acces_coach, description)
+SELECT * FROM (
+    SELECT 'Pack Tapis + Musculation' AS nom, 200.0 AS prix, 'Musculation,Tapis' AS activites, 'Lundi-Vendredi' AS jours, 'Matin,Apres-midi' AS horaires, 1 AS duree, 'MOIS' AS unite, 5 AS seances, 0 AS coach, 'Accès aux machines de musculation et tapis de course' AS description
+    UNION ALL SELECT 'Pack Musculation', 150.0, 'Musculation', 'Lundi-Vendredi', 'Tous', 1, 'MOIS', 7, 0, 'Accès complet à la salle de musculation'
+    UNION ALL SELECT 'Pack Premium All Access', 400.0, 'Musculation,Cardio,Tapis,Cours collectifs,Piscine,Sauna', 'Tous les jours', '24h/24', 1, 'MOIS', -1, 1, 'Accès complet à toutes les installations + coach personnel'
+    UNION ALL SELECT 'Pack Étudiant', 120.0, 'Musculation,Cardio', 'Lundi-Vendredi', 'Matin,Apres-midi', 1, 'MOIS', 5, 0, 'Pack spécial étudiants avec tarif réduit'
+    UNION ALL SELECT 'Pack 3 Mois', 350.0, 'Musculation,Cardio,Tapis', 'Tous les jours', 'Tous', 3, 'MOIS', 7, 0, 'Pack trimestriel avec avantage prix'
+    UNION ALL SELECT 'Pack Annuel', 1200.0, 'Musculation,Cardio,Tapis,Cours collectifs', 'Tous les jours', 'Tous', 12, 'MOIS', -1, 0, 'Pack annuel avec économie importante'
+) AS seed
+WHERE NOT EXISTS (SELECT 1 FROM packs);
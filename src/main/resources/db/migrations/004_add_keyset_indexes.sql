@@ -0,0 +1,9 @@
+-- Index de pagination par clé (keyset)
+-- Description: Permet aux écrans de gestion de charger les listes page par page en
+-- reprenant après la dernière ligne affichée, sans OFFSET ni tri en mémoire.
+
+-- Adhérents actifs triés par (nom, prenom, id) - l'id est inclus implicitement (clé primaire InnoDB)
+CREATE INDEX idx_adherents_actif_nom ON adherents (actif, nom, prenom);
+
+-- Paiements triés par (date_paiement, id): couvert par idx_date_paiement, l'id étant
+-- inclus implicitement dans tout index secondaire InnoDB.
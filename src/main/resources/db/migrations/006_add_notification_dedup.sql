@@ -0,0 +1,22 @@
+-- Dédoublonnage des notifications périodiques
+-- Description: Les vérifications périodiques (abonnements expirés ou expirant bientôt)
+-- renseignent dedup_day ; l'index unique garantit une seule notification par
+-- (utilisateur, type, jour), sans requête de vérification préalable. Les notifications
+-- d'événements laissent dedup_day à NULL et ne sont pas concernées.
+
+-- MySQL valide chaque DDL implicitement : la colonne et l'index ne sont ajoutés que s'ils
+-- n'existent pas encore (information_schema), pour que le script reste rejouable après
+-- un échec entre les deux.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE notifications ADD COLUMN dedup_day DATE NULL', 'SELECT 1')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'notifications' AND column_name = 'dedup_day');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE UNIQUE INDEX uq_notifications_dedup ON notifications (user_id, type, dedup_day)', 'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'notifications' AND index_name = 'uq_notifications_dedup');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
@@ -0,0 +1,20 @@
+-- Expiration des abonnements
+-- Description: SubscriptionExpiryJob compte chaque jour les abonnements expirés et
+-- expirant bientôt par des COUNT sur l'index (actif, date_fin), et enregistre l'état
+-- d'expiration de chaque adhérent actif dans abonnement_expire, en une seule requête.
+-- La colonne actif reste réservée à la désactivation (suppression logique).
+
+-- Colonne et index ajoutés seulement s'ils manquent (voir 006_add_notification_dedup.sql)
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'ALTER TABLE adherents ADD COLUMN abonnement_expire TINYINT(1) NOT NULL DEFAULT 0', 'SELECT 1')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'adherents' AND column_name = 'abonnement_expire');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_adherents_actif_date_fin ON adherents (actif, date_fin)', 'SELECT 1')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'adherents' AND index_name = 'idx_adherents_actif_date_fin');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
@@ -0,0 +1,165 @@
+-- Schéma initial SQLite du système de gestion de gym (équivalent de ../001_create_base_schema.sql)
+-- Description: Mêmes tables et colonnes que le schéma MySQL. Les index sont créés à part
+-- (noms uniques dans toute la base) et les horodatages par défaut sont en heure locale.
+
+-- Table des utilisateurs (pour le système de login)
+CREATE TABLE IF NOT EXISTS utilisateurs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL DEFAULT 'RECEPTIONNISTE',
+    nom VARCHAR(255),
+    prenom VARCHAR(255),
+    actif TINYINT(1) DEFAULT 1,
+    date_creation TIMESTAMP DEFAULT (datetime('now', 'localtime'))
+);
+
+-- Table des packs/abonnements
+CREATE TABLE IF NOT EXISTS packs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    prix DECIMAL(10,2) NOT NULL,
+    activites TEXT,
+    jours_disponibilite VARCHAR(255),
+    horaires VARCHAR(255),
+    duree INT NOT NULL,
+    unite_duree VARCHAR(50) DEFAULT 'MOIS',
+    seances_semaine INT,
+    acces_coach TINYINT(1) DEFAULT 0,
+    actif TINYINT(1) DEFAULT 1,
+    description TEXT,
+    date_creation TIMESTAMP DEFAULT (datetime('now', 'localtime'))
+);
+
+-- Table des adhérents
+CREATE TABLE IF NOT EXISTS adherents (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    cin VARCHAR(50) UNIQUE,
+    nom VARCHAR(255) NOT NULL,
+    prenom VARCHAR(255) NOT NULL,
+    date_naissance DATE,
+    telephone VARCHAR(50),
+    email VARCHAR(255),
+    adresse TEXT,
+    photo VARCHAR(500),
+    poids DECIMAL(5,2),
+    taille DECIMAL(5,2),
+    objectifs TEXT,
+    problemes_sante TEXT,
+    pack_id INT REFERENCES packs(id) ON DELETE SET NULL,
+    date_debut DATE,
+    date_fin DATE,
+    actif TINYINT(1) DEFAULT 1,
+    date_inscription TIMESTAMP DEFAULT (datetime('now', 'localtime'))
+);
+CREATE INDEX IF NOT EXISTS idx_adherents_pack_id ON adherents (pack_id);
+CREATE INDEX IF NOT EXISTS idx_adherents_actif ON adherents (actif);
+
+-- Table des paiements
+CREATE TABLE IF NOT EXISTS paiements (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    adherent_id INT NOT NULL REFERENCES adherents(id) ON DELETE CASCADE,
+    pack_id INT REFERENCES packs(id) ON DELETE SET NULL,
+    montant DECIMAL(10,2) NOT NULL,
+    date_paiement TIMESTAMP NOT NULL DEFAULT (datetime('now', 'localtime')),
+    methode_paiement VARCHAR(50) NOT NULL,
+    statut VARCHAR(50) DEFAULT 'VALIDE',
+    reference VARCHAR(255),
+    date_debut_abonnement DATE,
+    date_fin_abonnement DATE,
+    notes TEXT
+);
+CREATE INDEX IF NOT EXISTS idx_paiements_adherent_id ON paiements (adherent_id);
+CREATE INDEX IF NOT EXISTS idx_paiements_date_paiement ON paiements (date_paiement);
+CREATE INDEX IF NOT EXISTS idx_paiements_statut ON paiements (statut);
+
+-- Table des cours collectifs
+CREATE TABLE IF NOT EXISTS cours_collectifs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    description TEXT,
+    coach_id INT REFERENCES utilisateurs(id) ON DELETE SET NULL,
+    jour_semaine VARCHAR(50),
+    heure_debut TIME,
+    heure_fin TIME,
+    capacite_max INT DEFAULT 20,
+    actif TINYINT(1) DEFAULT 1
+);
+CREATE INDEX IF NOT EXISTS idx_cours_collectifs_coach_id ON cours_collectifs (coach_id);
+
+-- Table des réservations de cours
+CREATE TABLE IF NOT EXISTS reservations_cours (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    cours_id INT NOT NULL REFERENCES cours_collectifs(id) ON DELETE CASCADE,
+    adherent_id INT NOT NULL REFERENCES adherents(id) ON DELETE CASCADE,
+    date_reservation DATE NOT NULL,
+    statut VARCHAR(50) DEFAULT 'CONFIRME'
+);
+CREATE INDEX IF NOT EXISTS idx_reservations_cours_id ON reservations_cours (cours_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_adherent_id ON reservations_cours (adherent_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_date ON reservations_cours (date_reservation);
+
+-- Table des équipements
+CREATE TABLE IF NOT EXISTS equipements (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    nom VARCHAR(255) NOT NULL,
+    type VARCHAR(100),
+    etat VARCHAR(50) DEFAULT 'FONCTIONNEL',
+    date_achat DATE,
+    date_maintenance DATE,
+    notes TEXT
+);
+
+-- Table des notifications
+CREATE TABLE IF NOT EXISTS notifications (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INT REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    `read` TINYINT(1) DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT (datetime('now', 'localtime'))
+);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_id ON notifications (user_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_read ON notifications (`read`);
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications (created_at);
+
+-- Table des activités
+CREATE TABLE IF NOT EXISTS activities (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INT REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    description TEXT NOT NULL,
+    entity_type VARCHAR(50),
+    entity_id INT,
+    created_at TIMESTAMP NOT NULL DEFAULT (datetime('now', 'localtime'))
+);
+CREATE INDEX IF NOT EXISTS idx_activities_user_id ON activities (user_id);
+CREATE INDEX IF NOT EXISTS idx_activities_type ON activities (type);
+CREATE INDEX IF NOT EXISTS idx_activities_created_at ON activities (created_at);
+
+-- Table des objectifs
+CREATE TABLE IF NOT EXISTS objectifs (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    type VARCHAR(50) NOT NULL,
+    valeur DECIMAL(10,2) NOT NULL,
+    date_debut DATE NOT NULL,
+    date_fin DATE,
+    actif TINYINT(1) DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT (datetime('now', 'localtime'))
+);
+CREATE INDEX IF NOT EXISTS idx_objectifs_type ON objectifs (type);
+CREATE INDEX IF NOT EXISTS idx_objectifs_actif ON objectifs (actif);
+
+-- Table des préférences utilisateur
+CREATE TABLE IF NOT EXISTS user_preferences (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INT UNIQUE NOT NULL REFERENCES utilisateurs(id) ON DELETE CASCADE,
+    theme VARCHAR(50) DEFAULT 'dark',
+    language VARCHAR(10) DEFAULT 'fr',
+    sidebar_collapsed TINYINT(1) DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT (datetime('now', 'localtime'))
+);
+
+-- Équivalent de ON UPDATE CURRENT_TIMESTAMP (trigger sur une seule ligne pour le découpage des scripts)
+CREATE TRIGGER IF NOT EXISTS trg_user_preferences_updated_at AFTER UPDATE ON user_preferences FOR EACH ROW WHEN NEW.updated_at = OLD.updated_at BEGIN UPDATE user_preferences SET updated_at = datetime('now', 'localtime') WHERE id = NEW.id; END;
@@ -0,0 +1,3 @@
+-- Création de la base de données (équivalent de ../002_create_mysql_database.sql)
+-- Description: Sans objet en SQLite : le fichier de base est créé par le driver à la
+-- première connexion. Script conservé vide pour garder la même numérotation que MySQL.
@@ -0,0 +1,8 @@
+-- Index de pagination par clé (keyset) (équivalent de ../004_add_keyset_indexes.sql)
+-- Description: Permet aux écrans de gestion de charger les listes page par page en
+-- reprenant après la dernière ligne affichée, sans OFFSET ni tri en mémoire.
+
+-- Adhérents actifs triés par (nom, prenom, id) - l'id (rowid) est inclus implicitement
+CREATE INDEX IF NOT EXISTS idx_adherents_actif_nom ON adherents (actif, nom, prenom);
+
+-- Paiements triés par (date_paiement, id): couvert par idx_paiements_date_paiement.
@@ -0,0 +1,27 @@
+-- Agrégat mensuel des revenus (équivalent de ../005_create_revenue_monthly.sql)
+-- Description: Somme, nombre et somme des carrés des montants des paiements par
+-- (mois, pack, méthode de paiement, statut). PaiementDAO tient la table à jour dans la
+-- transaction de chaque paiement ; les indicateurs de revenus y lisent quelques lignes au
+-- lieu de sommer la table des paiements. Recalcul complet : RevenueMonthlyDAO.rebuild().
+
+-- mois = 1er jour du mois ('yyyy-MM-01') ; pack_id = 0 pour un paiement sans pack
+CREATE TABLE IF NOT EXISTS revenue_monthly (
+    mois DATE NOT NULL,
+    pack_id INT NOT NULL DEFAULT 0,
+    methode_paiement VARCHAR(50) NOT NULL,
+    statut VARCHAR(50) NOT NULL,
+    total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    nombre INT NOT NULL DEFAULT 0,
+    total_carres DECIMAL(20,4) NOT NULL DEFAULT 0,
+    PRIMARY KEY (mois, pack_id, methode_paiement, statut)
+);
+CREATE INDEX IF NOT EXISTS idx_revenue_monthly_statut_mois ON revenue_monthly (statut, mois);
+
+-- Agrégat initial des paiements existants (uniquement si la table est vide : le script
+-- reste rejouable si un agrégat a déjà été calculé)
+INSERT INTO revenue_monthly (mois, pack_id, methode_paiement, statut, total, nombre, total_carres)
+SELECT strftime('%Y-%m-01', date_paiement), COALESCE(pack_id, 0), methode_paiement, COALESCE(statut, 'VALIDE'),
+       SUM(montant), COUNT(*), SUM(montant * montant)
+FROM paiements
+WHERE NOT EXISTS (SELECT 1 FROM revenue_monthly)
+GROUP BY strftime('%Y-%m-01', date_paiement), COALESCE(pack_id, 0), methode_paiement, COALESCE(statut, 'VALIDE');
@@ -0,0 +1,11 @@
+-- Dédoublonnage des notifications périodiques (équivalent de ../006_add_notification_dedup.sql)
+-- Description: Les vérifications périodiques (abonnements expirés ou expirant bientôt)
+-- renseignent dedup_day ; l'index unique garantit une seule notification par
+-- (utilisateur, type, jour), sans requête de vérification préalable. Les notifications
+-- d'événements laissent dedup_day à NULL et ne sont pas concernées.
+
+-- SQLite n'a pas de ADD COLUMN IF NOT EXISTS, mais ses DDL sont transactionnelles : un
+-- échec du script annule aussi l'ajout de la colonne, et le script reste rejouable.
+ALTER TABLE notifications ADD COLUMN dedup_day DATE;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_notifications_dedup ON notifications (user_id, type, dedup_day);
@@ -0,0 +1,10 @@
+-- Expiration des abonnements (équivalent de ../007_add_adherents_expiration.sql)
+-- Description: SubscriptionExpiryJob compte chaque jour les abonnements expirés et
+-- expirant bientôt par des COUNT sur l'index (actif, date_fin), et enregistre l'état
+-- d'expiration de chaque adhérent actif dans abonnement_expire, en une seule requête.
+-- La colonne actif reste réservée à la désactivation (suppression logique).
+
+-- DDL transactionnelles : un échec annule aussi l'ajout de la colonne (voir 006_add_notification_dedup.sql)
+ALTER TABLE adherents ADD COLUMN abonnement_expire TINYINT(1) NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_adherents_actif_date_fin ON adherents (actif, date_fin);